@@ -1,4 +1,5 @@
 -- Create the offers table.
+-- The application applies the same schema on startup from src/main/resources/db/migration (Flyway).
 CREATE TABLE offer (
     offer_id SERIAL PRIMARY KEY,
     brand_id INT NOT NULL,
@@ -12,6 +13,73 @@ CREATE TABLE offer (
 );
 
 -- Create indexes to optimize queries.
-CREATE INDEX idx_offer_brand ON offer(brand_id);
-CREATE INDEX idx_offer_partnumber ON offer(partnumber);
-CREATE INDEX idx_offer_start_end_date ON offer(start_date, end_date);
\ No newline at end of file
+CREATE INDEX idx_offer_timetable ON offer (brand_id, partnumber, start_date) INCLUDE (end_date, priority, price, offer_id);
+CREATE INDEX idx_offer_start_end_date ON offer(start_date, end_date);
+CREATE INDEX idx_offer_end_date ON offer (end_date);
+-- Offer listings filtered by partnumber alone, in offer_id order.
+CREATE INDEX idx_offer_partnumber_offer_id ON offer (partnumber, offer_id);
+
+-- Transactional outbox of timetable changes and the change feed built from it.
+CREATE TABLE offer_change_outbox (
+    event_id BIGSERIAL PRIMARY KEY,
+    brand_id INT,
+    partnumber VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE timetable_change_feed (
+    change_offset BIGSERIAL PRIMARY KEY,
+    brand_id INT,
+    partnumber VARCHAR(50),
+    changed_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_timetable_change_feed_changed_at ON timetable_change_feed (changed_at);
+
+-- Archive of expired offers, filled by the compaction job.
+CREATE TABLE offer_archive (
+    offer_id BIGINT PRIMARY KEY,
+    brand_id INT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price_list INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    curr VARCHAR(10) NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_offer_archive_product ON offer_archive (brand_id, partnumber, offer_id);
+
+-- Materialised flattened timetables, maintained on write in materialised mode.
+CREATE TABLE offer_timetable (
+    brand_id INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    segment_no INT NOT NULL,
+    offer_id BIGINT,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (brand_id, partnumber, segment_no)
+);
+
+-- Whether offer_timetable may miss offer writes: set by writes made outside materialised mode,
+-- cleared by a full rebuild. Starts stale.
+CREATE TABLE offer_timetable_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    stale BOOLEAN NOT NULL
+);
+INSERT INTO offer_timetable_state (id, stale) VALUES (1, TRUE);
+
+-- Versions of the timetables, changed in the transaction of every offer write: scope 2 rows are
+-- products, scope 1 rows brands (empty partnumber), and the single scope 0 row every product
+-- (brand 0, empty partnumber). The version of a product is the sum of the three.
+CREATE SEQUENCE timetable_version_seq;
+
+CREATE TABLE timetable_version (
+    scope SMALLINT NOT NULL,
+    brand_id INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (scope, brand_id, partnumber)
+);
@@ -0,0 +1,99 @@
+package com.hiberus.hiring.benchmark;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.service.FlattenBuffers;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import com.hiberus.hiring.domain.service.TimetableAlgorithm;
+
+/**
+ * OfferDomainService.flattenIntervalsByPriority over synthetic timetables.
+ *
+ * The legacy algorithm truncates its input in place, so every invocation flattens a fresh
+ * copy; {@link #copyOnly()} measures that copy alone so it can be subtracted.
+ * {@link #flattenPrimitive()} runs the allocation-free sweep line over the same offers as columns,
+ * reusing its buffers across invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlattenBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    /** Average number of offers active at the same instant. */
+    @Param({ "1", "8", "64" })
+    private int overlap;
+
+    /** Number of distinct priorities. */
+    @Param({ "1", "16" })
+    private int prioritySpread;
+
+    @Param({ "LEGACY", "SWEEP_LINE" })
+    private TimetableAlgorithm algorithm;
+
+    /** Minimum number of offers flattened in parallel by SWEEP_LINE; the maximum keeps it sequential. */
+    @Param({ "2147483647", "20000" })
+    private int parallelThreshold;
+
+    private final OfferDomainService domainService = new OfferDomainService();
+    private List<Offer> offers;
+
+    private final FlattenBuffers buffers = new FlattenBuffers();
+    private long[] startDates;
+    private long[] endDates;
+    private int[] priorities;
+    private long[] priceCents;
+
+    @Setup
+    public void setUp() {
+        domainService.setAlgorithm(algorithm);
+        domainService.setParallelThreshold(parallelThreshold);
+        offers = SyntheticOffers.generate(size, overlap, prioritySpread, 42L);
+        startDates = new long[size];
+        endDates = new long[size];
+        priorities = new int[size];
+        priceCents = new long[size];
+        for (int i = 0; i < size; i++) {
+            Offer offer = offers.get(i);
+            startDates[i] = offer.getStartDate().toEpochSecond(ZoneOffset.UTC);
+            endDates[i] = offer.getEndDate().toEpochSecond(ZoneOffset.UTC);
+            priorities[i] = offer.getPriority();
+            priceCents[i] = offer.getPrice().movePointRight(2).longValue();
+        }
+    }
+
+    @Benchmark
+    public List<Offer> flatten() {
+        return domainService.flattenIntervalsByPriority(SyntheticOffers.copyOf(offers));
+    }
+
+    @Benchmark
+    public int flattenPrimitive() {
+        return domainService.flattenIntervalsByPriority(startDates, endDates, priorities, priceCents, size, buffers);
+    }
+
+    @Benchmark
+    public List<Offer> copyOnly() {
+        return SyntheticOffers.copyOf(offers);
+    }
+}
@@ -0,0 +1,70 @@
+package com.hiberus.hiring.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.service.IncrementalTimetable;
+
+/**
+ * Cost of a single offer change on an IncrementalTimetable of {@code size} offers, to compare
+ * with a full {@link FlattenBenchmark} of the same offers (SWEEP_LINE).
+ *
+ * Every invocation inserts an offer in the middle of the timetable and removes it again, leaving
+ * the timetable as it was. {@link #changeAndIndex()} also indexes the segments for lookups,
+ * as the timetable cache does after every change.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalTimetableBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    /** Average number of offers active at the same instant. */
+    @Param({ "1", "8", "64" })
+    private int overlap;
+
+    private IncrementalTimetable timetable;
+    private Offer change;
+
+    @Setup
+    public void setUp() {
+        List<Offer> offers = SyntheticOffers.generate(size, overlap, 16, 42L);
+        timetable = IncrementalTimetable.of(offers);
+        Offer middle = offers.get(size / 2);
+        change = middle.toBuilder().offerId((long) size + 1).priority(16).build();
+    }
+
+    @Benchmark
+    public int change() {
+        timetable.insert(change);
+        timetable.remove(change.getOfferId());
+        return timetable.size();
+    }
+
+    @Benchmark
+    public Timetable changeAndIndex() {
+        timetable.insert(change);
+        timetable.getTimetable();
+        timetable.remove(change.getOfferId());
+        return timetable.getTimetable();
+    }
+}
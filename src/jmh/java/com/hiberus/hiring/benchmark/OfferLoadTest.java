@@ -0,0 +1,105 @@
+package com.hiberus.hiring.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used to compare the platform-thread and virtual-thread
+ * request modes ({@code offer.virtual-threads.enabled}) of a running instance.
+ *
+ * Each of the given number of clients sends requests back to back for the given duration.
+ * "{n}" in the path is replaced by a random number below the given bound, so that a load spread
+ * over many products is not absorbed by the timetable cache. Prints throughput, latency
+ * percentiles and errors.
+ *
+ * Usage: OfferLoadTest baseUrl path clients seconds [bound], e.g.
+ * {@code OfferLoadTest http://localhost:8080 /product-pricing/api/v1/brand/1/partnumber/{n}/offer 1000 30 100000}
+ */
+public final class OfferLoadTest {
+
+    private OfferLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String path = args[1];
+        int clients = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+        int bound = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicLong errors = new AtomicLong();
+        List<Recorder> recorders = new ArrayList<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String target = path.replace("{n}", String.format("%07d", ThreadLocalRandom.current().nextInt(bound)));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + target))
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        recorder.record(System.nanoTime() - start);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long[] all = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.samples, 0, recorder.size))
+                .sorted()
+                .toArray();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("clients=%d requests=%d errors=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                clients, all.length, errors.get(), all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+    }
+
+    /**
+     * Latencies of one client, only written by that client's thread and read after it ends.
+     */
+    private static final class Recorder {
+        private long[] samples = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+    }
+}
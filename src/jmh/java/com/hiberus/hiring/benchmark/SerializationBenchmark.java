@@ -0,0 +1,58 @@
+package com.hiberus.hiring.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferByPartNumberDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferDto;
+
+/**
+ * Jackson serialisation of the response DTOs, with an ObjectMapper configured like the
+ * one Spring Boot provides to the controllers. Each benchmark includes the domain to DTO copy
+ * the controller performs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "1000", "10000" })
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Offer> offers;
+
+    @Setup
+    public void setUp() {
+        offers = SyntheticOffers.generate(size, 1, 1, 42L);
+    }
+
+    @Benchmark
+    public byte[] offerDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(offers.stream().map(OfferDto::new).toList());
+    }
+
+    @Benchmark
+    public byte[] offerByPartNumberDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(offers.stream().map(OfferByPartNumberDto::new).toList());
+    }
+}
@@ -0,0 +1,58 @@
+package com.hiberus.hiring.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+/**
+ * Deterministic generator of offer sets for a single product, ordered by start date
+ * as the repository returns them.
+ *
+ * "overlap" is the average number of offers active at any instant: each offer lasts
+ * {@code overlap} times the gap between two consecutive starts (with some jitter).
+ * "prioritySpread" is the number of distinct priorities, drawn uniformly.
+ */
+public final class SyntheticOffers {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final long GAP_SECONDS = 3_600;
+
+    private SyntheticOffers() {
+    }
+
+    public static List<Offer> generate(int size, int overlap, int prioritySpread, long seed) {
+        Random random = new Random(seed);
+        List<Offer> offers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = ORIGIN.plusSeconds(i * GAP_SECONDS);
+            long duration = Math.max(1, overlap * GAP_SECONDS / 2 + (long) (random.nextDouble() * overlap * GAP_SECONDS));
+            offers.add(Offer.builder()
+                    .offerId((long) i + 1)
+                    .brandId(1)
+                    .startDate(start)
+                    .endDate(start.plusSeconds(duration - 1))
+                    .priceList(1 + random.nextInt(4))
+                    .partnumber("0001002")
+                    .priority(random.nextInt(prioritySpread))
+                    .price(BigDecimal.valueOf(1_000 + random.nextInt(9_000), 2))
+                    .curr("EUR")
+                    .build());
+        }
+        return offers;
+    }
+
+    /**
+     * Copies every offer, for algorithms that mutate their input.
+     */
+    public static List<Offer> copyOf(List<Offer> offers) {
+        List<Offer> copy = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            copy.add(offer.toBuilder().build());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.hiberus.hiring.benchmark.SyntheticOffers;
+import com.hiberus.hiring.domain.model.Offer;
+
+/**
+ * OfferPersistenceAdapter entity to domain mappers, lives in the adapter package to reach them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfferMappingBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    private final OfferPersistenceAdapter adapter = new OfferPersistenceAdapter(null, null);
+    private List<Offer> offers;
+    private List<OfferEntity> entities;
+
+    @Setup
+    public void setUp() {
+        offers = SyntheticOffers.generate(size, 1, 1, 42L);
+        entities = offers.stream().map(adapter::toEntity).toList();
+    }
+
+    @Benchmark
+    public List<OfferEntity> toEntity() {
+        List<OfferEntity> result = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            result.add(adapter.toEntity(offer));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Offer> toDomain() {
+        List<Offer> result = new ArrayList<>(entities.size());
+        for (OfferEntity entity : entities) {
+            result.add(adapter.toDomain(entity));
+        }
+        return result;
+    }
+}
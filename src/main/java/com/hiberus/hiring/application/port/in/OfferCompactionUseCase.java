@@ -0,0 +1,50 @@
+package com.hiberus.hiring.application.port.in;
+
+import java.time.LocalDateTime;
+
+import com.hiberus.hiring.domain.model.OfferPage;
+
+/**
+ * Inbound port for the compaction of expired offers ({@code offer.compaction.enabled}): offers
+ * that ended before the live horizon are moved from the offer table to an archive, where they
+ * remain readable for auditing.
+ */
+public interface OfferCompactionUseCase {
+	/**
+	 * Maximum number of offers returned per history page.
+	 */
+	int MAX_PAGE_SIZE = 1000;
+
+	/**
+	 * @return {@code true} if expired offers are compacted
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Offers that ended before this instant are no longer live: timetables leave them out,
+	 * whether or not they have been archived yet.
+	 *
+	 * @return the current horizon, or {@code null} if compaction is disabled and every offer is live
+	 */
+	LocalDateTime getLiveHorizon();
+
+	/**
+	 * Archives every offer that ended before the live horizon, in throttled chunks.
+	 * Concurrent compactions run one after the other.
+	 *
+	 * @return the number of offers archived
+	 * @throws IllegalStateException if compaction is disabled
+	 */
+	long compactExpiredOffers();
+
+	/**
+	 * Retrieves a page of the archived offers of a product.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param afterOfferId the cursor of the previous page, or {@code null} for the first page
+	 * @param limit the page size, capped to {@link #MAX_PAGE_SIZE}
+	 * @return the page of archived offers ordered by ID
+	 */
+	OfferPage getOfferHistory(Integer brandId, String partNumber, Long afterOfferId, int limit);
+}
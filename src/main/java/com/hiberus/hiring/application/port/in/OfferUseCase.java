@@ -1,8 +1,20 @@
 package com.hiberus.hiring.application.port.in;
 
+import com.hiberus.hiring.domain.exception.BulkIngestionException;
+import com.hiberus.hiring.domain.model.BulkIngestionResult;
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+import com.hiberus.hiring.domain.model.VersionedTimetable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Inbound port (Use Case interface) defining operations
@@ -17,12 +29,53 @@ public interface OfferUseCase {
 	 */
 	Offer createOffer(Offer offer);
 
+	/**
+	 * Validates and persists a stream of new offers in batches.
+	 * <p>
+	 * Invalid offers are skipped and counted as rejected. Each batch is committed on its own,
+	 * so batches written before a failure remain stored.
+	 *
+	 * @param offers the offers to be created, consumed only once
+	 * @return the number of accepted and rejected offers
+	 * @throws BulkIngestionException if reading the offers fails, once every offer read before has
+	 * been written, with their counts
+	 */
+	BulkIngestionResult ingestOffers(Iterator<Offer> offers);
+
 	/**
 	 * Deletes all offers from the system.
 	 * <p>
 	 * This operation is irreversible and should be used with caution.
+	 *
+	 * @return the number of offers deleted
 	 */
-	void deleteAllOffers();
+	long deleteAllOffers();
+
+	/**
+	 * Deletes every offer of a brand.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @return the number of offers deleted
+	 */
+	long deleteOffersByBrand(Integer brandId);
+
+	/**
+	 * Deletes every offer of a product.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @return the number of offers deleted
+	 */
+	long deleteOffersByBrandAndPartNumber(Integer brandId, String partNumber);
+
+	/**
+	 * Deletes the offers that ended before an instant, in chunks of {@code offer.purge.chunk-size}
+	 * offers committed one after the other, so that no transaction stays open for long.
+	 *
+	 * @param before offers whose end date is strictly before this instant are deleted
+	 * @return the number of offers deleted
+	 */
+	long purgeOffersEndingBefore(LocalDateTime before);
 
 	/**
 	 * Deletes a specific offer identified by its unique ID.
@@ -38,6 +91,32 @@ public interface OfferUseCase {
 	 */
 	List<Offer> getAllOffers();
 
+	/**
+	 * Streams all offers available in the system to the consumer, one at a time,
+	 * keeping memory usage constant regardless of the number of offers.
+	 *
+	 * @param consumer receives every Offer entity, in ID order
+	 */
+	void streamAllOffers(Consumer<Offer> consumer);
+
+	/**
+	 * Retrieves a page of offers matching the filter, ordered by ID.
+	 * <p>
+	 * Pages are addressed by cursor (the last ID of the previous page) rather than by offset,
+	 * so every page costs the same regardless of its position.
+	 *
+	 * @param filter the optional criteria to apply
+	 * @param afterOfferId the cursor returned with the previous page, or {@code null} for the first page
+	 * @param limit the requested page size, clamped to [1, {@value #MAX_PAGE_SIZE}]
+	 * @return the page, with the cursor of the next page if more offers match
+	 */
+	OfferPage getOffersPage(OfferFilter filter, Long afterOfferId, int limit);
+
+	/**
+	 * Maximum number of offers returned by {@link #getOffersPage(OfferFilter, Long, int)}.
+	 */
+	int MAX_PAGE_SIZE = 1000;
+
 	/**
 	 * Retrieves a specific offer by its unique ID.
 	 *
@@ -46,6 +125,15 @@ public interface OfferUseCase {
 	 */
 	Offer getOfferById(Long offerId);
 
+	/**
+	 * Retrieves an offer by its ID, as {@link #getOfferById}, with the version of the timetable of
+	 * its product it was read at: the offer is unchanged while that product has the same version.
+	 *
+	 * @param offerId the ID of the offer
+	 * @return the offer with its version, or {@code null} if not found
+	 */
+	VersionedOffer getVersionedOffer(Long offerId);
+
 	/**
 	 * Retrieves a list of offers for the given brand and part number, with no overlapping intervals.
 	 * <p>
@@ -56,4 +144,49 @@ public interface OfferUseCase {
 	 * @return a list of non-overlapping Offer entities for the specified brand and part number
 	 */
 	List<Offer> getTimetableForBrandAndPartNumber(Integer brandId, String partNumber);
+
+	/**
+	 * Retrieves the flattened timetable of a product, as {@link #getTimetableForBrandAndPartNumber},
+	 * with the version it was read at and the next segment boundary after an instant. That boundary
+	 * is remembered with the version, for {@link #getTimetableVersion}.
+	 *
+	 * @param brandId the ID of the brand
+	 * @param partNumber the part number to search for
+	 * @param instant the instant to look for the next segment boundary from
+	 * @return the non-overlapping segments with their version
+	 */
+	VersionedTimetable getVersionedTimetable(Integer brandId, String partNumber, LocalDateTime instant);
+
+	/**
+	 * Retrieves the current version of the timetable of a product, changed by every write to its
+	 * offers on any instance, without reading the timetable nor any offer.
+	 *
+	 * @param brandId the ID of the brand
+	 * @param partNumber the part number of the product
+	 * @return the current version, with the next segment boundary recorded by the last read of that version
+	 */
+	TimetableVersion getTimetableVersion(Integer brandId, String partNumber);
+
+
+	/**
+	 * Retrieves the flattened timetable segment that applies to the given brand and part number
+	 * at a specific instant.
+	 *
+	 * @param brandId the ID of the brand
+	 * @param partNumber the part number to search for
+	 * @param instant the instant to price
+	 * @return the covering segment, or {@code null} if no offer covers the instant
+	 */
+	Offer getPriceAt(Integer brandId, String partNumber, LocalDateTime instant);
+
+	/**
+	 * Retrieves the timetable segments that apply to many part numbers of the same brand
+	 * at a specific instant, resolving all of them with a single persistence query.
+	 *
+	 * @param brandId the ID of the brand
+	 * @param partNumbers the part numbers to price
+	 * @param instant the instant to price
+	 * @return the covering segment keyed by part number; part numbers with no covering offer are absent
+	 */
+	Map<String, Offer> getPricesAt(Integer brandId, Collection<String> partNumbers, LocalDateTime instant);
 }
\ No newline at end of file
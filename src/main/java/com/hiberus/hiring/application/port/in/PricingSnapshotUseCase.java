@@ -0,0 +1,30 @@
+package com.hiberus.hiring.application.port.in;
+
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+
+/**
+ * Inbound port managing the in-memory pricing snapshot served in snapshot mode
+ * ({@code offer.snapshot.enabled}).
+ */
+public interface PricingSnapshotUseCase {
+	/**
+	 * @return {@code true} if reads are served from the snapshot
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Retrieves the snapshot currently published. Never blocks, even during a refresh.
+	 *
+	 * @return the current snapshot, or {@code null} if snapshot mode is disabled or the first load has not completed
+	 */
+	PricingSnapshot getSnapshot();
+
+	/**
+	 * Loads all offers into a new snapshot, flattens every timetable and publishes it
+	 * in place of the current one. Concurrent refreshes run one after the other.
+	 *
+	 * @return the published snapshot
+	 * @throws IllegalStateException if snapshot mode is disabled
+	 */
+	PricingSnapshot refreshSnapshot();
+}
@@ -0,0 +1,51 @@
+package com.hiberus.hiring.application.port.in;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+import java.time.LocalDateTime;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking inbound port serving the read side of the pricing API.
+ * Mirrors the queries of {@link OfferUseCase}; nothing is read until the result is subscribed to.
+ */
+public interface ReactiveOfferUseCase {
+	/**
+	 * Retrieves all offers available in the system.
+	 *
+	 * @return every Offer entity, in ID order
+	 */
+	Flux<Offer> getAllOffers();
+
+	/**
+	 * Retrieves a specific offer by its unique ID.
+	 *
+	 * @param offerId the ID of the offer to retrieve
+	 * @return the matching Offer entity, or empty if not found
+	 */
+	Mono<Offer> getOfferById(Long offerId);
+
+	/**
+	 * Retrieves the flattened timetable of the given brand and part number.
+	 * <p>
+	 * With the sweep line algorithm, segments are emitted while the offers are still being read.
+	 *
+	 * @param brandId the ID of the brand
+	 * @param partNumber the part number to search for
+	 * @return the non-overlapping segments, ordered by start date
+	 */
+	Flux<Offer> getTimetableForBrandAndPartNumber(Integer brandId, String partNumber);
+
+	/**
+	 * Retrieves the flattened timetable segment that applies to the given brand and part number
+	 * at a specific instant.
+	 *
+	 * @param brandId the ID of the brand
+	 * @param partNumber the part number to search for
+	 * @param instant the instant to price
+	 * @return the covering segment, or empty if no offer covers the instant
+	 */
+	Mono<Offer> getPriceAt(Integer brandId, String partNumber, LocalDateTime instant);
+}
@@ -0,0 +1,46 @@
+package com.hiberus.hiring.application.port.in;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.hiberus.hiring.domain.model.TimetableChange;
+
+/**
+ * Inbound port for the feed of timetable changes: every offer write is recorded in an outbox,
+ * and dispatched as compact "timetable changed" events, one per product and dispatch window.
+ */
+public interface TimetableChangeFeedUseCase {
+	/**
+	 * Maximum number of changes returned by {@link #getChangesAfter(long, int)}.
+	 */
+	int MAX_CHANGES = 1000;
+
+	/**
+	 * Retrieves the changes published after an offset, for consumers resuming from the last
+	 * offset they processed.
+	 *
+	 * @param offset the last offset already seen, 0 to read from the start
+	 * @param limit maximum number of changes, capped to {@link #MAX_CHANGES}
+	 * @return the changes in offset order, empty if there are none yet
+	 */
+	List<TimetableChange> getChangesAfter(long offset, int limit);
+
+	/**
+	 * Delivers the changes published after an offset to a subscriber, then the changes published
+	 * later, as the feed is read after every dispatch. The feed is read once for every subscriber
+	 * that is up to date; a subscriber behind them reads the changes it missed on its own first.
+	 * A subscriber that throws is unsubscribed.
+	 *
+	 * @param offset the last offset already seen, 0 to read from the start
+	 * @param subscriber receives the changes in offset order, on the thread reading the feed
+	 * @return unsubscribes the subscriber
+	 */
+	Runnable subscribe(long offset, Consumer<TimetableChange> subscriber);
+
+	/**
+	 * Publishes the pending outbox records to the feed, coalesced per product.
+	 *
+	 * @return the number of changes published
+	 */
+	int dispatchChanges();
+}
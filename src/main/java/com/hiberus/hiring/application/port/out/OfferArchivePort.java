@@ -0,0 +1,35 @@
+package com.hiberus.hiring.application.port.out;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+/**
+ * Outbound port moving expired offers out of the offer table into an archive, and reading them back.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface OfferArchivePort {
+	/**
+	 * Moves a chunk of the offers that ended before an instant to the archive, with a single
+	 * statement. Callers repeat it until fewer offers than the limit are moved.
+	 *
+	 * @param before offers whose end date is strictly before this instant are archived, oldest first
+	 * @param limit the maximum number of offers to move
+	 * @param archivedAt the archiving time recorded with the offers
+	 * @return the product of every archived offer, one entry per offer
+	 */
+	List<TimetableKey> archiveOffersEndingBefore(LocalDateTime before, int limit, LocalDateTime archivedAt);
+
+	/**
+	 * Retrieves a page of the archived offers of a product, ordered by ID.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param afterOfferId the last ID of the previous page, or {@code null} for the first page
+	 * @param limit the maximum number of offers in the page
+	 * @return the page of archived offers
+	 */
+	OfferPage findArchivedOffers(Integer brandId, String partNumber, Long afterOfferId, int limit);
+}
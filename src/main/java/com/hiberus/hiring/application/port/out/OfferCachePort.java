@@ -0,0 +1,26 @@
+package com.hiberus.hiring.application.port.out;
+
+import com.hiberus.hiring.domain.model.VersionedOffer;
+
+/**
+ * Outbound port caching offers by ID, with the version of their product they were read at.
+ * Offers never change once created, they are only deleted, and a deletion changes the version of
+ * their product: a cached offer still exists as long as its product has the version it was cached with.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface OfferCachePort {
+	/**
+	 * Returns the cached offer with the given ID, if any.
+	 *
+	 * @param offerId the ID of the offer
+	 * @return the offer with the version it was read at, or {@code null} if it is not cached
+	 */
+	VersionedOffer getOffer(Long offerId);
+
+	/**
+	 * Caches an offer, replacing the one cached with the same ID.
+	 *
+	 * @param offer the offer, with the version of its product read before it was last read
+	 */
+	void putOffer(VersionedOffer offer);
+}
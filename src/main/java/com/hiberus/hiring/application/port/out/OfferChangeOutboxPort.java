@@ -0,0 +1,61 @@
+package com.hiberus.hiring.application.port.out;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+/**
+ * Outbound port for the transactional outbox of timetable changes and the change feed
+ * published from it. A key with a {@code null} part number stands for every product of its
+ * brand, and a key with a {@code null} brand for every product.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface OfferChangeOutboxPort {
+	/**
+	 * Records that the timetables of the given products changed. Joins the transaction of the
+	 * caller, so the records are committed or rolled back together with the offer write.
+	 *
+	 * @param keys the changed products
+	 */
+	void append(Collection<TimetableKey> keys);
+
+	/**
+	 * Removes the oldest pending records, skipping those locked by a concurrent dispatcher.
+	 * Must run in a transaction: the records are only gone once it commits.
+	 *
+	 * @param limit maximum number of records to take
+	 * @return the changed products, oldest first, possibly repeated
+	 */
+	List<TimetableKey> takePending(int limit);
+
+	/**
+	 * Appends changes to the feed. Publications are serialized until the transaction commits,
+	 * so offsets become visible in increasing order.
+	 *
+	 * @param keys the changed products
+	 * @param changedAt the publication time
+	 */
+	void publishChanges(List<TimetableKey> keys, LocalDateTime changedAt);
+
+	/**
+	 * @param offset the last offset already seen, 0 to read from the start
+	 * @param limit maximum number of changes to return
+	 * @return the changes with a greater offset, in offset order
+	 */
+	List<TimetableChange> findChangesAfter(long offset, int limit);
+
+	/**
+	 * @return the offset of the last change published, 0 if there is none
+	 */
+	long findLastOffset();
+
+	/**
+	 * Deletes the changes published before the given time.
+	 *
+	 * @return the number of changes deleted
+	 */
+	int deleteChangesBefore(LocalDateTime before);
+}
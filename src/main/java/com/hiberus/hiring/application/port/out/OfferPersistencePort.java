@@ -1,8 +1,14 @@
 package com.hiberus.hiring.application.port.out;
 
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Outbound port for persistence-related operations on Offers.
@@ -18,10 +24,48 @@ public interface OfferPersistencePort {
 	Offer saveOffer(Offer offer);
 
 	/**
-	 * Deletes all existing offers from the system.
+	 * Persists a chunk of new offers with JDBC batching, in a single transaction.
+	 * Identifiers are allocated by the database sequence and are not returned.
+	 *
+	 * @param offers the offers to be saved
+	 * @return the number of offers written
+	 */
+	int saveOffers(List<Offer> offers);
+
+	/**
+	 * Deletes all existing offers from the system with a single statement.
 	 * Use with caution, as this operation is irreversible.
+	 *
+	 * @return the number of offers deleted
+	 */
+	int deleteAllOffers();
+
+	/**
+	 * Deletes every offer of a brand with a single statement.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @return the number of offers deleted
+	 */
+	int deleteOffersByBrand(Integer brandId);
+
+	/**
+	 * Deletes every offer of a product with a single statement.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @return the number of offers deleted
+	 */
+	int deleteOffersByBrandAndPartNumber(Integer brandId, String partNumber);
+
+	/**
+	 * Deletes a chunk of the offers that ended before an instant, with a single statement.
+	 * Callers repeat it until fewer offers than the limit are deleted.
+	 *
+	 * @param before offers whose end date is strictly before this instant are deleted
+	 * @param limit the maximum number of offers to delete
+	 * @return the product of every deleted offer, one entry per offer
 	 */
-	void deleteAllOffers();
+	List<TimetableKey> deleteOffersEndingBefore(LocalDateTime before, int limit);
 
 	/**
 	 * Deletes a specific offer identified by its ID.
@@ -37,6 +81,24 @@ public interface OfferPersistencePort {
 	 */
 	List<Offer> findAllOffers();
 
+	/**
+	 * Reads all offers through a forward-only cursor and hands them to the consumer one by one,
+	 * without materialising the whole table.
+	 *
+	 * @param consumer receives every offer, in ID order
+	 */
+	void streamAllOffers(Consumer<Offer> consumer);
+
+	/**
+	 * Retrieves a page of offers matching the filter, ordered by ID, using keyset pagination.
+	 *
+	 * @param filter the optional criteria to apply
+	 * @param afterOfferId the cursor: only offers with a greater ID are returned; {@code null} for the first page
+	 * @param limit the maximum number of offers in the page
+	 * @return the page, with the cursor of the next page if more offers match
+	 */
+	OfferPage findOffersPage(OfferFilter filter, Long afterOfferId, int limit);
+
 	/**
 	 * Retrieves a specific offer by its ID.
 	 *
@@ -46,11 +108,23 @@ public interface OfferPersistencePort {
 	Offer findOfferById(Long offerId);
 
 	/**
-	 * Retrieves all offers that match the given brand ID and part number.
+	 * Retrieves the offers that make up the timetable of the given brand ID and part number.
+	 * Only the fields needed to flatten and maintain them are loaded: offer ID, brand ID, part number,
+	 * start date, end date, priority and price; the others are left null.
 	 *
 	 * @param brandId the identifier of the brand
 	 * @param partNumber the part number to filter by
-	 * @return a list of matching Offer entities
+	 * @return a list of matching Offer projections, ordered by start date then offer ID
+	 */
+	List<Offer> findTimetableOffers(Integer brandId, String partNumber);
+
+	/**
+	 * Retrieves, in a single query, the timetable offers of the given brand for any of the given
+	 * part numbers, loading the same fields as {@link #findTimetableOffers(Integer, String)}.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumbers the part numbers to filter by
+	 * @return a list of matching Offer projections, ordered by part number, start date and offer ID
 	 */
-	List<Offer> findOffersByBrandAndPartNumber(Integer brandId, String partNumber);
+	List<Offer> findTimetableOffers(Integer brandId, Collection<String> partNumbers);
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.hiberus.hiring.application.port.out;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+/**
+ * Outbound port for the materialised timetables: the flattened segments of every product,
+ * stored next to the offers and replaced in the transaction of every write.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface OfferTimetablePort {
+	/**
+	 * Locks the timetables of the given products until the transaction of the caller ends,
+	 * in a fixed order so that concurrent writers cannot deadlock. Offers read afterwards
+	 * include every offer committed by writers that held the same locks.
+	 *
+	 * @param keys the products about to be recomputed
+	 */
+	void lockTimetables(Collection<TimetableKey> keys);
+
+	/**
+	 * Replaces the segments of a product within the transaction of the caller.
+	 *
+	 * @param key the product
+	 * @param segments its flattened timetable, in order; empty to remove it
+	 */
+	void replaceTimetable(TimetableKey key, List<Offer> segments);
+
+	/**
+	 * Locks the offers against writes and every timetable against replacement until the
+	 * transaction of the caller ends, so that offers read afterwards can be used to rebuild
+	 * them all. Reads are not blocked.
+	 */
+	void lockAllTimetables();
+
+	/**
+	 * Replaces every timetable within the transaction of the caller: the stored ones are
+	 * removed, then the given ones written with batched statements, and the timetables are
+	 * no longer stale.
+	 *
+	 * @param timetables the flattened timetable of every product
+	 */
+	void replaceAllTimetables(Map<TimetableKey, List<Offer>> timetables);
+
+	/**
+	 * Records within the transaction of the caller that offers were written without maintaining
+	 * the timetables, which must then be rebuilt before they are read again.
+	 */
+	void markStale();
+
+	/**
+	 * @return whether offers may have been written without maintaining the timetables since
+	 * they were last rebuilt
+	 */
+	boolean isStale();
+
+	/**
+	 * Removes the timetables of every product of a brand within the transaction of the caller.
+	 *
+	 * @param brandId the identifier of the brand
+	 */
+	void deleteTimetablesByBrand(Integer brandId);
+
+	/**
+	 * Removes every timetable within the transaction of the caller.
+	 */
+	void deleteAllTimetables();
+
+	/**
+	 * Reads the stored timetable of a product, with the fields of
+	 * {@link OfferPersistencePort#findTimetableOffers(Integer, String)}.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @return its segments in order, empty if it has none
+	 */
+	List<Offer> findTimetable(Integer brandId, String partNumber);
+
+	/**
+	 * Reads the stored timetables of the given products of a brand with a single query.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumbers the part numbers of the products
+	 * @return their segments, ordered by part number then segment
+	 */
+	List<Offer> findTimetables(Integer brandId, Collection<String> partNumbers);
+}
@@ -0,0 +1,24 @@
+package com.hiberus.hiring.application.port.out;
+
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+
+/**
+ * Outbound port keeping a copy of the pricing snapshot outside the process, so that a restart
+ * can serve reads before the first load from the database completes.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface PricingSnapshotStoragePort {
+	/**
+	 * Restores the last stored snapshot.
+	 *
+	 * @return the stored snapshot, or {@code null} if none is stored or it cannot be read
+	 */
+	PricingSnapshot load();
+
+	/**
+	 * Replaces the stored snapshot. Readers of a previously loaded snapshot are not affected.
+	 *
+	 * @param snapshot the snapshot to store
+	 */
+	void save(PricingSnapshot snapshot);
+}
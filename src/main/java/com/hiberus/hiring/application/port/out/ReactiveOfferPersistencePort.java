@@ -0,0 +1,37 @@
+package com.hiberus.hiring.application.port.out;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking outbound port for reading Offers.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface ReactiveOfferPersistencePort {
+	/**
+	 * Retrieves all offers available in the system.
+	 *
+	 * @return every Offer entity, in ID order
+	 */
+	Flux<Offer> findAllOffers();
+
+	/**
+	 * Retrieves a specific offer by its ID.
+	 *
+	 * @param offerId the unique identifier of the offer
+	 * @return the corresponding Offer entity, or empty if not found
+	 */
+	Mono<Offer> findOfferById(Long offerId);
+
+	/**
+	 * Retrieves the offers that make up the timetable of the given brand ID and part number,
+	 * loading the same fields as {@link OfferPersistencePort#findTimetableOffers(Integer, String)}.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number to filter by
+	 * @return the matching Offer projections, ordered by start date
+	 */
+	Flux<Offer> findTimetableOffers(Integer brandId, String partNumber);
+}
@@ -0,0 +1,121 @@
+package com.hiberus.hiring.application.port.out;
+
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.service.IncrementalTimetable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Outbound port for caching already-flattened timetables per (brand, part number).
+ * The implementation lives in the infrastructure layer.
+ */
+public interface TimetableCachePort {
+	/**
+	 * Returns the cached timetable for the given product, computing it with the loader on a miss.
+	 * Concurrent misses for the same product trigger a single load.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param loader computes the flattened timetable when it is not cached
+	 * @return the indexed, flattened timetable
+	 */
+	Timetable getTimetable(Integer brandId, String partNumber, Supplier<Timetable> loader);
+
+	/**
+	 * Same as {@link #getTimetable(Integer, String, Supplier)}, but a cached timetable is only
+	 * returned if it was loaded at the given version; otherwise it is loaded again and cached
+	 * with that version.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param version the version of the product read before calling, see TimetableVersionPort
+	 * @param loader computes the flattened timetable when it is not cached at that version
+	 * @return the indexed, flattened timetable, at least as recent as the version
+	 */
+	Timetable getTimetable(Integer brandId, String partNumber, long version, Supplier<Timetable> loader);
+
+	/**
+	 * Returns the cached timetables of several products of the same brand, computing every miss
+	 * with a single loader call. Entries loaded concurrently with a write are not kept.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumbers the part numbers of the products
+	 * @param loader computes the timetables of the missing part numbers; it must return one entry per part number
+	 * @return the timetables keyed by part number
+	 */
+	Map<String, Timetable> getTimetables(Integer brandId, Collection<String> partNumbers,
+			Function<Set<String>, Map<String, Timetable>> loader);
+
+	/**
+	 * Same as {@link #getTimetable(Integer, String, Supplier)}, but the loader builds an IncrementalTimetable
+	 * that is cached with the timetable, so that later writes can be applied to it with {@link #update}.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param loader builds the maintained timetable when it is not cached
+	 * @return the indexed, flattened timetable
+	 */
+	Timetable getMaintainedTimetable(Integer brandId, String partNumber, Supplier<IncrementalTimetable> loader);
+
+	/**
+	 * Same as {@link #getTimetable(Integer, String, long, Supplier)}, for maintained timetables.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param version the version of the product read before calling, see TimetableVersionPort
+	 * @param loader builds the maintained timetable when it is not cached at that version
+	 * @return the indexed, flattened timetable, at least as recent as the version
+	 */
+	Timetable getMaintainedTimetable(Integer brandId, String partNumber, long version,
+			Supplier<IncrementalTimetable> loader);
+
+	/**
+	 * Same as {@link #getTimetables(Integer, Collection, Function)}, for maintained timetables.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumbers the part numbers of the products
+	 * @param loader builds the maintained timetables of the missing part numbers, one per part number
+	 * @return the timetables keyed by part number
+	 */
+	Map<String, Timetable> getMaintainedTimetables(Integer brandId, Collection<String> partNumbers,
+			Function<Set<String>, Map<String, IncrementalTimetable>> loader);
+
+	/**
+	 * Applies a write to the cached timetable of a single product instead of discarding it.
+	 * The change runs while the product is locked against loads and other changes. Timetables
+	 * cached without an IncrementalTimetable are discarded, as with {@link #evict}.
+	 * A timetable cached at the version just before the write is at the version of the write once
+	 * changed, and served to versioned reads of it; any other keeps its version.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param version the version of the product written, as returned by TimetableVersionPort#increment
+	 * @param change applies the write, returning {@code false} if the timetable must be discarded instead
+	 */
+	void update(Integer brandId, String partNumber, long version, Predicate<IncrementalTimetable> change);
+
+	/**
+	 * Discards the cached timetable of a single product.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 */
+	void evict(Integer brandId, String partNumber);
+
+	/**
+	 * Discards the cached timetables of every product of a brand.
+	 *
+	 * @param brandId the identifier of the brand
+	 */
+	void evictBrand(Integer brandId);
+
+	/**
+	 * Discards every cached timetable.
+	 */
+	void evictAll();
+}
@@ -0,0 +1,80 @@
+package com.hiberus.hiring.application.port.out;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.TimetableVersions;
+
+/**
+ * Outbound port keeping a version per (brand, part number), changed in the transaction of every
+ * write to the offers of the product, from which HTTP validators are derived without reading the
+ * timetable. Versions are shared by every instance: a product has the same version everywhere,
+ * and a new one as soon as a write to it commits, whichever instance made it. {@link #getVersion}
+ * may return a version kept in process instead, read again once a write to the product commits on
+ * this instance or is delivered by the change feed, and at the latest after a bounded time.
+ * The implementation lives in the infrastructure layer.
+ */
+public interface TimetableVersionPort {
+	/**
+	 * Returns the current version of a product, with the next segment boundary recorded for it
+	 * by {@link #recordNextChange} if any.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @return the current version
+	 */
+	TimetableVersion getVersion(Integer brandId, String partNumber);
+
+	/**
+	 * Returns the current version of every product at once.
+	 *
+	 * @return the current versions
+	 */
+	TimetableVersions getVersions();
+
+	/**
+	 * Records the next segment boundary of a product, as read at the given version. Ignored if
+	 * the product changed since.
+	 *
+	 * @param brandId the identifier of the brand
+	 * @param partNumber the part number of the product
+	 * @param version the version read before the timetable
+	 * @param nextChange the next segment boundary, {@link LocalDateTime#MAX} if none
+	 */
+	void recordNextChange(Integer brandId, String partNumber, long version, LocalDateTime nextChange);
+
+	/**
+	 * Changes the version of the given products. Must be called in the transaction of the write.
+	 * A write to a product adds exactly one to its version, so the version it returns follows
+	 * {@code version - 1}, the version of the product just before the write.
+	 *
+	 * @param keys the products written, possibly repeated
+	 * @return the version of every product once the write commits, unless another write to it, its
+	 *         brand or every product commits concurrently
+	 */
+	Map<TimetableKey, Long> increment(Collection<TimetableKey> keys);
+
+	/**
+	 * Changes the version of every product of a brand. Must be called in the transaction of the write.
+	 *
+	 * @param brandId the identifier of the brand
+	 */
+	void incrementBrand(Integer brandId);
+
+	/**
+	 * Changes the version of every product. Must be called in the transaction of the write.
+	 */
+	void incrementAll();
+
+	/**
+	 * Forgets the versions of the given products kept in process, if any, so that they are read
+	 * again: called with the changes of the feed, written by any instance.
+	 *
+	 * @param keys the products changed; a {@code null} part number stands for every product of the
+	 *        brand, a {@code null} brand for every product
+	 */
+	void evict(Collection<TimetableKey> keys);
+}
@@ -0,0 +1,156 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
+import com.hiberus.hiring.application.port.out.OfferArchivePort;
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
+import com.hiberus.hiring.application.port.out.TimetableCachePort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implements the OfferCompactionUseCase interface.
+ * Every {@code offer.compaction.interval}, offers that ended more than {@code offer.compaction.grace}
+ * ago are moved to the archive through OfferArchivePort, in chunks of {@code offer.compaction.batch-size}.
+ * Every chunk is its own short transaction, which also appends the products it touches to the
+ * change outbox, and is followed by a {@code offer.compaction.batch-pause}, so that compaction
+ * never holds locks for long nor saturates the database while live traffic is served.
+ * Cached timetables of the archived offers are evicted after every chunk, and their versions
+ * changed and materialised ones recomputed within it (see TimetableMaterializer).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OfferCompactionService implements OfferCompactionUseCase {
+
+    private final OfferArchivePort offerArchivePort;
+    private final OfferChangeOutboxPort offerChangeOutboxPort;
+    private final TimetableCachePort timetableCachePort;
+    private final TransactionOperations transactionOperations;
+    private final TimetableMaterializer timetableMaterializer;
+    private final TimetableVersionPort timetableVersionPort;
+
+    /**
+     * Serializes compactions. A lock rather than {@code synchronized}, which would pin
+     * the carrier of a virtual thread for the whole run.
+     */
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    @Setter
+    @Value("${offer.compaction.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * How long an offer stays live after it ends.
+     */
+    @Setter
+    @Value("${offer.compaction.grace:PT0S}")
+    private Duration grace = Duration.ZERO;
+
+    @Setter
+    @Value("${offer.compaction.batch-size:1000}")
+    private int batchSize = 1000;
+
+    /**
+     * Pause between two chunks.
+     */
+    @Setter
+    @Value("${offer.compaction.batch-pause:PT0.1S}")
+    private Duration batchPause = Duration.ofMillis(100);
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public LocalDateTime getLiveHorizon() {
+        return enabled ? LocalDateTime.now().minus(grace) : null;
+    }
+
+    @Override
+    public long compactExpiredOffers() {
+        if (!enabled) {
+            throw new IllegalStateException("Offer compaction is disabled");
+        }
+        compactionLock.lock();
+        try {
+            long start = System.nanoTime();
+            LocalDateTime horizon = getLiveHorizon();
+            long archived = 0;
+            List<TimetableKey> chunk;
+            do {
+                chunk = archiveChunk(horizon);
+                archived += chunk.size();
+            } while (chunk.size() == batchSize && pause());
+            if (archived > 0) {
+                log.info("Archived {} offers that ended before {} in {} ms", archived, horizon,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return archived;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @Override
+    public OfferPage getOfferHistory(Integer brandId, String partNumber, Long afterOfferId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return offerArchivePort.findArchivedOffers(brandId, partNumber, afterOfferId, pageSize);
+    }
+
+    @Scheduled(fixedDelayString = "${offer.compaction.interval:PT1H}",
+            initialDelayString = "${offer.compaction.interval:PT1H}")
+    void compactPeriodically() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            compactExpiredOffers();
+        } catch (RuntimeException e) {
+            // Chunks already archived stay archived, the rest waits for the next run
+            log.error("Offer compaction failed", e);
+        }
+    }
+
+    private List<TimetableKey> archiveChunk(LocalDateTime horizon) {
+        List<TimetableKey> chunk = transactionOperations.execute(status -> {
+            List<TimetableKey> archived = offerArchivePort.archiveOffersEndingBefore(horizon, batchSize, LocalDateTime.now());
+            List<TimetableKey> keys = archived.stream().distinct().toList();
+            offerChangeOutboxPort.append(keys);
+            timetableVersionPort.increment(keys);
+            timetableMaterializer.refresh(keys, horizon);
+            return archived;
+        });
+        chunk.stream()
+                .distinct()
+                .forEach(key -> timetableCachePort.evict(key.getBrandId(), key.getPartnumber()));
+        return chunk;
+    }
+
+    /**
+     * @return {@code false} if the thread was interrupted, to stop the compaction
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,39 +1,289 @@
 package com.hiberus.hiring.application.service;
 
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
 import com.hiberus.hiring.application.port.in.OfferUseCase;
+import com.hiberus.hiring.application.port.in.PricingSnapshotUseCase;
+import com.hiberus.hiring.application.port.out.OfferCachePort;
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
 import com.hiberus.hiring.application.port.out.OfferPersistencePort;
+import com.hiberus.hiring.application.port.out.TimetableCachePort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.exception.BulkIngestionException;
+import com.hiberus.hiring.domain.model.BulkIngestionResult;
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.TimetableVersions;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+import com.hiberus.hiring.domain.model.VersionedTimetable;
 import com.hiberus.hiring.domain.service.OfferDomainService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implements the OfferUseCase interface.
  * Orchestrates domain logic via OfferDomainService
  * and relies on OfferPersistencePort for persistence.
+ * Flattened timetables are cached through TimetableCachePort; every write
+ * invalidates the timetable of the product it touches. With the sweep line algorithm,
+ * timetables are cached as IncrementalTimetables instead, and single creations and
+ * deletions are applied to them rather than invalidating them.
+ * Every write also appends the products it touches to the outbox of OfferChangeOutboxPort,
+ * in the same transaction, for the timetable change feed (see TimetableChangeFeedUseCase).
+ * The versions of TimetableVersionPort are changed in that transaction too, and cached
+ * timetables only updated once it has committed. Versioned reads read the version before the
+ * timetable, so a timetable is never older than the version it is served with. Versioned offers
+ * are cached through OfferCachePort, and only served from it while their product keeps the version
+ * they were read at.
+ * When expired offers are compacted (see OfferCompactionUseCase), timetables leave out the
+ * offers that ended before the live horizon, even before they are archived.
+ * In materialised mode, every write also recomputes the stored timetables of the products it
+ * touches in its transaction (see TimetableMaterializer), and timetables are read from them.
+ * In snapshot mode, timetables and offers by ID are read from the pricing snapshot
+ * (see PricingSnapshotUseCase) instead, once it has been loaded.
+ * Every method is timed as {@code offer.usecase}, tagged with its name.
  */
 @Service
+@Timed(value = "offer.usecase", histogram = true)
 @RequiredArgsConstructor
 public class OfferUseCaseImpl implements OfferUseCase {
 
+    /**
+     * Minimum number of products in a batch before their timetables are flattened in parallel.
+     */
+    static final int PARALLEL_FLATTEN_THRESHOLD = 32;
+
     private final OfferPersistencePort offerPersistencePort;
     private final OfferDomainService offerDomainService;
+    private final TimetableCachePort timetableCachePort;
+    private final PricingSnapshotUseCase pricingSnapshotUseCase;
+    private final OfferChangeOutboxPort offerChangeOutboxPort;
+    private final TransactionOperations transactionOperations;
+    private final OfferCompactionUseCase offerCompactionUseCase;
+    private final TimetableMaterializer timetableMaterializer;
+    private final TimetableVersionPort timetableVersionPort;
+    private final OfferCachePort offerCachePort;
+
+    /**
+     * Number of offers written per JDBC batch and transaction by {@link #ingestOffers(Iterator)}.
+     */
+    @Setter
+    @Value("${offer.bulk.batch-size:1000}")
+    private int bulkBatchSize = 1000;
+
+    /**
+     * Number of offers deleted per statement and transaction by {@link #purgeOffersEndingBefore(LocalDateTime)}.
+     */
+    @Setter
+    @Value("${offer.purge.chunk-size:10000}")
+    private int purgeChunkSize = 10000;
 
     @Override
     public Offer createOffer(Offer offer) {
-        return offerPersistencePort.saveOffer(offer);
+        TimetableKey key = new TimetableKey(offer.getBrandId(), offer.getPartnumber());
+        Written<Offer> written = transactionOperations.execute(status -> {
+            Offer created = offerPersistencePort.saveOffer(offer);
+            List<TimetableKey> keys = List.of(key);
+            offerChangeOutboxPort.append(keys);
+            Map<TimetableKey, Long> versions = timetableVersionPort.increment(keys);
+            timetableMaterializer.refresh(keys, offerCompactionUseCase.getLiveHorizon());
+            return new Written<>(created, versions);
+        });
+        Offer saved = written.value();
+        if (offerDomainService.isIncremental()) {
+            Offer timetableOffer = toTimetableOffer(saved);
+            LocalDateTime horizon = offerCompactionUseCase.getLiveHorizon();
+            timetableCachePort.update(offer.getBrandId(), offer.getPartnumber(), written.versions().get(key), timetable -> {
+                if (isLive(timetableOffer, horizon)) {
+                    timetable.insert(timetableOffer);
+                }
+                return true;
+            });
+        } else {
+            timetableCachePort.evict(offer.getBrandId(), offer.getPartnumber());
+        }
+        return saved;
+    }
+
+    @Override
+    public BulkIngestionResult ingestOffers(Iterator<Offer> offers) {
+        long accepted = 0;
+        long rejected = 0;
+        List<Offer> batch = new ArrayList<>(bulkBatchSize);
+        while (true) {
+            Offer offer;
+            try {
+                if (!offers.hasNext()) {
+                    break;
+                }
+                offer = offers.next();
+            } catch (RuntimeException e) {
+                // Write what was read before the failure, so that the counts tell where to resume
+                if (!batch.isEmpty()) {
+                    accepted += writeBatch(batch);
+                }
+                throw new BulkIngestionException(new BulkIngestionResult(accepted, rejected), e);
+            }
+            if (!offerDomainService.isValid(offer)) {
+                rejected++;
+                continue;
+            }
+            batch.add(offer);
+            if (batch.size() == bulkBatchSize) {
+                accepted += writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            accepted += writeBatch(batch);
+        }
+        return new BulkIngestionResult(accepted, rejected);
+    }
+
+    private int writeBatch(List<Offer> batch) {
+        List<TimetableKey> keys = batch.stream()
+                .map(offer -> new TimetableKey(offer.getBrandId(), offer.getPartnumber()))
+                .distinct()
+                .toList();
+        int written = transactionOperations.execute(status -> {
+            int saved = offerPersistencePort.saveOffers(batch);
+            offerChangeOutboxPort.append(keys);
+            timetableVersionPort.increment(keys);
+            timetableMaterializer.refresh(keys, offerCompactionUseCase.getLiveHorizon());
+            return saved;
+        });
+        keys.forEach(key -> timetableCachePort.evict(key.getBrandId(), key.getPartnumber()));
+        return written;
+    }
+
+    @Override
+    public long deleteAllOffers() {
+        int deleted = transactionOperations.execute(status -> {
+            int count = offerPersistencePort.deleteAllOffers();
+            offerChangeOutboxPort.append(List.of(new TimetableKey(null, null)));
+            timetableVersionPort.incrementAll();
+            timetableMaterializer.deleteAll();
+            return count;
+        });
+        timetableCachePort.evictAll();
+        return deleted;
+    }
+
+    @Override
+    public long deleteOffersByBrand(Integer brandId) {
+        int deleted = transactionOperations.execute(status -> {
+            int count = offerPersistencePort.deleteOffersByBrand(brandId);
+            if (count > 0) {
+                offerChangeOutboxPort.append(List.of(new TimetableKey(brandId, null)));
+                timetableVersionPort.incrementBrand(brandId);
+                timetableMaterializer.deleteBrand(brandId);
+            }
+            return count;
+        });
+        if (deleted > 0) {
+            timetableCachePort.evictBrand(brandId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public long deleteOffersByBrandAndPartNumber(Integer brandId, String partNumber) {
+        int deleted = transactionOperations.execute(status -> {
+            int count = offerPersistencePort.deleteOffersByBrandAndPartNumber(brandId, partNumber);
+            if (count > 0) {
+                List<TimetableKey> keys = List.of(new TimetableKey(brandId, partNumber));
+                offerChangeOutboxPort.append(keys);
+                timetableVersionPort.increment(keys);
+                timetableMaterializer.refresh(keys, offerCompactionUseCase.getLiveHorizon());
+            }
+            return count;
+        });
+        if (deleted > 0) {
+            timetableCachePort.evict(brandId, partNumber);
+        }
+        return deleted;
     }
 
     @Override
-    public void deleteAllOffers() {
-        offerPersistencePort.deleteAllOffers();
+    public long purgeOffersEndingBefore(LocalDateTime before) {
+        long purged = 0;
+        List<TimetableKey> chunk;
+        do {
+            chunk = transactionOperations.execute(status -> {
+                List<TimetableKey> products = offerPersistencePort.deleteOffersEndingBefore(before, purgeChunkSize);
+                List<TimetableKey> keys = products.stream().distinct().toList();
+                offerChangeOutboxPort.append(keys);
+                timetableVersionPort.increment(keys);
+                timetableMaterializer.refresh(keys, offerCompactionUseCase.getLiveHorizon());
+                return products;
+            });
+            chunk.stream()
+                    .distinct()
+                    .forEach(key -> timetableCachePort.evict(key.getBrandId(), key.getPartnumber()));
+            purged += chunk.size();
+        } while (chunk.size() == purgeChunkSize);
+        return purged;
     }
 
     @Override
     public void deleteOfferById(Long offerId) {
-        offerPersistencePort.deleteOfferById(offerId);
+        // Look the offer up first: its brand and part number identify the timetable to invalidate
+        Written<Offer> written = transactionOperations.execute(status -> {
+            Offer found = offerPersistencePort.findOfferById(offerId);
+            offerPersistencePort.deleteOfferById(offerId);
+            if (found == null) {
+                return new Written<>(null, Map.of());
+            }
+            List<TimetableKey> keys = List.of(new TimetableKey(found.getBrandId(), found.getPartnumber()));
+            offerChangeOutboxPort.append(keys);
+            Map<TimetableKey, Long> versions = timetableVersionPort.increment(keys);
+            timetableMaterializer.refresh(keys, offerCompactionUseCase.getLiveHorizon());
+            return new Written<>(found, versions);
+        });
+        Offer existing = written.value();
+        if (existing == null) {
+            return;
+        }
+        if (offerDomainService.isIncremental()) {
+            long version = written.versions().get(new TimetableKey(existing.getBrandId(), existing.getPartnumber()));
+            timetableCachePort.update(existing.getBrandId(), existing.getPartnumber(), version,
+                    timetable -> timetable.remove(offerId));
+        } else {
+            timetableCachePort.evict(existing.getBrandId(), existing.getPartnumber());
+        }
+    }
+
+    /**
+     * Rebuilds the materialised timetables once the application is ready if writes made while
+     * materialised mode was disabled did not maintain them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void materializeOnStartup() {
+        timetableMaterializer.rebuildIfStale(offerCompactionUseCase.getLiveHorizon());
     }
 
     @Override
@@ -41,16 +291,222 @@ public class OfferUseCaseImpl implements OfferUseCase {
         return offerPersistencePort.findAllOffers();
     }
 
+    @Override
+    public void streamAllOffers(Consumer<Offer> consumer) {
+        offerPersistencePort.streamAllOffers(consumer);
+    }
+
+    @Override
+    public OfferPage getOffersPage(OfferFilter filter, Long afterOfferId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return offerPersistencePort.findOffersPage(filter, afterOfferId, pageSize);
+    }
+
     @Override
     public Offer getOfferById(Long offerId) {
+        PricingSnapshot snapshot = pricingSnapshotUseCase.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getOffer(offerId);
+        }
         return offerPersistencePort.findOfferById(offerId);
     }
 
+    @Override
+    public VersionedOffer getVersionedOffer(Long offerId) {
+        PricingSnapshot snapshot = pricingSnapshotUseCase.getSnapshot();
+        if (snapshot != null) {
+            Offer offer = snapshot.getOffer(offerId);
+            return offer != null
+                    ? new VersionedOffer(snapshot.getVersion(offer.getBrandId(), offer.getPartnumber()), offer)
+                    : null;
+        }
+        VersionedOffer cached = offerCachePort.getOffer(offerId);
+        if (cached != null && cached.getVersion() == timetableVersionPort.getVersion(
+                cached.getOffer().getBrandId(), cached.getOffer().getPartnumber()).getVersion()) {
+            // Its product has not been written since, so it has not been deleted either
+            return cached;
+        }
+        // The product is only known once the offer is read: read the version, then the offer again.
+        // Offers never change, so the second read only tells whether it was deleted in between.
+        Offer offer = cached != null ? cached.getOffer() : offerPersistencePort.findOfferById(offerId);
+        if (offer == null) {
+            return null;
+        }
+        long version = timetableVersionPort.getVersion(offer.getBrandId(), offer.getPartnumber()).getVersion();
+        Offer current = offerPersistencePort.findOfferById(offerId);
+        if (current == null) {
+            return null;
+        }
+        VersionedOffer versioned = new VersionedOffer(version, current);
+        offerCachePort.putOffer(versioned);
+        return versioned;
+    }
+
     @Override
     public List<Offer> getTimetableForBrandAndPartNumber(Integer brandId, String partNumber) {
-        // Retrieve all offers from persistence
-        List<Offer> offers = offerPersistencePort.findOffersByBrandAndPartNumber(brandId, partNumber);
-        // Flatten intervals so that they do not overlap
-        return offerDomainService.flattenIntervalsByPriority(offers);
+        return getTimetable(brandId, partNumber).getSegments();
+    }
+
+    @Override
+    public VersionedTimetable getVersionedTimetable(Integer brandId, String partNumber, LocalDateTime instant) {
+        long version;
+        Timetable timetable;
+        PricingSnapshot snapshot = pricingSnapshotUseCase.getSnapshot();
+        if (snapshot != null) {
+            version = snapshot.getVersion(brandId, partNumber);
+            timetable = snapshot.getTimetable(brandId, partNumber);
+        } else {
+            // Read the version first: the timetable read after it is at least as recent, never older
+            version = timetableVersionPort.getVersion(brandId, partNumber).getVersion();
+            timetable = getTimetable(brandId, partNumber, version);
+        }
+        LocalDateTime nextChange = timetable.nextChangeAfter(instant);
+        if (nextChange == null) {
+            nextChange = LocalDateTime.MAX;
+        }
+        if (version != TimetableVersions.UNKNOWN) {
+            timetableVersionPort.recordNextChange(brandId, partNumber, version, nextChange);
+        }
+        return new VersionedTimetable(new TimetableVersion(version, nextChange), timetable.getSegments());
+    }
+
+    @Override
+    public TimetableVersion getTimetableVersion(Integer brandId, String partNumber) {
+        return timetableVersionPort.getVersion(brandId, partNumber);
+    }
+
+    @Override
+    public Offer getPriceAt(Integer brandId, String partNumber, LocalDateTime instant) {
+        return getTimetable(brandId, partNumber).segmentAt(instant);
+    }
+
+    @Override
+    public Map<String, Offer> getPricesAt(Integer brandId, Collection<String> partNumbers, LocalDateTime instant) {
+        Set<String> distinct = new LinkedHashSet<>(partNumbers);
+        Map<String, Timetable> timetables = getTimetables(brandId, distinct);
+
+        Map<String, Offer> prices = new LinkedHashMap<>();
+        for (String partNumber : distinct) {
+            Timetable timetable = timetables.get(partNumber);
+            Offer segment = timetable != null ? timetable.segmentAt(instant) : null;
+            if (segment != null) {
+                prices.put(partNumber, segment);
+            }
+        }
+        return prices;
+    }
+
+    private Timetable getTimetable(Integer brandId, String partNumber) {
+        PricingSnapshot snapshot = pricingSnapshotUseCase.getSnapshot();
+        if (snapshot != null) {
+            return snapshot.getTimetable(brandId, partNumber);
+        }
+        if (timetableMaterializer.isEnabled()) {
+            return timetableMaterializer.getTimetable(brandId, partNumber);
+        }
+        if (offerDomainService.isIncremental()) {
+            return timetableCachePort.getMaintainedTimetable(brandId, partNumber, () -> offerDomainService
+                    .openIncrementalTimetable(findLiveTimetableOffers(brandId, partNumber)));
+        }
+        return timetableCachePort.getTimetable(brandId, partNumber,
+                () -> loadTimetable(brandId, partNumber));
+    }
+
+    /**
+     * Same as {@link #getTimetable(Integer, String)}, without a snapshot, but cached timetables
+     * are only served if they were loaded at the given version.
+     */
+    private Timetable getTimetable(Integer brandId, String partNumber, long version) {
+        if (timetableMaterializer.isEnabled()) {
+            return timetableMaterializer.getTimetable(brandId, partNumber);
+        }
+        if (offerDomainService.isIncremental()) {
+            return timetableCachePort.getMaintainedTimetable(brandId, partNumber, version, () -> offerDomainService
+                    .openIncrementalTimetable(findLiveTimetableOffers(brandId, partNumber)));
+        }
+        return timetableCachePort.getTimetable(brandId, partNumber, version,
+                () -> loadTimetable(brandId, partNumber));
+    }
+
+    private Map<String, Timetable> getTimetables(Integer brandId, Set<String> partNumbers) {
+        PricingSnapshot snapshot = pricingSnapshotUseCase.getSnapshot();
+        if (snapshot != null) {
+            return partNumbers.stream()
+                    .collect(Collectors.toMap(Function.identity(), partNumber -> snapshot.getTimetable(brandId, partNumber)));
+        }
+        if (timetableMaterializer.isEnabled()) {
+            return timetableMaterializer.getTimetables(brandId, partNumbers);
+        }
+        if (offerDomainService.isIncremental()) {
+            return timetableCachePort.getMaintainedTimetables(brandId, partNumbers,
+                    missing -> loadTimetables(brandId, missing, offerDomainService::openIncrementalTimetable));
+        }
+        return timetableCachePort.getTimetables(brandId, partNumbers,
+                missing -> loadTimetables(brandId, missing,
+                        offers -> Timetable.of(offerDomainService.flattenIntervalsByPriority(offers))));
+    }
+
+    private Timetable loadTimetable(Integer brandId, String partNumber) {
+        // Retrieve the timetable fields of all live offers from persistence
+        List<Offer> offers = findLiveTimetableOffers(brandId, partNumber);
+        // Flatten intervals so that they do not overlap, then index them for point lookups
+        return Timetable.of(offerDomainService.flattenIntervalsByPriority(offers));
+    }
+
+    private <T> Map<String, T> loadTimetables(Integer brandId, Set<String> partNumbers, Function<List<Offer>, T> flatten) {
+        // Retrieve the offers of every product with a single query, then flatten each product on its own
+        LocalDateTime horizon = offerCompactionUseCase.getLiveHorizon();
+        Map<String, List<Offer>> offersByPartNumber = offerPersistencePort
+                .findTimetableOffers(brandId, partNumbers)
+                .stream()
+                .filter(offer -> isLive(offer, horizon))
+                .collect(Collectors.groupingBy(Offer::getPartnumber));
+
+        Stream<String> products = partNumbers.stream();
+        if (partNumbers.size() >= PARALLEL_FLATTEN_THRESHOLD) {
+            products = products.parallel();
+        }
+        return products.collect(Collectors.toMap(Function.identity(),
+                partNumber -> flatten.apply(offersByPartNumber.getOrDefault(partNumber, List.of()))));
+    }
+
+    private List<Offer> findLiveTimetableOffers(Integer brandId, String partNumber) {
+        List<Offer> offers = offerPersistencePort.findTimetableOffers(brandId, partNumber);
+        LocalDateTime horizon = offerCompactionUseCase.getLiveHorizon();
+        if (horizon == null) {
+            return offers;
+        }
+        return offers.stream()
+                .filter(offer -> isLive(offer, horizon))
+                .toList();
+    }
+
+    /**
+     * @param horizon the live horizon, {@code null} if every offer is live
+     */
+    private static boolean isLive(Offer offer, LocalDateTime horizon) {
+        return horizon == null || !offer.getEndDate().isBefore(horizon);
+    }
+
+    /**
+     * Keeps the fields loaded by {@link OfferPersistencePort#findTimetableOffers(Integer, String)},
+     * so that maintained timetables serve the same segments as freshly loaded ones.
+     */
+    private static Offer toTimetableOffer(Offer offer) {
+        return Offer.builder()
+                .offerId(offer.getOfferId())
+                .brandId(offer.getBrandId())
+                .partnumber(offer.getPartnumber())
+                .startDate(offer.getStartDate())
+                .endDate(offer.getEndDate())
+                .priority(offer.getPriority())
+                .price(offer.getPrice())
+                .build();
+    }
+
+    /**
+     * The result of a write transaction, with the versions of the products it wrote.
+     */
+    private record Written<T>(T value, Map<TimetableKey, Long> versions) {
     }
 }
\ No newline at end of file
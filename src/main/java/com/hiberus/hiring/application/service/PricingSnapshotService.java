@@ -0,0 +1,264 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
+import com.hiberus.hiring.application.port.in.PricingSnapshotUseCase;
+import com.hiberus.hiring.application.port.out.OfferPersistencePort;
+import com.hiberus.hiring.application.port.out.PricingSnapshotStoragePort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.service.FlattenBuffers;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implements the PricingSnapshotUseCase interface.
+ * In snapshot mode, all offers are read once at startup, grouped by product and flattened
+ * with OfferDomainService into a compact PricingSnapshot. The result is then refreshed every {@code offer.snapshot.refresh-interval},
+ * or on demand.
+ * Every refresh builds a complete snapshot before publishing it with a single reference swap:
+ * readers never wait for a refresh and never see a partially built snapshot.
+ * Published snapshots are also stored with PricingSnapshotStoragePort: on the next start the
+ * stored copy is served at once while the database load runs in the background.
+ * Every snapshot holds the versions of TimetableVersionPort read before its offers, which are
+ * the versions of its timetables.
+ * Timetables leave out the offers that ended before the live horizon of OfferCompactionUseCase.
+ * With the SWEEP_LINE algorithm, products are flattened from the columns of the snapshot being
+ * built, with the primitive form of OfferDomainService.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PricingSnapshotService implements PricingSnapshotUseCase {
+
+    private final OfferPersistencePort offerPersistencePort;
+    private final OfferDomainService offerDomainService;
+    private final PricingSnapshotStoragePort pricingSnapshotStoragePort;
+    private final OfferCompactionUseCase offerCompactionUseCase;
+    private final TimetableVersionPort timetableVersionPort;
+
+    private final AtomicReference<PricingSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Serializes refreshes. A lock rather than {@code synchronized}, which would pin
+     * the carrier of a virtual thread for the whole table read.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    @Setter
+    @Value("${offer.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public PricingSnapshot getSnapshot() {
+        return enabled ? snapshot.get() : null;
+    }
+
+    @Override
+    public PricingSnapshot refreshSnapshot() {
+        if (!enabled) {
+            throw new IllegalStateException("Snapshot mode is disabled");
+        }
+        refreshLock.lock();
+        try {
+            long start = System.nanoTime();
+            PricingSnapshot loaded = load();
+            snapshot.set(loaded);
+            log.info("Published pricing snapshot with {} offers and {} timetables ({} segments) in {} ms",
+                    loaded.getOfferCount(), loaded.getTimetableCount(), loaded.getSegmentCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            store(loaded);
+            return loaded;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the stored snapshot, if any, before the application accepts requests.
+     */
+    @PostConstruct
+    void restoreOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        PricingSnapshot stored = pricingSnapshotStoragePort.load();
+        if (stored != null && snapshot.compareAndSet(null, stored)) {
+            log.info("Restored pricing snapshot of {} with {} offers and {} timetables in {} ms",
+                    stored.getLoadedAt(), stored.getOfferCount(), stored.getTimetableCount(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Loads the first snapshot from the database once the application is ready: in the background
+     * when a stored snapshot is already served, otherwise before readiness, reads going to the
+     * database until then.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        if (enabled && snapshot.get() != null) {
+            Thread.ofVirtual().name("pricing-snapshot-load").start(this::refreshQuietly);
+        } else {
+            refreshQuietly();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${offer.snapshot.refresh-interval:PT5M}",
+            initialDelayString = "${offer.snapshot.refresh-interval:PT5M}")
+    void refreshPeriodically() {
+        refreshQuietly();
+    }
+
+    private void refreshQuietly() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refreshSnapshot();
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot
+            log.error("Pricing snapshot refresh failed", e);
+        }
+    }
+
+    private void store(PricingSnapshot loaded) {
+        try {
+            pricingSnapshotStoragePort.save(loaded);
+        } catch (RuntimeException e) {
+            // The published snapshot is unaffected, only the next start is slower
+            log.warn("Could not store pricing snapshot", e);
+        }
+    }
+
+    private PricingSnapshot load() {
+        LocalDateTime loadedAt = LocalDateTime.now();
+        LocalDateTime horizon = offerCompactionUseCase.getLiveHorizon();
+        // Read before the offers: the snapshot is then at least as recent as its versions
+        PricingSnapshot.Builder snapshot = PricingSnapshot.builder().versions(timetableVersionPort.getVersions());
+        // The primitive form of OfferDomainService is the sweep line, selected when timetables are incremental
+        if (offerDomainService.isIncremental()) {
+            loadColumns(snapshot, horizon);
+        } else {
+            loadOffers(snapshot, horizon);
+        }
+        return snapshot.build(loadedAt);
+    }
+
+    /**
+     * Flattens every product with the selected algorithm, over copies of its offers.
+     */
+    private void loadOffers(PricingSnapshot.Builder snapshot, LocalDateTime horizon) {
+        Map<TimetableKey, List<Offer>> offersByProduct = new HashMap<>();
+        offerPersistencePort.streamAllOffers(offer -> {
+            snapshot.addOffer(offer);
+            if (!isLive(offer, horizon)) {
+                return;
+            }
+            // Flatten copies: the legacy algorithm truncates its input in place
+            offersByProduct.computeIfAbsent(new TimetableKey(offer.getBrandId(), offer.getPartnumber()),
+                    key -> new ArrayList<>()).add(offer.toBuilder().build());
+        });
+
+        Iterator<Map.Entry<TimetableKey, List<Offer>>> products = offersByProduct.entrySet().iterator();
+        while (products.hasNext()) {
+            Map.Entry<TimetableKey, List<Offer>> product = products.next();
+            snapshot.addTimetable(product.getKey(), offerDomainService.flattenIntervalsByPriority(product.getValue()));
+            // Release the flattened copies as we go
+            products.remove();
+        }
+    }
+
+    /**
+     * Flattens every product with the sweep line over the columns of the snapshot itself: products
+     * only keep the positions of their offers, and segments are copied from the winning positions
+     * without creating an {@link Offer} per offer or per segment.
+     */
+    private void loadColumns(PricingSnapshot.Builder snapshot, LocalDateTime horizon) {
+        Map<TimetableKey, OfferPositions> positionsByProduct = new HashMap<>();
+        offerPersistencePort.streamAllOffers(offer -> {
+            int position = snapshot.getOfferCount();
+            snapshot.addOffer(offer);
+            if (isLive(offer, horizon)) {
+                positionsByProduct.computeIfAbsent(new TimetableKey(offer.getBrandId(), offer.getPartnumber()),
+                        key -> new OfferPositions()).add(position);
+            }
+        });
+
+        FlattenBuffers buffers = new FlattenBuffers();
+        long[] startDates = new long[0];
+        long[] endDates = new long[0];
+        int[] priorities = new int[0];
+        Iterator<Map.Entry<TimetableKey, OfferPositions>> products = positionsByProduct.entrySet().iterator();
+        while (products.hasNext()) {
+            Map.Entry<TimetableKey, OfferPositions> product = products.next();
+            OfferPositions positions = product.getValue();
+            if (startDates.length < positions.size) {
+                startDates = new long[positions.values.length];
+                endDates = new long[positions.values.length];
+                priorities = new int[positions.values.length];
+            }
+            for (int i = 0; i < positions.size; i++) {
+                startDates[i] = snapshot.offerStartAt(positions.values[i]);
+                endDates[i] = snapshot.offerEndAt(positions.values[i]);
+                priorities[i] = snapshot.offerPriorityAt(positions.values[i]);
+            }
+            int segments = offerDomainService.flattenIntervalsByPriority(startDates, endDates, priorities, null,
+                    positions.size, buffers);
+            for (int i = 0; i < segments; i++) {
+                snapshot.addSegment(product.getKey(), positions.values[buffers.segmentOfferAt(i)],
+                        buffers.segmentStartAt(i), buffers.segmentEndAt(i));
+            }
+            products.remove();
+        }
+    }
+
+    /**
+     * Expired offers are still served by ID until archived, but left out of timetables.
+     */
+    private static boolean isLive(Offer offer, LocalDateTime horizon) {
+        return horizon == null || !offer.getEndDate().isBefore(horizon);
+    }
+
+    /**
+     * Positions of the offers of a product in the snapshot, in the order they were added.
+     */
+    private static final class OfferPositions {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = position;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
+import com.hiberus.hiring.application.port.in.ReactiveOfferUseCase;
+import com.hiberus.hiring.application.port.out.ReactiveOfferPersistencePort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import com.hiberus.hiring.domain.service.TimetableAlgorithm;
+import com.hiberus.hiring.domain.service.TimetableSweep;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implements the ReactiveOfferUseCase interface.
+ * Reads through ReactiveOfferPersistencePort and flattens with OfferDomainService.
+ * With the sweep line algorithm, timetables are flattened incrementally as offers arrive
+ * (see {@link TimetableSweep}); other algorithms need the whole list, which is collected first.
+ * Timetables are not cached here: every subscription reads the current offers, leaving out
+ * those that ended before the live horizon of OfferCompactionUseCase.
+ * Only active when the application runs as a reactive web application.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveOfferUseCaseImpl implements ReactiveOfferUseCase {
+
+    private final ReactiveOfferPersistencePort reactiveOfferPersistencePort;
+    private final OfferDomainService offerDomainService;
+    private final OfferCompactionUseCase offerCompactionUseCase;
+
+    @Override
+    public Flux<Offer> getAllOffers() {
+        return reactiveOfferPersistencePort.findAllOffers();
+    }
+
+    @Override
+    public Mono<Offer> getOfferById(Long offerId) {
+        return reactiveOfferPersistencePort.findOfferById(offerId);
+    }
+
+    @Override
+    public Flux<Offer> getTimetableForBrandAndPartNumber(Integer brandId, String partNumber) {
+        return Flux.defer(() -> {
+            LocalDateTime horizon = offerCompactionUseCase.getLiveHorizon();
+            Flux<Offer> offers = reactiveOfferPersistencePort.findTimetableOffers(brandId, partNumber)
+                    .filter(offer -> horizon == null || !offer.getEndDate().isBefore(horizon));
+            if (offerDomainService.getAlgorithm() != TimetableAlgorithm.SWEEP_LINE) {
+                return offers.collectList().flatMapIterable(offerDomainService::flattenIntervalsByPriority);
+            }
+            // One sweep per subscription; offers arrive ordered by start date
+            TimetableSweep sweep = offerDomainService.openTimetableSweep();
+            return offers
+                    .concatMapIterable(offer -> {
+                        List<Offer> segments = new ArrayList<>(1);
+                        sweep.accept(offer, segments::add);
+                        return segments;
+                    })
+                    .concatWith(Flux.defer(() -> {
+                        List<Offer> segments = new ArrayList<>(1);
+                        sweep.finish(segments::add);
+                        return Flux.fromIterable(segments);
+                    }));
+        });
+    }
+
+    @Override
+    public Mono<Offer> getPriceAt(Integer brandId, String partNumber, LocalDateTime instant) {
+        // Segments starting after the instant cannot cover it: stop reading at the first one
+        LocalDateTime second = instant.truncatedTo(ChronoUnit.SECONDS);
+        return getTimetableForBrandAndPartNumber(brandId, partNumber)
+                .takeWhile(segment -> !segment.getStartDate().isAfter(second))
+                .collectList()
+                .mapNotNull(segments -> Timetable.of(segments).segmentAt(instant));
+    }
+}
@@ -0,0 +1,223 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.TimetableChangeFeedUseCase;
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Implements the TimetableChangeFeedUseCase interface.
+ * Every {@code offer.outbox.dispatch-interval}, the records appended to the outbox by
+ * OfferUseCaseImpl since the previous dispatch are taken and published to the feed,
+ * coalesced: a product written many times within the window is published once, and a change
+ * of every product (of a brand) replaces the changes of its individual products.
+ * Records are taken and published in the same transaction, so a failed dispatch leaves them
+ * in the outbox for the next one. Feed entries older than {@code offer.outbox.feed-retention}
+ * are pruned.
+ * After every dispatch, the changes published since the previous one, by any instance, are read
+ * from the feed once and delivered to the subscribers of this instance, so that the number of
+ * feed reads does not grow with the number of subscribers. The versions this instance keeps of the
+ * products changed are evicted first (see TimetableVersionPort#evict).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimetableChangeFeedService implements TimetableChangeFeedUseCase {
+
+    private final OfferChangeOutboxPort offerChangeOutboxPort;
+    private final TransactionOperations transactionOperations;
+    private final TimetableVersionPort timetableVersionPort;
+
+    /**
+     * Maximum number of outbox records coalesced and published per transaction.
+     */
+    @Setter
+    @Value("${offer.outbox.dispatch-batch-size:1000}")
+    private int dispatchBatchSize = 1000;
+
+    @Setter
+    @Value("${offer.outbox.feed-retention:P1D}")
+    private Duration feedRetention = Duration.ofDays(1);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Offset of the last change read by {@link #deliverChanges()}, -1 until the first read.
+     */
+    private long deliveredOffset = -1;
+
+    @Override
+    public List<TimetableChange> getChangesAfter(long offset, int limit) {
+        return offerChangeOutboxPort.findChangesAfter(Math.max(0, offset), Math.max(1, Math.min(limit, MAX_CHANGES)));
+    }
+
+    @Override
+    public Runnable subscribe(long offset, Consumer<TimetableChange> subscriber) {
+        Subscriber subscription = new Subscriber(subscriber, Math.max(0, offset));
+        subscribers.add(subscription);
+        return () -> subscribers.remove(subscription);
+    }
+
+    @Override
+    public int dispatchChanges() {
+        int published = 0;
+        Dispatch dispatch;
+        do {
+            dispatch = transactionOperations.execute(status -> {
+                List<TimetableKey> pending = offerChangeOutboxPort.takePending(dispatchBatchSize);
+                List<TimetableKey> changes = coalesce(pending);
+                offerChangeOutboxPort.publishChanges(changes, LocalDateTime.now());
+                return new Dispatch(pending.size(), changes.size());
+            });
+            published += dispatch.published();
+        } while (dispatch.taken() == dispatchBatchSize);
+        return published;
+    }
+
+    @Scheduled(fixedDelayString = "${offer.outbox.dispatch-interval:PT1S}")
+    void dispatchPeriodically() {
+        try {
+            int published = dispatchChanges();
+            if (published > 0) {
+                log.debug("Published {} timetable changes", published);
+            }
+        } catch (RuntimeException e) {
+            // The records stay in the outbox until the next dispatch
+            log.error("Timetable change dispatch failed", e);
+        }
+        try {
+            deliverChanges();
+        } catch (RuntimeException e) {
+            // Delivered from the same offsets after the next dispatch
+            log.warn("Timetable change delivery failed", e);
+        }
+    }
+
+    /**
+     * Reads the changes published after the last read, and delivers them to every subscriber that
+     * had received the changes before them. Subscribers further behind read the changes they
+     * missed on their own, up to the end of the feed, and take part in the shared read from then on.
+     */
+    synchronized void deliverChanges() {
+        if (deliveredOffset < 0) {
+            // Subscribers resuming from an earlier offset catch up on their own
+            deliveredOffset = offerChangeOutboxPort.findLastOffset();
+        }
+        long from = deliveredOffset;
+        List<TimetableChange> changes = readChangesAfter(from);
+        if (!changes.isEmpty()) {
+            timetableVersionPort.evict(changes.stream()
+                    .map(change -> new TimetableKey(change.getBrandId(), change.getPartnumber()))
+                    .toList());
+            deliveredOffset = changes.get(changes.size() - 1).getOffset();
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                if (subscriber.offset >= from) {
+                    subscriber.accept(changes);
+                } else {
+                    catchUp(subscriber);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Timetable change subscriber failed, unsubscribed", e);
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private void catchUp(Subscriber subscriber) {
+        List<TimetableChange> page;
+        do {
+            page = offerChangeOutboxPort.findChangesAfter(subscriber.offset, MAX_CHANGES);
+            subscriber.accept(page);
+        } while (page.size() == MAX_CHANGES);
+    }
+
+    /**
+     * @return every change published after the offset, read page by page
+     */
+    private List<TimetableChange> readChangesAfter(long offset) {
+        List<TimetableChange> changes = new ArrayList<>();
+        List<TimetableChange> page;
+        do {
+            long after = changes.isEmpty() ? offset : changes.get(changes.size() - 1).getOffset();
+            page = offerChangeOutboxPort.findChangesAfter(after, MAX_CHANGES);
+            changes.addAll(page);
+        } while (page.size() == MAX_CHANGES);
+        return changes;
+    }
+
+    @Scheduled(fixedDelayString = "${offer.outbox.prune-interval:PT1H}")
+    void pruneFeed() {
+        try {
+            int deleted = offerChangeOutboxPort.deleteChangesBefore(LocalDateTime.now().minus(feedRetention));
+            log.debug("Pruned {} timetable changes", deleted);
+        } catch (RuntimeException e) {
+            log.warn("Timetable change feed pruning failed", e);
+        }
+    }
+
+    /**
+     * Removes repeated products, and products covered by a change of their whole brand or of
+     * every product, keeping the order in which they were first changed.
+     */
+    static List<TimetableKey> coalesce(List<TimetableKey> pending) {
+        if (pending.stream().anyMatch(key -> key.getBrandId() == null)) {
+            return List.of(new TimetableKey(null, null));
+        }
+        Set<Integer> changedBrands = pending.stream()
+                .filter(key -> key.getPartnumber() == null)
+                .map(TimetableKey::getBrandId)
+                .collect(Collectors.toSet());
+        return pending.stream()
+                .filter(key -> key.getPartnumber() == null || !changedBrands.contains(key.getBrandId()))
+                .distinct()
+                .toList();
+    }
+
+    private record Dispatch(int taken, int published) {
+    }
+
+    /**
+     * A subscriber, with the offset of the last change delivered to it.
+     */
+    private static final class Subscriber {
+
+        private final Consumer<TimetableChange> consumer;
+        private long offset;
+
+        Subscriber(Consumer<TimetableChange> consumer, long offset) {
+            this.consumer = consumer;
+            this.offset = offset;
+        }
+
+        /**
+         * Delivers the changes it has not received yet.
+         */
+        void accept(List<TimetableChange> changes) {
+            for (TimetableChange change : changes) {
+                if (change.getOffset() > offset) {
+                    consumer.accept(change);
+                    offset = change.getOffset();
+                }
+            }
+        }
+    }
+}
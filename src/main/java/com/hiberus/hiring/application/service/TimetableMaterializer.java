@@ -0,0 +1,178 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.out.OfferPersistencePort;
+import com.hiberus.hiring.application.port.out.OfferTimetablePort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the materialised timetables of OfferTimetablePort when {@code offer.timetable.materialized}
+ * is enabled, moving the flattening from the read path to the write path.
+ *
+ * Writers call {@link #refresh} inside their own transaction, after writing the offers: the products
+ * are locked, their live offers read again and flattened with OfferDomainService, and the stored
+ * segments replaced, so that they commit or roll back together with the offers. Locks serialize
+ * the writers of a product, so the last one to commit always flattened every committed offer.
+ * Reads are then a single indexed range read, without any flattening.
+ *
+ * Writes made while the mode is disabled do not maintain the table but mark it stale, and
+ * {@link #rebuildIfStale(LocalDateTime)} rebuilds it from every offer when the application starts
+ * in this mode. Reads and the rebuild do nothing when the mode is disabled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimetableMaterializer {
+
+    private final OfferPersistencePort offerPersistencePort;
+    private final OfferTimetablePort offerTimetablePort;
+    private final OfferDomainService offerDomainService;
+    private final TransactionOperations transactionOperations;
+
+    @Setter
+    @Value("${offer.timetable.materialized:false}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Recomputes the stored timetables of the given products. Must run in the transaction of the write.
+     *
+     * @param keys the products written, possibly repeated
+     * @param horizon the live horizon, {@code null} if every offer is live
+     */
+    public void refresh(Collection<TimetableKey> keys, LocalDateTime horizon) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        if (!enabled) {
+            offerTimetablePort.markStale();
+            return;
+        }
+        List<TimetableKey> products = keys.stream().distinct().toList();
+        offerTimetablePort.lockTimetables(products);
+
+        // Read the offers of every product of a brand with a single query
+        Map<Integer, Set<String>> partNumbersByBrand = products.stream()
+                .collect(Collectors.groupingBy(TimetableKey::getBrandId,
+                        Collectors.mapping(TimetableKey::getPartnumber, Collectors.toCollection(LinkedHashSet::new))));
+        partNumbersByBrand.forEach((brandId, partNumbers) -> {
+            Map<String, List<Offer>> offersByPartNumber = offerPersistencePort.findTimetableOffers(brandId, partNumbers)
+                    .stream()
+                    .filter(offer -> isLive(offer, horizon))
+                    .collect(Collectors.groupingBy(Offer::getPartnumber));
+            for (String partNumber : partNumbers) {
+                List<Offer> offers = offersByPartNumber.getOrDefault(partNumber, List.of());
+                offerTimetablePort.replaceTimetable(new TimetableKey(brandId, partNumber),
+                        offerDomainService.flattenIntervalsByPriority(offers));
+            }
+        });
+    }
+
+    /**
+     * Removes the stored timetables of every product of a brand. Must run in the transaction of the write.
+     */
+    public void deleteBrand(Integer brandId) {
+        if (enabled) {
+            offerTimetablePort.deleteTimetablesByBrand(brandId);
+        } else {
+            offerTimetablePort.markStale();
+        }
+    }
+
+    /**
+     * Removes every stored timetable. Must run in the transaction of the write.
+     */
+    public void deleteAll() {
+        if (enabled) {
+            offerTimetablePort.deleteAllTimetables();
+        } else {
+            offerTimetablePort.markStale();
+        }
+    }
+
+    /**
+     * Rebuilds every stored timetable from the offers, in a transaction of its own, when writes
+     * were made without maintaining them. Writes wait for it; reads keep being served the previous
+     * timetables until it commits.
+     *
+     * @param horizon the live horizon, {@code null} if every offer is live
+     */
+    public void rebuildIfStale(LocalDateTime horizon) {
+        if (!enabled || !offerTimetablePort.isStale()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Integer products = transactionOperations.execute(status -> {
+            offerTimetablePort.lockAllTimetables();
+            // Another instance may have rebuilt them while this one waited for the locks
+            if (!offerTimetablePort.isStale()) {
+                return null;
+            }
+            Map<TimetableKey, List<Offer>> offersByProduct = new HashMap<>();
+            offerPersistencePort.streamAllOffers(offer -> {
+                if (isLive(offer, horizon)) {
+                    offersByProduct.computeIfAbsent(new TimetableKey(offer.getBrandId(), offer.getPartnumber()),
+                            key -> new ArrayList<>()).add(offer);
+                }
+            });
+            // Offers are streamed in ID order, flattened in start date order
+            offersByProduct.replaceAll((key, offers) -> offerDomainService.flattenIntervalsByPriority(offers));
+            offerTimetablePort.replaceAllTimetables(offersByProduct);
+            return offersByProduct.size();
+        });
+        if (products == null) {
+            return;
+        }
+        log.info("Materialised the timetables of {} products in {} ms", products,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return the stored timetable of a product
+     */
+    public Timetable getTimetable(Integer brandId, String partNumber) {
+        return Timetable.of(offerTimetablePort.findTimetable(brandId, partNumber));
+    }
+
+    /**
+     * @return the stored timetable of every given product of a brand, empty for products without offers
+     */
+    public Map<String, Timetable> getTimetables(Integer brandId, Set<String> partNumbers) {
+        Map<String, List<Offer>> segmentsByPartNumber = offerTimetablePort.findTimetables(brandId, partNumbers)
+                .stream()
+                .collect(Collectors.groupingBy(Offer::getPartnumber));
+        return partNumbers.stream()
+                .collect(Collectors.toMap(Function.identity(),
+                        partNumber -> Timetable.of(segmentsByPartNumber.get(partNumber))));
+    }
+
+    /**
+     * @param horizon the live horizon, {@code null} if every offer is live
+     */
+    static boolean isLive(Offer offer, LocalDateTime horizon) {
+        return horizon == null || !offer.getEndDate().isBefore(horizon);
+    }
+}
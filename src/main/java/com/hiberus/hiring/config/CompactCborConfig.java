@@ -0,0 +1,35 @@
+package com.hiberus.hiring.config;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactMediaType;
+
+/**
+ * Writes the compact DTOs of service-to-service calls as CBOR (see CompactMediaType).
+ *
+ * The converter is added to Spring MVC only, not declared as a bean: Spring Boot would otherwise
+ * hand it to the RestTemplates it builds too, which would then ask for the compact schema.
+ * Compact DTOs hold numbers and strings only, so a plain CBORMapper is enough.
+ *
+ * The {@code application/cbor} converter Spring MVC registers once CBOR is on the classpath is
+ * removed: it would encode the JSON DTOs under their JSON ETags, with dates as arrays.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CompactCborConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(new CBORMapper());
+        converter.setSupportedMediaTypes(List.of(CompactMediaType.APPLICATION_COMPACT_CBOR));
+        converters.add(converter);
+    }
+}
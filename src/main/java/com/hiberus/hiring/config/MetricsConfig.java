@@ -0,0 +1,19 @@
+package com.hiberus.hiring.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics configuration for the Product Pricing Service.
+ * Enables the {@code @Timed} annotations of the use cases and the persistence adapter.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.hiberus.hiring.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reactive read path, enabled with {@code spring.main.web-application-type=reactive}.
+ *
+ * The pricing API is then served by WebFlux on Netty's event loops, and reads go through R2DBC
+ * (see R2dbcOfferPersistenceAdapter) instead of blocking JDBC calls.
+ *
+ * Spring Boot's R2DBC auto-configuration is excluded in application.yml, because its
+ * transaction manager would sit next to the JPA one and make {@code @Transactional} ambiguous.
+ * The connection pool is built here instead, from the usual {@code spring.r2dbc.*} properties.
+ * Reads need no transaction, so no reactive transaction manager is declared.
+ *
+ * Boot's JDBC DataSource backs off as soon as a ConnectionFactory exists, yet JPA, Flyway and
+ * the blocking adapter still need it, so the Hikari DataSource is declared here the way Boot does.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties({ R2dbcProperties.class, DataSourceProperties.class })
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionPool connectionFactory(R2dbcProperties properties) {
+        log.info("Reading offers through R2DBC from {}", properties.getUrl());
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory);
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getInitialSize()).to(builder::initialSize);
+        map.from(pool.getMaxSize()).to(builder::maxSize);
+        map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(pool.getValidationQuery()).to(builder::validationQuery);
+        return new ConnectionPool(builder.build());
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,13 @@
+package com.hiberus.hiring.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods: the timetable change outbox dispatch and, in snapshot
+ * mode ({@code offer.snapshot.enabled=true}), the periodic pricing snapshot refresh.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,60 @@
+package com.hiberus.hiring.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in virtual-thread execution, enabled with {@code offer.virtual-threads.enabled=true}.
+ *
+ * Tomcat handles every request on a new virtual thread, and so does the use-case code it calls.
+ * Asynchronous MVC work, such as the streamed offer export, also runs on virtual threads.
+ * Concurrency is then no longer capped by a thread pool. The DataSource is therefore wrapped in a
+ * {@link ConcurrencyLimitedDataSource} sized like the Hikari pool, so database access queues
+ * fairly instead of exhausting the pool. Leaving the property unset keeps the platform-thread
+ * setup unchanged.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "offer.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxConcurrency,
+            @Value("${offer.virtual-threads.db-permit-timeout:PT20S}") Duration timeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.hiberus.hiring.domain.exception;
+
+import com.hiberus.hiring.domain.model.BulkIngestionResult;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the offer stream of a bulk ingestion fails part way, for example on a malformed record.
+ * Every offer read before the failure has been handled and committed: "result" counts them, so
+ * that the caller can resend the stream from the record after the first {@code accepted + rejected}.
+ */
+@Getter
+public class BulkIngestionException extends RuntimeException {
+
+    private final transient BulkIngestionResult result;
+
+    public BulkIngestionException(BulkIngestionResult result, Throwable cause) {
+        super("Offer stream failed after " + result.getAccepted() + " accepted and " + result.getRejected()
+                + " rejected offers", cause);
+        this.result = result;
+    }
+}
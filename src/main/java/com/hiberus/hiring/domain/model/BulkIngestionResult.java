@@ -0,0 +1,15 @@
+package com.hiberus.hiring.domain.model;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk offer ingestion.
+ * "accepted" - offers written to the system
+ * "rejected" - offers skipped because they failed validation
+ */
+@Value
+public class BulkIngestionResult {
+
+    long accepted;
+    long rejected;
+}
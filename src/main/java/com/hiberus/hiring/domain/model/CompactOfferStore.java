@@ -0,0 +1,587 @@
+package com.hiberus.hiring.domain.model;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Read-only, columnar store of offers kept in parallel primitive columns.
+ *
+ * An {@link Offer} costs a dozen objects (boxed numbers, two {@code LocalDateTime}, a
+ * {@code BigDecimal} and two strings), around 300 bytes. Here an offer takes 52 bytes:
+ * dates are epoch seconds (UTC, as in {@link Timetable}), the price is a long in minor units
+ * of {@value #PRICE_SCALE} decimals (the scale of the price column), and part numbers and
+ * currencies are ids into per-store dictionaries. Missing values are kept as sentinels.
+ *
+ * {@link #get(int)} returns a flyweight {@link Offer} reading its fields from the columns on
+ * every call, usable wherever an Offer is expected. Views are read-only: setters throw and
+ * {@link Offer#toBuilder()} starts from a detached copy.
+ *
+ * Columns are held as {@link LongBuffer} and {@link IntBuffer}: wrapping heap arrays when the
+ * store is built, or slices of a memory-mapped file when it is {@link #read(ByteBuffer) read}
+ * back, in which case the offers stay off-heap.
+ */
+public final class CompactOfferStore {
+
+    /**
+     * Decimals kept for prices.
+     */
+    public static final int PRICE_SCALE = 2;
+
+    /**
+     * Byte order of written stores, native on x86 and ARM.
+     */
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final int size;
+    private final LongBuffer offerIds;
+    private final LongBuffer startDates;
+    private final LongBuffer endDates;
+    private final LongBuffer prices;
+    private final IntBuffer brandIds;
+    private final IntBuffer priceLists;
+    private final IntBuffer partnumbers;
+    private final IntBuffer priorities;
+    private final IntBuffer currencies;
+    private final String[] partnumberDictionary;
+    private final String[] currencyDictionary;
+    private final boolean sortedByOfferId;
+
+    private CompactOfferStore(Builder builder) {
+        this.size = builder.size;
+        this.offerIds = LongBuffer.wrap(Arrays.copyOf(builder.offerIds, size));
+        this.startDates = LongBuffer.wrap(Arrays.copyOf(builder.startDates, size));
+        this.endDates = LongBuffer.wrap(Arrays.copyOf(builder.endDates, size));
+        this.prices = LongBuffer.wrap(Arrays.copyOf(builder.prices, size));
+        this.brandIds = IntBuffer.wrap(Arrays.copyOf(builder.brandIds, size));
+        this.priceLists = IntBuffer.wrap(Arrays.copyOf(builder.priceLists, size));
+        this.partnumbers = IntBuffer.wrap(Arrays.copyOf(builder.partnumbers, size));
+        this.priorities = IntBuffer.wrap(Arrays.copyOf(builder.priorities, size));
+        this.currencies = IntBuffer.wrap(Arrays.copyOf(builder.currencies, size));
+        this.partnumberDictionary = builder.partnumberDictionary.toArray(String[]::new);
+        this.currencyDictionary = builder.currencyDictionary.toArray(String[]::new);
+        this.sortedByOfferId = builder.sortedByOfferId;
+    }
+
+    /**
+     * Maps a store written by {@link #writeTo(WritableByteChannel)}: columns stay in the buffer,
+     * typically a {@link java.nio.MappedByteBuffer}, and only the dictionaries are decoded.
+     */
+    private CompactOfferStore(ByteBuffer buffer) {
+        this.size = buffer.getInt();
+        this.sortedByOfferId = buffer.getInt() != 0;
+        this.offerIds = sliceLongs(buffer, size);
+        this.startDates = sliceLongs(buffer, size);
+        this.endDates = sliceLongs(buffer, size);
+        this.prices = sliceLongs(buffer, size);
+        this.brandIds = sliceInts(buffer, size);
+        this.priceLists = sliceInts(buffer, size);
+        this.partnumbers = sliceInts(buffer, size);
+        this.priorities = sliceInts(buffer, size);
+        this.currencies = sliceInts(buffer, size);
+        this.partnumberDictionary = readDictionary(buffer);
+        this.currencyDictionary = readDictionary(buffer);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index position of the offer, in insertion order
+     * @return a read-only view of the offer
+     */
+    public Offer get(int index) {
+        Objects.checkIndex(index, size);
+        return new View(index);
+    }
+
+    /**
+     * @return a read-only list of views over the offers in {@code [from, to)}
+     */
+    public List<Offer> subList(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        return new Views(from, to);
+    }
+
+    /**
+     * Finds an offer by ID: a binary search when offers were added in ascending ID order,
+     * as the persistence export returns them, a linear scan otherwise.
+     *
+     * @return the position of the offer, or {@code -1} if not found
+     */
+    public int indexOfOfferId(long offerId) {
+        if (!sortedByOfferId) {
+            for (int i = 0; i < size; i++) {
+                if (offerIds.get(i) == offerId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long id = offerIds.get(mid);
+            if (id < offerId) {
+                low = mid + 1;
+            } else if (id > offerId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the brand ID of the offer at the given position, without creating a view
+     */
+    public int brandIdAt(int index) {
+        return brandIds.get(index);
+    }
+
+    /**
+     * @return the part number of the offer at the given position, without creating a view
+     */
+    public String partnumberAt(int index) {
+        return lookup(partnumberDictionary, partnumbers.get(index));
+    }
+
+    /**
+     * @return the start date of the offer at the given position, in epoch seconds
+     */
+    public long startEpochSecondAt(int index) {
+        return startDates.get(index);
+    }
+
+    /**
+     * Writes the store in the layout read by {@link #read(ByteBuffer)}: the size, then every
+     * column as a little-endian block (long columns first, so all of them stay 8-byte aligned
+     * when the block starts aligned), then the dictionaries, padded to a multiple of 8 bytes.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8).order(BYTE_ORDER);
+        header.putInt(size).putInt(sortedByOfferId ? 1 : 0).flip();
+        writeFully(channel, header);
+        for (LongBuffer column : List.of(offerIds, startDates, endDates, prices)) {
+            ByteBuffer bytes = ByteBuffer.allocate(size * Long.BYTES).order(BYTE_ORDER);
+            bytes.asLongBuffer().put(column.duplicate().clear());
+            writeFully(channel, bytes);
+        }
+        for (IntBuffer column : List.of(brandIds, priceLists, partnumbers, priorities, currencies)) {
+            ByteBuffer bytes = ByteBuffer.allocate(padded(size * Integer.BYTES)).order(BYTE_ORDER);
+            bytes.asIntBuffer().put(column.duplicate().clear());
+            writeFully(channel, bytes);
+        }
+        writeDictionary(channel, partnumberDictionary);
+        writeDictionary(channel, currencyDictionary);
+    }
+
+    /**
+     * Reads a store written by {@link #writeTo(WritableByteChannel)} from the buffer position,
+     * which is then moved past it. The columns are not copied: they are views of the buffer.
+     */
+    public static CompactOfferStore read(ByteBuffer buffer) {
+        return new CompactOfferStore(buffer);
+    }
+
+    /**
+     * Converts an instant to the epoch second it is stored as.
+     */
+    public static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return epochSecond == NULL_LONG ? null : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static Integer toInteger(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static String lookup(String[] dictionary, int id) {
+        return id == NULL_INT ? null : dictionary[id];
+    }
+
+    private static LongBuffer sliceLongs(ByteBuffer buffer, int count) {
+        LongBuffer column = buffer.slice(buffer.position(), count * Long.BYTES).order(BYTE_ORDER).asLongBuffer();
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return column;
+    }
+
+    private static IntBuffer sliceInts(ByteBuffer buffer, int count) {
+        IntBuffer column = buffer.slice(buffer.position(), count * Integer.BYTES).order(BYTE_ORDER).asIntBuffer();
+        buffer.position(buffer.position() + padded(count * Integer.BYTES));
+        return column;
+    }
+
+    private static void writeDictionary(WritableByteChannel channel, String[] dictionary) throws IOException {
+        byte[][] encoded = new byte[dictionary.length][];
+        int length = Integer.BYTES;
+        for (int i = 0; i < dictionary.length; i++) {
+            encoded[i] = dictionary[i].getBytes(StandardCharsets.UTF_8);
+            length += Integer.BYTES + encoded[i].length;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(padded(length)).order(BYTE_ORDER);
+        bytes.putInt(dictionary.length);
+        for (byte[] value : encoded) {
+            bytes.putInt(value.length).put(value);
+        }
+        writeFully(channel, bytes.clear());
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) {
+        int start = buffer.position();
+        String[] dictionary = new String[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] value = new byte[buffer.getInt()];
+            buffer.get(value);
+            dictionary[i] = new String(value, StandardCharsets.UTF_8);
+        }
+        buffer.position(start + padded(buffer.position() - start));
+        return dictionary;
+    }
+
+    /**
+     * Writes the whole buffer, from position 0 to its limit.
+     */
+    static void writeFully(WritableByteChannel channel, ByteBuffer bytes) throws IOException {
+        bytes.rewind();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    static int padded(int length) {
+        return (length + 7) & ~7;
+    }
+
+    /**
+     * Flyweight over one position of the columns. Lombok's equals, hashCode and toString
+     * go through the getters, so views compare equal to the offers they were built from.
+     */
+    private final class View extends Offer {
+
+        private final int index;
+
+        View(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Long getOfferId() {
+            long offerId = offerIds.get(index);
+            return offerId == NULL_LONG ? null : offerId;
+        }
+
+        @Override
+        public Integer getBrandId() {
+            return toInteger(brandIds.get(index));
+        }
+
+        @Override
+        public LocalDateTime getStartDate() {
+            return toDateTime(startDates.get(index));
+        }
+
+        @Override
+        public LocalDateTime getEndDate() {
+            return toDateTime(endDates.get(index));
+        }
+
+        @Override
+        public Integer getPriceList() {
+            return toInteger(priceLists.get(index));
+        }
+
+        @Override
+        public String getPartnumber() {
+            return lookup(partnumberDictionary, partnumbers.get(index));
+        }
+
+        @Override
+        public Integer getPriority() {
+            return toInteger(priorities.get(index));
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            long price = prices.get(index);
+            return price == NULL_LONG ? null : BigDecimal.valueOf(price, PRICE_SCALE);
+        }
+
+        @Override
+        public String getCurr() {
+            return lookup(currencyDictionary, currencies.get(index));
+        }
+
+        @Override
+        public OfferBuilder toBuilder() {
+            return Offer.builder()
+                    .offerId(getOfferId())
+                    .brandId(getBrandId())
+                    .startDate(getStartDate())
+                    .endDate(getEndDate())
+                    .priceList(getPriceList())
+                    .partnumber(getPartnumber())
+                    .priority(getPriority())
+                    .price(getPrice())
+                    .curr(getCurr());
+        }
+
+        @Override
+        public void setOfferId(Long offerId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setBrandId(Integer brandId) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setStartDate(LocalDateTime startDate) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setEndDate(LocalDateTime endDate) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPriceList(Integer priceList) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPartnumber(String partnumber) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPriority(Integer priority) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPrice(BigDecimal price) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCurr(String curr) {
+            throw readOnly();
+        }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Offers of a CompactOfferStore are read-only");
+        }
+    }
+
+    private final class Views extends AbstractList<Offer> implements RandomAccess {
+
+        private final int from;
+        private final int to;
+
+        Views(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Offer get(int index) {
+            Objects.checkIndex(index, to - from);
+            return new View(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Accumulates offers into growing arrays; {@link #build()} trims them to size.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private int size;
+        private long[] offerIds = new long[INITIAL_CAPACITY];
+        private int[] brandIds = new int[INITIAL_CAPACITY];
+        private long[] startDates = new long[INITIAL_CAPACITY];
+        private long[] endDates = new long[INITIAL_CAPACITY];
+        private int[] priceLists = new int[INITIAL_CAPACITY];
+        private int[] partnumbers = new int[INITIAL_CAPACITY];
+        private int[] priorities = new int[INITIAL_CAPACITY];
+        private long[] prices = new long[INITIAL_CAPACITY];
+        private int[] currencies = new int[INITIAL_CAPACITY];
+        private final List<String> partnumberDictionary = new ArrayList<>();
+        private final Map<String, Integer> partnumberIds = new HashMap<>();
+        private final List<String> currencyDictionary = new ArrayList<>();
+        private final Map<String, Integer> currencyIds = new HashMap<>();
+        private boolean sortedByOfferId = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Appends a copy of the offer.
+         *
+         * @return the position of the offer in the store
+         * @throws IllegalArgumentException if the price has more than {@value #PRICE_SCALE} decimals
+         */
+        public int add(Offer offer) {
+            if (size == offerIds.length) {
+                grow();
+            }
+            int index = size;
+            offerIds[index] = offer.getOfferId() == null ? NULL_LONG : offer.getOfferId();
+            brandIds[index] = fromInteger(offer.getBrandId());
+            startDates[index] = offer.getStartDate() == null ? NULL_LONG : toEpochSecond(offer.getStartDate());
+            endDates[index] = offer.getEndDate() == null ? NULL_LONG : toEpochSecond(offer.getEndDate());
+            priceLists[index] = fromInteger(offer.getPriceList());
+            partnumbers[index] = intern(partnumberDictionary, partnumberIds, offer.getPartnumber());
+            priorities[index] = fromInteger(offer.getPriority());
+            prices[index] = toMinorUnits(offer.getPrice());
+            currencies[index] = intern(currencyDictionary, currencyIds, offer.getCurr());
+            if (index > 0 && offerIds[index - 1] >= offerIds[index]) {
+                sortedByOfferId = false;
+            }
+            size++;
+            return index;
+        }
+
+        /**
+         * Appends a copy of the offer at a position of another builder, with other dates, reading
+         * its columns rather than creating an {@link Offer}.
+         *
+         * @param source the builder holding the offer
+         * @param index the position of the offer in {@code source}
+         * @param startDate the start date of the copy, in epoch seconds
+         * @param endDate the end date of the copy, in epoch seconds
+         * @return the position of the copy in the store
+         */
+        public int add(Builder source, int index, long startDate, long endDate) {
+            Objects.checkIndex(index, source.size);
+            if (size == offerIds.length) {
+                grow();
+            }
+            int copy = size;
+            offerIds[copy] = source.offerIds[index];
+            brandIds[copy] = source.brandIds[index];
+            startDates[copy] = startDate;
+            endDates[copy] = endDate;
+            priceLists[copy] = source.priceLists[index];
+            partnumbers[copy] = intern(partnumberDictionary, partnumberIds,
+                    lookup(source.partnumberDictionary, source.partnumbers[index]));
+            priorities[copy] = source.priorities[index];
+            prices[copy] = source.prices[index];
+            currencies[copy] = intern(currencyDictionary, currencyIds,
+                    lookup(source.currencyDictionary, source.currencies[index]));
+            if (copy > 0 && offerIds[copy - 1] >= offerIds[copy]) {
+                sortedByOfferId = false;
+            }
+            size++;
+            return copy;
+        }
+
+        /**
+         * @return the start date of the offer at the given position, in epoch seconds
+         */
+        public long startEpochSecondAt(int index) {
+            return startDates[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * @return the end date of the offer at the given position, in epoch seconds
+         */
+        public long endEpochSecondAt(int index) {
+            return endDates[Objects.checkIndex(index, size)];
+        }
+
+        /**
+         * @return the priority of the offer at the given position
+         */
+        public int priorityAt(int index) {
+            return priorities[Objects.checkIndex(index, size)];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public CompactOfferStore build() {
+            return new CompactOfferStore(this);
+        }
+
+        private void grow() {
+            int capacity = offerIds.length * 2;
+            offerIds = Arrays.copyOf(offerIds, capacity);
+            brandIds = Arrays.copyOf(brandIds, capacity);
+            startDates = Arrays.copyOf(startDates, capacity);
+            endDates = Arrays.copyOf(endDates, capacity);
+            priceLists = Arrays.copyOf(priceLists, capacity);
+            partnumbers = Arrays.copyOf(partnumbers, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            currencies = Arrays.copyOf(currencies, capacity);
+        }
+
+        private static String lookup(List<String> dictionary, int id) {
+            return id == NULL_INT ? null : dictionary.get(id);
+        }
+
+        private static int fromInteger(Integer value) {
+            return value == null ? NULL_INT : value;
+        }
+
+        private static long toMinorUnits(BigDecimal price) {
+            if (price == null) {
+                return NULL_LONG;
+            }
+            try {
+                return price.setScale(PRICE_SCALE).unscaledValue().longValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Price " + price + " does not fit " + PRICE_SCALE + " decimals", e);
+            }
+        }
+
+        private static int intern(List<String> dictionary, Map<String, Integer> ids, String value) {
+            if (value == null) {
+                return NULL_INT;
+            }
+            return ids.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+    }
+}
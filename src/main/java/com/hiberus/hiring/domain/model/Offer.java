@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
  */
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Offer {
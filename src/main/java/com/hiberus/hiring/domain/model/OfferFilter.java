@@ -0,0 +1,22 @@
+package com.hiberus.hiring.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Optional criteria to narrow an offer listing. Every {@code null} field is ignored.
+ * "brandId" / "partnumber" - exact matches
+ * "activeFrom" / "activeUntil" - keeps offers overlapping the window; set both to the same
+ * instant to keep offers active at that instant
+ */
+@Value
+@Builder
+public class OfferFilter {
+
+    Integer brandId;
+    String partnumber;
+    LocalDateTime activeFrom;
+    LocalDateTime activeUntil;
+}
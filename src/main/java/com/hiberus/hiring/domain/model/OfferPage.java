@@ -0,0 +1,17 @@
+package com.hiberus.hiring.domain.model;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * A page of offers ordered by ID, obtained with keyset pagination.
+ * "offers" - the offers of this page
+ * "nextCursor" - the ID to resume after, or {@code null} when this is the last page
+ */
+@Value
+public class OfferPage {
+
+    List<Offer> offers;
+    Long nextCursor;
+}
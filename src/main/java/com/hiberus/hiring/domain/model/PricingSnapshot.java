@@ -0,0 +1,306 @@
+package com.hiberus.hiring.domain.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable copy of every offer with its product timetables already flattened.
+ *
+ * A snapshot is built off to the side and only published once complete, so readers always
+ * see a consistent view of the offers as they were when it was loaded.
+ *
+ * Offers and timetable segments are held in {@link CompactOfferStore}s: segments are stored
+ * product after product, and a key directory lists the segment range of every product sorted
+ * by brand and part number, so lookups are binary searches over primitive columns.
+ * Lookups return read-only views.
+ *
+ * A snapshot can be written to a versioned binary file and {@link #read(ByteBuffer) read}
+ * back from a memory-mapped buffer without copying its columns: see {@link #writeTo}.
+ *
+ * A snapshot also holds the timetable versions read before its offers, see {@link #getVersion}.
+ * They are not written to the file: versions of a snapshot read back are unknown.
+ */
+public final class PricingSnapshot {
+
+    /**
+     * First bytes of a snapshot file, "OFSN".
+     */
+    public static final int MAGIC = 0x4F46534E;
+
+    /**
+     * Version of the file layout, bumped on every incompatible change.
+     */
+    public static final int VERSION = 1;
+
+    private final CompactOfferStore offers;
+    private final CompactOfferStore segments;
+    private final int productCount;
+    private final IntBuffer productStarts;
+    private final IntBuffer productEnds;
+    private final LocalDateTime loadedAt;
+    private final TimetableVersions versions;
+
+    private PricingSnapshot(Builder builder, LocalDateTime loadedAt) {
+        this.offers = builder.offers.build();
+        this.segments = builder.segments.build();
+        this.productCount = builder.ranges.size();
+
+        // Sort the directory by the key of the first segment of every product
+        List<int[]> directory = new ArrayList<>(builder.ranges);
+        directory.sort(Comparator.<int[]>comparingInt(range -> segments.brandIdAt(range[0]))
+                .thenComparing(range -> segments.partnumberAt(range[0]), Comparator.nullsFirst(Comparator.naturalOrder())));
+        int[] starts = new int[productCount];
+        int[] ends = new int[productCount];
+        for (int i = 0; i < productCount; i++) {
+            starts[i] = directory.get(i)[0];
+            ends[i] = directory.get(i)[1];
+        }
+        this.productStarts = IntBuffer.wrap(starts);
+        this.productEnds = IntBuffer.wrap(ends);
+        this.loadedAt = loadedAt;
+        this.versions = builder.versions;
+    }
+
+    private PricingSnapshot(ByteBuffer buffer) {
+        buffer.order(CompactOfferStore.BYTE_ORDER);
+        int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IllegalArgumentException("Not a pricing snapshot file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported pricing snapshot version " + version + ", expected " + VERSION);
+        }
+        this.loadedAt = LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC);
+        this.productCount = buffer.getInt();
+        buffer.getInt();
+        this.offers = CompactOfferStore.read(buffer);
+        this.segments = CompactOfferStore.read(buffer);
+        this.productStarts = sliceInts(buffer, productCount);
+        this.productEnds = sliceInts(buffer, productCount);
+        this.versions = TimetableVersions.unknown();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo}. The columns are views of the buffer,
+     * which must therefore outlive the snapshot.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a snapshot of this version
+     */
+    public static PricingSnapshot read(ByteBuffer buffer) {
+        return new PricingSnapshot(buffer);
+    }
+
+    /**
+     * Writes the snapshot: a header (magic, version, load time, product count), the offers,
+     * the segments, then the key directory. Every section is 8-byte aligned and little-endian.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(24).order(CompactOfferStore.BYTE_ORDER);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(loadedAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(productCount)
+                .putInt(0);
+        CompactOfferStore.writeFully(channel, header);
+        offers.writeTo(channel);
+        segments.writeTo(channel);
+        for (IntBuffer column : List.of(productStarts, productEnds)) {
+            ByteBuffer bytes = ByteBuffer.allocate(CompactOfferStore.padded(productCount * Integer.BYTES))
+                    .order(CompactOfferStore.BYTE_ORDER);
+            bytes.asIntBuffer().put(column.duplicate().clear());
+            CompactOfferStore.writeFully(channel, bytes);
+        }
+    }
+
+    /**
+     * Binary-searches the key directory, then indexes the segments of the product;
+     * the cost is proportional to its number of segments.
+     *
+     * @return the timetable of the product, empty if it has no offers
+     */
+    public Timetable getTimetable(Integer brandId, String partNumber) {
+        if (brandId == null || partNumber == null) {
+            return Timetable.of(List.of());
+        }
+        int low = 0;
+        int high = productCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int first = productStarts.get(mid);
+            int comparison = Integer.compare(segments.brandIdAt(first), brandId);
+            if (comparison == 0) {
+                String partnumber = segments.partnumberAt(first);
+                comparison = partnumber == null ? -1 : partnumber.compareTo(partNumber);
+            }
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return Timetable.of(segments.subList(first, productEnds.get(mid)));
+            }
+        }
+        return Timetable.of(List.of());
+    }
+
+    /**
+     * @return the offer with the given ID, or {@code null} if not found
+     */
+    public Offer getOffer(Long offerId) {
+        int index = offers.indexOfOfferId(offerId);
+        return index >= 0 ? offers.get(index) : null;
+    }
+
+    public int getOfferCount() {
+        return offers.size();
+    }
+
+    /**
+     * @return the number of products with at least one segment
+     */
+    public int getTimetableCount() {
+        return productCount;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return the version of the product read before the offers of the snapshot,
+     *         {@link TimetableVersions#UNKNOWN} if not read
+     */
+    public long getVersion(Integer brandId, String partNumber) {
+        return versions.versionOf(brandId, partNumber);
+    }
+
+    private static IntBuffer sliceInts(ByteBuffer buffer, int count) {
+        IntBuffer column = buffer.slice(buffer.position(), count * Integer.BYTES)
+                .order(CompactOfferStore.BYTE_ORDER)
+                .asIntBuffer();
+        buffer.position(buffer.position() + CompactOfferStore.padded(count * Integer.BYTES));
+        return column;
+    }
+
+    /**
+     * Collects offers, preferably in ascending ID order, and the flattened timetable of every product.
+     */
+    public static final class Builder {
+
+        private final CompactOfferStore.Builder offers = CompactOfferStore.builder();
+        private final CompactOfferStore.Builder segments = CompactOfferStore.builder();
+        private final Set<TimetableKey> products = new HashSet<>();
+        private final List<int[]> ranges = new ArrayList<>();
+        private TimetableVersions versions = TimetableVersions.unknown();
+        private TimetableKey openProduct;
+
+        private Builder() {
+        }
+
+        /**
+         * @param versions the timetable versions, read before the first offer was
+         */
+        public Builder versions(TimetableVersions versions) {
+            this.versions = versions;
+            return this;
+        }
+
+        public Builder addOffer(Offer offer) {
+            offers.add(offer);
+            return this;
+        }
+
+        /**
+         * @return the number of offers added so far, which is the position of the next one
+         */
+        public int getOfferCount() {
+            return offers.size();
+        }
+
+        /**
+         * @return the start date of the offer added at the given position, in epoch seconds
+         */
+        public long offerStartAt(int index) {
+            return offers.startEpochSecondAt(index);
+        }
+
+        /**
+         * @return the end date of the offer added at the given position, in epoch seconds
+         */
+        public long offerEndAt(int index) {
+            return offers.endEpochSecondAt(index);
+        }
+
+        /**
+         * @return the priority of the offer added at the given position
+         */
+        public int offerPriorityAt(int index) {
+            return offers.priorityAt(index);
+        }
+
+        /**
+         * @param key the product
+         * @param timetable its flattened segments, ordered by start date, all of them for the product
+         * @throws IllegalArgumentException if the product was already added
+         */
+        public Builder addTimetable(TimetableKey key, List<Offer> timetable) {
+            if (!products.add(key)) {
+                throw new IllegalArgumentException("Duplicate timetable for " + key);
+            }
+            openProduct = null;
+            if (timetable.isEmpty()) {
+                return this;
+            }
+            int start = segments.size();
+            timetable.forEach(segments::add);
+            ranges.add(new int[] {start, segments.size()});
+            return this;
+        }
+
+        /**
+         * Appends a segment to the timetable of a product, copied from an offer already added, without
+         * creating an {@link Offer}. Segments of a product are added in start date order, one after the
+         * other: the timetable of a product is complete once a segment of another product is added.
+         *
+         * @param key the product
+         * @param offerIndex the position of the offer winning the segment, see {@link #getOfferCount()}
+         * @param startDate the first second of the segment, in epoch seconds
+         * @param endDate the last second of the segment, in epoch seconds
+         * @throws IllegalArgumentException if the timetable of the product was already complete
+         */
+        public Builder addSegment(TimetableKey key, int offerIndex, long startDate, long endDate) {
+            if (!key.equals(openProduct)) {
+                if (!products.add(key)) {
+                    throw new IllegalArgumentException("Duplicate timetable for " + key);
+                }
+                openProduct = key;
+                ranges.add(new int[] {segments.size(), segments.size()});
+            }
+            segments.add(offers, offerIndex, startDate, endDate);
+            ranges.get(ranges.size() - 1)[1] = segments.size();
+            return this;
+        }
+
+        public PricingSnapshot build(LocalDateTime loadedAt) {
+            return new PricingSnapshot(this, loadedAt);
+        }
+    }
+}
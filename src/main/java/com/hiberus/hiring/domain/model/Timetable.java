@@ -0,0 +1,106 @@
+package com.hiberus.hiring.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Immutable, flattened timetable of a product indexed for point-in-time lookups.
+ *
+ * Segment boundaries are precomputed into sorted arrays of epoch seconds so that
+ * {@link #segmentAt(LocalDateTime)} answers with a binary search instead of a scan.
+ * Dates are interpreted as UTC, since offers carry no time zone.
+ */
+public final class Timetable {
+
+    private static final Timetable EMPTY = new Timetable(List.of());
+
+    private final List<Offer> segments;
+    private final long[] starts;
+    private final long[] ends;
+
+    private Timetable(List<Offer> segments) {
+        this.segments = segments;
+        this.starts = new long[segments.size()];
+        this.ends = new long[segments.size()];
+        for (int i = 0; i < segments.size(); i++) {
+            starts[i] = toEpochSecond(segments.get(i).getStartDate());
+            ends[i] = toEpochSecond(segments.get(i).getEndDate());
+        }
+    }
+
+    /**
+     * Indexes an already-flattened list of segments ordered by start date.
+     *
+     * @param segments non-overlapping segments, as produced by the flattening engine
+     * @return the indexed timetable
+     */
+    public static Timetable of(List<Offer> segments) {
+        return segments == null || segments.isEmpty() ? EMPTY : new Timetable(List.copyOf(segments));
+    }
+
+    /**
+     * @return the unmodifiable list of segments ordered by start date
+     */
+    public List<Offer> getSegments() {
+        return segments;
+    }
+
+    /**
+     * Finds the segment covering the given instant in O(log n).
+     *
+     * @param instant the instant to price
+     * @return the covering segment, or {@code null} if no offer covers the instant
+     */
+    public Offer segmentAt(LocalDateTime instant) {
+        long second = toEpochSecond(instant);
+        int index = lastStartAtOrBefore(second);
+        if (index < 0 || ends[index] < second) {
+            return null;
+        }
+        return segments.get(index);
+    }
+
+    /**
+     * Finds the first instant after the given one at which the price changes, that is the start of
+     * a later segment or the end of the covering one, in O(log n).
+     *
+     * @param instant the instant to look from
+     * @return the first segment boundary strictly after the instant, or {@code null} if there is none
+     */
+    public LocalDateTime nextChangeAfter(LocalDateTime instant) {
+        long second = toEpochSecond(instant);
+        int index = lastStartAtOrBefore(second);
+        long next = Long.MAX_VALUE;
+        if (index >= 0 && ends[index] >= second) {
+            // The covering segment ends at the last second of its end date
+            next = ends[index] + 1;
+        }
+        if (index + 1 < starts.length) {
+            next = Math.min(next, starts[index + 1]);
+        }
+        return next == Long.MAX_VALUE ? null : LocalDateTime.ofEpochSecond(next, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Upper-bound binary search: the last segment whose start is not after the given second.
+     * When several segments share a start date, the last one (the one added later) wins.
+     */
+    private int lastStartAtOrBefore(long second) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= second) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,21 @@
+package com.hiberus.hiring.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+/**
+ * Entry of the timetable change feed: the timetables of a product changed.
+ * "offset" - position in the feed, increasing in the order changes were published
+ * "brandId" - brand of the product, {@code null} when every product changed
+ * "partnumber" - part number of the product, {@code null} when every product of the brand changed
+ * "changedAt" - when the change was published
+ */
+@Value
+public class TimetableChange {
+
+    long offset;
+    Integer brandId;
+    String partnumber;
+    LocalDateTime changedAt;
+}
@@ -0,0 +1,13 @@
+package com.hiberus.hiring.domain.model;
+
+import lombok.Value;
+
+/**
+ * Identifies the timetable of a product: a brand and a part number.
+ */
+@Value
+public class TimetableKey {
+
+    Integer brandId;
+    String partnumber;
+}
@@ -0,0 +1,25 @@
+package com.hiberus.hiring.domain.model;
+
+import java.time.LocalDateTime;
+
+import lombok.Value;
+
+/**
+ * Version of the timetable of a product, changed by every write to its offers.
+ * "version" - increases with every change; versions are never reused, not even across restarts
+ * "nextChange" - the next segment boundary after the last read of this version, when one was recorded:
+ *                {@code null} when unknown, {@link LocalDateTime#MAX} when no segment boundary follows
+ */
+@Value
+public class TimetableVersion {
+
+    long version;
+    LocalDateTime nextChange;
+
+    /**
+     * @return {@code true} if the timetable is known not to change, by time alone, until after the instant
+     */
+    public boolean isKnownCurrentAt(LocalDateTime instant) {
+        return nextChange != null && nextChange.isAfter(instant);
+    }
+}
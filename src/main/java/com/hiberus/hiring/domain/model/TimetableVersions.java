@@ -0,0 +1,47 @@
+package com.hiberus.hiring.domain.model;
+
+import java.util.Map;
+
+/**
+ * The versions of every timetable, read at once.
+ * "all" - the version shared by every product
+ * "brands" - the version shared by every product of a brand, by brand
+ * "products" - the version of a single product, by product
+ * The version of a product is the sum of the three, as in TimetableVersionPort.
+ */
+public final class TimetableVersions {
+
+    /**
+     * Version of a product whose version was not read: never the current version of any product.
+     */
+    public static final long UNKNOWN = -1;
+
+    private static final TimetableVersions NONE = new TimetableVersions(UNKNOWN, Map.of(), Map.of());
+
+    private final long all;
+    private final Map<Integer, Long> brands;
+    private final Map<TimetableKey, Long> products;
+
+    public TimetableVersions(long all, Map<Integer, Long> brands, Map<TimetableKey, Long> products) {
+        this.all = all;
+        this.brands = Map.copyOf(brands);
+        this.products = Map.copyOf(products);
+    }
+
+    /**
+     * @return versions under which every product is {@link #UNKNOWN}
+     */
+    public static TimetableVersions unknown() {
+        return NONE;
+    }
+
+    /**
+     * @return the version of the product, {@link #UNKNOWN} if the versions were not read
+     */
+    public long versionOf(Integer brandId, String partNumber) {
+        if (all == UNKNOWN) {
+            return UNKNOWN;
+        }
+        return all + brands.getOrDefault(brandId, 0L) + products.getOrDefault(new TimetableKey(brandId, partNumber), 0L);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hiberus.hiring.domain.model;
+
+import lombok.Value;
+
+/**
+ * An offer, with the version of the timetable of its product it was read at.
+ * "version" - the version of the timetable of the product, read before the offer was last read
+ * "offer" - the offer
+ */
+@Value
+public class VersionedOffer {
+
+    long version;
+    Offer offer;
+}
@@ -0,0 +1,17 @@
+package com.hiberus.hiring.domain.model;
+
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * The segments of a flattened timetable, with the version they were read at.
+ * "version" - the version read before the segments, with the next segment boundary after the read
+ * "segments" - the non-overlapping segments ordered by start date
+ */
+@Value
+public class VersionedTimetable {
+
+    TimetableVersion version;
+    List<Offer> segments;
+}
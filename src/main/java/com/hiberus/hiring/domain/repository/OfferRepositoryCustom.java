@@ -0,0 +1,23 @@
+package com.hiberus.hiring.domain.repository;
+
+import java.util.List;
+
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.infrastructure.adapters.outbound.persistence.OfferEntity;
+
+/**
+ * Custom queries for OfferEntity that derived queries cannot express.
+ */
+public interface OfferRepositoryCustom {
+	/**
+	 * Retrieves a page of offers using keyset pagination on the offer ID.
+	 * Only the criteria present in the filter are added to the query, so each
+	 * combination can use the matching index.
+	 *
+	 * @param filter the optional criteria to apply
+	 * @param afterOfferId only offers with a greater ID are returned; {@code null} to start from the beginning
+	 * @param limit the maximum number of offers to return
+	 * @return the matching OfferEntity instances ordered by ID
+	 */
+	List<OfferEntity> findPage(OfferFilter filter, Long afterOfferId, int limit);
+}
@@ -0,0 +1,56 @@
+package com.hiberus.hiring.domain.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.infrastructure.adapters.outbound.persistence.OfferEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria API implementation of OfferRepositoryCustom, picked up by Spring Data
+ * as a fragment of OfferRepository.
+ */
+public class OfferRepositoryCustomImpl implements OfferRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OfferEntity> findPage(OfferFilter filter, Long afterOfferId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OfferEntity> query = cb.createQuery(OfferEntity.class);
+        Root<OfferEntity> offer = query.from(OfferEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (afterOfferId != null) {
+            predicates.add(cb.greaterThan(offer.get("offerId"), afterOfferId));
+        }
+        if (filter.getBrandId() != null) {
+            predicates.add(cb.equal(offer.get("brandId"), filter.getBrandId()));
+        }
+        if (filter.getPartnumber() != null) {
+            predicates.add(cb.equal(offer.get("partnumber"), filter.getPartnumber()));
+        }
+        // Overlap with [activeFrom, activeUntil]: starts before the window ends and ends after it starts
+        if (filter.getActiveUntil() != null) {
+            predicates.add(cb.lessThanOrEqualTo(offer.get("startDate"), filter.getActiveUntil()));
+        }
+        if (filter.getActiveFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(offer.get("endDate"), filter.getActiveFrom()));
+        }
+
+        query.select(offer)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(offer.get("offerId")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
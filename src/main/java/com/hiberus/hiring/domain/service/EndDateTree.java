@@ -0,0 +1,55 @@
+package com.hiberus.hiring.domain.service;
+
+import java.util.Arrays;
+
+/**
+ * Latest end date of every block of offers sorted by start date, as an implicit binary tree over
+ * their indices: node 1 covers every offer, node {@code n} covers the two halves held by nodes
+ * {@code 2n} and {@code 2n + 1}, down to one leaf per offer. The offers before an index that are
+ * still running at an instant are found by only descending into the blocks where one of them ends
+ * at or after it, in O((k + 1) log n) for k offers found, rather than by scanning every offer before
+ * that index. Immutable once built, so the ranges of {@link ParallelSweepLineEngine} share it.
+ */
+final class EndDateTree {
+
+	private final long[] latestEnds;
+	private final int leaves;
+
+	/**
+	 * @param endDates the end dates of the offers, in start date order
+	 * @param count    the number of offers
+	 */
+	EndDateTree(long[] endDates, int count) {
+		int width = Integer.highestOneBit(Math.max(1, count));
+		this.leaves = width < count ? 2 * width : width;
+		this.latestEnds = new long[2 * leaves];
+		System.arraycopy(endDates, 0, latestEnds, leaves, count);
+		Arrays.fill(latestEnds, leaves + count, 2 * leaves, Long.MIN_VALUE);
+		for (int node = leaves - 1; node > 0; node--) {
+			latestEnds[node] = Math.max(latestEnds[2 * node], latestEnds[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Appends the indices below {@code to} of the offers ending at or after {@code instant} to
+	 * {@code into}, from position {@code size}, in increasing order.
+	 *
+	 * @return the new size of {@code into}
+	 */
+	int collectRunning(int to, long instant, int[] into, int size) {
+		return collect(1, 0, leaves, to, instant, into, size);
+	}
+
+	private int collect(int node, int low, int width, int to, long instant, int[] into, int size) {
+		if (low >= to || latestEnds[node] < instant) {
+			return size;
+		}
+		if (width == 1) {
+			into[size] = low;
+			return size + 1;
+		}
+		int half = width >>> 1;
+		int collected = collect(2 * node, low, half, to, instant, into, size);
+		return collect(2 * node + 1, low + half, half, to, instant, into, collected);
+	}
+}
@@ -0,0 +1,379 @@
+package com.hiberus.hiring.domain.service;
+
+import java.util.Arrays;
+
+/**
+ * Reusable workspace of the primitive sweep line, see
+ * {@link OfferDomainService#flattenIntervalsByPriority(long[], long[], int[], long[], int, FlattenBuffers)}.
+ *
+ * Offers are given as parallel columns: start and end dates in epoch seconds (both inclusive, as in
+ * the rest of the domain), priorities and prices in minor units. The sweep runs on int indices:
+ * offers are sorted by a stable merge sort of their indices and the active offers are kept in a
+ * binary heap of rank keys, each stored next to its end date so that the heap never looks up the
+ * columns, so it follows exactly the rules of {@link SweepLineTimetableEngine}:
+ *  - The highest priority wins.
+ *  - On equal priority, the offer that started first wins (ties keep input order).
+ *
+ * Segments are written to the output columns of this object, which are overwritten by the next
+ * flattening. Arrays only grow, as the sweep needs them: the heap to the number of offers running
+ * at once and the output to the number of segments, so once they fit the largest timetable seen,
+ * flattening allocates nothing. Instances are not thread-safe: use one per flattening at a time.
+ */
+public final class FlattenBuffers {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Heap size below which ended offers are only dropped once they reach the top.
+	 */
+	private static final int MIN_COMPACTION_SIZE = 32;
+
+	// Output: one entry per segment
+	private long[] segmentStarts = new long[INITIAL_CAPACITY];
+	private long[] segmentEnds = new long[INITIAL_CAPACITY];
+	private long[] segmentPrices = new long[INITIAL_CAPACITY];
+	private int[] segmentOffers = new int[INITIAL_CAPACITY];
+	private int segmentCount;
+
+	// Scratch: offer indices in start date order, merge sort buffer, and heap of rank keys (see
+	// rankKey) with the exclusive end date of each entry at the same index
+	private int[] order = new int[INITIAL_CAPACITY];
+	private int[] scratch = new int[INITIAL_CAPACITY];
+	private long[] heapKeys = new long[INITIAL_CAPACITY];
+	private long[] heapEnds = new long[INITIAL_CAPACITY];
+	private int heapSize;
+	private int compactAt;
+
+	// Sweep state, only meaningful during flatten
+	private long[] startDates;
+	private long[] endDates;
+	private int[] priorities;
+	private long[] priceCents;
+	private long windowStart;
+	private long windowEnd;
+	private boolean sweeping;
+	private long cursor;
+	private int pendingWinner;
+	private long pendingStart;
+	private long pendingEnd;
+
+	/**
+	 * @return the number of segments written by the last flattening
+	 */
+	public int getSegmentCount() {
+		return segmentCount;
+	}
+
+	/**
+	 * @return the first second of the segment at the given position
+	 */
+	public long segmentStartAt(int segment) {
+		return segmentStarts[checkSegment(segment)];
+	}
+
+	/**
+	 * @return the last second of the segment at the given position, inclusive
+	 */
+	public long segmentEndAt(int segment) {
+		return segmentEnds[checkSegment(segment)];
+	}
+
+	/**
+	 * @return the price of the offer that won the segment, in minor units, or 0 without prices
+	 */
+	public long segmentPriceCentsAt(int segment) {
+		return segmentPrices[checkSegment(segment)];
+	}
+
+	/**
+	 * @return the input index of the offer that won the segment
+	 */
+	public int segmentOfferAt(int segment) {
+		return segmentOffers[checkSegment(segment)];
+	}
+
+	/**
+	 * Flattens the first {@code count} offers of the given columns into the output columns.
+	 * Offers ending before they start are ignored.
+	 *
+	 * @param priceCents prices in minor units, may be {@code null} when only the winners are needed
+	 * @return the number of segments
+	 * @throws IllegalArgumentException if a column holds fewer than {@code count} offers
+	 */
+	int flatten(long[] startDates, long[] endDates, int[] priorities, long[] priceCents, int count) {
+		if (count < 0 || startDates.length < count || endDates.length < count || priorities.length < count
+				|| (priceCents != null && priceCents.length < count)) {
+			throw new IllegalArgumentException("Every column must hold at least " + count + " offers");
+		}
+		ensureCapacity(count);
+		this.startDates = startDates;
+		this.endDates = endDates;
+		this.priorities = priorities;
+		this.priceCents = priceCents;
+		this.windowStart = Long.MIN_VALUE;
+		this.windowEnd = Long.MAX_VALUE;
+		try {
+			int size = 0;
+			for (int i = 0; i < count; i++) {
+				if (endDates[i] >= startDates[i]) {
+					order[size++] = i;
+				}
+			}
+			sortByStartDate(size);
+			sweep(size);
+			return segmentCount;
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * Flattens one range of a timetable whose offers are all valid and sorted by start date: the time line
+	 * from the start of offer {@code from} to the start of offer {@code to}, or to the end when
+	 * {@code to} is {@code count}. The offers starting in it are preceded by the earlier offers still
+	 * running at its start, in their order, so that every instant is won as in a sweep of the whole
+	 * timetable. Segments are clipped to the range and refer to offers by their index in the columns.
+	 * The earlier offers are looked up in {@code running}, built on the same end dates, so that the
+	 * offers that ended before the range are not visited.
+	 *
+	 * @return the number of segments
+	 */
+	int flattenRange(long[] startDates, long[] endDates, int[] priorities, int count, int from, int to,
+			EndDateTree running) {
+		ensureCapacity(to);
+		this.startDates = startDates;
+		this.endDates = endDates;
+		this.priorities = priorities;
+		this.priceCents = null;
+		this.windowStart = startDates[from];
+		this.windowEnd = to < count ? startDates[to] : Long.MAX_VALUE;
+		try {
+			int size = running.collectRunning(from, windowStart, order, 0);
+			for (int i = from; i < to; i++) {
+				order[size++] = i;
+			}
+			sweep(size);
+			return segmentCount;
+		} finally {
+			release();
+		}
+	}
+
+	/**
+	 * Forgets the caller's columns, which must not stay reachable.
+	 */
+	private void release() {
+		this.startDates = null;
+		this.endDates = null;
+		this.priorities = null;
+		this.priceCents = null;
+	}
+
+	private void ensureCapacity(int count) {
+		if (order.length < count) {
+			order = new int[Math.max(count, order.length * 2)];
+		}
+	}
+
+	/**
+	 * Stable bottom-up merge sort of {@code order[0, size)} by start date, skipped on sorted input.
+	 */
+	private void sortByStartDate(int size) {
+		boolean sorted = true;
+		for (int i = 1; i < size && sorted; i++) {
+			sorted = startDates[order[i - 1]] <= startDates[order[i]];
+		}
+		if (sorted) {
+			return;
+		}
+		if (scratch.length < size) {
+			scratch = new int[order.length];
+		}
+		int[] from = order;
+		int[] to = scratch;
+		for (int width = 1; width < size; width *= 2) {
+			for (int low = 0; low < size; low += 2 * width) {
+				int middle = Math.min(low + width, size);
+				int high = Math.min(low + 2 * width, size);
+				int left = low;
+				int right = middle;
+				for (int k = low; k < high; k++) {
+					if (left < middle && (right >= high || startDates[from[left]] <= startDates[from[right]])) {
+						to[k] = from[left++];
+					} else {
+						to[k] = from[right++];
+					}
+				}
+			}
+			int[] swap = from;
+			from = to;
+			to = swap;
+		}
+		order = from;
+		scratch = to;
+	}
+
+	private void sweep(int size) {
+		segmentCount = 0;
+		heapSize = 0;
+		compactAt = MIN_COMPACTION_SIZE;
+		sweeping = false;
+		pendingWinner = -1;
+		for (int position = 0; position < size; position++) {
+			long start = Math.max(startDates[order[position]], windowStart);
+			advance(start);
+			if (!sweeping) {
+				cursor = start;
+				sweeping = true;
+			}
+			push(position);
+		}
+		advance(windowEnd);
+		if (pendingWinner >= 0) {
+			write();
+		}
+	}
+
+	/**
+	 * Sweeps from the cursor up to {@code limit} (exclusive).
+	 */
+	private void advance(long limit) {
+		while (sweeping && cursor < limit) {
+			while (heapSize > 0 && heapEnds[0] <= cursor) {
+				pop();
+			}
+			if (heapSize == 0) {
+				sweeping = false;
+				return;
+			}
+			int winner = positionOf(heapKeys[0]);
+			long boundary = Math.min(heapEnds[0], limit);
+			emit(winner, cursor, boundary);
+			cursor = boundary;
+		}
+	}
+
+	/**
+	 * Records the segment {@code [from, to)}, extending the pending one when it is contiguous and won
+	 * by the same offer.
+	 */
+	private void emit(int winner, long from, long to) {
+		if (pendingWinner == winner && pendingEnd + 1 == from) {
+			pendingEnd = to - 1;
+			return;
+		}
+		if (pendingWinner >= 0) {
+			write();
+		}
+		pendingWinner = winner;
+		pendingStart = from;
+		pendingEnd = to - 1;
+	}
+
+	private void write() {
+		if (segmentCount == segmentStarts.length) {
+			int capacity = 2 * segmentCount;
+			segmentStarts = Arrays.copyOf(segmentStarts, capacity);
+			segmentEnds = Arrays.copyOf(segmentEnds, capacity);
+			segmentPrices = Arrays.copyOf(segmentPrices, capacity);
+			segmentOffers = Arrays.copyOf(segmentOffers, capacity);
+		}
+		int offer = order[pendingWinner];
+		segmentStarts[segmentCount] = pendingStart;
+		segmentEnds[segmentCount] = pendingEnd;
+		segmentPrices[segmentCount] = priceCents == null ? 0 : priceCents[offer];
+		segmentOffers[segmentCount] = offer;
+		segmentCount++;
+	}
+
+	/**
+	 * Packs the rank of the offer at a sorted position into a key that is lower the higher the
+	 * offer ranks: its priority, inverted, then its position, so that earlier starts win ties.
+	 */
+	private long rankKey(int position) {
+		return ((long) ~priorities[order[position]] << 32) | position;
+	}
+
+	private static int positionOf(long key) {
+		return (int) key;
+	}
+
+	private void push(int position) {
+		if (heapSize >= compactAt) {
+			compact();
+		}
+		if (heapSize == heapKeys.length) {
+			heapKeys = Arrays.copyOf(heapKeys, 2 * heapSize);
+			heapEnds = Arrays.copyOf(heapEnds, 2 * heapSize);
+		}
+		siftUp(heapSize++, rankKey(position), Math.min(endDates[order[position]] + 1, windowEnd));
+	}
+
+	private void pop() {
+		heapSize--;
+		siftDown(0, heapKeys[heapSize], heapEnds[heapSize]);
+	}
+
+	/**
+	 * Drops the offers that ended before the cursor. Ended offers are otherwise only popped once they
+	 * reach the top, which an offer outranked until its end only does when every offer above it has
+	 * ended, so the heap would grow with the timetable. Runs whenever the heap doubled since the last
+	 * compaction: the heap stays within twice the number of offers then running, for a constant
+	 * amortised cost per offer.
+	 */
+	private void compact() {
+		int size = 0;
+		for (int i = 0; i < heapSize; i++) {
+			if (heapEnds[i] > cursor) {
+				heapKeys[size] = heapKeys[i];
+				heapEnds[size++] = heapEnds[i];
+			}
+		}
+		heapSize = size;
+		for (int parent = (size >>> 1) - 1; parent >= 0; parent--) {
+			siftDown(parent, heapKeys[parent], heapEnds[parent]);
+		}
+		compactAt = Math.max(MIN_COMPACTION_SIZE, 2 * size);
+	}
+
+	private void siftUp(int child, long key, long end) {
+		while (child > 0) {
+			int parent = (child - 1) >>> 1;
+			if (key >= heapKeys[parent]) {
+				break;
+			}
+			heapKeys[child] = heapKeys[parent];
+			heapEnds[child] = heapEnds[parent];
+			child = parent;
+		}
+		heapKeys[child] = key;
+		heapEnds[child] = end;
+	}
+
+	private void siftDown(int parent, long key, long end) {
+		while (true) {
+			int child = 2 * parent + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+				child++;
+			}
+			if (heapKeys[child] >= key) {
+				break;
+			}
+			heapKeys[parent] = heapKeys[child];
+			heapEnds[parent] = heapEnds[child];
+			parent = child;
+		}
+		heapKeys[parent] = key;
+		heapEnds[parent] = end;
+	}
+
+	private int checkSegment(int segment) {
+		if (segment < 0 || segment >= segmentCount) {
+			throw new IndexOutOfBoundsException("Segment " + segment + " out of " + segmentCount);
+		}
+		return segment;
+	}
+}
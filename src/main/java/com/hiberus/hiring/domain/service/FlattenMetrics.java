@@ -0,0 +1,58 @@
+package com.hiberus.hiring.domain.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of {@link OfferDomainService#flattenIntervalsByPriority(java.util.List)}, tagged by algorithm:
+ *  - {@code offer.flatten}: time spent flattening.
+ *  - {@code offer.flatten.input.offers}: number of offers flattened per call.
+ *  - {@code offer.flatten.output.segments}: number of segments produced per call.
+ *
+ * Meters are created once per algorithm so that recording does not look them up on the hot path.
+ */
+class FlattenMetrics {
+
+	private final Map<TimetableAlgorithm, Timer> durations = new EnumMap<>(TimetableAlgorithm.class);
+	private final Map<TimetableAlgorithm, DistributionSummary> inputSizes = new EnumMap<>(TimetableAlgorithm.class);
+	private final Map<TimetableAlgorithm, DistributionSummary> outputSizes = new EnumMap<>(TimetableAlgorithm.class);
+
+	FlattenMetrics(MeterRegistry registry) {
+		for (TimetableAlgorithm algorithm : TimetableAlgorithm.values()) {
+			durations.put(algorithm, Timer.builder("offer.flatten")
+					.description("Time spent flattening the offers of a product")
+					.tag("algorithm", algorithm.name())
+					.publishPercentileHistogram()
+					.minimumExpectedValue(Duration.ofNanos(10_000))
+					.maximumExpectedValue(Duration.ofSeconds(10))
+					.register(registry));
+			inputSizes.put(algorithm, sizeSummary("offer.flatten.input.offers",
+					"Offers flattened per call", algorithm, registry));
+			outputSizes.put(algorithm, sizeSummary("offer.flatten.output.segments",
+					"Segments produced per call", algorithm, registry));
+		}
+	}
+
+	private static DistributionSummary sizeSummary(String name, String description, TimetableAlgorithm algorithm,
+			MeterRegistry registry) {
+		return DistributionSummary.builder(name)
+				.description(description)
+				.tag("algorithm", algorithm.name())
+				.publishPercentileHistogram()
+				.minimumExpectedValue(1.0)
+				.maximumExpectedValue(1_000_000.0)
+				.register(registry);
+	}
+
+	void record(TimetableAlgorithm algorithm, int offers, int segments, long elapsedNanos) {
+		durations.get(algorithm).record(elapsedNanos, TimeUnit.NANOSECONDS);
+		inputSizes.get(algorithm).record(offers);
+		outputSizes.get(algorithm).record(segments);
+	}
+}
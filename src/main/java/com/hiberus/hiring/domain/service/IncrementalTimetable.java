@@ -0,0 +1,258 @@
+package com.hiberus.hiring.domain.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+
+/**
+ * Flattened timetable of a product kept current as single offers are inserted or removed,
+ * instead of being flattened again from all of its offers.
+ *
+ * The time line is cut into cells at every offer boundary, and every cell keeps the stack of
+ * offers covering it, strongest first. The flattened segments are kept next to the cells: a change
+ * to an offer splits or merges the cells at its two boundaries, pushes or pops it on the stacks of
+ * the k cells it covers, and replaces the segments of that range only. A cell cut at a boundary
+ * starts as a copy of the stack it cuts, and a merge compares two stacks, so with stacks of at most
+ * s offers a change costs O(log n + k log s + s). Every offer is held by the stack of every cell it
+ * covers: the stacks hold O(n * overlap) entries in all, counted by {@link #getStackEntries()} so
+ * that callers can bound the memory they keep. Segments are the same as those of
+ * {@link SweepLineTimetableEngine} run over all current offers ordered by start date then offer ID:
+ *  - The highest priority wins.
+ *  - On equal priority, the offer that started first wins, then the lowest offer ID.
+ *
+ * Offers must have an ID, which identifies them on removal. Instances are not thread-safe:
+ * changes must be serialized by the caller, while {@link #getTimetable()} results are immutable.
+ */
+public class IncrementalTimetable {
+
+	private static final Comparator<Offer> BY_RANK = Comparator.comparing(Offer::getPriority, Comparator.reverseOrder())
+			.thenComparing(Offer::getStartDate)
+			.thenComparing(Offer::getOfferId);
+
+	/**
+	 * Cell start (epoch second) to the offers covering it up to the next cell. Gaps are empty cells,
+	 * and the last cell is always an empty one closing the previous.
+	 */
+	private final TreeMap<Long, TreeSet<Offer>> cells = new TreeMap<>();
+
+	/**
+	 * Segment start (epoch second) to segment, maximal: contiguous segments have different winners.
+	 */
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+	private final Map<Long, Offer> offers = new HashMap<>();
+
+	private long stackEntries;
+
+	private Timetable timetable = Timetable.of(List.of());
+
+	/**
+	 * Builds the timetable of the given offers.
+	 *
+	 * @param offers offers of a single product, may be {@code null}
+	 * @return a new timetable, maintained from now on with {@link #insert} and {@link #remove}
+	 */
+	public static IncrementalTimetable of(List<Offer> offers) {
+		IncrementalTimetable timetable = new IncrementalTimetable();
+		if (offers != null) {
+			offers.forEach(timetable::insert);
+		}
+		return timetable;
+	}
+
+	/**
+	 * Adds an offer, replacing any offer with the same ID. Offers with a missing or inverted
+	 * interval are ignored, as in the flattening engines.
+	 *
+	 * @param offer the offer to add
+	 * @throws IllegalArgumentException if the offer has no ID
+	 */
+	public void insert(Offer offer) {
+		if (offer == null || !TimetableSweep.hasValidInterval(offer)) {
+			return;
+		}
+		if (offer.getOfferId() == null) {
+			throw new IllegalArgumentException("Offers of an incremental timetable need an ID");
+		}
+		remove(offer.getOfferId());
+
+		long from = toEpochSecond(offer.getStartDate());
+		long to = toEpochSecond(offer.getEndDate()) + 1;
+		split(from);
+		split(to);
+		for (TreeSet<Offer> stack : cells.subMap(from, to).values()) {
+			stack.add(offer);
+			stackEntries++;
+		}
+		offers.put(offer.getOfferId(), offer);
+		splice(from, to);
+	}
+
+	/**
+	 * Removes the offer with the given ID.
+	 *
+	 * @param offerId the ID of the offer to remove
+	 * @return {@code true} if the offer was part of the timetable
+	 */
+	public boolean remove(Long offerId) {
+		Offer offer = offers.remove(offerId);
+		if (offer == null) {
+			return false;
+		}
+		long from = toEpochSecond(offer.getStartDate());
+		long to = toEpochSecond(offer.getEndDate()) + 1;
+		for (TreeSet<Offer> stack : cells.subMap(from, to).values()) {
+			stack.remove(offer);
+			stackEntries--;
+		}
+		merge(from);
+		merge(to);
+		splice(from, to);
+		return true;
+	}
+
+	/**
+	 * @return the number of offers in the timetable
+	 */
+	public int size() {
+		return offers.size();
+	}
+
+	/**
+	 * @return the number of offers held by the stacks of all cells, which grows with the offers
+	 *         times the number of cells each of them covers
+	 */
+	public long getStackEntries() {
+		return stackEntries;
+	}
+
+	/**
+	 * Indexes the current segments on the first call after a change, reusing them otherwise.
+	 *
+	 * @return the current flattened timetable
+	 */
+	public Timetable getTimetable() {
+		if (timetable == null) {
+			List<Offer> current = new ArrayList<>(segments.size());
+			segments.values().forEach(segment -> current.add(segment.offer()));
+			timetable = Timetable.of(current);
+		}
+		return timetable;
+	}
+
+	/**
+	 * Starts a cell at the given second, covered by the same offers as the cell it cuts.
+	 */
+	private void split(long at) {
+		if (cells.containsKey(at)) {
+			return;
+		}
+		Map.Entry<Long, TreeSet<Offer>> covering = cells.floorEntry(at);
+		TreeSet<Offer> stack = covering == null ? new TreeSet<>(BY_RANK) : new TreeSet<>(covering.getValue());
+		cells.put(at, stack);
+		stackEntries += stack.size();
+	}
+
+	/**
+	 * Drops the cell starting at the given second if it is covered by the same offers as the previous one.
+	 */
+	private void merge(long at) {
+		TreeSet<Offer> stack = cells.get(at);
+		if (stack == null) {
+			return;
+		}
+		Map.Entry<Long, TreeSet<Offer>> previous = cells.lowerEntry(at);
+		if (previous == null ? stack.isEmpty() : previous.getValue().equals(stack)) {
+			cells.remove(at);
+			stackEntries -= stack.size();
+		}
+	}
+
+	/**
+	 * Replaces the segments of {@code [from, to)} with the winners of its cells, keeping the parts
+	 * of the segments that overlap it from outside, then coalesces them at both ends.
+	 */
+	private void splice(long from, long to) {
+		Map.Entry<Long, Segment> before = segments.lowerEntry(from);
+		if (before != null && before.getValue().end() > from) {
+			Segment cut = before.getValue();
+			put(cut.winner(), cut.start(), from);
+			if (cut.end() > to) {
+				put(cut.winner(), to, cut.end());
+			}
+		}
+		List<Segment> inside = new ArrayList<>(segments.subMap(from, to).values());
+		segments.subMap(from, to).clear();
+		for (Segment segment : inside) {
+			if (segment.end() > to) {
+				put(segment.winner(), to, segment.end());
+			}
+		}
+
+		Map.Entry<Long, TreeSet<Offer>> cell = cells.floorEntry(from);
+		if (cell == null) {
+			cell = cells.ceilingEntry(from);
+		}
+		while (cell != null && cell.getKey() < to) {
+			Map.Entry<Long, TreeSet<Offer>> next = cells.higherEntry(cell.getKey());
+			if (!cell.getValue().isEmpty()) {
+				// The last cell is empty, so a covered cell always has a next one
+				long start = Math.max(cell.getKey(), from);
+				long end = Math.min(next.getKey(), to);
+				Map.Entry<Long, Segment> previous = segments.lowerEntry(start);
+				Offer winner = cell.getValue().first();
+				if (previous != null && previous.getKey() >= from && previous.getValue().end() == start
+						&& previous.getValue().winner() == winner) {
+					put(winner, previous.getKey(), end);
+				} else {
+					put(winner, start, end);
+				}
+			}
+			cell = next;
+		}
+		coalesce(from);
+		coalesce(to);
+		timetable = null;
+	}
+
+	/**
+	 * Joins the segment starting at the given second to the previous one if they are contiguous
+	 * and won by the same offer.
+	 */
+	private void coalesce(long at) {
+		Segment after = segments.get(at);
+		Map.Entry<Long, Segment> before = segments.lowerEntry(at);
+		if (after != null && before != null && before.getValue().end() == at
+				&& before.getValue().winner() == after.winner()) {
+			segments.remove(at);
+			put(after.winner(), before.getKey(), after.end());
+		}
+	}
+
+	private void put(Offer winner, long start, long end) {
+		Offer segment = winner.toBuilder()
+				.startDate(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC))
+				.endDate(LocalDateTime.ofEpochSecond(end - 1, 0, ZoneOffset.UTC))
+				.build();
+		segments.put(start, new Segment(winner, start, end, segment));
+	}
+
+	private static long toEpochSecond(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	/**
+	 * A flattened segment {@code [start, end)} in epoch seconds, won by {@code winner}.
+	 */
+	private record Segment(Offer winner, long start, long end, Offer offer) {
+	}
+}
@@ -1,42 +1,239 @@
 package com.hiberus.hiring.domain.service;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.hiberus.hiring.domain.model.Offer;
 
+import io.micrometer.core.instrument.Metrics;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Domain service containing complex business logic for Offers.
  * Demonstrates a functional approach to flatten overlapping intervals
  * based on priority.
+ *
+ * The engine used to flatten is selected with {@code offer.timetable.algorithm}
+ * (see {@link TimetableAlgorithm}); the legacy algorithm remains the default.
+ * With the sweep line, timetables of at least {@code offer.timetable.parallel-threshold}
+ * offers are flattened by range on the common fork-join pool (see {@link ParallelSweepLineEngine}),
+ * with the same result.
  */
+@Slf4j
 @Component
 public class OfferDomainService {
-	
+
+	private static final int MAX_PARTNUMBER_LENGTH = 50;
+	private static final int MAX_CURRENCY_LENGTH = 10;
+	private static final int PRICE_PRECISION = 10;
+	private static final int PRICE_SCALE = 2;
+
+	/**
+	 * Default minimum number of offers of a timetable before it is flattened in parallel. Below it
+	 * the sequential sweep takes under about 2 ms (FlattenBenchmark), and a range of half of it
+	 * under 1 ms, too little to pay for the hand-over to the common pool.
+	 */
+	static final int DEFAULT_PARALLEL_THRESHOLD = 20_000;
+
+	private final SweepLineTimetableEngine sweepLineEngine = new SweepLineTimetableEngine();
+
+	/**
+	 * Recorded on Micrometer's global registry, to which Spring Boot adds its own registries.
+	 */
+	private final FlattenMetrics flattenMetrics = new FlattenMetrics(Metrics.globalRegistry);
+
+	@Getter
+	@Setter
+	@Value("${offer.timetable.algorithm:LEGACY}")
+	private TimetableAlgorithm algorithm = TimetableAlgorithm.LEGACY;
+
+	/**
+	 * Minimum number of offers of a timetable before the sweep line flattens it in parallel;
+	 * every range then holds at least half of it.
+	 */
+	@Getter
+	@Setter
+	@Value("${offer.timetable.parallel-threshold:" + DEFAULT_PARALLEL_THRESHOLD + "}")
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
 	/**
 	 * Flattens the list of offers so that their date intervals do not overlap,
 	 * applying the correct price for each interval based on priority.
+	 * Delegates to the engine selected by {@link #getAlgorithm()} and records its
+	 * duration, input size and output size (see {@link FlattenMetrics}).
+	 *
+	 * @param offers List of offers to be flattened
+	 * @return A new list of offers with non-overlapping intervals
+	 */
+	public List<Offer> flattenIntervalsByPriority(List<Offer> offers) {
+		TimetableAlgorithm selected = algorithm;
+		long start = System.nanoTime();
+		List<Offer> segments = switch (selected) {
+			case SWEEP_LINE -> flattenWithSweepLine(offers);
+			case SHADOW -> flattenInShadowMode(offers);
+			default -> flattenLegacy(offers);
+		};
+		flattenMetrics.record(selected, offers == null ? 0 : offers.size(), segments.size(), System.nanoTime() - start);
+		return segments;
+	}
+
+	/**
+	 * Flattens offers given as primitive columns, without allocating once the buffers fit: the
+	 * allocation-free form of {@link TimetableAlgorithm#SWEEP_LINE}, whatever the selected algorithm.
+	 * Segments are written to {@code buffers}, each with its bounds, price and the index of its offer.
+	 *
+	 * @param startDates start dates in epoch seconds
+	 * @param endDates end dates in epoch seconds, inclusive
+	 * @param priorities priorities
+	 * @param priceCents prices in minor units, may be {@code null}
+	 * @param count number of offers, read from the start of every column
+	 * @param buffers reusable workspace receiving the segments, overwritten on every call
+	 * @return the number of segments
+	 */
+	public int flattenIntervalsByPriority(long[] startDates, long[] endDates, int[] priorities, long[] priceCents,
+			int count, FlattenBuffers buffers) {
+		long start = System.nanoTime();
+		int segments = buffers.flatten(startDates, endDates, priorities, priceCents, count);
+		flattenMetrics.record(TimetableAlgorithm.SWEEP_LINE, count, segments, System.nanoTime() - start);
+		return segments;
+	}
+
+	/**
+	 * Opens an incremental sweep line, for callers that receive offers as a stream in start date
+	 * order and want to emit segments before the last offer arrives. Its segments are those of
+	 * {@link TimetableAlgorithm#SWEEP_LINE}; callers serving another algorithm must collect the
+	 * offers and use {@link #flattenIntervalsByPriority(List)} instead.
+	 *
+	 * @return a new sweep, to be used for a single timetable
+	 */
+	public TimetableSweep openTimetableSweep() {
+		return new TimetableSweep();
+	}
+
+	/**
+	 * Builds the timetable of the given offers as an {@link IncrementalTimetable}, which is then kept
+	 * current offer by offer instead of being flattened again. Its segments are those of
+	 * {@link TimetableAlgorithm#SWEEP_LINE}, see {@link #isIncremental()}. The build is recorded
+	 * like a flattening.
+	 *
+	 * @param offers offers of a single product, with their IDs
+	 * @return the maintained timetable
+	 */
+	public IncrementalTimetable openIncrementalTimetable(List<Offer> offers) {
+		long start = System.nanoTime();
+		IncrementalTimetable timetable = IncrementalTimetable.of(offers);
+		flattenMetrics.record(TimetableAlgorithm.SWEEP_LINE, offers == null ? 0 : offers.size(),
+				timetable.getTimetable().getSegments().size(), System.nanoTime() - start);
+		return timetable;
+	}
+
+	/**
+	 * @return {@code true} if the selected algorithm is {@link TimetableAlgorithm#SWEEP_LINE}, whose
+	 * timetables can be maintained with {@link #openIncrementalTimetable(List)}
+	 */
+	public boolean isIncremental() {
+		return algorithm == TimetableAlgorithm.SWEEP_LINE;
+	}
+
+	/**
+	 * Checks that an offer can be stored: every field is present and fits its column,
+	 * the price is not negative and the interval does not end before it starts.
+	 *
+	 * @param offer the offer to check
+	 * @return {@code true} if the offer is valid
+	 */
+	public boolean isValid(Offer offer) {
+		return offer != null
+				&& offer.getBrandId() != null
+				&& offer.getPriceList() != null
+				&& offer.getPriority() != null
+				&& hasText(offer.getPartnumber(), MAX_PARTNUMBER_LENGTH)
+				&& hasText(offer.getCurr(), MAX_CURRENCY_LENGTH)
+				&& offer.getStartDate() != null
+				&& offer.getEndDate() != null
+				&& !offer.getEndDate().isBefore(offer.getStartDate())
+				&& isValidPrice(offer.getPrice());
+	}
+
+	private static boolean hasText(String value, int maxLength) {
+		return value != null && !value.isBlank() && value.length() <= maxLength;
+	}
+
+	private static boolean isValidPrice(BigDecimal price) {
+		if (price == null || price.signum() < 0) {
+			return false;
+		}
+		BigDecimal stripped = price.stripTrailingZeros();
+		return stripped.scale() <= PRICE_SCALE
+				&& stripped.precision() - stripped.scale() <= PRICE_PRECISION - PRICE_SCALE;
+	}
+
+	/**
+	 * Runs the sweep line, by range in parallel for timetables of at least {@link #getParallelThreshold()} offers.
+	 */
+	private List<Offer> flattenWithSweepLine(List<Offer> offers) {
+		if (offers != null && offers.size() >= parallelThreshold) {
+			return new ParallelSweepLineEngine(Math.max(1, parallelThreshold / 2)).flatten(offers);
+		}
+		return sweepLineEngine.flatten(offers);
+	}
+
+	/**
+	 * Runs the sweep line engine, which never mutates its input, before the legacy
+	 * algorithm and logs when both timetables differ. The legacy result is returned.
+	 */
+	private List<Offer> flattenInShadowMode(List<Offer> offers) {
+		List<Offer> candidate = sweepLineEngine.flatten(offers);
+		List<Offer> served = flattenLegacy(offers);
+		if (!sameTimetable(served, candidate)) {
+			log.warn("Timetable divergence between LEGACY ({} segments) and SWEEP_LINE ({} segments) for {} offers",
+					served.size(), candidate.size(), offers == null ? 0 : offers.size());
+		}
+		return served;
+	}
+
+	private static boolean sameTimetable(List<Offer> left, List<Offer> right) {
+		if (left.size() != right.size()) {
+			return false;
+		}
+		for (int i = 0; i < left.size(); i++) {
+			Offer a = left.get(i);
+			Offer b = right.get(i);
+			if (!a.getStartDate().equals(b.getStartDate())
+					|| !a.getEndDate().equals(b.getEndDate())
+					|| !Objects.equals(a.getPrice(), b.getPrice())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Original flattening algorithm.
 	 *
 	 * If two offers overlap:
 	 *  - The one with a higher priority prevails in the overlapping range.
 	 *  - If they have the same priority and the next offer extends beyond the current offer,
 	 *    the intervals are merged.
 	 *
-	 * @param offers List of offers to be flattened
-	 * @return A new list of offers with non-overlapping intervals
+	 * Note that it only compares each offer against the last result entry and truncates
+	 * the input offers in place.
 	 */
-	public List<Offer> flattenIntervalsByPriority(List<Offer> offers) {
-	    // Sort offers by start date in ascending order. Use an empty list if offers is null.
-	    List<Offer> sortedOffers = Optional.ofNullable(offers)
-	            .orElse(Collections.emptyList())
-	            .stream()
-	            .sorted(Comparator.comparing(Offer::getStartDate))
-	            .toList();
+	private List<Offer> flattenLegacy(List<Offer> offers) {
+	    // Sort offers by start date in ascending order, unless they already are. Use an empty list if offers is null.
+	    List<Offer> source = Optional.ofNullable(offers).orElse(Collections.emptyList());
+	    List<Offer> sortedOffers = SweepLineTimetableEngine.isSortedByStartDate(source)
+	            ? source
+	            : source.stream().sorted(SweepLineTimetableEngine.BY_START_DATE).toList();
 
 	    List<Offer> result = new ArrayList<>();
 	    for (Offer currentOffer : sortedOffers) {
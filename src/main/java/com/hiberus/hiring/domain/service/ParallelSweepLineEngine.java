@@ -0,0 +1,223 @@
+package com.hiberus.hiring.domain.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+/**
+ * Sweep line that flattens the ranges of a large timetable in parallel on the common fork-join pool.
+ *
+ * Offers are sorted once by start date (in parallel, stably) and turned into epoch second columns,
+ * then the time line is cut at the start dates of evenly spaced offers into ranges holding about
+ * the same number of offers. Every range is swept on its own by the primitive sweep of
+ * {@link FlattenBuffers#flattenRange}, over the offers starting inside the range preceded by the
+ * earlier offers still running at its start, found in an {@link EndDateTree} shared by every range,
+ * all clipped to the range. These keep their relative order, so every
+ * instant is won by the same offer as in {@link SweepLineTimetableEngine}. The ranges are then
+ * stitched back together: when the last segment of a range and the first one of the next are
+ * contiguous and won by the same offer, they form a single segment. The result is therefore exactly
+ * that of the sequential engine, whose object sweep also handles the rare dates with fractions of
+ * a second.
+ *
+ * Ranges only pay off on large timetables: there is one per worker of the common pool, as long as
+ * every range keeps at least {@code minRangeSize} offers. Timetables too small for two ranges, or a
+ * pool with a single worker, are swept sequentially.
+ */
+class ParallelSweepLineEngine {
+
+	private final SweepLineTimetableEngine sequential = new SweepLineTimetableEngine();
+	private final int minRangeSize;
+	private final int parallelism;
+
+	/**
+	 * @param minRangeSize minimum number of offers starting in every range
+	 */
+	ParallelSweepLineEngine(int minRangeSize) {
+		this(minRangeSize, ForkJoinPool.getCommonPoolParallelism());
+	}
+
+	ParallelSweepLineEngine(int minRangeSize, int parallelism) {
+		if (minRangeSize < 1) {
+			throw new IllegalArgumentException("The minimum range size must be positive");
+		}
+		this.minRangeSize = minRangeSize;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the number of ranges the given number of offers is split into, 1 when swept sequentially
+	 */
+	int rangeCount(int offers) {
+		return Math.max(1, Math.min(parallelism, offers / minRangeSize));
+	}
+
+	/**
+	 * Flattens the given offers.
+	 *
+	 * @param offers offers to flatten, may be {@code null}
+	 * @return a new list of non-overlapping segments ordered by start date
+	 */
+	List<Offer> flatten(List<Offer> offers) {
+		if (offers == null || rangeCount(offers.size()) < 2) {
+			return sequential.flatten(offers);
+		}
+
+		// Valid offers, sorted below unless the repository already returned them in start date order
+		Offer[] valid = new Offer[offers.size()];
+		int count = 0;
+		for (Offer offer : offers) {
+			if (offer != null && TimetableSweep.hasValidInterval(offer)) {
+				valid[count++] = offer;
+			}
+		}
+		int rangeCount = rangeCount(count);
+		if (rangeCount < 2) {
+			return sequential.flatten(Arrays.asList(valid).subList(0, count));
+		}
+		Offer[] sorted = count < valid.length ? Arrays.copyOf(valid, count) : valid;
+
+		long[] startDates = new long[count];
+		long[] endDates = new long[count];
+		int[] priorities = new int[count];
+		if (!fillColumns(sorted, startDates, endDates, priorities, rangeCount)) {
+			return sequential.flatten(Arrays.asList(sorted));
+		}
+		if (!isSorted(startDates)) {
+			// Stable, so that offers starting together keep their order
+			Arrays.parallelSort(sorted, SweepLineTimetableEngine.BY_START_DATE);
+			fillColumns(sorted, startDates, endDates, priorities, rangeCount);
+		}
+		int[] bounds = rangeBounds(startDates, rangeCount);
+		if (bounds.length < 3) {
+			return sequential.flatten(Arrays.asList(sorted));
+		}
+
+		EndDateTree running = new EndDateTree(endDates, count);
+		List<Range> ranges = IntStream.range(0, bounds.length - 1)
+				.parallel()
+				.mapToObj(range -> sweep(sorted, startDates, endDates, priorities, running,
+						bounds[range], bounds[range + 1]))
+				.toList();
+		return stitch(ranges);
+	}
+
+	/**
+	 * Fills the columns of the offers in parallel, by as many chunks as there are ranges, each
+	 * converting its own dates.
+	 *
+	 * @return {@code false} if a date holds a fraction of a second, which the columns cannot
+	 */
+	private static boolean fillColumns(Offer[] offers, long[] startDates, long[] endDates, int[] priorities,
+			int chunks) {
+		return IntStream.range(0, chunks)
+				.parallel()
+				.allMatch(chunk -> fillColumns(offers, startDates, endDates, priorities,
+						(int) ((long) offers.length * chunk / chunks),
+						(int) ((long) offers.length * (chunk + 1) / chunks)));
+	}
+
+	private static boolean fillColumns(Offer[] offers, long[] startDates, long[] endDates, int[] priorities,
+			int from, int to) {
+		SweepLineTimetableEngine.EpochSeconds starts = new SweepLineTimetableEngine.EpochSeconds();
+		SweepLineTimetableEngine.EpochSeconds ends = new SweepLineTimetableEngine.EpochSeconds();
+		for (int i = from; i < to; i++) {
+			Offer offer = offers[i];
+			if (offer.getStartDate().getNano() != 0 || offer.getEndDate().getNano() != 0) {
+				return false;
+			}
+			startDates[i] = starts.of(offer.getStartDate());
+			endDates[i] = ends.of(offer.getEndDate());
+			priorities[i] = offer.getPriority();
+		}
+		return true;
+	}
+
+	/**
+	 * Checks in one pass whether the offers are already ordered by start date, as returned by the
+	 * repository, so that sorting them can be skipped.
+	 */
+	private static boolean isSorted(long[] startDates) {
+		for (int i = 1; i < startDates.length; i++) {
+			if (startDates[i - 1] > startDates[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Picks the index of the first offer of every range, then the length of the input. Ranges are cut
+	 * between offers with different start dates only, so that offers starting at the same instant
+	 * are swept together.
+	 */
+	static int[] rangeBounds(long[] startDates, int rangeCount) {
+		int[] bounds = new int[rangeCount + 1];
+		int count = 1;
+		for (int range = 1; range < rangeCount; range++) {
+			int bound = Math.max((int) ((long) startDates.length * range / rangeCount), bounds[count - 1] + 1);
+			while (bound < startDates.length && startDates[bound] == startDates[bound - 1]) {
+				bound++;
+			}
+			if (bound < startDates.length) {
+				bounds[count++] = bound;
+			}
+		}
+		bounds[count++] = startDates.length;
+		return Arrays.copyOf(bounds, count);
+	}
+
+	/**
+	 * Sweeps the range from the start of offer {@code from} to the start of offer {@code to}, or to the
+	 * end for the last range, and copies every segment from its winner.
+	 */
+	private static Range sweep(Offer[] sorted, long[] startDates, long[] endDates, int[] priorities,
+			EndDateTree running, int from, int to) {
+		FlattenBuffers buffers = new FlattenBuffers();
+		int count = buffers.flattenRange(startDates, endDates, priorities, sorted.length, from, to, running);
+		List<Offer> segments = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int winner = buffers.segmentOfferAt(i);
+			segments.add(SweepLineTimetableEngine.segment(sorted[winner], startDates[winner], endDates[winner],
+					buffers.segmentStartAt(i), buffers.segmentEndAt(i)));
+		}
+		return count == 0
+				? new Range(segments, -1, -1)
+				: new Range(segments, buffers.segmentOfferAt(0), buffers.segmentOfferAt(count - 1));
+	}
+
+	/**
+	 * Concatenates the segments of the ranges in order, joining the segments that meet at a range
+	 * boundary when they are won by the same offer.
+	 */
+	private static List<Offer> stitch(List<Range> ranges) {
+		List<Offer> result = new ArrayList<>(ranges.stream().mapToInt(range -> range.segments().size()).sum());
+		int lastWinner = -1;
+		for (Range range : ranges) {
+			List<Offer> segments = range.segments();
+			if (segments.isEmpty()) {
+				continue;
+			}
+			int first = 0;
+			if (lastWinner == range.firstWinner()) {
+				Offer last = result.get(result.size() - 1);
+				if (last.getEndDate().plusSeconds(1).equals(segments.get(0).getStartDate())) {
+					last.setEndDate(segments.get(0).getEndDate());
+					first = 1;
+				}
+			}
+			result.addAll(segments.subList(first, segments.size()));
+			lastWinner = range.lastWinner();
+		}
+		return result;
+	}
+
+	/**
+	 * The segments of a range, with the index of the offers that won its first and last ones.
+	 */
+	private record Range(List<Offer> segments, int firstWinner, int lastWinner) {
+	}
+}
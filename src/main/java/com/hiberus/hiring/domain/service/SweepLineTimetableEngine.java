@@ -0,0 +1,239 @@
+package com.hiberus.hiring.domain.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+/**
+ * Event-based sweep line that flattens overlapping offers into non-overlapping segments.
+ *
+ * Offers are sorted once by start date and swept from left to right while a heap keeps the
+ * currently active offers ordered by rank. At every boundary (an offer starting, or the winning
+ * offer ending) the top of the heap wins the next segment. Expired offers are removed when they
+ * reach the top, or in bulk whenever the heap doubles, so the heap stays proportional to the
+ * number of overlapping offers and the whole pass runs in O(n log k) after sorting. The sweep itself is
+ * {@link TimetableSweep}, which can also be fed incrementally.
+ *
+ * Ranking rules:
+ *  - The highest priority wins.
+ *  - On equal priority, the offer that started first wins (ties keep input order).
+ *
+ * Date intervals are inclusive and second-based, as in the rest of the domain: an offer ending at
+ * {@code 18:30:00} covers that second, and a truncated segment ends one second before the next one.
+ * Input offers are never mutated; every segment is a new {@link Offer} copied from its winner.
+ *
+ * When every date is a whole second, which is the case of stored offers, the sweep runs on epoch
+ * seconds in {@link FlattenBuffers} and only the segments are turned back into offers, so that no
+ * {@link LocalDateTime} is compared or created per boundary. The columns and buffers of that sweep
+ * are taken from a pool of the engine and returned to it, up to {@value #MAX_RETAINED_OFFERS}
+ * offers. The pool holds one workspace per processor at most: flattening is CPU-bound, so no more
+ * run at once for long, whichever threads (virtual or not) run them. A flattening that finds the
+ * pool empty allocates a workspace, kept afterwards only if the pool has room for it.
+ */
+class SweepLineTimetableEngine {
+
+	static final Comparator<Offer> BY_START_DATE = Comparator.comparing(Offer::getStartDate);
+
+	private static final long SECONDS_PER_DAY = 86_400;
+
+	/**
+	 * Largest timetable whose workspace is returned to the pool once flattened; larger ones get a
+	 * workspace of their own, so that a rare huge timetable does not pin its arrays.
+	 */
+	static final int MAX_RETAINED_OFFERS = 1 << 16;
+
+	private final BlockingQueue<Workspace> workspaces;
+
+	SweepLineTimetableEngine() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param pooledWorkspaces the number of workspaces kept for the next flattenings
+	 */
+	SweepLineTimetableEngine(int pooledWorkspaces) {
+		this.workspaces = new ArrayBlockingQueue<>(pooledWorkspaces);
+	}
+
+	/**
+	 * Flattens the given offers.
+	 *
+	 * @param offers offers to flatten, may be {@code null}
+	 * @return a new list of non-overlapping segments ordered by start date
+	 */
+	List<Offer> flatten(List<Offer> offers) {
+		if (offers == null || offers.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		boolean retained = offers.size() <= MAX_RETAINED_OFFERS;
+		Workspace workspace = retained ? workspaces.poll() : null;
+		if (workspace == null) {
+			workspace = new Workspace();
+		}
+		workspace.ensureCapacity(offers.size());
+		try {
+			return flatten(offers, workspace);
+		} finally {
+			workspace.release();
+			if (retained) {
+				workspaces.offer(workspace);
+			}
+		}
+	}
+
+	private static List<Offer> flatten(List<Offer> offers, Workspace workspace) {
+		// One pass keeps the valid offers and, while every date is a whole second, their columns
+		Offer[] valid = workspace.offers;
+		long[] startDates = workspace.startDates;
+		long[] endDates = workspace.endDates;
+		int[] priorities = workspace.priorities;
+		EpochSeconds starts = new EpochSeconds();
+		EpochSeconds ends = new EpochSeconds();
+		boolean wholeSeconds = true;
+		int count = 0;
+		for (Offer offer : offers) {
+			if (offer == null || !TimetableSweep.hasValidInterval(offer)) {
+				continue;
+			}
+			if (wholeSeconds && offer.getStartDate().getNano() == 0 && offer.getEndDate().getNano() == 0) {
+				startDates[count] = starts.of(offer.getStartDate());
+				endDates[count] = ends.of(offer.getEndDate());
+				priorities[count] = offer.getPriority();
+			} else {
+				wholeSeconds = false;
+			}
+			valid[count++] = offer;
+		}
+		workspace.count = count;
+		if (wholeSeconds) {
+			return flattenEpochSeconds(workspace);
+		}
+
+		Offer[] sorted = Arrays.copyOf(valid, count);
+		if (!isSortedByStartDate(Arrays.asList(sorted))) {
+			Arrays.sort(sorted, BY_START_DATE);
+		}
+		List<Offer> result = new ArrayList<>();
+		Consumer<Offer> sink = result::add;
+		TimetableSweep sweep = new TimetableSweep();
+		for (Offer offer : sorted) {
+			sweep.accept(offer, sink);
+		}
+		sweep.finish(sink);
+		return result;
+	}
+
+	/**
+	 * Runs the primitive sweep, which also sorts, over the epoch seconds of the offers of the
+	 * workspace and copies every segment from its winner.
+	 */
+	private static List<Offer> flattenEpochSeconds(Workspace workspace) {
+		Offer[] offers = workspace.offers;
+		long[] startDates = workspace.startDates;
+		long[] endDates = workspace.endDates;
+		FlattenBuffers buffers = workspace.buffers;
+		int segments = buffers.flatten(startDates, endDates, workspace.priorities, null, workspace.count);
+
+		List<Offer> result = new ArrayList<>(segments);
+		for (int i = 0; i < segments; i++) {
+			int winner = buffers.segmentOfferAt(i);
+			result.add(segment(offers[winner], startDates[winner], endDates[winner],
+					buffers.segmentStartAt(i), buffers.segmentEndAt(i)));
+		}
+		return result;
+	}
+
+	/**
+	 * Copies a segment from its winner, given with its dates in epoch seconds. Most segments start
+	 * or end with their winner: its dates are shared rather than created again.
+	 */
+	static Offer segment(Offer winner, long winnerStart, long winnerEnd, long start, long end) {
+		return winner.toBuilder()
+				.startDate(start == winnerStart
+						? winner.getStartDate()
+						: LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC))
+				.endDate(end == winnerEnd
+						? winner.getEndDate()
+						: LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC))
+				.build();
+	}
+
+	/**
+	 * Checks in one pass whether offers are already ordered by start date, as returned by the
+	 * repository, so that callers can skip sorting them. Sorting is stable, so skipping it
+	 * on ordered input yields exactly the same order.
+	 */
+	static boolean isSortedByStartDate(List<Offer> offers) {
+		for (int i = 1; i < offers.size(); i++) {
+			if (BY_START_DATE.compare(offers.get(i - 1), offers.get(i)) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts dates to epoch seconds, remembering the epoch second of the last day seen: offers
+	 * sorted by start date mostly share their day with the previous one, and the day is the
+	 * costly part of the conversion.
+	 */
+	static final class EpochSeconds {
+
+		private LocalDate day;
+		private long dayStart;
+
+		long of(LocalDateTime dateTime) {
+			LocalDate date = dateTime.toLocalDate();
+			if (!date.equals(day)) {
+				day = date;
+				dayStart = date.toEpochDay() * SECONDS_PER_DAY;
+			}
+			return dayStart + dateTime.toLocalTime().toSecondOfDay();
+		}
+	}
+
+	/**
+	 * Columns and buffers of one flattening, pooled and reused by the next ones, so that flattening
+	 * only allocates the segments it returns.
+	 */
+	private static final class Workspace {
+
+		private final FlattenBuffers buffers = new FlattenBuffers();
+		private Offer[] offers = new Offer[0];
+		private long[] startDates = new long[0];
+		private long[] endDates = new long[0];
+		private int[] priorities = new int[0];
+		private int size;
+		private int count;
+
+		void ensureCapacity(int size) {
+			this.size = size;
+			if (offers.length < size) {
+				int capacity = Math.max(size, 2 * offers.length);
+				offers = new Offer[capacity];
+				startDates = new long[capacity];
+				endDates = new long[capacity];
+				priorities = new int[capacity];
+			}
+		}
+
+		/**
+		 * Forgets the offers of the last flattening, which the pool must not keep reachable.
+		 */
+		void release() {
+			Arrays.fill(offers, 0, size, null);
+			size = 0;
+			count = 0;
+		}
+	}
+}
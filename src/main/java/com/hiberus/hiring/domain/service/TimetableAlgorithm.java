@@ -0,0 +1,24 @@
+package com.hiberus.hiring.domain.service;
+
+/**
+ * Selects the engine used by {@link OfferDomainService} to flatten offers into a timetable.
+ */
+public enum TimetableAlgorithm {
+
+	/**
+	 * Original single-pass algorithm that only compares each offer against the last result entry.
+	 */
+	LEGACY,
+
+	/**
+	 * Event-based sweep line backed by a priority heap. Handles nested offers correctly
+	 * and never mutates its input.
+	 */
+	SWEEP_LINE,
+
+	/**
+	 * Runs both engines, serves the {@link #LEGACY} result and logs any divergence.
+	 * Intended for rollout only.
+	 */
+	SHADOW
+}
@@ -0,0 +1,150 @@
+package com.hiberus.hiring.domain.service;
+
+import java.time.LocalDateTime;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+/**
+ * Incremental form of the sweep line: offers are pushed one at a time in start date order and
+ * every segment is handed over as soon as no later offer can change it. A timetable can thus be
+ * streamed while its offers are still being read. {@link SweepLineTimetableEngine} runs the same
+ * sweep over a list, so both produce exactly the same segments.
+ *
+ * A segment is final once an offer starting at or after its end has been seen, since offers
+ * arrive in start order. The last emitted segment is held back until the next one is known,
+ * because a contiguous segment of the same winner extends it instead of following it.
+ *
+ * The exclusive end of every offer is computed once when it is added, and segments reuse the dates
+ * of their winner when they are not truncated, so boundaries are found by comparing existing
+ * dates only. Ended offers are dropped from the heap when it doubles, as in {@link FlattenBuffers}.
+ *
+ * Instances are stateful and not thread-safe: use one per timetable.
+ */
+public class TimetableSweep {
+
+	/**
+	 * Heap size below which ended offers are only dropped once they reach the top.
+	 */
+	private static final int MIN_COMPACTION_SIZE = 32;
+
+	private final PriorityQueue<Ranked> active = new PriorityQueue<>(
+			(a, b) -> a.priority != b.priority
+					? Integer.compare(b.priority, a.priority)
+					: Long.compare(a.sequence, b.sequence));
+
+	private long sequence;
+	private int compactAt = MIN_COMPACTION_SIZE;
+	private LocalDateTime lastStart;
+	private LocalDateTime cursor;
+	private Ranked pendingWinner;
+	private LocalDateTime pendingStart;
+	private LocalDateTime pendingEnd;
+
+	/**
+	 * Adds the next offer and hands over the segments that end before it starts.
+	 * Offers with a missing or inverted interval are ignored, as in the batch engine.
+	 *
+	 * @param offer the next offer, starting at or after every offer added before
+	 * @param segments receives the segments that became final, in start date order
+	 * @throws IllegalArgumentException if the offer starts before a previous one
+	 */
+	public void accept(Offer offer, Consumer<Offer> segments) {
+		if (offer == null || !hasValidInterval(offer)) {
+			return;
+		}
+		LocalDateTime start = offer.getStartDate();
+		if (lastStart != null && start.isBefore(lastStart)) {
+			throw new IllegalArgumentException("Offers must be added in start date order");
+		}
+		lastStart = start;
+
+		advance(start, segments);
+		if (cursor == null) {
+			cursor = start;
+		}
+		if (active.size() >= compactAt) {
+			LocalDateTime now = cursor;
+			active.removeIf(ranked -> !ranked.end.isAfter(now));
+			compactAt = Math.max(MIN_COMPACTION_SIZE, 2 * active.size());
+		}
+		active.add(new Ranked(offer, offer.getPriority(), sequence++, offer.getEndDate().plusSeconds(1)));
+	}
+
+	/**
+	 * Hands over every remaining segment. No offer may be added afterwards.
+	 *
+	 * @param segments receives the remaining segments, in start date order
+	 */
+	public void finish(Consumer<Offer> segments) {
+		advance(null, segments);
+		if (pendingStart != null) {
+			segments.accept(pendingSegment());
+			pendingStart = null;
+		}
+	}
+
+	/**
+	 * Sweeps from the cursor up to {@code limit} (exclusive), or to the end when {@code limit} is null.
+	 */
+	private void advance(LocalDateTime limit, Consumer<Offer> segments) {
+		while (cursor != null && (limit == null || cursor.isBefore(limit))) {
+			while (!active.isEmpty() && !active.peek().end.isAfter(cursor)) {
+				active.poll();
+			}
+			if (active.isEmpty()) {
+				cursor = null;
+				return;
+			}
+			Ranked winner = active.peek();
+			LocalDateTime boundary = winner.end;
+			if (limit != null && limit.isBefore(boundary)) {
+				boundary = limit;
+			}
+			emit(winner, cursor, boundary, segments);
+			cursor = boundary;
+		}
+	}
+
+	/**
+	 * Records the segment {@code [from, to)} won by {@code winner}, extending the pending segment
+	 * instead when it belongs to the same offer and is contiguous.
+	 */
+	private void emit(Ranked winner, LocalDateTime from, LocalDateTime to, Consumer<Offer> segments) {
+		if (pendingWinner == winner && pendingStart != null && pendingEnd.equals(from)) {
+			pendingEnd = to;
+			return;
+		}
+		if (pendingStart != null) {
+			segments.accept(pendingSegment());
+		}
+		pendingWinner = winner;
+		pendingStart = from;
+		pendingEnd = to;
+	}
+
+	/**
+	 * @return the pending segment as a copy of its winner, sharing its end date unless truncated
+	 */
+	private Offer pendingSegment() {
+		LocalDateTime until = pendingEnd.equals(pendingWinner.end)
+				? pendingWinner.offer.getEndDate()
+				: pendingEnd.minusSeconds(1);
+		return pendingWinner.offer.toBuilder().startDate(pendingStart).endDate(until).build();
+	}
+
+	static boolean hasValidInterval(Offer offer) {
+		return offer.getStartDate() != null
+				&& offer.getEndDate() != null
+				&& offer.getPriority() != null
+				&& !offer.getEndDate().isBefore(offer.getStartDate());
+	}
+
+	/**
+	 * An active offer with its priority, its arrival order, which breaks ties between equal
+	 * priorities, and the first instant after its end.
+	 */
+	private record Ranked(Offer offer, int priority, long sequence, LocalDateTime end) {
+	}
+}
@@ -0,0 +1,88 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+
+/**
+ * Strong entity tags of the timetable and offer representations, derived from timetable versions
+ * (see OfferUseCase#getTimetableVersion) rather than from the body, and their Cache-Control.
+ *
+ * A timetable tag is the version of the product, suffixed for the compact representation.
+ * Versions are shared by every instance and read before the content they label, so a tag matches
+ * the current version only while no write to the product committed since the content was read.
+ * Offers never change once created, they are only deleted, so an offer tag is the version of its
+ * product it was read at, with the ID of the offer: the offer is unchanged as long as its product
+ * has that version. Tags are opaque: a request is only ever matched against the tag computed from
+ * the current state of the server, never decoded.
+ */
+final class EntityTags {
+
+	private EntityTags() {
+	}
+
+	/**
+	 * @return the tag of a timetable read at the given version
+	 */
+	static String timetable(long version) {
+		return "\"" + version + "\"";
+	}
+
+	/**
+	 * @return the tag of the compact (CBOR) timetable read at the given version
+	 */
+	static String compactTimetable(long version) {
+		return "\"" + version + "-cbor\"";
+	}
+
+	/**
+	 * @return the tag of an offer read at the given version of its product
+	 */
+	static String offer(Offer offer, long version) {
+		return "\"" + version + "." + offer.getOfferId() + "\"";
+	}
+
+	/**
+	 * Weak comparison, as required for If-None-Match.
+	 *
+	 * @param ifNoneMatch the tags of the If-None-Match header
+	 * @return {@code true} if one of them, or a wildcard, matches the given tag
+	 */
+	static boolean matches(List<String> ifNoneMatch, String tag) {
+		String opaque = opaque(tag);
+		return ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate) || opaque(candidate).equals(opaque));
+	}
+
+	/**
+	 * Lets caches keep a representation until the next segment boundary, when the price changes,
+	 * but no longer than {@code maxAge}, which bounds how long they serve it after a write.
+	 *
+	 * @param nextChange the next segment boundary, {@link LocalDateTime#MAX} if none
+	 */
+	static CacheControl cacheControl(LocalDateTime now, LocalDateTime nextChange, Duration maxAge) {
+		Duration untilChange = nextChange.isBefore(now.plus(maxAge)) ? Duration.between(now, nextChange) : maxAge;
+		return CacheControl.maxAge(Math.max(0, untilChange.getSeconds()), TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return the next segment boundary of a single offer after the given instant, {@link LocalDateTime#MAX} if none
+	 */
+	static LocalDateTime nextChangeAfter(Offer offer, LocalDateTime now) {
+		LocalDateTime nextChange = Timetable.of(List.of(offer)).nextChangeAfter(now);
+		return nextChange != null ? nextChange : LocalDateTime.MAX;
+	}
+
+	private static String opaque(String tag) {
+		String strong = tag.startsWith("W/") ? tag.substring(2) : tag;
+		if (strong.length() >= 2 && strong.startsWith("\"") && strong.endsWith("\"")) {
+			return strong.substring(1, strong.length() - 1);
+		}
+		return strong;
+	}
+}
@@ -1,42 +1,112 @@
 package com.hiberus.hiring.infrastructure.adapters.inbound.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
 import com.hiberus.hiring.application.port.in.OfferUseCase;
+import com.hiberus.hiring.application.port.in.PricingSnapshotUseCase;
+import com.hiberus.hiring.application.port.in.TimetableChangeFeedUseCase;
+import com.hiberus.hiring.domain.exception.BulkIngestionException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+import com.hiberus.hiring.domain.model.VersionedTimetable;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.BulkIngestionResultDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactMediaType;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactOfferDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactOfferPageDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactSegmentDto;
 import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferByPartNumberDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferCompactionResultDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferDeletionResultDto;
 import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferPageDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.PriceBatchRequestDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.PricingSnapshotDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.TimetableChangeDto;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 /**
  * You can change this controller but please do not change ends points signatures & payloads.
  */
 /**
  * REST Controller for managing Offers. Implements endpoints for creating,
- * deleting, and querying offers.
+ * deleting, and querying offers. Replaced by ReactiveOfferController when the
+ * application runs as a reactive web application.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/product-pricing/api/v1")
 @RequiredArgsConstructor
 @Tag(name = "Offer Management", description = "Operations for managing Offers")
 public class OfferController {
 
+	private static final String MALFORMED_OFFER = "Malformed offer in stream";
+
 	private final OfferUseCase offerUseCase;
+	private final PricingSnapshotUseCase pricingSnapshotUseCase;
+	private final TimetableChangeFeedUseCase timetableChangeFeedUseCase;
+	private final OfferCompactionUseCase offerCompactionUseCase;
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Lifetime of an event stream, after which clients reconnect with their Last-Event-ID.
+	 */
+	@Setter
+	@Value("${offer.outbox.stream-timeout:PT30M}")
+	private Duration streamTimeout = Duration.ofMinutes(30);
+
+	/**
+	 * Upper bound of the max-age of offers and timetables, otherwise cached until their next
+	 * segment boundary: how long caches may keep serving them after a write.
+	 */
+	@Setter
+	@Value("${offer.http.max-age:PT1M}")
+	private Duration cacheMaxAge = Duration.ofMinutes(1);
 
 	/**
 	 * (POST) /offer Creates a new offer in the system.
@@ -51,6 +121,56 @@ public class OfferController {
 		offerUseCase.createOffer(offerDto.toDomain());
 	}
 
+	/**
+	 * (POST) /offer/bulk Creates many offers in one request. The body is either a JSON
+	 * array of offers or newline-delimited JSON (one offer per line); it is read as a
+	 * stream and written in JDBC batches, so it may hold millions of offers.
+	 *
+	 * A malformed offer stops the stream with a 400 response whose body still counts the offers
+	 * read before it, which are stored: the stream can be resent from the record after the first
+	 * {@code accepted + rejected}.
+	 *
+	 * @param body the raw request body
+	 * @return the number of accepted and rejected offers
+	 */
+	@Operation(summary = "Create offers in bulk")
+	@PostMapping(value = "/offer/bulk", consumes = { "application/json", MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<BulkIngestionResultDto> createOffersInBulk(InputStream body) {
+		try (MappingIterator<OfferDto> offers = objectMapper.readerFor(OfferDto.class).readValues(body)) {
+			return ResponseEntity.ok(new BulkIngestionResultDto(offerUseCase.ingestOffers(toDomainIterator(offers))));
+		} catch (BulkIngestionException e) {
+			return ResponseEntity.badRequest().body(new BulkIngestionResultDto(e.getResult(), MALFORMED_OFFER));
+		} catch (IOException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unreadable offer stream", e);
+		}
+	}
+
+	/**
+	 * Lazily converts parsed DTOs into domain offers, turning malformed input into a 400 response.
+	 */
+	private static Iterator<Offer> toDomainIterator(MappingIterator<OfferDto> offers) {
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				try {
+					return offers.hasNextValue();
+				} catch (IOException e) {
+					throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MALFORMED_OFFER, e);
+				}
+			}
+
+			@Override
+			public Offer next() {
+				try {
+					OfferDto dto = offers.nextValue();
+					return dto != null ? dto.toDomain() : null;
+				} catch (IOException e) {
+					throw new ResponseStatusException(HttpStatus.BAD_REQUEST, MALFORMED_OFFER, e);
+				}
+			}
+		};
+	}
+
 	/**
 	 * (DELETE) /offer Deletes all offers from the system.
 	 */
@@ -61,6 +181,50 @@ public class OfferController {
 		offerUseCase.deleteAllOffers();
 	}
 
+	/**
+	 * (DELETE) /offer/expired Deletes the offers that ended before an instant, in chunks
+	 * committed one after the other.
+	 *
+	 * @param before offers ending strictly before this instant (ISO date-time) are deleted, defaults to now
+	 * @return the number of offers deleted
+	 */
+	@Operation(summary = "Purge expired offers")
+	@DeleteMapping("/offer/expired")
+	@ResponseStatus(HttpStatus.OK)
+	public OfferDeletionResultDto purgeExpiredOffers(@RequestParam(value = "before", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+		LocalDateTime instant = before != null ? before : LocalDateTime.now();
+		return new OfferDeletionResultDto(offerUseCase.purgeOffersEndingBefore(instant));
+	}
+
+	/**
+	 * (DELETE) /brand/{brandId}/offer Deletes every offer of a brand.
+	 *
+	 * @param brandId the brand identifier
+	 * @return the number of offers deleted
+	 */
+	@Operation(summary = "Delete the offers of a brand")
+	@DeleteMapping("/brand/{brandId}/offer")
+	@ResponseStatus(HttpStatus.OK)
+	public OfferDeletionResultDto deleteOffersByBrand(@PathVariable("brandId") Integer brandId) {
+		return new OfferDeletionResultDto(offerUseCase.deleteOffersByBrand(brandId));
+	}
+
+	/**
+	 * (DELETE) /brand/{brandId}/partnumber/{partnumber}/offer Deletes every offer of a product.
+	 *
+	 * @param brandId    the brand identifier
+	 * @param partnumber the product partnumber
+	 * @return the number of offers deleted
+	 */
+	@Operation(summary = "Delete the offers of a product")
+	@DeleteMapping("/brand/{brandId}/partnumber/{partnumber}/offer")
+	@ResponseStatus(HttpStatus.OK)
+	public OfferDeletionResultDto deleteOffersByPartNumber(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber) {
+		return new OfferDeletionResultDto(offerUseCase.deleteOffersByBrandAndPartNumber(brandId, partnumber));
+	}
+
 	/**
 	 * (DELETE) /offer/{id} Deletes a specific offer by its ID.
 	 *
@@ -89,38 +253,379 @@ public class OfferController {
 	}
 
 	/**
-	 * (GET) /offer/{id} Retrieves a specific offer by its ID.
+	 * (GET) /offer with {@code Accept: application/vnd.product-pricing.compact+cbor}
+	 * Retrieves all offers as a CBOR array of CompactOfferDto, for service-to-service calls.
+	 *
+	 * @return a list of CompactOfferDto objects
+	 */
+	@Operation(summary = "Get all offers as compact CBOR")
+	@GetMapping(value = "/offer", produces = CompactMediaType.APPLICATION_COMPACT_CBOR_VALUE)
+	@ResponseStatus(HttpStatus.OK)
+	public List<CompactOfferDto> getAllOffersCompact() {
+		return offerUseCase.getAllOffers()
+				.stream()
+				.map(CompactOfferDto::new)
+				.toList();
+	}
+
+	/**
+	 * (GET) /offer with {@code Accept: application/x-ndjson} Streams all offers as
+	 * newline-delimited JSON. Offers are read from a database cursor and written as
+	 * they arrive, so memory usage stays constant whatever the table size.
+	 *
+	 * @return a streaming body writing one OfferDto per line
+	 */
+	@Operation(summary = "Stream all offers as newline-delimited JSON")
+	@GetMapping(value = "/offer", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllOffers() {
+		ObjectWriter writer = objectMapper.writerFor(OfferDto.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		StreamingResponseBody body = outputStream -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+				offerUseCase.streamAllOffers(offer -> writeLine(writer, generator, new OfferDto(offer)));
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(body);
+	}
+
+	private static void writeLine(ObjectWriter writer, JsonGenerator generator, OfferDto offer) {
+		try {
+			writer.writeValue(generator, offer);
+			generator.writeRaw('\n');
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * (GET) /offer/page Retrieves a page of offers ordered by ID, optionally filtered
+	 * by brand, partnumber and validity window. Pages are chained by cursor: pass the
+	 * "nextCursor" of a page as "after" to get the following one.
 	 *
-	 * @param id the ID of the offer to retrieve
-	 * @return the OfferDto representing the offer, or a 404 if not found
+	 * @param after      the cursor of the previous page, omitted for the first page
+	 * @param limit      the page size, at most {@value OfferUseCase#MAX_PAGE_SIZE}
+	 * @param brandId    only offers of this brand
+	 * @param partnumber only offers of this partnumber
+	 * @param from       only offers still valid at or after this instant
+	 * @param until      only offers already valid at or before this instant
+	 * @return the OfferPageDto with the offers and the cursor of the next page
+	 */
+	@Operation(summary = "Get a page of offers")
+	@GetMapping("/offer/page")
+	@ResponseStatus(HttpStatus.OK)
+	public OfferPageDto getOffersPage(@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", defaultValue = "100") int limit,
+			@RequestParam(value = "brandId", required = false) Integer brandId,
+			@RequestParam(value = "partnumber", required = false) String partnumber,
+			@RequestParam(value = "from", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(value = "until", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until) {
+		return new OfferPageDto(offerUseCase.getOffersPage(pageFilter(brandId, partnumber, from, until), after, limit));
+	}
+
+	/**
+	 * (GET) /offer/page with {@code Accept: application/vnd.product-pricing.compact+cbor}
+	 * Retrieves a page of offers as a CompactOfferPageDto, with the same parameters and
+	 * cursor as the JSON page.
+	 *
+	 * @return the CompactOfferPageDto with the offers and the cursor of the next page
+	 */
+	@Operation(summary = "Get a page of offers as compact CBOR")
+	@GetMapping(value = "/offer/page", produces = CompactMediaType.APPLICATION_COMPACT_CBOR_VALUE)
+	@ResponseStatus(HttpStatus.OK)
+	public CompactOfferPageDto getOffersPageCompact(@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", defaultValue = "100") int limit,
+			@RequestParam(value = "brandId", required = false) Integer brandId,
+			@RequestParam(value = "partnumber", required = false) String partnumber,
+			@RequestParam(value = "from", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(value = "until", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until) {
+		return new CompactOfferPageDto(offerUseCase.getOffersPage(pageFilter(brandId, partnumber, from, until), after, limit));
+	}
+
+	private static OfferFilter pageFilter(Integer brandId, String partnumber, LocalDateTime from, LocalDateTime until) {
+		return OfferFilter.builder()
+				.brandId(brandId)
+				.partnumber(partnumber)
+				.activeFrom(from)
+				.activeUntil(until)
+				.build();
+	}
+
+	/**
+	 * (GET) /offer/{id} Retrieves a specific offer by its ID. The response carries a strong
+	 * ETag and is cached until the offer starts or ends; a request whose If-None-Match holds
+	 * the ETag of the current offer is answered with a 304. The current ETag is computed from
+	 * the offer and the version of its product known to the server, without reading the offer
+	 * again while that version has not changed (see OfferUseCase#getVersionedOffer).
+	 *
+	 * @param id      the ID of the offer to retrieve
+	 * @param headers the request headers, for If-None-Match
+	 * @return the OfferDto representing the offer, a 304 if not modified, or a 404 if not found
 	 */
 	@Operation(summary = "Get an offer by ID")
 	@GetMapping("/offer/{id}")
 	@ResponseStatus(HttpStatus.OK)
-	public ResponseEntity<OfferDto> getOfferById(@PathVariable("id") Long id) {
-		Offer offer = offerUseCase.getOfferById(id);
-		if (offer != null) {
-			return ResponseEntity.ok(new OfferDto(offer));
+	public ResponseEntity<OfferDto> getOfferById(@PathVariable("id") Long id, @RequestHeader HttpHeaders headers) {
+		VersionedOffer versioned = offerUseCase.getVersionedOffer(id);
+		if (versioned == null) {
+			return ResponseEntity.notFound().build();
 		}
-		return ResponseEntity.notFound().build();
+		LocalDateTime now = LocalDateTime.now();
+		Offer offer = versioned.getOffer();
+		String tag = EntityTags.offer(offer, versioned.getVersion());
+		CacheControl cacheControl = EntityTags.cacheControl(now, EntityTags.nextChangeAfter(offer, now), cacheMaxAge);
+		if (EntityTags.matches(headers.getIfNoneMatch(), tag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).cacheControl(cacheControl).build();
+		}
+		return ResponseEntity.ok().eTag(tag).cacheControl(cacheControl).body(new OfferDto(offer));
 	}
 
 	/**
 	 * (GET) /brand/{brandId}/partnumber/{partnumber}/offer Retrieves a flattened
-	 * timetable (non-overlapping intervals) for a given brand and partnumber.
+	 * timetable (non-overlapping intervals) for a given brand and partnumber. The response
+	 * carries the version of the timetable as a strong ETag and is cached until the next
+	 * segment boundary; a request whose If-None-Match holds the current version is answered
+	 * with a 304, without reading the timetable, as long as that boundary is known.
 	 *
 	 * @param brandId    the brand identifier
 	 * @param partnumber the product partnumber
-	 * @return a list of OfferByPartNumberDto representing the flattened intervals
+	 * @param headers    the request headers, for If-None-Match
+	 * @return a list of OfferByPartNumberDto representing the flattened intervals, or a 304 if not modified
 	 */
 	@Operation(summary = "Get timetable (flattened intervals) for a product")
 	@GetMapping("/brand/{brandId}/partnumber/{partnumber}/offer")
 	@ResponseStatus(HttpStatus.OK)
-	public List<OfferByPartNumberDto> getOfferByPartNumber(@PathVariable("brandId") Integer brandId,
-			@PathVariable("partnumber") String partnumber) {
-		List<Offer> flattenedOffers = offerUseCase.getTimetableForBrandAndPartNumber(brandId, partnumber);
-		return flattenedOffers.stream()
-				.map(OfferByPartNumberDto::new)
+	public ResponseEntity<List<OfferByPartNumberDto>> getOfferByPartNumber(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber, @RequestHeader HttpHeaders headers) {
+		return timetable(brandId, partnumber, headers, EntityTags::timetable, OfferByPartNumberDto::new);
+	}
+
+	/**
+	 * (GET) /brand/{brandId}/partnumber/{partnumber}/offer with
+	 * {@code Accept: application/vnd.product-pricing.compact+cbor} Retrieves the flattened
+	 * timetable as a CBOR array of CompactSegmentDto, for service-to-service calls. Validated
+	 * and cached like the JSON timetable, under its own ETag.
+	 *
+	 * @param brandId    the brand identifier
+	 * @param partnumber the product partnumber
+	 * @param headers    the request headers, for If-None-Match
+	 * @return a list of CompactSegmentDto representing the flattened intervals, or a 304 if not modified
+	 */
+	@Operation(summary = "Get timetable (flattened intervals) for a product as compact CBOR")
+	@GetMapping(value = "/brand/{brandId}/partnumber/{partnumber}/offer",
+			produces = CompactMediaType.APPLICATION_COMPACT_CBOR_VALUE)
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<List<CompactSegmentDto>> getOfferByPartNumberCompact(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber, @RequestHeader HttpHeaders headers) {
+		return timetable(brandId, partnumber, headers, EntityTags::compactTimetable, CompactSegmentDto::new);
+	}
+
+	/**
+	 * Reads a timetable unless the If-None-Match of the request holds its current tag.
+	 * Responses vary by Accept, each representation having its own tag.
+	 */
+	private <T> ResponseEntity<List<T>> timetable(Integer brandId, String partnumber, HttpHeaders headers,
+			LongFunction<String> tagOf, Function<Offer, T> toDto) {
+		LocalDateTime now = LocalDateTime.now();
+		TimetableVersion current = offerUseCase.getTimetableVersion(brandId, partnumber);
+		String tag = tagOf.apply(current.getVersion());
+		if (current.isKnownCurrentAt(now) && EntityTags.matches(headers.getIfNoneMatch(), tag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(tag)
+					.cacheControl(EntityTags.cacheControl(now, current.getNextChange(), cacheMaxAge))
+					.varyBy(HttpHeaders.ACCEPT)
+					.build();
+		}
+		// Answered with a 304 as well if the tag matches once read
+		VersionedTimetable timetable = offerUseCase.getVersionedTimetable(brandId, partnumber, now);
+		return ResponseEntity.ok()
+				.eTag(tagOf.apply(timetable.getVersion().getVersion()))
+				.cacheControl(EntityTags.cacheControl(now, timetable.getVersion().getNextChange(), cacheMaxAge))
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(timetable.getSegments()
+						.stream()
+						.map(toDto)
+						.toList());
+	}
+
+	/**
+	 * (GET) /brand/{brandId}/partnumber/{partnumber}/offer/history Retrieves the archived
+	 * (expired and compacted) offers of a product, for auditing. Pages are chained by cursor
+	 * as in /offer/page.
+	 *
+	 * @param brandId    the brand identifier
+	 * @param partnumber the product partnumber
+	 * @param after      the cursor of the previous page, omitted for the first page
+	 * @param limit      the page size, at most {@value OfferCompactionUseCase#MAX_PAGE_SIZE}
+	 * @return the OfferPageDto with the archived offers and the cursor of the next page
+	 */
+	@Operation(summary = "Get the archived offers of a product")
+	@GetMapping("/brand/{brandId}/partnumber/{partnumber}/offer/history")
+	@ResponseStatus(HttpStatus.OK)
+	public OfferPageDto getOfferHistory(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber,
+			@RequestParam(value = "after", required = false) Long after,
+			@RequestParam(value = "limit", defaultValue = "100") int limit) {
+		return new OfferPageDto(offerCompactionUseCase.getOfferHistory(brandId, partnumber, after, limit));
+	}
+
+	/**
+	 * (GET) /brand/{brandId}/partnumber/{partnumber}/price Retrieves the single
+	 * timetable segment that applies to a product at a given instant.
+	 *
+	 * @param brandId    the brand identifier
+	 * @param partnumber the product partnumber
+	 * @param at         the instant to price (ISO date-time), defaults to now
+	 * @return the OfferByPartNumberDto covering the instant, or a 404 if no offer applies
+	 */
+	@Operation(summary = "Get the price segment of a product at a given instant")
+	@GetMapping("/brand/{brandId}/partnumber/{partnumber}/price")
+	@ResponseStatus(HttpStatus.OK)
+	public ResponseEntity<OfferByPartNumberDto> getPriceAt(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber,
+			@RequestParam(value = "at", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+		LocalDateTime instant = at != null ? at : LocalDateTime.now();
+		Offer segment = offerUseCase.getPriceAt(brandId, partnumber, instant);
+		if (segment != null) {
+			return ResponseEntity.ok(new OfferByPartNumberDto(segment));
+		}
+		return ResponseEntity.notFound().build();
+	}
+
+	/**
+	 * (POST) /brand/{brandId}/price Retrieves, in one request, the price segments
+	 * that apply to many partnumbers of a brand at a given instant.
+	 *
+	 * @param brandId the brand identifier
+	 * @param request the instant (defaults to now) and the partnumbers to price
+	 * @return the OfferByPartNumberDto covering the instant, keyed by partnumber;
+	 *         partnumbers with no applicable offer are omitted
+	 */
+	@Operation(summary = "Get the price segments of many products at a given instant")
+	@PostMapping(value = "/brand/{brandId}/price", consumes = "application/json")
+	@ResponseStatus(HttpStatus.OK)
+	public Map<String, OfferByPartNumberDto> getPricesAt(@PathVariable("brandId") Integer brandId,
+			@RequestBody @Valid PriceBatchRequestDto request) {
+		return pricesAt(brandId, request, OfferByPartNumberDto::new);
+	}
+
+	/**
+	 * (POST) /brand/{brandId}/price with {@code Accept: application/vnd.product-pricing.compact+cbor}
+	 * Retrieves the price segments of many partnumbers as a CBOR map of CompactSegmentDto.
+	 * The request is the same JSON body.
+	 *
+	 * @param brandId the brand identifier
+	 * @param request the instant (defaults to now) and the partnumbers to price
+	 * @return the CompactSegmentDto covering the instant, keyed by partnumber;
+	 *         partnumbers with no applicable offer are omitted
+	 */
+	@Operation(summary = "Get the price segments of many products at a given instant as compact CBOR")
+	@PostMapping(value = "/brand/{brandId}/price", consumes = "application/json",
+			produces = CompactMediaType.APPLICATION_COMPACT_CBOR_VALUE)
+	@ResponseStatus(HttpStatus.OK)
+	public Map<String, CompactSegmentDto> getPricesAtCompact(@PathVariable("brandId") Integer brandId,
+			@RequestBody @Valid PriceBatchRequestDto request) {
+		return pricesAt(brandId, request, CompactSegmentDto::new);
+	}
+
+	private <T> Map<String, T> pricesAt(Integer brandId, PriceBatchRequestDto request, Function<Offer, T> toDto) {
+		LocalDateTime instant = request.getAt() != null ? request.getAt() : LocalDateTime.now();
+		Map<String, T> prices = new LinkedHashMap<>();
+		offerUseCase.getPricesAt(brandId, request.getPartnumbers(), instant)
+				.forEach((partnumber, segment) -> prices.put(partnumber, toDto.apply(segment)));
+		return prices;
+	}
+
+	/**
+	 * (POST) /snapshot Reloads the in-memory pricing snapshot now, instead of waiting
+	 * for the next periodic refresh. Only available in snapshot mode.
+	 *
+	 * @return the PricingSnapshotDto describing the published snapshot, or a 409 if snapshot mode is disabled
+	 */
+	@Operation(summary = "Refresh the in-memory pricing snapshot")
+	@PostMapping("/snapshot")
+	@ResponseStatus(HttpStatus.OK)
+	public PricingSnapshotDto refreshSnapshot() {
+		if (!pricingSnapshotUseCase.isEnabled()) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "Snapshot mode is disabled");
+		}
+		return new PricingSnapshotDto(pricingSnapshotUseCase.refreshSnapshot());
+	}
+
+	/**
+	 * (POST) /offer/compaction Archives the expired offers now, instead of waiting for the
+	 * next scheduled compaction. Only available when compaction is enabled.
+	 *
+	 * @return the number of offers archived, or a 409 if compaction is disabled
+	 */
+	@Operation(summary = "Archive expired offers")
+	@PostMapping("/offer/compaction")
+	@ResponseStatus(HttpStatus.OK)
+	public OfferCompactionResultDto compactExpiredOffers() {
+		if (!offerCompactionUseCase.isEnabled()) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "Offer compaction is disabled");
+		}
+		return new OfferCompactionResultDto(offerCompactionUseCase.compactExpiredOffers());
+	}
+
+	/**
+	 * (GET) /timetable-change Retrieves the timetable changes published after an offset.
+	 * Consumers keep the offset of the last change they processed and pass it as "after".
+	 *
+	 * @param after the last offset already processed, 0 to read from the start
+	 * @param limit the maximum number of changes, at most {@value TimetableChangeFeedUseCase#MAX_CHANGES}
+	 * @return a list of TimetableChangeDto in offset order
+	 */
+	@Operation(summary = "Get the timetable changes published after an offset")
+	@GetMapping("/timetable-change")
+	@ResponseStatus(HttpStatus.OK)
+	public List<TimetableChangeDto> getTimetableChanges(@RequestParam(value = "after", defaultValue = "0") long after,
+			@RequestParam(value = "limit", defaultValue = "100") int limit) {
+		return timetableChangeFeedUseCase.getChangesAfter(after, limit)
+				.stream()
+				.map(TimetableChangeDto::new)
 				.toList();
 	}
+
+	/**
+	 * (GET) /timetable-change with {@code Accept: text/event-stream} Streams timetable changes
+	 * as server-sent events named "timetable-changed", with the offset as event ID. A client
+	 * reconnecting with a Last-Event-ID header resumes after that offset.
+	 *
+	 * @param after       the last offset already processed, 0 to read from the start
+	 * @param lastEventId the offset of the last event received before a reconnection, takes precedence over "after"
+	 * @return an emitter fed by the reader of the feed shared by every stream, see TimetableChangeFeedUseCase#subscribe
+	 */
+	@Operation(summary = "Stream timetable changes as server-sent events")
+	@GetMapping(value = "/timetable-change", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamTimetableChanges(@RequestParam(value = "after", defaultValue = "0") long after,
+			@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+		SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+		long from = lastEventId != null ? lastEventId : after;
+		Runnable unsubscribe = timetableChangeFeedUseCase.subscribe(from, change -> sendChange(emitter, change));
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(error -> unsubscribe.run());
+		return emitter;
+	}
+
+	/**
+	 * Sends a change, failing when the client went away or the emitter completed, which unsubscribes it.
+	 */
+	private static void sendChange(SseEmitter emitter, TimetableChange change) {
+		try {
+			emitter.send(SseEmitter.event()
+					.id(Long.toString(change.getOffset()))
+					.name("timetable-changed")
+					.data(new TimetableChangeDto(change), MediaType.APPLICATION_JSON));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
 }
@@ -0,0 +1,98 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.hiberus.hiring.application.port.in.ReactiveOfferUseCase;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferByPartNumberDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferDto;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of OfferController serving the read endpoints, with the same paths
+ * and payloads. Only active when the application runs as a reactive web application;
+ * write endpoints stay on servlet instances.
+ *
+ * Collections are returned as a Flux: as a JSON array by default, or one object per line
+ * with {@code Accept: application/x-ndjson}. Either way, items are written as they are produced.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/product-pricing/api/v1")
+@RequiredArgsConstructor
+public class ReactiveOfferController {
+
+	private final ReactiveOfferUseCase reactiveOfferUseCase;
+
+	/**
+	 * (GET) /offer Streams all offers from the system.
+	 *
+	 * @return the OfferDto objects, in ID order
+	 */
+	@GetMapping(value = "/offer", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<OfferDto> getAllOffers() {
+		return reactiveOfferUseCase.getAllOffers()
+				.map(OfferDto::new);
+	}
+
+	/**
+	 * (GET) /offer/{id} Retrieves a specific offer by its ID.
+	 *
+	 * @param id the ID of the offer to retrieve
+	 * @return the OfferDto representing the offer, or a 404 if not found
+	 */
+	@GetMapping("/offer/{id}")
+	public Mono<ResponseEntity<OfferDto>> getOfferById(@PathVariable("id") Long id) {
+		return reactiveOfferUseCase.getOfferById(id)
+				.map(offer -> ResponseEntity.ok(new OfferDto(offer)))
+				.defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+
+	/**
+	 * (GET) /brand/{brandId}/partnumber/{partnumber}/offer Streams the flattened
+	 * timetable (non-overlapping intervals) for a given brand and partnumber.
+	 *
+	 * @param brandId    the brand identifier
+	 * @param partnumber the product partnumber
+	 * @return the OfferByPartNumberDto intervals, in start date order
+	 */
+	@GetMapping(value = "/brand/{brandId}/partnumber/{partnumber}/offer",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<OfferByPartNumberDto> getOfferByPartNumber(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber) {
+		return reactiveOfferUseCase.getTimetableForBrandAndPartNumber(brandId, partnumber)
+				.map(OfferByPartNumberDto::new);
+	}
+
+	/**
+	 * (GET) /brand/{brandId}/partnumber/{partnumber}/price Retrieves the single
+	 * timetable segment that applies to a product at a given instant.
+	 *
+	 * @param brandId    the brand identifier
+	 * @param partnumber the product partnumber
+	 * @param at         the instant to price (ISO date-time), defaults to now
+	 * @return the OfferByPartNumberDto covering the instant, or a 404 if no offer applies
+	 */
+	@GetMapping("/brand/{brandId}/partnumber/{partnumber}/price")
+	public Mono<ResponseEntity<OfferByPartNumberDto>> getPriceAt(@PathVariable("brandId") Integer brandId,
+			@PathVariable("partnumber") String partnumber,
+			@RequestParam(value = "at", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+		LocalDateTime instant = at != null ? at : LocalDateTime.now();
+		return reactiveOfferUseCase.getPriceAt(brandId, partnumber, instant)
+				.map(segment -> ResponseEntity.ok(new OfferByPartNumberDto(segment)))
+				.defaultIfEmpty(ResponseEntity.notFound().build());
+	}
+}
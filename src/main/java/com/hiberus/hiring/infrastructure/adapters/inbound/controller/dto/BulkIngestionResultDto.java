@@ -0,0 +1,43 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hiberus.hiring.domain.model.BulkIngestionResult;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO reporting the outcome of a bulk offer ingestion.
+ * "accepted" - offers stored
+ * "rejected" - offers skipped because they were invalid
+ * "error" - why the stream stopped early, absent when it was read to the end
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkIngestionResultDto {
+
+    private long accepted;
+    private long rejected;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    /**
+     * Constructs this DTO from a domain BulkIngestionResult.
+     */
+    public BulkIngestionResultDto(BulkIngestionResult result) {
+        this(result, null);
+    }
+
+    /**
+     * Constructs this DTO from the offers handled before the stream failed, with the reason.
+     */
+    public BulkIngestionResultDto(BulkIngestionResult result, String error) {
+        this.accepted = result.getAccepted();
+        this.rejected = result.getRejected();
+        this.error = error;
+    }
+}
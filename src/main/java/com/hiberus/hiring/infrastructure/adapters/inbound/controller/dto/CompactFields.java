@@ -0,0 +1,37 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.hiberus.hiring.domain.model.CompactOfferStore;
+
+/**
+ * Field encodings of the compact DTOs: date-times as epoch seconds in UTC, like timetables, and
+ * prices as longs in minor units, with the {@value CompactOfferStore#PRICE_SCALE} decimals of the
+ * price column. Both round-trip exactly for the values stored.
+ */
+final class CompactFields {
+
+    private CompactFields() {
+    }
+
+    static Long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : null;
+    }
+
+    static LocalDateTime fromEpochSecond(Long epochSecond) {
+        return epochSecond != null ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * @throws ArithmeticException if the price has more decimals than the price column
+     */
+    static Long toMinorUnits(BigDecimal price) {
+        return price != null ? price.setScale(CompactOfferStore.PRICE_SCALE).unscaledValue().longValueExact() : null;
+    }
+
+    static BigDecimal fromMinorUnits(Long minorUnits) {
+        return minorUnits != null ? BigDecimal.valueOf(minorUnits, CompactOfferStore.PRICE_SCALE) : null;
+    }
+}
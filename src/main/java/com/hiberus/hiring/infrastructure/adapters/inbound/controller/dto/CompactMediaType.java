@@ -0,0 +1,19 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media type of the compact DTOs: CBOR documents following swagger/pricing.cddl.
+ *
+ * It is distinct from {@code application/cbor}, which stays a binary encoding of the usual JSON
+ * DTOs: generic clients list {@code application/cbor} whenever they can read it, and would then
+ * fail to read the positional arrays of the compact schema.
+ */
+public final class CompactMediaType {
+
+    public static final String APPLICATION_COMPACT_CBOR_VALUE = "application/vnd.product-pricing.compact+cbor";
+    public static final MediaType APPLICATION_COMPACT_CBOR = MediaType.parseMediaType(APPLICATION_COMPACT_CBOR_VALUE);
+
+    private CompactMediaType() {
+    }
+}
@@ -0,0 +1,66 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.hiberus.hiring.domain.model.Offer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact counterpart of OfferDto, written as a positional array in the order of its fields
+ * (see swagger/pricing.cddl). Dates are epoch seconds (UTC) and the price is in hundredths.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({ "offerId", "brandId", "startDate", "endDate", "priceList", "partnumber", "priority",
+        "priceMinorUnits", "curr" })
+public class CompactOfferDto {
+
+    private Long offerId;
+    private Integer brandId;
+    private Long startDate;
+    private Long endDate;
+    private Integer priceList;
+    private String partnumber;
+    private Integer priority;
+    private Long priceMinorUnits;
+    private String curr;
+
+    /**
+     * Constructs this DTO from a domain Offer.
+     */
+    public CompactOfferDto(Offer offer) {
+        this.offerId = offer.getOfferId();
+        this.brandId = offer.getBrandId();
+        this.startDate = CompactFields.toEpochSecond(offer.getStartDate());
+        this.endDate = CompactFields.toEpochSecond(offer.getEndDate());
+        this.priceList = offer.getPriceList();
+        this.partnumber = offer.getPartnumber();
+        this.priority = offer.getPriority();
+        this.priceMinorUnits = CompactFields.toMinorUnits(offer.getPrice());
+        this.curr = offer.getCurr();
+    }
+
+    /**
+     * Converts this DTO into a domain Offer object.
+     */
+    public Offer toDomain() {
+        return Offer.builder()
+                .offerId(this.offerId)
+                .brandId(this.brandId)
+                .startDate(CompactFields.fromEpochSecond(this.startDate))
+                .endDate(CompactFields.fromEpochSecond(this.endDate))
+                .priceList(this.priceList)
+                .partnumber(this.partnumber)
+                .priority(this.priority)
+                .price(CompactFields.fromMinorUnits(this.priceMinorUnits))
+                .curr(this.curr)
+                .build();
+    }
+}
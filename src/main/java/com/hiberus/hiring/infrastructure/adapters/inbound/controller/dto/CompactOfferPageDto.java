@@ -0,0 +1,40 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.hiberus.hiring.domain.model.OfferPage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact counterpart of OfferPageDto, written as a positional array [offers, nextCursor]
+ * (see swagger/pricing.cddl).
+ * "offers" - the offers of this page, ordered by ID
+ * "nextCursor" - value to pass as "after" to fetch the next page; null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({ "offers", "nextCursor" })
+public class CompactOfferPageDto {
+
+    private List<CompactOfferDto> offers;
+    private Long nextCursor;
+
+    /**
+     * Constructs this DTO from a domain OfferPage.
+     */
+    public CompactOfferPageDto(OfferPage page) {
+        this.offers = page.getOffers().stream()
+                .map(CompactOfferDto::new)
+                .toList();
+        this.nextCursor = page.getNextCursor();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.hiberus.hiring.domain.model.Offer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact counterpart of OfferByPartNumberDto, written as a positional array
+ * [from, until, priceMinorUnits] (see swagger/pricing.cddl).
+ * "from" - start date/time, in epoch seconds (UTC)
+ * "until" - end date/time, in epoch seconds (UTC)
+ * "priceMinorUnits" - final price, in hundredths
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({ "from", "until", "priceMinorUnits" })
+public class CompactSegmentDto {
+
+    private Long from;
+    private Long until;
+    private Long priceMinorUnits;
+
+    /**
+     * Constructs this DTO from a domain Offer.
+     */
+    public CompactSegmentDto(Offer offer) {
+        this.from = CompactFields.toEpochSecond(offer.getStartDate());
+        this.until = CompactFields.toEpochSecond(offer.getEndDate());
+        this.priceMinorUnits = CompactFields.toMinorUnits(offer.getPrice());
+    }
+
+    /**
+     * Converts this DTO into a domain Offer object holding the segment.
+     */
+    public Offer toDomain() {
+        return Offer.builder()
+                .startDate(CompactFields.fromEpochSecond(this.from))
+                .endDate(CompactFields.fromEpochSecond(this.until))
+                .price(CompactFields.fromMinorUnits(this.priceMinorUnits))
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO reporting the outcome of a compaction of expired offers.
+ * "archived" - offers moved to the archive
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfferCompactionResultDto {
+
+    private long archived;
+}
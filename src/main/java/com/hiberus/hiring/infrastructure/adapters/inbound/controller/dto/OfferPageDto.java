@@ -0,0 +1,35 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import java.util.List;
+
+import com.hiberus.hiring.domain.model.OfferPage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a page of offers.
+ * "offers" - the offers of this page, ordered by ID
+ * "nextCursor" - value to pass as "after" to fetch the next page; null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfferPageDto {
+
+    private List<OfferDto> offers;
+    private Long nextCursor;
+
+    /**
+     * Constructs this DTO from a domain OfferPage.
+     */
+    public OfferPageDto(OfferPage page) {
+        this.offers = page.getOffers().stream()
+                .map(OfferDto::new)
+                .toList();
+        this.nextCursor = page.getNextCursor();
+    }
+}
@@ -0,0 +1,31 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for batch price lookups.
+ * "at" - instant to price, defaults to now
+ * "partnumbers" - part numbers to price (at most {@value #MAX_PARTNUMBERS})
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBatchRequestDto {
+
+    public static final int MAX_PARTNUMBERS = 500;
+
+    private LocalDateTime at;
+
+    @NotEmpty
+    @Size(max = MAX_PARTNUMBERS)
+    private List<String> partnumbers;
+}
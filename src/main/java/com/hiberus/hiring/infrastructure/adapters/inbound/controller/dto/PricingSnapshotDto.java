@@ -0,0 +1,36 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import java.time.LocalDateTime;
+
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO describing a published pricing snapshot.
+ * "offers" - offers held in memory
+ * "timetables" - products with a flattened timetable
+ * "loadedAt" - when the offers were read from the database
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingSnapshotDto {
+
+    private int offers;
+    private int timetables;
+    private LocalDateTime loadedAt;
+
+    /**
+     * Constructs this DTO from a domain PricingSnapshot.
+     */
+    public PricingSnapshotDto(PricingSnapshot snapshot) {
+        this.offers = snapshot.getOfferCount();
+        this.timetables = snapshot.getTimetableCount();
+        this.loadedAt = snapshot.getLoadedAt();
+    }
+}
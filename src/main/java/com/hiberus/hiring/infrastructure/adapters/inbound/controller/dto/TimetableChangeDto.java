@@ -0,0 +1,39 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto;
+
+import java.time.LocalDateTime;
+
+import com.hiberus.hiring.domain.model.TimetableChange;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO announcing that timetables changed; consumers reload the timetables concerned.
+ * "offset" - position in the feed, to resume from
+ * "brandId" - brand of the product, null when every product changed
+ * "partnumber" - part number of the product, null when every product of the brand changed
+ * "changedAt" - when the change was published
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimetableChangeDto {
+
+    private long offset;
+    private Integer brandId;
+    private String partnumber;
+    private LocalDateTime changedAt;
+
+    /**
+     * Constructs this DTO from a domain TimetableChange.
+     */
+    public TimetableChangeDto(TimetableChange change) {
+        this.offset = change.getOffset();
+        this.brandId = change.getBrandId();
+        this.partnumber = change.getPartnumber();
+        this.changedAt = change.getChangedAt();
+    }
+}
@@ -0,0 +1,36 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hiberus.hiring.application.port.out.OfferCachePort;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+
+/**
+ * Concrete implementation of OfferCachePort backed by a bounded, in-process Caffeine cache,
+ * evicted by size like the timetable cache ({@code offer.timetable.cache.maximum-size}).
+ * Entries need no expiry: readers check the version they hold before serving them.
+ */
+@Component
+public class CaffeineOfferCacheAdapter implements OfferCachePort {
+
+    private final Cache<Long, VersionedOffer> cache;
+
+    public CaffeineOfferCacheAdapter(@Value("${offer.timetable.cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public VersionedOffer getOffer(Long offerId) {
+        return cache.getIfPresent(offerId);
+    }
+
+    @Override
+    public void putOffer(VersionedOffer offer) {
+        cache.put(offer.getOffer().getOfferId(), offer);
+    }
+}
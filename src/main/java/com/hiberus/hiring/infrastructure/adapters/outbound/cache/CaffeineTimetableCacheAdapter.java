@@ -0,0 +1,203 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hiberus.hiring.application.port.out.TimetableCachePort;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.service.IncrementalTimetable;
+
+/**
+ * Concrete implementation of TimetableCachePort backed by a bounded, in-process Caffeine cache.
+ * Entries are evicted by size ({@code offer.timetable.cache.maximum-size}) and by age
+ * ({@code offer.timetable.cache.expire-after-write}); writes invalidate or update them explicitly.
+ *
+ * Bulk loads are not atomic per key, so every invalidation first bumps a generation counter:
+ * a bulk load that observes a newer generation after publishing its entries discards them,
+ * as they may have been read before the write that triggered the invalidation.
+ *
+ * Maintained entries keep their IncrementalTimetable next to the timetable served. Updates run
+ * inside Caffeine's per-key compute, which also guards loads, and then publish a new immutable
+ * timetable, so readers never touch the IncrementalTimetable. Its stacks hold every offer once
+ * per cell it covers, so an IncrementalTimetable holding more than
+ * {@code offer.timetable.cache.maximum-stack-entries} of them is not kept: its entry only keeps
+ * the timetable, and the next write to the product discards it.
+ *
+ * Entries remember the timetable version read before loading them, if any. Versioned reads only
+ * serve entries of the version they read, so a write committed by another instance is seen by
+ * them at once instead of when the entry expires. An update moves an entry of the version just
+ * before the write to the version of the write, as the entry then holds exactly the writes it
+ * counts. Entries of any other version, which missed a write or already hold this one, keep theirs:
+ * the timetable is then more recent than it, never older.
+ */
+@Component
+public class CaffeineTimetableCacheAdapter implements TimetableCachePort {
+
+    /**
+     * Version of the entries loaded without one, never read by versioned reads.
+     */
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    private final Cache<TimetableKey, Entry> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final long maximumStackEntries;
+
+    public CaffeineTimetableCacheAdapter(
+            @Value("${offer.timetable.cache.maximum-size:10000}") long maximumSize,
+            @Value("${offer.timetable.cache.expire-after-write:PT5M}") Duration expireAfterWrite,
+            @Value("${offer.timetable.cache.maximum-stack-entries:100000}") long maximumStackEntries) {
+        this.maximumStackEntries = maximumStackEntries;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    @Override
+    public Timetable getTimetable(Integer brandId, String partNumber, Supplier<Timetable> loader) {
+        return cache.get(new TimetableKey(brandId, partNumber), key -> new Entry(null, loader.get(), NO_VERSION)).timetable;
+    }
+
+    @Override
+    public Timetable getTimetable(Integer brandId, String partNumber, long version, Supplier<Timetable> loader) {
+        return getVersioned(new TimetableKey(brandId, partNumber), version, () -> new Entry(null, loader.get(), version));
+    }
+
+    @Override
+    public Map<String, Timetable> getTimetables(Integer brandId, Collection<String> partNumbers,
+            Function<Set<String>, Map<String, Timetable>> loader) {
+        return getAll(brandId, partNumbers, loader, timetable -> new Entry(null, timetable, NO_VERSION));
+    }
+
+    @Override
+    public Timetable getMaintainedTimetable(Integer brandId, String partNumber, Supplier<IncrementalTimetable> loader) {
+        return cache.get(new TimetableKey(brandId, partNumber), key -> maintained(loader.get(), NO_VERSION)).timetable;
+    }
+
+    @Override
+    public Timetable getMaintainedTimetable(Integer brandId, String partNumber, long version,
+            Supplier<IncrementalTimetable> loader) {
+        return getVersioned(new TimetableKey(brandId, partNumber), version, () -> maintained(loader.get(), version));
+    }
+
+    @Override
+    public Map<String, Timetable> getMaintainedTimetables(Integer brandId, Collection<String> partNumbers,
+            Function<Set<String>, Map<String, IncrementalTimetable>> loader) {
+        return getAll(brandId, partNumbers, loader, maintained -> maintained(maintained, NO_VERSION));
+    }
+
+    private Timetable getVersioned(TimetableKey key, long version, Supplier<Entry> loader) {
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            return cached.timetable;
+        }
+        // Replaced under the per-key lock, so concurrent reads of the same version load once
+        return cache.asMap().compute(key, (k, entry) -> entry != null && entry.version == version ? entry : loader.get())
+                .timetable;
+    }
+
+    private <T> Map<String, Timetable> getAll(Integer brandId, Collection<String> partNumbers,
+            Function<Set<String>, Map<String, T>> loader, Function<T, Entry> toEntry) {
+        Map<String, Timetable> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String partNumber : partNumbers) {
+            Entry cached = cache.getIfPresent(new TimetableKey(brandId, partNumber));
+            if (cached != null) {
+                result.put(partNumber, cached.timetable);
+            } else {
+                missing.add(partNumber);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long observed = generation.get();
+        Map<String, T> loaded = loader.apply(missing);
+        loaded.forEach((partNumber, value) -> {
+            Entry entry = toEntry.apply(value);
+            cache.put(new TimetableKey(brandId, partNumber), entry);
+            result.put(partNumber, entry.timetable);
+        });
+        if (generation.get() != observed) {
+            loaded.keySet().forEach(partNumber -> cache.invalidate(new TimetableKey(brandId, partNumber)));
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Integer brandId, String partNumber, long version, Predicate<IncrementalTimetable> change) {
+        generation.incrementAndGet();
+        cache.asMap().computeIfPresent(new TimetableKey(brandId, partNumber), (key, entry) -> {
+            if (entry.maintained == null || !change.test(entry.maintained)) {
+                return null;
+            }
+            long moved = entry.version != NO_VERSION && entry.version == version - 1 ? version : entry.version;
+            if (entry.maintained.getStackEntries() > maximumStackEntries) {
+                return new Entry(null, entry.maintained.getTimetable(), moved);
+            }
+            // Versioned reads check the version before the timetable: publish the timetable first
+            entry.timetable = entry.maintained.getTimetable();
+            entry.version = moved;
+            return entry;
+        });
+    }
+
+    /**
+     * @return an entry keeping the IncrementalTimetable, unless its stacks are over the bound
+     */
+    private Entry maintained(IncrementalTimetable maintained, long version) {
+        return new Entry(maintained.getStackEntries() <= maximumStackEntries ? maintained : null,
+                maintained.getTimetable(), version);
+    }
+
+    @Override
+    public void evict(Integer brandId, String partNumber) {
+        generation.incrementAndGet();
+        cache.invalidate(new TimetableKey(brandId, partNumber));
+    }
+
+    @Override
+    public void evictBrand(Integer brandId) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getBrandId().equals(brandId));
+    }
+
+    @Override
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * A cached timetable, with the IncrementalTimetable it is read from when maintained, and the
+     * version read before loading it.
+     */
+    private static final class Entry {
+
+        private final IncrementalTimetable maintained;
+        private volatile Timetable timetable;
+        private volatile long version;
+
+        Entry(IncrementalTimetable maintained, Timetable timetable, long version) {
+            this.maintained = maintained;
+            this.timetable = timetable;
+            this.version = version;
+        }
+
+    }
+}
@@ -0,0 +1,74 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hiberus.hiring.application.port.out.OfferArchivePort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Concrete implementation of OfferArchivePort on the offer_archive table, using JdbcTemplate.
+ * Offers are moved with a single statement deleting them from offer and inserting the deleted
+ * rows into offer_archive, so an offer is always in exactly one of the two tables.
+ * Every method is timed as {@code offer.archive}, tagged with its name.
+ */
+@Component
+@Timed(value = "offer.archive", histogram = true)
+@RequiredArgsConstructor
+public class OfferArchiveAdapter implements OfferArchivePort {
+
+    // Same chunk selection as OfferPersistenceAdapter#deleteOffersEndingBefore
+    private static final String ARCHIVE_ENDED_OFFERS_SQL = "WITH moved AS (DELETE FROM offer WHERE ctid = ANY(ARRAY("
+            + "SELECT ctid FROM offer WHERE end_date < ? ORDER BY end_date LIMIT ?)) "
+            + "RETURNING offer_id, brand_id, start_date, end_date, price_list, partnumber, priority, price, curr) "
+            + "INSERT INTO offer_archive "
+            + "(offer_id, brand_id, start_date, end_date, price_list, partnumber, priority, price, curr, archived_at) "
+            + "SELECT offer_id, brand_id, start_date, end_date, price_list, partnumber, priority, price, curr, ? FROM moved "
+            + "RETURNING brand_id, partnumber";
+
+    private static final String SELECT_ARCHIVED_OFFERS_SQL = "SELECT offer_id, brand_id, start_date, end_date, "
+            + "price_list, partnumber, priority, price, curr FROM offer_archive "
+            + "WHERE brand_id = ? AND partnumber = ? AND offer_id > ? ORDER BY offer_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<TimetableKey> archiveOffersEndingBefore(LocalDateTime before, int limit, LocalDateTime archivedAt) {
+        return jdbcTemplate.query(ARCHIVE_ENDED_OFFERS_SQL,
+                (rs, rowNum) -> new TimetableKey(rs.getInt("brand_id"), rs.getString("partnumber")),
+                before, limit, archivedAt);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OfferPage findArchivedOffers(Integer brandId, String partNumber, Long afterOfferId, int limit) {
+        // Fetch one extra row to know whether another page follows
+        List<Offer> offers = jdbcTemplate.query(SELECT_ARCHIVED_OFFERS_SQL, (rs, rowNum) -> Offer.builder()
+                .offerId(rs.getLong("offer_id"))
+                .brandId(rs.getInt("brand_id"))
+                .startDate(rs.getObject("start_date", LocalDateTime.class))
+                .endDate(rs.getObject("end_date", LocalDateTime.class))
+                .priceList(rs.getInt("price_list"))
+                .partnumber(rs.getString("partnumber"))
+                .priority(rs.getInt("priority"))
+                .price(rs.getObject("price", BigDecimal.class))
+                .curr(rs.getString("curr"))
+                .build(), brandId, partNumber, afterOfferId != null ? afterOfferId : 0L, limit + 1);
+        if (offers.size() <= limit) {
+            return new OfferPage(offers, null);
+        }
+        List<Offer> page = offers.subList(0, limit);
+        return new OfferPage(page, page.get(limit - 1).getOfferId());
+    }
+}
@@ -0,0 +1,115 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Concrete implementation of OfferChangeOutboxPort on the offer_change_outbox and
+ * timetable_change_feed tables, using JdbcTemplate.
+ * Pending records are taken with {@code FOR UPDATE SKIP LOCKED}, so concurrent dispatchers
+ * (one per instance) share the outbox without blocking each other, and publications lock
+ * the feed table until commit, so that offsets are committed in increasing order.
+ * Every method is timed as {@code offer.outbox}, tagged with its name.
+ */
+@Component
+@Timed(value = "offer.outbox", histogram = true)
+@RequiredArgsConstructor
+public class OfferChangeOutboxAdapter implements OfferChangeOutboxPort {
+
+    private static final String INSERT_OUTBOX_SQL = "INSERT INTO offer_change_outbox (brand_id, partnumber) VALUES (?, ?)";
+
+    // DELETE ... RETURNING has no order of its own, hence the ordered select over it
+    private static final String TAKE_OUTBOX_SQL = "WITH taken AS (DELETE FROM offer_change_outbox WHERE event_id IN ("
+            + "SELECT event_id FROM offer_change_outbox ORDER BY event_id LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING event_id, brand_id, partnumber) SELECT brand_id, partnumber FROM taken ORDER BY event_id";
+
+    // Blocks other publications, but not reads of the feed, until the transaction ends
+    private static final String LOCK_FEED_SQL = "LOCK TABLE timetable_change_feed IN EXCLUSIVE MODE";
+
+    private static final String INSERT_FEED_SQL = "INSERT INTO timetable_change_feed (brand_id, partnumber, changed_at) VALUES (?, ?, ?)";
+
+    private static final String SELECT_FEED_SQL = "SELECT change_offset, brand_id, partnumber, changed_at "
+            + "FROM timetable_change_feed WHERE change_offset > ? ORDER BY change_offset LIMIT ?";
+
+    private static final String SELECT_LAST_OFFSET_SQL = "SELECT COALESCE(MAX(change_offset), 0) FROM timetable_change_feed";
+
+    private static final String DELETE_FEED_SQL = "DELETE FROM timetable_change_feed WHERE changed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void append(Collection<TimetableKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX_SQL, keys, keys.size(), this::bindKey);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<TimetableKey> takePending(int limit) {
+        return jdbcTemplate.query(TAKE_OUTBOX_SQL, (rs, rowNum) -> mapKey(rs), limit);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishChanges(List<TimetableKey> keys, LocalDateTime changedAt) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute(LOCK_FEED_SQL);
+        jdbcTemplate.batchUpdate(INSERT_FEED_SQL, keys, keys.size(), (ps, key) -> {
+            bindKey(ps, key);
+            ps.setObject(3, changedAt);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimetableChange> findChangesAfter(long offset, int limit) {
+        return jdbcTemplate.query(SELECT_FEED_SQL, (rs, rowNum) -> new TimetableChange(
+                rs.getLong("change_offset"),
+                rs.getObject("brand_id", Integer.class),
+                rs.getString("partnumber"),
+                rs.getObject("changed_at", LocalDateTime.class)), offset, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long findLastOffset() {
+        return jdbcTemplate.queryForObject(SELECT_LAST_OFFSET_SQL, Long.class);
+    }
+
+    @Override
+    @Transactional
+    public int deleteChangesBefore(LocalDateTime before) {
+        return jdbcTemplate.update(DELETE_FEED_SQL, before);
+    }
+
+    private void bindKey(PreparedStatement ps, TimetableKey key) throws SQLException {
+        ps.setObject(1, key.getBrandId(), Types.INTEGER);
+        ps.setString(2, key.getPartnumber());
+    }
+
+    private static TimetableKey mapKey(ResultSet rs) throws SQLException {
+        return new TimetableKey(rs.getObject("brand_id", Integer.class), rs.getString("partnumber"));
+    }
+}
@@ -1,25 +1,83 @@
 package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
 
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.hiberus.hiring.application.port.out.OfferPersistencePort;
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
 import com.hiberus.hiring.domain.repository.OfferRepository;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 /**
  * Concrete implementation of OfferPersistencePort using Spring Data JPA.
  * Converts between domain objects (Offer) and JPA entities (OfferEntity).
+ * Bulk inserts bypass JPA: OfferEntity uses IDENTITY ids, which prevents
+ * Hibernate from batching, so they go through JdbcTemplate batches instead.
+ * Full-table exports also use JdbcTemplate, streaming rows from a cursor, and so
+ * do timetable reads, which only select the columns the flattening needs.
+ * Deletions other than by ID are single set-based statements rather than
+ * JPA deletes, which load every entity and delete it row by row.
+ * Every method is timed as {@code offer.persistence}, tagged with its name.
  */
 @Component
+@Timed(value = "offer.persistence", histogram = true)
 @RequiredArgsConstructor
 public class OfferPersistenceAdapter implements OfferPersistencePort {
 
+    private static final String INSERT_OFFER_SQL = "INSERT INTO offer "
+            + "(brand_id, start_date, end_date, price_list, partnumber, priority, price, curr) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_ALL_OFFERS_SQL = "SELECT offer_id, brand_id, start_date, end_date, "
+            + "price_list, partnumber, priority, price, curr FROM offer ORDER BY offer_id";
+
+    // Timetable projections: only columns of idx_offer_timetable, so both are index-only scans.
+    // Offer IDs break start date ties, so every read ranks equal offers the same way.
+    private static final String SELECT_TIMETABLE_SQL = "SELECT offer_id, start_date, end_date, priority, price FROM offer "
+            + "WHERE brand_id = ? AND partnumber = ? ORDER BY start_date, offer_id";
+
+    private static final String SELECT_TIMETABLES_SQL = "SELECT offer_id, partnumber, start_date, end_date, priority, price "
+            + "FROM offer WHERE brand_id = ? AND partnumber IN (%s) ORDER BY partnumber, start_date, offer_id";
+
+    private static final String DELETE_ALL_OFFERS_SQL = "DELETE FROM offer";
+
+    private static final String DELETE_BRAND_OFFERS_SQL = "DELETE FROM offer WHERE brand_id = ?";
+
+    private static final String DELETE_PRODUCT_OFFERS_SQL = "DELETE FROM offer WHERE brand_id = ? AND partnumber = ?";
+
+    // Oldest chunk first through idx_offer_end_date, then deleted by physical row address (a TID scan):
+    // matching on offer_id instead lets the planner hash-join the whole table for every chunk
+    private static final String DELETE_ENDED_OFFERS_SQL = "DELETE FROM offer WHERE ctid = ANY(ARRAY("
+            + "SELECT ctid FROM offer WHERE end_date < ? ORDER BY end_date LIMIT ?)) RETURNING brand_id, partnumber";
+
     private final OfferRepository offerRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rows fetched per round trip by {@link #streamAllOffers(Consumer)}.
+     */
+    @Setter
+    @Value("${offer.export.fetch-size:1000}")
+    private int exportFetchSize = 1000;
 
     @Override
     public Offer saveOffer(Offer offer) {
@@ -29,13 +87,46 @@ public class OfferPersistenceAdapter implements OfferPersistencePort {
     }
 
     @Override
-    public void deleteAllOffers() {
-        offerRepository.deleteAll();
+    @Transactional
+    public int saveOffers(List<Offer> offers) {
+        if (offers.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_OFFER_SQL, offers, offers.size(), this::bindInsert);
+        return offers.size();
+    }
+
+    @Override
+    @Transactional
+    public int deleteAllOffers() {
+        return jdbcTemplate.update(DELETE_ALL_OFFERS_SQL);
+    }
+
+    @Override
+    @Transactional
+    public int deleteOffersByBrand(Integer brandId) {
+        return jdbcTemplate.update(DELETE_BRAND_OFFERS_SQL, brandId);
+    }
+
+    @Override
+    @Transactional
+    public int deleteOffersByBrandAndPartNumber(Integer brandId, String partNumber) {
+        return jdbcTemplate.update(DELETE_PRODUCT_OFFERS_SQL, brandId, partNumber);
+    }
+
+    @Override
+    @Transactional
+    public List<TimetableKey> deleteOffersEndingBefore(LocalDateTime before, int limit) {
+        return jdbcTemplate.query(DELETE_ENDED_OFFERS_SQL,
+                (rs, rowNum) -> new TimetableKey(rs.getInt("brand_id"), rs.getString("partnumber")),
+                before, limit);
     }
 
     @Override
     public void deleteOfferById(Long offerId) {
         offerRepository.deleteById(offerId);
+        // Make the delete visible to the JDBC reads that follow it in the same transaction
+        offerRepository.flush();
     }
 
     @Override
@@ -45,24 +136,108 @@ public class OfferPersistenceAdapter implements OfferPersistencePort {
                 .toList();
     }
 
+    /**
+     * PostgreSQL only honours the fetch size (and streams through a cursor) inside a transaction,
+     * hence the read-only transaction around the query.
+     */
     @Override
-    public Offer findOfferById(Long offerId) {
-        Optional<OfferEntity> entityOpt = offerRepository.findById(offerId);
-        return entityOpt.map(this::toDomain).orElse(null);
+    @Transactional(readOnly = true)
+    public void streamAllOffers(Consumer<Offer> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_ALL_OFFERS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportFetchSize);
+            return ps;
+        }, (ResultSet rs) -> consumer.accept(mapRow(rs)));
     }
 
     @Override
-    public List<Offer> findOffersByBrandAndPartNumber(Integer brandId, String partNumber) {
-        return offerRepository.findByBrandIdAndPartnumber(brandId, partNumber)
+    public OfferPage findOffersPage(OfferFilter filter, Long afterOfferId, int limit) {
+        // Fetch one extra row to know whether another page follows
+        List<Offer> offers = offerRepository.findPage(filter, afterOfferId, limit + 1)
                 .stream()
                 .map(this::toDomain)
                 .toList();
+        if (offers.size() <= limit) {
+            return new OfferPage(offers, null);
+        }
+        List<Offer> page = offers.subList(0, limit);
+        return new OfferPage(page, page.get(limit - 1).getOfferId());
+    }
+
+    @Override
+    public Offer findOfferById(Long offerId) {
+        Optional<OfferEntity> entityOpt = offerRepository.findById(offerId);
+        return entityOpt.map(this::toDomain).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Offer> findTimetableOffers(Integer brandId, String partNumber) {
+        return jdbcTemplate.query(SELECT_TIMETABLE_SQL,
+                (rs, rowNum) -> mapTimetableRow(rs, brandId, partNumber),
+                brandId, partNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Offer> findTimetableOffers(Integer brandId, Collection<String> partNumbers) {
+        if (partNumbers.isEmpty()) {
+            return List.of();
+        }
+        String sql = String.format(SELECT_TIMETABLES_SQL, String.join(", ", Collections.nCopies(partNumbers.size(), "?")));
+        Object[] args = new Object[partNumbers.size() + 1];
+        args[0] = brandId;
+        int i = 1;
+        for (String partNumber : partNumbers) {
+            args[i++] = partNumber;
+        }
+        return jdbcTemplate.query(sql,
+                (rs, rowNum) -> mapTimetableRow(rs, brandId, rs.getString("partnumber")),
+                args);
+    }
+
+    private void bindInsert(PreparedStatement ps, Offer offer) throws SQLException {
+        ps.setInt(1, offer.getBrandId());
+        ps.setObject(2, offer.getStartDate());
+        ps.setObject(3, offer.getEndDate());
+        ps.setInt(4, offer.getPriceList());
+        ps.setString(5, offer.getPartnumber());
+        ps.setInt(6, offer.getPriority());
+        ps.setBigDecimal(7, offer.getPrice());
+        ps.setString(8, offer.getCurr());
+    }
+
+    private static Offer mapRow(ResultSet rs) throws SQLException {
+        return Offer.builder()
+                .offerId(rs.getLong("offer_id"))
+                .brandId(rs.getInt("brand_id"))
+                .startDate(rs.getObject("start_date", LocalDateTime.class))
+                .endDate(rs.getObject("end_date", LocalDateTime.class))
+                .priceList(rs.getInt("price_list"))
+                .partnumber(rs.getString("partnumber"))
+                .priority(rs.getInt("priority"))
+                .price(rs.getObject("price", BigDecimal.class))
+                .curr(rs.getString("curr"))
+                .build();
+    }
+
+    private static Offer mapTimetableRow(ResultSet rs, Integer brandId, String partNumber) throws SQLException {
+        return Offer.builder()
+                .offerId(rs.getLong("offer_id"))
+                .brandId(brandId)
+                .partnumber(partNumber)
+                .startDate(rs.getObject("start_date", LocalDateTime.class))
+                .endDate(rs.getObject("end_date", LocalDateTime.class))
+                .priority(rs.getInt("priority"))
+                .price(rs.getObject("price", BigDecimal.class))
+                .build();
     }
 
     // -----------------------
     // Mappers: Entity <-> Domain
     // -----------------------
-    private OfferEntity toEntity(Offer offer) {
+    OfferEntity toEntity(Offer offer) {
         return OfferEntity.builder()
                 .offerId(offer.getOfferId())
                 .brandId(offer.getBrandId())
@@ -76,7 +251,7 @@ public class OfferPersistenceAdapter implements OfferPersistencePort {
                 .build();
     }
 
-    private Offer toDomain(OfferEntity entity) {
+    Offer toDomain(OfferEntity entity) {
         return Offer.builder()
                 .offerId(entity.getOfferId())
                 .brandId(entity.getBrandId())
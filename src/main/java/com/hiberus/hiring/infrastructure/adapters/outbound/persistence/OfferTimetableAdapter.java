@@ -0,0 +1,197 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hiberus.hiring.application.port.out.OfferTimetablePort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Concrete implementation of OfferTimetablePort on the offer_timetable table, using JdbcTemplate.
+ * Products are locked with transaction-scoped advisory locks keyed by brand and part number hash,
+ * taken in key order; a full rebuild locks the offer table and the table itself, which only blocks
+ * writers. Whether the table is stale is kept in the single row of offer_timetable_state.
+ * Every method is timed as {@code offer.timetable}, tagged with its name.
+ */
+@Component
+@Timed(value = "offer.timetable", histogram = true)
+@RequiredArgsConstructor
+public class OfferTimetableAdapter implements OfferTimetablePort {
+
+    private static final Comparator<TimetableKey> KEY_ORDER = Comparator.comparing(TimetableKey::getBrandId)
+            .thenComparing(TimetableKey::getPartnumber);
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private static final String LOCK_PRODUCT_SQL = "SELECT pg_advisory_xact_lock(?, hashtext(?))";
+
+    // Offers first, the order in which writers lock both tables
+    private static final String LOCK_OFFERS_SQL = "LOCK TABLE offer IN SHARE MODE";
+
+    private static final String LOCK_TABLE_SQL = "LOCK TABLE offer_timetable IN EXCLUSIVE MODE";
+
+    // Only writes the row when it changes, so that writers do not queue on it
+    private static final String MARK_STALE_SQL = "UPDATE offer_timetable_state SET stale = TRUE WHERE id = 1 AND NOT stale";
+
+    private static final String MARK_CURRENT_SQL = "UPDATE offer_timetable_state SET stale = FALSE WHERE id = 1";
+
+    private static final String SELECT_STALE_SQL = "SELECT stale FROM offer_timetable_state WHERE id = 1";
+
+    private static final String DELETE_PRODUCT_SQL = "DELETE FROM offer_timetable WHERE brand_id = ? AND partnumber = ?";
+
+    private static final String DELETE_BRAND_SQL = "DELETE FROM offer_timetable WHERE brand_id = ?";
+
+    private static final String DELETE_ALL_SQL = "DELETE FROM offer_timetable";
+
+    private static final String INSERT_SQL = "INSERT INTO offer_timetable "
+            + "(brand_id, partnumber, segment_no, offer_id, start_date, end_date, priority, price) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_PRODUCT_SQL = "SELECT offer_id, brand_id, partnumber, start_date, end_date, "
+            + "priority, price FROM offer_timetable WHERE brand_id = ? AND partnumber = ? ORDER BY segment_no";
+
+    private static final String SELECT_PRODUCTS_SQL = "SELECT offer_id, brand_id, partnumber, start_date, end_date, "
+            + "priority, price FROM offer_timetable WHERE brand_id = ? AND partnumber = ANY(?) "
+            + "ORDER BY partnumber, segment_no";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockTimetables(Collection<TimetableKey> keys) {
+        keys.stream()
+                .distinct()
+                .sorted(KEY_ORDER)
+                .forEach(key -> jdbcTemplate.query(LOCK_PRODUCT_SQL, rs -> null, key.getBrandId(), key.getPartnumber()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceTimetable(TimetableKey key, List<Offer> segments) {
+        jdbcTemplate.update(DELETE_PRODUCT_SQL, key.getBrandId(), key.getPartnumber());
+        insert(Map.of(key, segments));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockAllTimetables() {
+        jdbcTemplate.execute(LOCK_OFFERS_SQL);
+        jdbcTemplate.execute(LOCK_TABLE_SQL);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replaceAllTimetables(Map<TimetableKey, List<Offer>> timetables) {
+        jdbcTemplate.update(DELETE_ALL_SQL);
+        insert(timetables);
+        jdbcTemplate.update(MARK_CURRENT_SQL);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markStale() {
+        jdbcTemplate.update(MARK_STALE_SQL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isStale() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SELECT_STALE_SQL, Boolean.class));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteTimetablesByBrand(Integer brandId) {
+        jdbcTemplate.update(DELETE_BRAND_SQL, brandId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteAllTimetables() {
+        jdbcTemplate.update(DELETE_ALL_SQL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Offer> findTimetable(Integer brandId, String partNumber) {
+        return jdbcTemplate.query(SELECT_PRODUCT_SQL, (rs, rowNum) -> mapSegment(rs), brandId, partNumber);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Offer> findTimetables(Integer brandId, Collection<String> partNumbers) {
+        if (partNumbers.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_PRODUCTS_SQL,
+                ps -> {
+                    ps.setInt(1, brandId);
+                    ps.setArray(2, ps.getConnection().createArrayOf("varchar", partNumbers.toArray()));
+                },
+                (rs, rowNum) -> mapSegment(rs));
+    }
+
+    /**
+     * Writes the segments of every product with a single batched statement, numbering them per product.
+     */
+    private void insert(Map<TimetableKey, List<Offer>> timetables) {
+        List<Row> rows = new ArrayList<>();
+        timetables.forEach((key, segments) -> {
+            for (int segmentNo = 0; segmentNo < segments.size(); segmentNo++) {
+                rows.add(new Row(key, segmentNo, segments.get(segmentNo)));
+            }
+        });
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_BATCH_SIZE, OfferTimetableAdapter::bindRow);
+    }
+
+    private static void bindRow(PreparedStatement ps, Row row) throws SQLException {
+        Offer segment = row.segment();
+        ps.setInt(1, row.key().getBrandId());
+        ps.setString(2, row.key().getPartnumber());
+        ps.setInt(3, row.segmentNo());
+        ps.setObject(4, segment.getOfferId(), Types.BIGINT);
+        ps.setObject(5, segment.getStartDate());
+        ps.setObject(6, segment.getEndDate());
+        ps.setInt(7, segment.getPriority());
+        ps.setBigDecimal(8, segment.getPrice());
+    }
+
+    private static Offer mapSegment(ResultSet rs) throws SQLException {
+        return Offer.builder()
+                .offerId(rs.getObject("offer_id", Long.class))
+                .brandId(rs.getInt("brand_id"))
+                .partnumber(rs.getString("partnumber"))
+                .startDate(rs.getObject("start_date", LocalDateTime.class))
+                .endDate(rs.getObject("end_date", LocalDateTime.class))
+                .priority(rs.getInt("priority"))
+                .price(rs.getObject("price", BigDecimal.class))
+                .build();
+    }
+
+    /**
+     * A segment to write, with its product and position.
+     */
+    private record Row(TimetableKey key, int segmentNo, Offer segment) {
+    }
+}
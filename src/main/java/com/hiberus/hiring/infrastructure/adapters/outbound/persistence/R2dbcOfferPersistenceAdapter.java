@@ -0,0 +1,90 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.hiberus.hiring.application.port.out.ReactiveOfferPersistencePort;
+import com.hiberus.hiring.domain.model.Offer;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Concrete implementation of ReactiveOfferPersistencePort using R2DBC.
+ * Runs the same queries as OfferPersistenceAdapter through a DatabaseClient, so rows are
+ * emitted as the driver decodes them and no thread blocks while waiting for the database.
+ * Only active when the application runs as a reactive web application.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class R2dbcOfferPersistenceAdapter implements ReactiveOfferPersistencePort {
+
+    private static final String SELECT_ALL_OFFERS_SQL = "SELECT offer_id, brand_id, start_date, end_date, "
+            + "price_list, partnumber, priority, price, curr FROM offer ORDER BY offer_id";
+
+    private static final String SELECT_OFFER_SQL = "SELECT offer_id, brand_id, start_date, end_date, "
+            + "price_list, partnumber, priority, price, curr FROM offer WHERE offer_id = :offerId";
+
+    // Same index-only projection as the blocking adapter
+    private static final String SELECT_TIMETABLE_SQL = "SELECT offer_id, start_date, end_date, priority, price FROM offer "
+            + "WHERE brand_id = :brandId AND partnumber = :partNumber ORDER BY start_date, offer_id";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<Offer> findAllOffers() {
+        return databaseClient.sql(SELECT_ALL_OFFERS_SQL)
+                .map(R2dbcOfferPersistenceAdapter::mapRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Offer> findOfferById(Long offerId) {
+        return databaseClient.sql(SELECT_OFFER_SQL)
+                .bind("offerId", offerId)
+                .map(R2dbcOfferPersistenceAdapter::mapRow)
+                .one();
+    }
+
+    @Override
+    public Flux<Offer> findTimetableOffers(Integer brandId, String partNumber) {
+        return databaseClient.sql(SELECT_TIMETABLE_SQL)
+                .bind("brandId", brandId)
+                .bind("partNumber", partNumber)
+                .map(row -> mapTimetableRow(row, brandId, partNumber))
+                .all();
+    }
+
+    private static Offer mapRow(Readable row) {
+        return Offer.builder()
+                .offerId(row.get("offer_id", Long.class))
+                .brandId(row.get("brand_id", Integer.class))
+                .startDate(row.get("start_date", LocalDateTime.class))
+                .endDate(row.get("end_date", LocalDateTime.class))
+                .priceList(row.get("price_list", Integer.class))
+                .partnumber(row.get("partnumber", String.class))
+                .priority(row.get("priority", Integer.class))
+                .price(row.get("price", BigDecimal.class))
+                .curr(row.get("curr", String.class))
+                .build();
+    }
+
+    private static Offer mapTimetableRow(Readable row, Integer brandId, String partNumber) {
+        return Offer.builder()
+                .offerId(row.get("offer_id", Long.class))
+                .brandId(brandId)
+                .partnumber(partNumber)
+                .startDate(row.get("start_date", LocalDateTime.class))
+                .endDate(row.get("end_date", LocalDateTime.class))
+                .priority(row.get("priority", Integer.class))
+                .price(row.get("price", BigDecimal.class))
+                .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.TimetableVersions;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Concrete implementation of TimetableVersionPort on the timetable_version table, using JdbcTemplate.
+ * Writes upsert the row of their scope once it is locked, so a row only ever increases, in commit
+ * order: product rows by one, so that the version before a product write is known from the one
+ * after it, and brand and global rows by the next value of timetable_version_seq. Product rows are
+ * locked in key order, so that concurrent batches cannot deadlock on them.
+ * Versions read are kept in process memory, so that conditional requests are answered without a
+ * round trip: for at most {@code offer.version.max-staleness} after they were read, and until a
+ * write to their product commits, through this instance (once it committed) or any other (once
+ * the change feed delivers it, see {@link #evict}). A version kept may therefore lag behind a write
+ * of another instance by up to that staleness, never lead it.
+ * The next segment boundaries recorded by readers are kept in process memory, bounded like the
+ * timetable cache ({@code offer.timetable.cache.maximum-size}), and only returned with the
+ * version they were recorded for.
+ * Every method is timed as {@code offer.version}, tagged with its name.
+ */
+@Component
+@Timed(value = "offer.version", histogram = true)
+public class TimetableVersionAdapter implements TimetableVersionPort {
+
+    static final int SCOPE_ALL = 0;
+    static final int SCOPE_BRAND = 1;
+    static final int SCOPE_PRODUCT = 2;
+
+    private static final String SELECT_VERSION_SQL = "SELECT COALESCE(SUM(version), 0) FROM timetable_version "
+            + "WHERE (scope = 2 AND brand_id = ? AND partnumber = ?) "
+            + "OR (scope = 1 AND brand_id = ? AND partnumber = '') "
+            + "OR (scope = 0 AND brand_id = 0 AND partnumber = '')";
+
+    private static final String SELECT_VERSIONS_SQL = "SELECT scope, brand_id, partnumber, version FROM timetable_version";
+
+    // Multi-row upserts lock their rows in the order of the select; the brand and global rows are
+    // read from the snapshot of the statement, as getVersion would have read them
+    private static final String INCREMENT_PRODUCTS_SQL = "WITH product AS ("
+            + "INSERT INTO timetable_version (scope, brand_id, partnumber, version) "
+            + "SELECT 2, brand_id, partnumber, 1 FROM unnest(?::int[], ?::varchar[]) AS k(brand_id, partnumber) "
+            + "ORDER BY brand_id, partnumber "
+            + "ON CONFLICT (scope, brand_id, partnumber) DO UPDATE SET version = timetable_version.version + 1 "
+            + "RETURNING brand_id, partnumber, version) "
+            + "SELECT p.brand_id, p.partnumber, p.version + COALESCE(SUM(v.version), 0) AS version FROM product p "
+            + "LEFT JOIN timetable_version v ON (v.scope = 1 AND v.brand_id = p.brand_id AND v.partnumber = '') "
+            + "OR (v.scope = 0 AND v.brand_id = 0 AND v.partnumber = '') "
+            + "GROUP BY p.brand_id, p.partnumber, p.version";
+
+    private static final String UPSERT_VERSION_SQL = "INSERT INTO timetable_version (scope, brand_id, partnumber, version) "
+            + "VALUES (?, ?, ?, nextval('timetable_version_seq')) ON CONFLICT (scope, brand_id, partnumber) "
+            + "DO UPDATE SET version = nextval('timetable_version_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<TimetableKey, Long> versions;
+    private final Cache<TimetableKey, TimetableVersion> nextChanges;
+
+    public TimetableVersionAdapter(JdbcTemplate jdbcTemplate,
+            @Value("${offer.timetable.cache.maximum-size:10000}") long maximumSize,
+            @Value("${offer.version.max-staleness:PT5S}") Duration maxStaleness) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxStaleness)
+                .build();
+        this.nextChanges = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public TimetableVersion getVersion(Integer brandId, String partNumber) {
+        TimetableKey key = new TimetableKey(brandId, partNumber);
+        // Loaded under the per-key lock: an eviction waits for a load in progress, then removes what it read
+        long version = versions.get(key,
+                k -> jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class, brandId, partNumber, brandId));
+        TimetableVersion recorded = nextChanges.getIfPresent(key);
+        if (recorded != null && recorded.getVersion() == version) {
+            return recorded;
+        }
+        return new TimetableVersion(version, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimetableVersions getVersions() {
+        long[] all = {0};
+        Map<Integer, Long> brands = new HashMap<>();
+        Map<TimetableKey, Long> products = new HashMap<>();
+        jdbcTemplate.query(SELECT_VERSIONS_SQL, rs -> {
+            long version = rs.getLong("version");
+            switch (rs.getInt("scope")) {
+                case SCOPE_ALL -> all[0] = version;
+                case SCOPE_BRAND -> brands.put(rs.getInt("brand_id"), version);
+                default -> products.put(new TimetableKey(rs.getInt("brand_id"), rs.getString("partnumber")), version);
+            }
+        });
+        return new TimetableVersions(all[0], brands, products);
+    }
+
+    @Override
+    public void recordNextChange(Integer brandId, String partNumber, long version, LocalDateTime nextChange) {
+        // Versions of a product only increase: keep the boundary of the most recent one
+        nextChanges.asMap().merge(new TimetableKey(brandId, partNumber), new TimetableVersion(version, nextChange),
+                (current, next) -> current.getVersion() > next.getVersion() ? current : next);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<TimetableKey, Long> increment(Collection<TimetableKey> keys) {
+        // A statement cannot upsert the same row twice
+        List<TimetableKey> rows = keys.stream()
+                .distinct()
+                .toList();
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        Map<TimetableKey, Long> written = new HashMap<>();
+        jdbcTemplate.query(INCREMENT_PRODUCTS_SQL,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("integer",
+                            rows.stream().map(TimetableKey::getBrandId).toArray()));
+                    ps.setArray(2, ps.getConnection().createArrayOf("varchar",
+                            rows.stream().map(TimetableKey::getPartnumber).toArray()));
+                },
+                rs -> {
+                    written.put(new TimetableKey(rs.getInt("brand_id"), rs.getString("partnumber")), rs.getLong("version"));
+                });
+        evictAfterCommit(rows);
+        return written;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementBrand(Integer brandId) {
+        jdbcTemplate.update(UPSERT_VERSION_SQL, SCOPE_BRAND, brandId, "");
+        evictAfterCommit(List.of(new TimetableKey(brandId, null)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementAll() {
+        jdbcTemplate.update(UPSERT_VERSION_SQL, SCOPE_ALL, 0, "");
+        evictAfterCommit(List.of(new TimetableKey(null, null)));
+    }
+
+    @Override
+    public void evict(Collection<TimetableKey> keys) {
+        for (TimetableKey key : keys) {
+            if (key.getBrandId() == null) {
+                versions.invalidateAll();
+                return;
+            }
+            if (key.getPartnumber() == null) {
+                versions.asMap().keySet().removeIf(kept -> key.getBrandId().equals(kept.getBrandId()));
+            } else {
+                versions.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Not before: a version read again before the write commits would still be the previous one.
+     */
+    private void evictAfterCommit(Collection<TimetableKey> keys) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(keys);
+            }
+        });
+    }
+}
@@ -0,0 +1,81 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.hiberus.hiring.application.port.out.PricingSnapshotStoragePort;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Concrete implementation of PricingSnapshotStoragePort keeping the snapshot in a binary file
+ * ({@code offer.snapshot.file}); an empty path disables it.
+ *
+ * Loading maps the file read-only and serves the snapshot straight from the mapping: only the
+ * dictionaries are decoded, so startup does not depend on the number of offers and the columns
+ * live in the page cache rather than on the heap. The mapping is released once the snapshot
+ * is garbage collected.
+ *
+ * Saving writes a temporary file next to the target and renames it over the target, so a crash
+ * never leaves a truncated file behind and the inode of a mapped snapshot stays untouched.
+ */
+@Slf4j
+@Component
+public class MappedPricingSnapshotFileAdapter implements PricingSnapshotStoragePort {
+
+    private final Path file;
+
+    public MappedPricingSnapshotFileAdapter(@Value("${offer.snapshot.file:}") String file) {
+        this.file = file.isBlank() ? null : Path.of(file);
+    }
+
+    @Override
+    public PricingSnapshot load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                log.warn("Ignoring pricing snapshot file {}: larger than 2 GB", file);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return PricingSnapshot.read(buffer);
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            log.warn("Ignoring unreadable pricing snapshot file {}", file, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void save(PricingSnapshot snapshot) {
+        if (file == null) {
+            return;
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                snapshot.writeTo(channel);
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write pricing snapshot file " + file, e);
+        }
+    }
+}
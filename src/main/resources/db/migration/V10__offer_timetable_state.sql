@@ -0,0 +1,10 @@
+-- Whether offer_timetable may miss offer writes. Writes made while offer.timetable.materialized
+-- is disabled set it, and a full rebuild clears it in its own transaction, so an instance
+-- starting in materialised mode only rebuilds the table when it is stale. The single row starts
+-- stale, so that timetables written before this migration are rebuilt once.
+CREATE TABLE IF NOT EXISTS offer_timetable_state (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    stale BOOLEAN NOT NULL
+);
+
+INSERT INTO offer_timetable_state (id, stale) VALUES (1, TRUE) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,17 @@
+-- Baseline schema, as created by db/DDL.sql before migrations were introduced.
+-- IF NOT EXISTS keeps it harmless on databases created by hand.
+CREATE TABLE IF NOT EXISTS offer (
+    offer_id SERIAL PRIMARY KEY,
+    brand_id INT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price_list INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    curr VARCHAR(10) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_offer_brand ON offer(brand_id);
+CREATE INDEX IF NOT EXISTS idx_offer_partnumber ON offer(partnumber);
+CREATE INDEX IF NOT EXISTS idx_offer_start_end_date ON offer(start_date, end_date);
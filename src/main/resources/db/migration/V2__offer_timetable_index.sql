@@ -0,0 +1,9 @@
+-- Serve the timetable read path (brand_id = ? AND partnumber = ? ORDER BY start_date)
+-- from a single index range scan, already in start date order. The included columns
+-- are the ones the flattening needs, so the timetable projection can be index-only.
+CREATE INDEX IF NOT EXISTS idx_offer_brand_partnumber_start
+    ON offer (brand_id, partnumber, start_date) INCLUDE (end_date, priority, price);
+
+-- Superseded: brand_id lookups use the leading column of the composite index.
+DROP INDEX IF EXISTS idx_offer_brand;
+DROP INDEX IF EXISTS idx_offer_partnumber;
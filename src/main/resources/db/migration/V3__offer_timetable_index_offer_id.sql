@@ -0,0 +1,8 @@
+-- Incremental timetables identify offers by ID, so the timetable projection now reads
+-- offer_id and orders start date ties by it. Rebuild the covering index with offer_id
+-- included, keeping the projection index-only.
+CREATE INDEX IF NOT EXISTS idx_offer_timetable
+    ON offer (brand_id, partnumber, start_date) INCLUDE (end_date, priority, price, offer_id);
+
+-- Superseded by idx_offer_timetable.
+DROP INDEX IF EXISTS idx_offer_brand_partnumber_start;
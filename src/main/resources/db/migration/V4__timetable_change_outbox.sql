@@ -0,0 +1,21 @@
+-- Transactional outbox: every offer write appends the products whose timetable it changes,
+-- in the same transaction as the write. A null partnumber stands for every product of the
+-- brand, and a null brand_id for every product.
+CREATE TABLE IF NOT EXISTS offer_change_outbox (
+    event_id BIGSERIAL PRIMARY KEY,
+    brand_id INT,
+    partnumber VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Change feed read by consumers, filled by the outbox dispatcher with one row per changed
+-- product and dispatch. Offsets are assigned in commit order, so a consumer resuming after
+-- the last offset it saw misses nothing.
+CREATE TABLE IF NOT EXISTS timetable_change_feed (
+    change_offset BIGSERIAL PRIMARY KEY,
+    brand_id INT,
+    partnumber VARCHAR(50),
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_timetable_change_feed_changed_at ON timetable_change_feed (changed_at);
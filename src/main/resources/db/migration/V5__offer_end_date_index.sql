@@ -0,0 +1,3 @@
+-- Purging expired offers deletes them in chunks of the oldest end dates; without this index
+-- every chunk would scan the whole table.
+CREATE INDEX IF NOT EXISTS idx_offer_end_date ON offer (end_date);
@@ -0,0 +1,17 @@
+-- Offers that ended before the compaction horizon are moved here by the compaction job, so the
+-- hot table and its indexes only hold current and future offers. Offer IDs are kept.
+CREATE TABLE IF NOT EXISTS offer_archive (
+    offer_id BIGINT PRIMARY KEY,
+    brand_id INT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price_list INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    curr VARCHAR(10) NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- History reads: the archived offers of a product, page by page in ID order.
+CREATE INDEX IF NOT EXISTS idx_offer_archive_product ON offer_archive (brand_id, partnumber, offer_id);
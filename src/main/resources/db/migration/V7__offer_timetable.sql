@@ -0,0 +1,14 @@
+-- Flattened timetable of every product, maintained on write when offer.timetable.materialized
+-- is enabled: each write replaces the segments of the products it touches in its own transaction.
+-- Segments are numbered in timetable order, so a product is read back with one range scan.
+CREATE TABLE IF NOT EXISTS offer_timetable (
+    brand_id INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    segment_no INT NOT NULL,
+    offer_id BIGINT,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (brand_id, partnumber, segment_no)
+);
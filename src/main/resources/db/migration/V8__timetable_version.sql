@@ -0,0 +1,14 @@
+-- Versions of the timetables, shared by every instance and changed in the transaction of every
+-- offer write. Scope 2 rows are products, scope 1 rows every product of a brand (empty
+-- partnumber), and the single scope 0 row every product (brand 0, empty partnumber).
+-- The version of a product is the sum of its own, its brand's and the global row: every row
+-- only ever increases, so a product has a new version after each committed write.
+CREATE SEQUENCE IF NOT EXISTS timetable_version_seq;
+
+CREATE TABLE IF NOT EXISTS timetable_version (
+    scope SMALLINT NOT NULL,
+    brand_id INT NOT NULL,
+    partnumber VARCHAR(50) NOT NULL,
+    version BIGINT NOT NULL,
+    PRIMARY KEY (scope, brand_id, partnumber)
+);
@@ -0,0 +1,5 @@
+-- V2 dropped idx_offer_partnumber, assuming every partnumber lookup also filters by brand_id.
+-- Offer listings filtered by partnumber alone (WHERE partnumber = ? AND offer_id > ?
+-- ORDER BY offer_id LIMIT ?) then scan the whole table. This index serves them as a single
+-- range scan already in page order.
+CREATE INDEX IF NOT EXISTS idx_offer_partnumber_offer_id ON offer (partnumber, offer_id);
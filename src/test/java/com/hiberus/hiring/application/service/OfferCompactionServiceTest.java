@@ -0,0 +1,132 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.out.OfferArchivePort;
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
+import com.hiberus.hiring.application.port.out.TimetableCachePort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfferCompactionServiceTest {
+
+    @Mock
+    private OfferArchivePort offerArchivePort;
+
+    @Mock
+    private OfferChangeOutboxPort offerChangeOutboxPort;
+
+    @Mock
+    private TimetableCachePort timetableCachePort;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private TimetableMaterializer timetableMaterializer;
+
+    @Mock
+    private TimetableVersionPort timetableVersionPort;
+
+    @InjectMocks
+    private OfferCompactionService service;
+
+    @BeforeEach
+    void setUp() {
+        service.setEnabled(true);
+        service.setBatchPause(Duration.ZERO);
+        // Run transaction callbacks in place
+        lenient().when(transactionOperations.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testCompactExpiredOffers_archivesChunksUntilNoneLeft() {
+        // Arrange
+        service.setBatchSize(2);
+        TimetableKey first = new TimetableKey(1, "0001002");
+        TimetableKey second = new TimetableKey(1, "0001003");
+        when(offerArchivePort.archiveOffersEndingBefore(any(), eq(2), any()))
+                .thenReturn(List.of(first, first))
+                .thenReturn(List.of(second));
+
+        // Act
+        long archived = service.compactExpiredOffers();
+
+        // Assert: one transaction per chunk, each recording and evicting its own products
+        assertEquals(3, archived);
+        verify(transactionOperations, times(2)).execute(any());
+        verify(offerChangeOutboxPort).append(List.of(first));
+        verify(offerChangeOutboxPort).append(List.of(second));
+        verify(timetableCachePort, times(1)).evict(1, "0001002");
+        verify(timetableCachePort, times(1)).evict(1, "0001003");
+        verify(timetableMaterializer).refresh(eq(List.of(first)), any());
+        verify(timetableMaterializer).refresh(eq(List.of(second)), any());
+        verify(timetableVersionPort).increment(List.of(first));
+        verify(timetableVersionPort).increment(List.of(second));
+    }
+
+    @Test
+    void testCompactExpiredOffers_archivesBeforeTheLiveHorizon() {
+        service.setGrace(Duration.ofDays(1));
+        when(offerArchivePort.archiveOffersEndingBefore(any(), anyInt(), any())).thenReturn(List.of());
+        LocalDateTime start = LocalDateTime.now();
+
+        service.compactExpiredOffers();
+
+        verify(offerArchivePort).archiveOffersEndingBefore(
+                argThat(horizon -> !horizon.isBefore(start.minusDays(1)) && horizon.isBefore(start.minusHours(23))),
+                eq(1000), any());
+    }
+
+    @Test
+    void testCompactExpiredOffers_disabled() {
+        service.setEnabled(false);
+
+        assertThrows(IllegalStateException.class, () -> service.compactExpiredOffers());
+        assertNull(service.getLiveHorizon());
+        verifyNoInteractions(offerArchivePort);
+    }
+
+    @Test
+    void testCompactPeriodically_skippedWhenDisabled() {
+        service.setEnabled(false);
+
+        service.compactPeriodically();
+
+        verifyNoInteractions(offerArchivePort, transactionOperations);
+    }
+
+    @Test
+    void testCompactPeriodically_keepsRunningAfterFailure() {
+        when(offerArchivePort.archiveOffersEndingBefore(any(), anyInt(), any()))
+                .thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> service.compactPeriodically());
+    }
+
+    @Test
+    void testGetOfferHistory_clampsLimit() {
+        OfferPage page = new OfferPage(List.of(), null);
+        when(offerArchivePort.findArchivedOffers(1, "0001002", 5L, 1000)).thenReturn(page);
+
+        assertSame(page, service.getOfferHistory(1, "0001002", 5L, 1_000_000));
+    }
+}
@@ -1,21 +1,59 @@
 package com.hiberus.hiring.application.service;
 
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
+import com.hiberus.hiring.application.port.in.OfferUseCase;
+import com.hiberus.hiring.application.port.in.PricingSnapshotUseCase;
+import com.hiberus.hiring.application.port.out.OfferCachePort;
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
 import com.hiberus.hiring.application.port.out.OfferPersistencePort;
+import com.hiberus.hiring.application.port.out.TimetableCachePort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.exception.BulkIngestionException;
+import com.hiberus.hiring.domain.model.BulkIngestionResult;
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.TimetableVersions;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+import com.hiberus.hiring.domain.model.VersionedTimetable;
+import com.hiberus.hiring.domain.service.IncrementalTimetable;
 import com.hiberus.hiring.domain.service.OfferDomainService;
+import com.hiberus.hiring.infrastructure.adapters.outbound.cache.CaffeineTimetableCacheAdapter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +65,30 @@ class OfferUseCaseImplTest {
     @Mock
     private OfferDomainService offerDomainService;
 
+    @Mock
+    private TimetableCachePort timetableCachePort;
+
+    @Mock
+    private PricingSnapshotUseCase pricingSnapshotUseCase;
+
+    @Mock
+    private OfferChangeOutboxPort offerChangeOutboxPort;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private OfferCompactionUseCase offerCompactionUseCase;
+
+    @Mock
+    private TimetableMaterializer timetableMaterializer;
+
+    @Mock
+    private TimetableVersionPort timetableVersionPort;
+
+    @Mock
+    private OfferCachePort offerCachePort;
+
     @InjectMocks
     private OfferUseCaseImpl offerUseCase;
 
@@ -34,6 +96,9 @@ class OfferUseCaseImplTest {
 
     @BeforeEach
     void setUp() {
+        // Run transaction callbacks in place
+        lenient().when(transactionOperations.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         sampleOffer = Offer.builder()
                 .offerId(1L)
                 .brandId(1)
@@ -54,16 +119,137 @@ class OfferUseCaseImplTest {
         Offer created = offerUseCase.createOffer(sampleOffer);
 
         verify(offerPersistencePort, times(1)).saveOffer(sampleOffer);
+        verify(offerChangeOutboxPort, times(1)).append(List.of(new TimetableKey(1, "0001002")));
+        // The version changes with the write, the cached timetable is evicted once it committed
+        InOrder inOrder = inOrder(offerPersistencePort, timetableVersionPort, timetableCachePort);
+        inOrder.verify(offerPersistencePort).saveOffer(sampleOffer);
+        inOrder.verify(timetableVersionPort).increment(List.of(new TimetableKey(1, "0001002")));
+        inOrder.verify(timetableCachePort).evict(1, "0001002");
         assertEquals(sampleOffer.getOfferId(), created.getOfferId());
     }
 
+    @Test
+    void testIngestOffers_writesInBatchesAndCountsRejected() {
+        offerUseCase.setBulkBatchSize(2);
+        Offer invalid = Offer.builder().brandId(1).build();
+        Offer other = sampleOffer.toBuilder().partnumber("0001003").build();
+        when(offerDomainService.isValid(any())).thenAnswer(invocation -> invocation.getArgument(0) != invalid);
+        when(offerPersistencePort.saveOffers(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        BulkIngestionResult result = offerUseCase.ingestOffers(
+                List.of(sampleOffer, invalid, sampleOffer, other).iterator());
+
+        verify(offerPersistencePort, times(2)).saveOffers(anyList());
+        verify(timetableCachePort, times(1)).evict(1, "0001002");
+        verify(timetableCachePort, times(1)).evict(1, "0001003");
+        verify(offerChangeOutboxPort, times(1)).append(List.of(new TimetableKey(1, "0001002")));
+        verify(offerChangeOutboxPort, times(1)).append(List.of(new TimetableKey(1, "0001003")));
+        verify(timetableVersionPort).increment(List.of(new TimetableKey(1, "0001002")));
+        verify(timetableVersionPort).increment(List.of(new TimetableKey(1, "0001003")));
+        assertEquals(3, result.getAccepted());
+        assertEquals(1, result.getRejected());
+    }
+
+    @Test
+    void testIngestOffers_streamFailure_writesWhatWasReadAndReportsTheCounts() {
+        offerUseCase.setBulkBatchSize(2);
+        Offer invalid = Offer.builder().brandId(1).build();
+        when(offerDomainService.isValid(any())).thenAnswer(invocation -> invocation.getArgument(0) != invalid);
+        when(offerPersistencePort.saveOffers(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        IllegalStateException malformed = new IllegalStateException("Malformed offer");
+        Iterator<Offer> offers = new Iterator<>() {
+            private final Iterator<Offer> read = List.of(sampleOffer, sampleOffer, invalid, sampleOffer).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Offer next() {
+                if (!read.hasNext()) {
+                    throw malformed;
+                }
+                return read.next();
+            }
+        };
+
+        BulkIngestionException error = assertThrows(BulkIngestionException.class, () -> offerUseCase.ingestOffers(offers));
+
+        // The full batch and the partial one read before the failure are both stored
+        verify(offerPersistencePort, times(2)).saveOffers(anyList());
+        assertEquals(new BulkIngestionResult(3, 1), error.getResult());
+        assertSame(malformed, error.getCause());
+    }
+
     @Test
     void testDeleteAllOffers() {
+        // Arrange
+        when(offerPersistencePort.deleteAllOffers()).thenReturn(4);
+
         // Act
-        offerUseCase.deleteAllOffers();
+        long deleted = offerUseCase.deleteAllOffers();
 
         // Assert
+        assertEquals(4, deleted);
         verify(offerPersistencePort, times(1)).deleteAllOffers();
+        verify(offerChangeOutboxPort, times(1)).append(List.of(new TimetableKey(null, null)));
+        verify(timetableCachePort, times(1)).evictAll();
+        verify(timetableVersionPort, times(1)).incrementAll();
+    }
+
+    @Test
+    void testDeleteOffersByBrand_evictsEveryProductOfTheBrand() {
+        when(offerPersistencePort.deleteOffersByBrand(1)).thenReturn(3);
+
+        assertEquals(3, offerUseCase.deleteOffersByBrand(1));
+
+        verify(offerChangeOutboxPort).append(List.of(new TimetableKey(1, null)));
+        verify(timetableCachePort).evictBrand(1);
+        verify(timetableVersionPort).incrementBrand(1);
+    }
+
+    @Test
+    void testDeleteOffersByBrand_nothingDeleted() {
+        assertEquals(0, offerUseCase.deleteOffersByBrand(1));
+
+        verifyNoInteractions(offerChangeOutboxPort, timetableCachePort, timetableVersionPort);
+    }
+
+    @Test
+    void testDeleteOffersByBrandAndPartNumber() {
+        when(offerPersistencePort.deleteOffersByBrandAndPartNumber(1, "0001002")).thenReturn(2);
+
+        assertEquals(2, offerUseCase.deleteOffersByBrandAndPartNumber(1, "0001002"));
+
+        verify(offerChangeOutboxPort).append(List.of(new TimetableKey(1, "0001002")));
+        verify(timetableCachePort).evict(1, "0001002");
+        verify(timetableVersionPort).increment(List.of(new TimetableKey(1, "0001002")));
+    }
+
+    @Test
+    void testPurgeOffersEndingBefore_deletesChunksUntilNoneLeft() {
+        // Arrange
+        offerUseCase.setPurgeChunkSize(2);
+        LocalDateTime before = LocalDateTime.of(2020, 6, 14, 0, 0);
+        TimetableKey first = new TimetableKey(1, "0001002");
+        TimetableKey second = new TimetableKey(1, "0001003");
+        when(offerPersistencePort.deleteOffersEndingBefore(before, 2))
+                .thenReturn(List.of(first, first))
+                .thenReturn(List.of(second));
+
+        // Act
+        long purged = offerUseCase.purgeOffersEndingBefore(before);
+
+        // Assert: one transaction per chunk, each recording its own products
+        assertEquals(3, purged);
+        verify(transactionOperations, times(2)).execute(any());
+        verify(offerChangeOutboxPort).append(List.of(first));
+        verify(offerChangeOutboxPort).append(List.of(second));
+        verify(timetableCachePort, times(1)).evict(1, "0001002");
+        verify(timetableCachePort, times(1)).evict(1, "0001003");
+        verify(timetableVersionPort).increment(List.of(first));
+        verify(timetableVersionPort).increment(List.of(second));
     }
 
     @Test
@@ -73,6 +259,19 @@ class OfferUseCaseImplTest {
 
         // Assert
         verify(offerPersistencePort, times(1)).deleteOfferById(10L);
+        verifyNoInteractions(timetableCachePort, offerChangeOutboxPort, timetableVersionPort);
+    }
+
+    @Test
+    void testDeleteOfferById_evictsTimetableOfDeletedOffer() {
+        when(offerPersistencePort.findOfferById(1L)).thenReturn(sampleOffer);
+
+        offerUseCase.deleteOfferById(1L);
+
+        verify(offerPersistencePort, times(1)).deleteOfferById(1L);
+        verify(offerChangeOutboxPort, times(1)).append(List.of(new TimetableKey(1, "0001002")));
+        verify(timetableCachePort, times(1)).evict(1, "0001002");
+        verify(timetableVersionPort, times(1)).increment(List.of(new TimetableKey(1, "0001002")));
     }
 
     @Test
@@ -86,6 +285,20 @@ class OfferUseCaseImplTest {
         assertEquals(sampleOffer.getOfferId(), result.get(0).getOfferId());
     }
 
+    @Test
+    void testStreamAllOffers() {
+        List<Offer> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<Offer> consumer = invocation.getArgument(0);
+            consumer.accept(sampleOffer);
+            return null;
+        }).when(offerPersistencePort).streamAllOffers(any());
+
+        offerUseCase.streamAllOffers(received::add);
+
+        assertEquals(List.of(sampleOffer), received);
+    }
+
     @Test
     void testGetOfferById_exists() {
         when(offerPersistencePort.findOfferById(1L)).thenReturn(sampleOffer);
@@ -108,18 +321,338 @@ class OfferUseCaseImplTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void testGetTimetableForBrandAndPartNumber() {
-        when(offerPersistencePort.findOffersByBrandAndPartNumber(1, "0001002"))
+        when(timetableCachePort.getTimetable(eq(1), eq("0001002"), any()))
+                .thenAnswer(invocation -> ((Supplier<Timetable>) invocation.getArgument(2)).get());
+        when(offerPersistencePort.findTimetableOffers(1, "0001002"))
                 .thenReturn(List.of(sampleOffer));
         when(offerDomainService.flattenIntervalsByPriority(anyList()))
                 .thenReturn(List.of(sampleOffer));
 
         List<Offer> timetable = offerUseCase.getTimetableForBrandAndPartNumber(1, "0001002");
 
-        verify(offerPersistencePort, times(1)).findOffersByBrandAndPartNumber(1, "0001002");
+        verify(offerPersistencePort, times(1)).findTimetableOffers(1, "0001002");
         verify(offerDomainService, times(1)).flattenIntervalsByPriority(anyList());
         assertEquals(1, timetable.size());
         assertEquals(sampleOffer.getOfferId(), timetable.get(0).getOfferId());
     }
 
-}
\ No newline at end of file
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetTimetableForBrandAndPartNumber_leavesOutExpiredOffers() {
+        Offer later = sampleOffer.toBuilder().offerId(2L).endDate(LocalDateTime.of(2020, 6, 20, 0, 0)).build();
+        when(offerCompactionUseCase.getLiveHorizon()).thenReturn(LocalDateTime.of(2020, 6, 15, 0, 0));
+        when(timetableCachePort.getTimetable(eq(1), eq("0001002"), any()))
+                .thenAnswer(invocation -> ((Supplier<Timetable>) invocation.getArgument(2)).get());
+        when(offerPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(List.of(sampleOffer, later));
+        when(offerDomainService.flattenIntervalsByPriority(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Offer> timetable = offerUseCase.getTimetableForBrandAndPartNumber(1, "0001002");
+
+        assertEquals(List.of(later), timetable);
+    }
+
+    @Test
+    void testGetTimetableForBrandAndPartNumber_cacheHit() {
+        when(timetableCachePort.getTimetable(eq(1), eq("0001002"), any()))
+                .thenReturn(Timetable.of(List.of(sampleOffer)));
+
+        List<Offer> timetable = offerUseCase.getTimetableForBrandAndPartNumber(1, "0001002");
+
+        verifyNoInteractions(offerPersistencePort);
+        verify(offerDomainService, never()).flattenIntervalsByPriority(anyList());
+        assertEquals(1, timetable.size());
+    }
+
+    @Test
+    void testGetVersionedTimetable_recordsNextChangeOfTheVersionRead() {
+        // Arrange
+        when(timetableVersionPort.getVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, null));
+        when(timetableCachePort.getTimetable(eq(1), eq("0001002"), eq(7L), any()))
+                .thenReturn(Timetable.of(List.of(sampleOffer)));
+
+        // Act
+        VersionedTimetable during = offerUseCase.getVersionedTimetable(1, "0001002", LocalDateTime.of(2020, 6, 14, 10, 0));
+        VersionedTimetable after = offerUseCase.getVersionedTimetable(1, "0001002", LocalDateTime.of(2020, 6, 15, 0, 0));
+
+        // Assert
+        LocalDateTime end = LocalDateTime.of(2020, 6, 14, 15, 0);
+        assertEquals(new TimetableVersion(7L, end), during.getVersion());
+        assertEquals(List.of(sampleOffer), during.getSegments());
+        verify(timetableVersionPort).recordNextChange(1, "0001002", 7L, end);
+        assertEquals(new TimetableVersion(7L, LocalDateTime.MAX), after.getVersion());
+        verify(timetableVersionPort).recordNextChange(1, "0001002", 7L, LocalDateTime.MAX);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetTimetableForBrandAndPartNumber_maintainedWithSweepLine() {
+        when(offerDomainService.isIncremental()).thenReturn(true);
+        when(timetableCachePort.getMaintainedTimetable(eq(1), eq("0001002"), any()))
+                .thenAnswer(invocation -> ((Supplier<IncrementalTimetable>) invocation.getArgument(2)).get().getTimetable());
+        when(offerPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(List.of(sampleOffer));
+        when(offerDomainService.openIncrementalTimetable(List.of(sampleOffer)))
+                .thenReturn(IncrementalTimetable.of(List.of(sampleOffer)));
+
+        List<Offer> timetable = offerUseCase.getTimetableForBrandAndPartNumber(1, "0001002");
+
+        verify(timetableCachePort, never()).getTimetable(any(), any(), any());
+        assertEquals(List.of(sampleOffer), timetable);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateOffer_insertsIntoMaintainedTimetable() {
+        // Arrange
+        when(offerDomainService.isIncremental()).thenReturn(true);
+        when(offerPersistencePort.saveOffer(sampleOffer)).thenReturn(sampleOffer);
+        when(timetableVersionPort.increment(List.of(new TimetableKey(1, "0001002"))))
+                .thenReturn(Map.of(new TimetableKey(1, "0001002"), 8L));
+        IncrementalTimetable cached = IncrementalTimetable.of(List.of());
+        doAnswer(invocation -> invocation.<Predicate<IncrementalTimetable>>getArgument(3).test(cached))
+                .when(timetableCachePort).update(eq(1), eq("0001002"), eq(8L), any());
+
+        // Act
+        offerUseCase.createOffer(sampleOffer);
+
+        // Assert
+        verify(timetableCachePort, never()).evict(any(), any());
+        Offer segment = cached.getTimetable().getSegments().get(0);
+        assertEquals(sampleOffer.getPrice(), segment.getPrice());
+        assertNull(segment.getCurr(), "Only the fields of loaded timetables are kept");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteOfferById_removesFromMaintainedTimetable() {
+        // Arrange
+        when(offerDomainService.isIncremental()).thenReturn(true);
+        when(offerPersistencePort.findOfferById(1L)).thenReturn(sampleOffer);
+        when(timetableVersionPort.increment(List.of(new TimetableKey(1, "0001002"))))
+                .thenReturn(Map.of(new TimetableKey(1, "0001002"), 8L));
+        IncrementalTimetable cached = IncrementalTimetable.of(List.of(sampleOffer));
+        AtomicBoolean applied = new AtomicBoolean();
+        doAnswer(invocation -> {
+            applied.set(invocation.<Predicate<IncrementalTimetable>>getArgument(3).test(cached));
+            return null;
+        }).when(timetableCachePort).update(eq(1), eq("0001002"), eq(8L), any());
+
+        // Act
+        offerUseCase.deleteOfferById(1L);
+
+        // Assert
+        verify(offerPersistencePort, times(1)).deleteOfferById(1L);
+        assertTrue(applied.get());
+        assertTrue(cached.getTimetable().getSegments().isEmpty());
+    }
+
+    @Test
+    void testCreateOffer_versionedReadServesTheMaintainedTimetableWithoutReloading() {
+        // Arrange
+        OfferUseCaseImpl withCache = new OfferUseCaseImpl(offerPersistencePort, offerDomainService,
+                new CaffeineTimetableCacheAdapter(100, Duration.ofMinutes(5), 100_000), pricingSnapshotUseCase,
+                offerChangeOutboxPort, transactionOperations, offerCompactionUseCase, timetableMaterializer,
+                timetableVersionPort, offerCachePort);
+        Offer later = sampleOffer.toBuilder().offerId(2L).startDate(LocalDateTime.of(2020, 6, 15, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 15, 23, 59, 59)).build();
+        when(offerDomainService.isIncremental()).thenReturn(true);
+        when(offerPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(List.of(sampleOffer));
+        when(offerDomainService.openIncrementalTimetable(any()))
+                .thenAnswer(invocation -> IncrementalTimetable.of(invocation.getArgument(0)));
+        when(timetableVersionPort.getVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, null),
+                new TimetableVersion(8L, null));
+        when(offerPersistencePort.saveOffer(later)).thenReturn(later);
+        when(timetableVersionPort.increment(List.of(new TimetableKey(1, "0001002"))))
+                .thenReturn(Map.of(new TimetableKey(1, "0001002"), 8L));
+        LocalDateTime instant = LocalDateTime.of(2020, 6, 14, 10, 0);
+        withCache.getVersionedTimetable(1, "0001002", instant);
+
+        // Act
+        withCache.createOffer(later);
+        VersionedTimetable read = withCache.getVersionedTimetable(1, "0001002", instant);
+
+        // Assert
+        verify(offerPersistencePort, times(1)).findTimetableOffers(1, "0001002");
+        assertEquals(8L, read.getVersion().getVersion());
+        assertEquals(List.of(1L, 2L), read.getSegments().stream().map(Offer::getOfferId).toList());
+    }
+
+    @Test
+    void testGetTimetableAndOfferById_servedFromSnapshot() {
+        PricingSnapshot snapshot = PricingSnapshot.builder()
+                .addOffer(sampleOffer)
+                .addTimetable(new TimetableKey(1, "0001002"), List.of(sampleOffer))
+                .build(LocalDateTime.now());
+        when(pricingSnapshotUseCase.getSnapshot()).thenReturn(snapshot);
+
+        assertEquals(List.of(sampleOffer), offerUseCase.getTimetableForBrandAndPartNumber(1, "0001002"));
+        assertTrue(offerUseCase.getTimetableForBrandAndPartNumber(1, "0001003").isEmpty());
+        assertEquals(sampleOffer, offerUseCase.getOfferById(1L));
+        assertEquals(Map.of("0001002", sampleOffer),
+                offerUseCase.getPricesAt(1, List.of("0001002", "0001003"), LocalDateTime.of(2020, 6, 14, 10, 0)));
+        verifyNoInteractions(offerPersistencePort, timetableCachePort);
+    }
+
+    @Test
+    void testGetVersionedTimetableAndOffer_taggedWithTheVersionsOfTheSnapshot() {
+        PricingSnapshot snapshot = PricingSnapshot.builder()
+                .versions(new TimetableVersions(5L, Map.of(1, 2L), Map.of()))
+                .addOffer(sampleOffer)
+                .addTimetable(new TimetableKey(1, "0001002"), List.of(sampleOffer))
+                .build(LocalDateTime.now());
+        when(pricingSnapshotUseCase.getSnapshot()).thenReturn(snapshot);
+
+        VersionedTimetable timetable = offerUseCase.getVersionedTimetable(1, "0001002", LocalDateTime.of(2020, 6, 14, 10, 0));
+
+        assertEquals(7L, timetable.getVersion().getVersion());
+        assertEquals(new VersionedOffer(7L, sampleOffer), offerUseCase.getVersionedOffer(1L));
+        verify(timetableVersionPort).recordNextChange(1, "0001002", 7L, LocalDateTime.of(2020, 6, 14, 15, 0));
+        verify(timetableVersionPort, never()).getVersion(any(), any());
+    }
+
+    @Test
+    void testGetVersionedOffer_readsTheVersionBeforeTheOfferIsReadAgain() {
+        when(offerPersistencePort.findOfferById(1L)).thenReturn(sampleOffer);
+        when(timetableVersionPort.getVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, null));
+
+        assertEquals(new VersionedOffer(7L, sampleOffer), offerUseCase.getVersionedOffer(1L));
+
+        InOrder inOrder = inOrder(offerPersistencePort, timetableVersionPort);
+        inOrder.verify(offerPersistencePort).findOfferById(1L);
+        inOrder.verify(timetableVersionPort).getVersion(1, "0001002");
+        inOrder.verify(offerPersistencePort).findOfferById(1L);
+    }
+
+    @Test
+    void testGetVersionedOffer_servesTheCachedOfferWhileItsProductKeepsItsVersion() {
+        when(offerCachePort.getOffer(1L)).thenReturn(new VersionedOffer(7L, sampleOffer));
+        when(timetableVersionPort.getVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, null));
+
+        assertEquals(new VersionedOffer(7L, sampleOffer), offerUseCase.getVersionedOffer(1L));
+
+        verify(offerPersistencePort, never()).findOfferById(any());
+        verify(offerCachePort, never()).putOffer(any());
+    }
+
+    @Test
+    void testGetVersionedOffer_readsTheCachedOfferAgainOnceItsProductChanged() {
+        when(offerCachePort.getOffer(1L)).thenReturn(new VersionedOffer(7L, sampleOffer));
+        when(timetableVersionPort.getVersion(1, "0001002")).thenReturn(new TimetableVersion(8L, null));
+        when(offerPersistencePort.findOfferById(1L)).thenReturn(sampleOffer);
+
+        assertEquals(new VersionedOffer(8L, sampleOffer), offerUseCase.getVersionedOffer(1L));
+
+        verify(offerPersistencePort, times(1)).findOfferById(1L);
+        verify(offerCachePort).putOffer(new VersionedOffer(8L, sampleOffer));
+    }
+
+    @Test
+    void testGetVersionedOffer_notFoundOnceDeletedAfterTheFirstRead() {
+        when(offerPersistencePort.findOfferById(1L)).thenReturn(sampleOffer, (Offer) null);
+        when(timetableVersionPort.getVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, null));
+
+        assertNull(offerUseCase.getVersionedOffer(1L));
+    }
+
+    @Test
+    void testCreateOffer_recomputesMaterializedTimetableInItsTransaction() {
+        when(offerPersistencePort.saveOffer(sampleOffer)).thenReturn(sampleOffer);
+
+        offerUseCase.createOffer(sampleOffer);
+
+        InOrder inOrder = inOrder(transactionOperations, offerPersistencePort, timetableMaterializer);
+        inOrder.verify(transactionOperations).execute(any());
+        inOrder.verify(offerPersistencePort).saveOffer(sampleOffer);
+        inOrder.verify(timetableMaterializer).refresh(List.of(new TimetableKey(1, "0001002")), null);
+    }
+
+    @Test
+    void testDeleteOffersByBrand_deletesMaterializedTimetables() {
+        when(offerPersistencePort.deleteOffersByBrand(1)).thenReturn(3);
+
+        offerUseCase.deleteOffersByBrand(1);
+
+        verify(timetableMaterializer).deleteBrand(1);
+    }
+
+    @Test
+    void testGetTimetableAndPrices_readFromMaterializedTimetables() {
+        when(timetableMaterializer.isEnabled()).thenReturn(true);
+        when(timetableMaterializer.getTimetable(1, "0001002")).thenReturn(Timetable.of(List.of(sampleOffer)));
+        when(timetableMaterializer.getTimetables(1, Set.of("0001002")))
+                .thenReturn(Map.of("0001002", Timetable.of(List.of(sampleOffer))));
+
+        assertEquals(List.of(sampleOffer), offerUseCase.getTimetableForBrandAndPartNumber(1, "0001002"));
+        assertEquals(Map.of("0001002", sampleOffer),
+                offerUseCase.getPricesAt(1, List.of("0001002"), LocalDateTime.of(2020, 6, 14, 10, 0)));
+        verify(offerPersistencePort, never()).findTimetableOffers(any(), anyString());
+        verifyNoInteractions(offerDomainService, timetableCachePort);
+    }
+
+    @Test
+    void testGetPriceAt_covered() {
+        when(timetableCachePort.getTimetable(eq(1), eq("0001002"), any()))
+                .thenReturn(Timetable.of(List.of(sampleOffer)));
+
+        Offer segment = offerUseCase.getPriceAt(1, "0001002", LocalDateTime.of(2020, 6, 14, 10, 0));
+
+        assertNotNull(segment);
+        assertEquals(sampleOffer.getPrice(), segment.getPrice());
+    }
+
+    @Test
+    void testGetPriceAt_notCovered() {
+        when(timetableCachePort.getTimetable(eq(1), eq("0001002"), any()))
+                .thenReturn(Timetable.of(List.of(sampleOffer)));
+
+        Offer segment = offerUseCase.getPriceAt(1, "0001002", LocalDateTime.of(2020, 6, 14, 15, 0));
+
+        assertNull(segment, "No segment should cover an instant after the last offer");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetPricesAt_loadsMissesWithSingleQuery() {
+        when(timetableCachePort.getTimetables(eq(1), any(), any()))
+                .thenAnswer(invocation -> ((Function<Set<String>, Map<String, Timetable>>) invocation.getArgument(2))
+                        .apply(Set.of("0001002", "0009999")));
+        when(offerPersistencePort.findTimetableOffers(eq(1), anyCollection()))
+                .thenReturn(List.of(sampleOffer));
+        when(offerDomainService.flattenIntervalsByPriority(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Map<String, Offer> prices = offerUseCase.getPricesAt(1, List.of("0001002", "0009999", "0001002"),
+                LocalDateTime.of(2020, 6, 14, 10, 0));
+
+        verify(offerPersistencePort, times(1)).findTimetableOffers(eq(1), anyCollection());
+        verify(offerDomainService, times(2)).flattenIntervalsByPriority(anyList());
+        assertEquals(1, prices.size(), "Part numbers without a covering offer are omitted");
+        assertEquals(sampleOffer.getPrice(), prices.get("0001002").getPrice());
+    }
+
+    @Test
+    void testGetOffersPage_clampsLimit() {
+        OfferFilter filter = OfferFilter.builder().brandId(1).build();
+        OfferPage page = new OfferPage(List.of(sampleOffer), null);
+        when(offerPersistencePort.findOffersPage(eq(filter), eq(5L), anyInt())).thenReturn(page);
+
+        assertSame(page, offerUseCase.getOffersPage(filter, 5L, 0));
+        offerUseCase.getOffersPage(filter, 5L, 1_000_000);
+
+        verify(offerPersistencePort).findOffersPage(filter, 5L, 1);
+        verify(offerPersistencePort).findOffersPage(filter, 5L, OfferUseCase.MAX_PAGE_SIZE);
+    }
+
+
+    @Test
+    void testCreateOffer_cacheUntouchedWhenWriteFails() {
+        when(offerPersistencePort.saveOffer(sampleOffer)).thenReturn(sampleOffer);
+        doThrow(new IllegalStateException("outbox unavailable")).when(offerChangeOutboxPort).append(anyCollection());
+
+        assertThrows(IllegalStateException.class, () -> offerUseCase.createOffer(sampleOffer));
+
+        verifyNoInteractions(timetableCachePort, timetableVersionPort);
+    }
+}
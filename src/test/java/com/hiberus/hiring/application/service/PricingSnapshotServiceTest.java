@@ -0,0 +1,223 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
+import com.hiberus.hiring.application.port.out.OfferPersistencePort;
+import com.hiberus.hiring.application.port.out.PricingSnapshotStoragePort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.model.TimetableVersions;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import com.hiberus.hiring.domain.service.TimetableAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingSnapshotServiceTest {
+
+    @Mock
+    private OfferPersistencePort offerPersistencePort;
+
+    @Mock
+    private PricingSnapshotStoragePort pricingSnapshotStoragePort;
+
+    @Mock
+    private OfferCompactionUseCase offerCompactionUseCase;
+
+    @Mock
+    private TimetableVersionPort timetableVersionPort;
+
+    private PricingSnapshotService pricingSnapshotService;
+
+    private List<Offer> storedOffers;
+
+    @BeforeEach
+    void setUp() {
+        OfferDomainService offerDomainService = new OfferDomainService();
+        offerDomainService.setAlgorithm(TimetableAlgorithm.LEGACY);
+        pricingSnapshotService = new PricingSnapshotService(offerPersistencePort, offerDomainService,
+                pricingSnapshotStoragePort, offerCompactionUseCase, timetableVersionPort);
+        pricingSnapshotService.setEnabled(true);
+
+        storedOffers = new ArrayList<>(List.of(
+                offer(1L, "0001002", LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 30, 23, 59, 59), 0, "35.50"),
+                offer(2L, "0001002", LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), 1, "25.45"),
+                offer(3L, "0001003", LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 30, 23, 59, 59), 0, "12.00")));
+    }
+
+    private static Offer offer(long id, String partnumber, LocalDateTime start, LocalDateTime end, int priority, String price) {
+        return Offer.builder()
+                .offerId(id)
+                .brandId(1)
+                .partnumber(partnumber)
+                .startDate(start)
+                .endDate(end)
+                .priority(priority)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubStoredOffers() {
+        doAnswer(invocation -> {
+            storedOffers.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(offerPersistencePort).streamAllOffers(any());
+    }
+
+    @Test
+    void testRefreshSnapshot_flattensEveryProduct() {
+        // Arrange
+        stubStoredOffers();
+        when(timetableVersionPort.getVersions()).thenReturn(
+                new TimetableVersions(5L, Map.of(), Map.of(new TimetableKey(1, "0001002"), 3L)));
+
+        // Act
+        PricingSnapshot snapshot = pricingSnapshotService.refreshSnapshot();
+
+        // Assert
+        assertSame(snapshot, pricingSnapshotService.getSnapshot());
+        verify(pricingSnapshotStoragePort).save(snapshot);
+        assertEquals(8L, snapshot.getVersion(1, "0001002"));
+        assertEquals(5L, snapshot.getVersion(1, "0001003"));
+        assertEquals(3, snapshot.getOfferCount());
+        assertEquals(2, snapshot.getTimetableCount());
+        assertEquals(new BigDecimal("25.45"),
+                snapshot.getTimetable(1, "0001002").segmentAt(LocalDateTime.of(2020, 6, 14, 16, 0)).getPrice());
+        // The legacy flattening truncated copies, not the offers served by ID
+        assertEquals(LocalDateTime.of(2020, 6, 30, 23, 59, 59), snapshot.getOffer(1L).getEndDate());
+    }
+
+    @Test
+    void testRefreshSnapshot_leavesExpiredOffersOutOfTimetables() {
+        // Arrange: offer 3 ended before the live horizon
+        stubStoredOffers();
+        storedOffers.set(2, storedOffers.get(2).toBuilder().endDate(LocalDateTime.of(2020, 6, 14, 23, 59, 59)).build());
+        when(offerCompactionUseCase.getLiveHorizon()).thenReturn(LocalDateTime.of(2020, 6, 15, 0, 0));
+
+        // Act
+        PricingSnapshot snapshot = pricingSnapshotService.refreshSnapshot();
+
+        // Assert
+        assertTrue(snapshot.getTimetable(1, "0001003").getSegments().isEmpty());
+        assertEquals(1, snapshot.getTimetableCount());
+        assertNotNull(snapshot.getOffer(3L));
+    }
+
+    @Test
+    void testRefreshSnapshot_sweepLine_flattensFromTheSnapshotColumns() {
+        // Arrange: offers 2 and 4 ended before the live horizon
+        OfferDomainService sweepLine = new OfferDomainService();
+        sweepLine.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+        pricingSnapshotService = new PricingSnapshotService(offerPersistencePort, sweepLine,
+                pricingSnapshotStoragePort, offerCompactionUseCase, timetableVersionPort);
+        pricingSnapshotService.setEnabled(true);
+        storedOffers.add(offer(4L, "0001002", LocalDateTime.of(2020, 6, 14, 10, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59), 2, "9.99"));
+        storedOffers.add(offer(5L, "0001002", LocalDateTime.of(2020, 6, 14, 16, 0), LocalDateTime.of(2020, 6, 15, 11, 0), 1, "30.50"));
+        when(offerCompactionUseCase.getLiveHorizon()).thenReturn(LocalDateTime.of(2020, 6, 15, 0, 0));
+        stubStoredOffers();
+
+        // Act
+        PricingSnapshot snapshot = pricingSnapshotService.refreshSnapshot();
+
+        // Assert
+        List<Offer> expected = sweepLine.flattenIntervalsByPriority(storedOffers.stream()
+                .filter(offer -> offer.getPartnumber().equals("0001002") && offer.getOfferId() != 2L && offer.getOfferId() != 4L)
+                .toList());
+        assertEquals(expected, snapshot.getTimetable(1, "0001002").getSegments());
+        assertEquals(2, snapshot.getTimetableCount());
+        assertEquals(5, snapshot.getOfferCount());
+    }
+
+    @Test
+    void testRefreshSnapshot_publishesNewSnapshotWithoutTouchingThePreviousOne() {
+        // Arrange
+        stubStoredOffers();
+        PricingSnapshot previous = pricingSnapshotService.refreshSnapshot();
+        storedOffers.remove(2);
+
+        // Act
+        PricingSnapshot current = pricingSnapshotService.refreshSnapshot();
+
+        // Assert
+        assertNotSame(previous, current);
+        assertSame(current, pricingSnapshotService.getSnapshot());
+        assertEquals(3, previous.getOfferCount());
+        assertEquals(2, current.getOfferCount());
+        assertTrue(current.getTimetable(1, "0001003").getSegments().isEmpty());
+    }
+
+    @Test
+    void testRefreshSnapshot_failureKeepsPreviousSnapshot() {
+        stubStoredOffers();
+        PricingSnapshot previous = pricingSnapshotService.refreshSnapshot();
+        doThrow(new IllegalStateException("database down")).when(offerPersistencePort).streamAllOffers(any());
+
+        pricingSnapshotService.refreshPeriodically();
+
+        assertSame(previous, pricingSnapshotService.getSnapshot());
+    }
+
+    @Test
+    void testRefreshSnapshot_publishesEvenIfItCannotBeStored() {
+        stubStoredOffers();
+        doThrow(new IllegalStateException("disk full")).when(pricingSnapshotStoragePort).save(any());
+
+        PricingSnapshot snapshot = pricingSnapshotService.refreshSnapshot();
+
+        assertSame(snapshot, pricingSnapshotService.getSnapshot());
+    }
+
+    @Test
+    void testRestoreOnStartup_servesStoredSnapshotUntilReloaded() throws InterruptedException {
+        // Arrange
+        PricingSnapshot stored = PricingSnapshot.builder()
+                .addOffer(storedOffers.get(0))
+                .build(LocalDateTime.of(2020, 6, 14, 0, 0));
+        when(pricingSnapshotStoragePort.load()).thenReturn(stored);
+        CountDownLatch databaseLoad = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            databaseLoad.await();
+            storedOffers.forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(offerPersistencePort).streamAllOffers(any());
+
+        // Act
+        pricingSnapshotService.restoreOnStartup();
+        pricingSnapshotService.loadOnStartup();
+
+        // Assert
+        assertSame(stored, pricingSnapshotService.getSnapshot());
+        databaseLoad.countDown();
+        verify(pricingSnapshotStoragePort, timeout(5000)).save(any());
+        assertEquals(3, pricingSnapshotService.getSnapshot().getOfferCount());
+    }
+
+    @Test
+    void testDisabled() {
+        pricingSnapshotService.setEnabled(false);
+
+        pricingSnapshotService.restoreOnStartup();
+        pricingSnapshotService.loadOnStartup();
+
+        assertNull(pricingSnapshotService.getSnapshot());
+        assertThrows(IllegalStateException.class, () -> pricingSnapshotService.refreshSnapshot());
+        verifyNoInteractions(offerPersistencePort, pricingSnapshotStoragePort);
+    }
+}
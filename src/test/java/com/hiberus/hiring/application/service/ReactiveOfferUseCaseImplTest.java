@@ -0,0 +1,135 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
+import com.hiberus.hiring.application.port.out.ReactiveOfferPersistencePort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import com.hiberus.hiring.domain.service.TimetableAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOfferUseCaseImplTest {
+
+    @Mock
+    private ReactiveOfferPersistencePort reactiveOfferPersistencePort;
+
+    @Mock
+    private OfferCompactionUseCase offerCompactionUseCase;
+
+    private OfferDomainService offerDomainService;
+    private ReactiveOfferUseCaseImpl reactiveOfferUseCase;
+
+    private Offer outer;
+    private Offer inner;
+    private Offer later;
+
+    @BeforeEach
+    void setUp() {
+        offerDomainService = new OfferDomainService();
+        offerDomainService.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+        reactiveOfferUseCase = new ReactiveOfferUseCaseImpl(reactiveOfferPersistencePort, offerDomainService,
+                offerCompactionUseCase);
+
+        outer = offer(LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 23, 59, 59), 0, "35.50");
+        inner = offer(LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 29, 59), 1, "25.45");
+        later = offer(LocalDateTime.of(2020, 6, 15, 16, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, "38.95");
+    }
+
+    private static Offer offer(LocalDateTime start, LocalDateTime end, int priority, String price) {
+        return Offer.builder()
+                .brandId(1)
+                .partnumber("0001002")
+                .startDate(start)
+                .endDate(end)
+                .priority(priority)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    @Test
+    void testGetTimetable_StreamsSegmentsBeforeAllOffersAreRead() {
+        // Arrange
+        TestPublisher<Offer> offers = TestPublisher.create();
+        when(reactiveOfferPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(offers.flux());
+
+        // Act & Assert
+        StepVerifier.create(reactiveOfferUseCase.getTimetableForBrandAndPartNumber(1, "0001002"))
+                .then(() -> offers.next(outer, inner, later))
+                .expectNextMatches(segment -> segment.getPrice().equals(new BigDecimal("35.50"))
+                        && segment.getEndDate().equals(LocalDateTime.of(2020, 6, 14, 14, 59, 59)))
+                .expectNextMatches(segment -> segment.getPrice().equals(new BigDecimal("25.45")))
+                .then(offers::complete)
+                .expectNextMatches(segment -> segment.getPrice().equals(new BigDecimal("35.50"))
+                        && segment.getStartDate().equals(LocalDateTime.of(2020, 6, 14, 18, 30)))
+                .expectNextMatches(segment -> segment.getPrice().equals(new BigDecimal("38.95")))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testGetTimetable_LeavesOutOffersEndedBeforeTheLiveHorizon() {
+        when(offerCompactionUseCase.getLiveHorizon()).thenReturn(LocalDateTime.of(2020, 6, 15, 0, 0));
+        when(reactiveOfferPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(Flux.just(outer, inner, later));
+
+        StepVerifier.create(reactiveOfferUseCase.getTimetableForBrandAndPartNumber(1, "0001002"))
+                .expectNextMatches(segment -> segment.getPrice().equals(new BigDecimal("38.95")))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testGetTimetable_MatchesBatchFlatteningForEveryAlgorithm() {
+        when(reactiveOfferPersistencePort.findTimetableOffers(1, "0001002"))
+                .thenAnswer(invocation -> Flux.just(outer, inner, later));
+
+        for (TimetableAlgorithm algorithm : TimetableAlgorithm.values()) {
+            offerDomainService.setAlgorithm(algorithm);
+            List<Offer> expected = offerDomainService.flattenIntervalsByPriority(List.of(
+                    outer.toBuilder().build(), inner.toBuilder().build(), later.toBuilder().build()));
+
+            StepVerifier.create(reactiveOfferUseCase.getTimetableForBrandAndPartNumber(1, "0001002"))
+                    .expectNextSequence(expected)
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void testGetPriceAt_StopsReadingAfterTheCoveringSegment() {
+        // Arrange
+        TestPublisher<Offer> offers = TestPublisher.create();
+        when(reactiveOfferPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(offers.flux());
+
+        Offer afterInstant = offer(LocalDateTime.of(2021, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 31, 23, 59, 59), 0, "30.50");
+
+        // Act & Assert
+        StepVerifier.create(reactiveOfferUseCase.getPriceAt(1, "0001002", LocalDateTime.of(2020, 6, 14, 16, 0)))
+                .then(() -> offers.next(outer, inner, later, afterInstant))
+                .expectNextMatches(segment -> segment.getPrice().equals(new BigDecimal("25.45")))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        offers.assertWasCancelled();
+    }
+
+    @Test
+    void testGetPriceAt_NoCoveringOffer_ReturnsEmpty() {
+        when(reactiveOfferPersistencePort.findTimetableOffers(1, "0001002")).thenReturn(Flux.just(outer));
+
+        StepVerifier.create(reactiveOfferUseCase.getPriceAt(1, "0001002", LocalDateTime.of(2021, 1, 1, 0, 0)))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,198 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.in.TimetableChangeFeedUseCase;
+import com.hiberus.hiring.application.port.out.OfferChangeOutboxPort;
+import com.hiberus.hiring.application.port.out.TimetableVersionPort;
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableChangeFeedServiceTest {
+
+    @Mock
+    private OfferChangeOutboxPort offerChangeOutboxPort;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    @Mock
+    private TimetableVersionPort timetableVersionPort;
+
+    @InjectMocks
+    private TimetableChangeFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        // Run transaction callbacks in place
+        lenient().when(transactionOperations.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testDispatchChanges_publishesEachProductOnce() {
+        TimetableKey first = new TimetableKey(1, "0001002");
+        TimetableKey second = new TimetableKey(2, "0001002");
+        when(offerChangeOutboxPort.takePending(1000)).thenReturn(List.of(first, second, first));
+
+        int published = service.dispatchChanges();
+
+        assertEquals(2, published);
+        verify(offerChangeOutboxPort).publishChanges(eq(List.of(first, second)), any(LocalDateTime.class));
+        verify(transactionOperations, times(1)).execute(any());
+    }
+
+    @Test
+    void testDispatchChanges_takesBatchesUntilOutboxIsDrained() {
+        service.setDispatchBatchSize(2);
+        TimetableKey first = new TimetableKey(1, "0001002");
+        TimetableKey second = new TimetableKey(1, "0001003");
+        when(offerChangeOutboxPort.takePending(2))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(first));
+
+        int published = service.dispatchChanges();
+
+        // One change per product and batch: the window of a batch is one transaction
+        assertEquals(3, published);
+        verify(offerChangeOutboxPort, times(2)).takePending(2);
+        verify(transactionOperations, times(2)).execute(any());
+    }
+
+    @Test
+    void testDispatchChanges_nothingPending() {
+        when(offerChangeOutboxPort.takePending(1000)).thenReturn(List.of());
+
+        assertEquals(0, service.dispatchChanges());
+        verify(offerChangeOutboxPort).publishChanges(eq(List.of()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testCoalesce_changeOfBrandCoversItsProducts() {
+        List<TimetableKey> changes = TimetableChangeFeedService.coalesce(List.of(
+                new TimetableKey(1, "0001002"),
+                new TimetableKey(2, "0001002"),
+                new TimetableKey(1, null),
+                new TimetableKey(1, "0001003")));
+
+        assertEquals(List.of(new TimetableKey(2, "0001002"), new TimetableKey(1, null)), changes);
+    }
+
+    @Test
+    void testCoalesce_changeOfEveryProductCoversAll() {
+        List<TimetableKey> changes = TimetableChangeFeedService.coalesce(List.of(
+                new TimetableKey(1, "0001002"),
+                new TimetableKey(null, null),
+                new TimetableKey(2, null)));
+
+        assertEquals(List.of(new TimetableKey(null, null)), changes);
+    }
+
+    @Test
+    void testGetChangesAfter_clampsLimit() {
+        List<TimetableChange> changes = List.of(new TimetableChange(3L, 1, "0001002", LocalDateTime.now()));
+        when(offerChangeOutboxPort.findChangesAfter(2L, TimetableChangeFeedUseCase.MAX_CHANGES)).thenReturn(changes);
+
+        assertSame(changes, service.getChangesAfter(2L, 1_000_000));
+        service.getChangesAfter(-1L, 0);
+
+        verify(offerChangeOutboxPort).findChangesAfter(0L, 1);
+    }
+
+    @Test
+    void testDispatchPeriodically_keepsRunningAfterFailure() {
+        when(offerChangeOutboxPort.takePending(1000)).thenThrow(new IllegalStateException("database down"));
+
+        assertDoesNotThrow(() -> service.dispatchPeriodically());
+    }
+
+    @Test
+    void testDeliverChanges_readsTheFeedOnceForEverySubscriberUpToDate() {
+        TimetableChange change = new TimetableChange(8L, 1, "0001002", LocalDateTime.now());
+        when(offerChangeOutboxPort.findLastOffset()).thenReturn(7L);
+        when(offerChangeOutboxPort.findChangesAfter(7L, TimetableChangeFeedUseCase.MAX_CHANGES)).thenReturn(List.of(change));
+        when(offerChangeOutboxPort.findChangesAfter(8L, TimetableChangeFeedUseCase.MAX_CHANGES)).thenReturn(List.of());
+        List<TimetableChange> first = new ArrayList<>();
+        List<TimetableChange> second = new ArrayList<>();
+        service.subscribe(7L, first::add);
+        service.subscribe(7L, second::add);
+
+        service.deliverChanges();
+        service.deliverChanges();
+
+        assertEquals(List.of(change), first);
+        assertEquals(List.of(change), second);
+        verify(timetableVersionPort, times(1)).evict(List.of(new TimetableKey(1, "0001002")));
+        verify(offerChangeOutboxPort, times(1)).findChangesAfter(7L, TimetableChangeFeedUseCase.MAX_CHANGES);
+        verify(offerChangeOutboxPort, times(1)).findChangesAfter(8L, TimetableChangeFeedUseCase.MAX_CHANGES);
+    }
+
+    @Test
+    void testDeliverChanges_subscriberBehindCatchesUpOnItsOwn() {
+        TimetableChange missed = new TimetableChange(3L, 1, "0001002", LocalDateTime.now());
+        TimetableChange change = new TimetableChange(8L, 1, "0001003", LocalDateTime.now());
+        when(offerChangeOutboxPort.findLastOffset()).thenReturn(7L);
+        when(offerChangeOutboxPort.findChangesAfter(7L, TimetableChangeFeedUseCase.MAX_CHANGES)).thenReturn(List.of(change));
+        when(offerChangeOutboxPort.findChangesAfter(2L, TimetableChangeFeedUseCase.MAX_CHANGES)).thenReturn(List.of(missed, change));
+        List<TimetableChange> delivered = new ArrayList<>();
+        service.subscribe(2L, delivered::add);
+
+        service.deliverChanges();
+
+        assertEquals(List.of(missed, change), delivered);
+    }
+
+    @Test
+    void testDeliverChanges_unsubscribesSubscribersThatFailOrLeave() {
+        TimetableChange change = new TimetableChange(1L, 1, "0001002", LocalDateTime.now());
+        when(offerChangeOutboxPort.findChangesAfter(0L, TimetableChangeFeedUseCase.MAX_CHANGES)).thenReturn(List.of(change));
+        when(offerChangeOutboxPort.findChangesAfter(1L, TimetableChangeFeedUseCase.MAX_CHANGES))
+                .thenReturn(List.of(new TimetableChange(2L, 1, "0001003", LocalDateTime.now())));
+        List<TimetableChange> failed = new ArrayList<>();
+        List<TimetableChange> left = new ArrayList<>();
+        service.subscribe(0L, delivered -> {
+            failed.add(delivered);
+            throw new IllegalStateException("client went away");
+        });
+        service.subscribe(0L, left::add).run();
+
+        service.deliverChanges();
+        service.deliverChanges();
+
+        assertEquals(List.of(change), failed);
+        assertEquals(List.of(), left);
+    }
+
+    @Test
+    void testDispatchPeriodically_deliversAfterFailedDispatch() {
+        when(offerChangeOutboxPort.takePending(1000)).thenThrow(new IllegalStateException("database down"));
+
+        service.dispatchPeriodically();
+
+        verify(offerChangeOutboxPort).findLastOffset();
+    }
+
+    @Test
+    void testPruneFeed_deletesChangesOlderThanRetention() {
+        service.pruneFeed();
+
+        verify(offerChangeOutboxPort).deleteChangesBefore(argThat(before ->
+                before.isBefore(LocalDateTime.now().minusHours(23)) && before.isAfter(LocalDateTime.now().minusHours(25))));
+    }
+}
@@ -0,0 +1,161 @@
+package com.hiberus.hiring.application.service;
+
+import com.hiberus.hiring.application.port.out.OfferPersistencePort;
+import com.hiberus.hiring.application.port.out.OfferTimetablePort;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.service.OfferDomainService;
+import com.hiberus.hiring.domain.service.TimetableAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableMaterializerTest {
+
+    @Mock
+    private OfferPersistencePort offerPersistencePort;
+
+    @Mock
+    private OfferTimetablePort offerTimetablePort;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
+    private TimetableMaterializer materializer;
+
+    @BeforeEach
+    void setUp() {
+        OfferDomainService offerDomainService = new OfferDomainService();
+        offerDomainService.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+        materializer = new TimetableMaterializer(offerPersistencePort, offerTimetablePort, offerDomainService,
+                transactionOperations);
+        materializer.setEnabled(true);
+        // Run transaction callbacks in place
+        lenient().when(transactionOperations.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static Offer offer(long id, String partNumber, int startDay, int endDay, int priority) {
+        return Offer.builder()
+                .offerId(id)
+                .brandId(1)
+                .partnumber(partNumber)
+                .startDate(LocalDateTime.of(2020, 6, startDay, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, endDay, 23, 59, 59))
+                .priority(priority)
+                .price(BigDecimal.valueOf(id))
+                .build();
+    }
+
+    @Test
+    void testRefresh_locksThenReplacesEveryProductWithItsFlattenedLiveOffers() {
+        // Arrange
+        Offer outer = offer(1L, "0001002", 1, 30, 0);
+        Offer inner = offer(2L, "0001002", 10, 12, 1);
+        Offer expired = offer(3L, "0001002", 1, 2, 5);
+        when(offerPersistencePort.findTimetableOffers(1, new LinkedHashSet<>(List.of("0001002", "0001003"))))
+                .thenReturn(List.of(outer, expired, inner));
+        TimetableKey product = new TimetableKey(1, "0001002");
+        TimetableKey emptied = new TimetableKey(1, "0001003");
+
+        // Act
+        materializer.refresh(List.of(product, emptied, product), LocalDateTime.of(2020, 6, 5, 0, 0));
+
+        // Assert: the expired offer is left out, and a product without offers loses its segments
+        InOrder inOrder = inOrder(offerTimetablePort, offerPersistencePort);
+        inOrder.verify(offerTimetablePort).lockTimetables(List.of(product, emptied));
+        inOrder.verify(offerPersistencePort).findTimetableOffers(eq(1), anyCollection());
+        inOrder.verify(offerTimetablePort).replaceTimetable(eq(product), argThat(segments -> segments.size() == 3
+                && segments.get(1).getOfferId() == 2L && segments.get(2).getOfferId() == 1L));
+        inOrder.verify(offerTimetablePort).replaceTimetable(emptied, List.of());
+    }
+
+    @Test
+    void testRefresh_disabled_marksTheTimetablesStale() {
+        materializer.setEnabled(false);
+
+        materializer.refresh(List.of(new TimetableKey(1, "0001002")), null);
+        materializer.deleteBrand(1);
+        materializer.deleteAll();
+        materializer.rebuildIfStale(null);
+
+        verify(offerTimetablePort, times(3)).markStale();
+        verifyNoMoreInteractions(offerTimetablePort);
+        verifyNoInteractions(offerPersistencePort, transactionOperations);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuildIfStale_replacesEveryTimetableUnderTableLock() {
+        when(offerTimetablePort.isStale()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<Offer> consumer = invocation.getArgument(0);
+            consumer.accept(offer(1L, "0001002", 1, 30, 0));
+            consumer.accept(offer(2L, "0001003", 1, 30, 0));
+            consumer.accept(offer(3L, "0001002", 10, 12, 1));
+            return null;
+        }).when(offerPersistencePort).streamAllOffers(any());
+
+        materializer.rebuildIfStale(null);
+
+        InOrder inOrder = inOrder(offerTimetablePort, offerPersistencePort);
+        inOrder.verify(offerTimetablePort).lockAllTimetables();
+        inOrder.verify(offerTimetablePort).isStale();
+        inOrder.verify(offerPersistencePort).streamAllOffers(any());
+        inOrder.verify(offerTimetablePort).replaceAllTimetables(argThat(timetables -> timetables.size() == 2
+                && timetables.get(new TimetableKey(1, "0001002")).size() == 3
+                && timetables.get(new TimetableKey(1, "0001003")).size() == 1));
+    }
+
+    @Test
+    void testRebuildIfStale_currentTimetablesAreKept() {
+        when(offerTimetablePort.isStale()).thenReturn(false);
+
+        materializer.rebuildIfStale(null);
+
+        verify(offerTimetablePort, never()).lockAllTimetables();
+        verifyNoInteractions(offerPersistencePort, transactionOperations);
+    }
+
+    @Test
+    void testRebuildIfStale_rebuiltByAnotherInstanceWhileWaitingForTheLocks() {
+        when(offerTimetablePort.isStale()).thenReturn(true, false);
+
+        materializer.rebuildIfStale(null);
+
+        verify(offerTimetablePort).lockAllTimetables();
+        verify(offerTimetablePort, never()).replaceAllTimetables(any());
+        verifyNoInteractions(offerPersistencePort);
+    }
+
+    @Test
+    void testGetTimetables_groupsSegmentsByPartNumber() {
+        Offer segment = offer(1L, "0001002", 1, 30, 0);
+        Set<String> partNumbers = new LinkedHashSet<>(List.of("0001002", "0001003"));
+        when(offerTimetablePort.findTimetables(1, partNumbers)).thenReturn(List.of(segment));
+
+        Map<String, Timetable> timetables = materializer.getTimetables(1, partNumbers);
+
+        assertEquals(List.of(segment), timetables.get("0001002").getSegments());
+        assertTrue(timetables.get("0001003").getSegments().isEmpty());
+    }
+}
@@ -0,0 +1,38 @@
+package com.hiberus.hiring.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactMediaType;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactSegmentDto;
+
+class CompactCborConfigTest {
+
+    @Test
+    void testExtendMessageConverters_writesOnlyTheCompactMediaTypeAsCbor() {
+        // Arrange
+        MappingJackson2HttpMessageConverter json = new MappingJackson2HttpMessageConverter();
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(json, new MappingJackson2CborHttpMessageConverter()));
+
+        // Act
+        new CompactCborConfig().extendMessageConverters(converters);
+
+        // Assert
+        assertEquals(2, converters.size());
+        assertEquals(json, converters.get(0));
+        HttpMessageConverter<?> compact = converters.get(1);
+        assertEquals(List.of(CompactMediaType.APPLICATION_COMPACT_CBOR), compact.getSupportedMediaTypes());
+        assertTrue(compact.canWrite(CompactSegmentDto.class, CompactMediaType.APPLICATION_COMPACT_CBOR));
+        assertFalse(converters.stream().anyMatch(converter -> converter.canWrite(CompactSegmentDto.class, MediaType.APPLICATION_CBOR)));
+    }
+}
@@ -0,0 +1,83 @@
+package com.hiberus.hiring.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource target;
+    private Connection connection;
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConcurrencyLimitedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void testGetConnection_holdsPermitUntilClosed() throws SQLException {
+        // Arrange
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Act
+        first.close();
+        first.close();
+
+        // Assert
+        verify(connection, times(2)).close();
+        assertEquals(1, dataSource.availablePermits(), "A connection releases its permit only once");
+        second.close();
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void testGetConnection_timesOutWhenAllPermitsAreTaken() throws SQLException {
+        // Arrange
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+    }
+
+    @Test
+    void testGetConnection_releasesPermitWhenPoolFails() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void testGetConnection_delegatesOtherCalls() throws SQLException {
+        // Arrange
+        Connection wrapped = dataSource.getConnection();
+
+        // Act
+        wrapped.setAutoCommit(false);
+
+        // Assert
+        verify(connection).setAutoCommit(false);
+        assertEquals(wrapped, wrapped);
+    }
+}
@@ -0,0 +1,131 @@
+package com.hiberus.hiring.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompactOfferStoreTest {
+
+    private Offer first;
+    private Offer second;
+
+    private static Offer offer(long id, String partnumber, String price) {
+        return Offer.builder()
+                .offerId(id)
+                .brandId(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .priceList(1)
+                .partnumber(partnumber)
+                .priority(0)
+                .price(new BigDecimal(price))
+                .curr("EUR")
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        first = offer(1L, "0001002", "35.50");
+        second = offer(7L, new String("0001002"), "25.45");
+    }
+
+    @Test
+    void testViews_EqualTheOffersTheyWereBuiltFrom() {
+        CompactOfferStore.Builder builder = CompactOfferStore.builder();
+        builder.add(first);
+        builder.add(second);
+        CompactOfferStore store = builder.build();
+
+        assertEquals(2, store.size());
+        assertEquals(first, store.get(0));
+        assertEquals(store.get(1), second);
+        assertEquals(List.of(first, second), store.subList(0, 2));
+        assertEquals(first.hashCode(), store.get(0).hashCode());
+        // Part numbers are interned into a single dictionary entry
+        assertSame(store.get(0).getPartnumber(), store.get(1).getPartnumber());
+    }
+
+    @Test
+    void testViews_KeepMissingFields() {
+        Offer projection = Offer.builder()
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .priority(1)
+                .price(new BigDecimal("30.5"))
+                .build();
+        CompactOfferStore.Builder builder = CompactOfferStore.builder();
+        builder.add(projection);
+
+        Offer view = builder.build().get(0);
+
+        assertNull(view.getOfferId());
+        assertNull(view.getPartnumber());
+        assertNull(view.getCurr());
+        assertEquals(new BigDecimal("30.50"), view.getPrice());
+    }
+
+    @Test
+    void testAdd_RejectsPricesWithMoreDecimalsThanTheColumn() {
+        CompactOfferStore.Builder builder = CompactOfferStore.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(offer(1L, "0001002", "35.505")));
+    }
+
+    @Test
+    void testViews_AreReadOnlyButCanBeCopied() {
+        CompactOfferStore.Builder builder = CompactOfferStore.builder();
+        builder.add(first);
+        Offer view = builder.build().get(0);
+
+        assertThrows(UnsupportedOperationException.class, () -> view.setEndDate(LocalDateTime.now()));
+        Offer copy = view.toBuilder().priority(5).build();
+        assertEquals(first.toBuilder().priority(5).build(), copy);
+    }
+
+    @Test
+    void testIndexOfOfferId_SortedAndUnsorted() {
+        CompactOfferStore.Builder sorted = CompactOfferStore.builder();
+        sorted.add(first);
+        sorted.add(second);
+        CompactOfferStore.Builder unsorted = CompactOfferStore.builder();
+        unsorted.add(second);
+        unsorted.add(first);
+
+        assertEquals(1, sorted.build().indexOfOfferId(7L));
+        assertEquals(-1, sorted.build().indexOfOfferId(3L));
+        assertEquals(1, unsorted.build().indexOfOfferId(1L));
+    }
+
+    @Test
+    void testWriteTo_ReadsBackWithoutCopyingTheColumns() throws IOException {
+        CompactOfferStore.Builder builder = CompactOfferStore.builder();
+        builder.add(first);
+        builder.add(offer(9L, "0001003", "12.00").toBuilder().curr(null).build());
+        CompactOfferStore store = builder.build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.writeTo(Channels.newChannel(out));
+        out.write(42);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(out.size()).order(CompactOfferStore.BYTE_ORDER);
+        buffer.put(out.toByteArray()).flip();
+        CompactOfferStore read = CompactOfferStore.read(buffer);
+
+        assertEquals(store.subList(0, 2), read.subList(0, 2));
+        assertEquals(1, read.indexOfOfferId(9L));
+        // The buffer is left right after the store, 8-byte aligned
+        assertEquals(0, buffer.position() % 8);
+        assertEquals(42, buffer.get());
+    }
+}
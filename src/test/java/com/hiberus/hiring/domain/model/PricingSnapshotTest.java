@@ -0,0 +1,125 @@
+package com.hiberus.hiring.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PricingSnapshotTest {
+
+    private PricingSnapshot snapshot;
+
+    private static Offer offer(long id, int brandId, String partnumber, String price) {
+        return Offer.builder()
+                .offerId(id)
+                .brandId(brandId)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .partnumber(partnumber)
+                .priority(0)
+                .price(new BigDecimal(price))
+                .curr("EUR")
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Offer first = offer(1L, 2, "0001002", "35.50");
+        Offer second = offer(2L, 1, "0001003", "25.45");
+        Offer third = offer(3L, 1, "0001002", "12.00");
+        // Products are added out of key order, the directory sorts them
+        snapshot = PricingSnapshot.builder()
+                .addOffer(first)
+                .addOffer(second)
+                .addOffer(third)
+                .addTimetable(new TimetableKey(2, "0001002"), List.of(first))
+                .addTimetable(new TimetableKey(1, "0001003"), List.of(second))
+                .addTimetable(new TimetableKey(1, "0001002"), List.of(third))
+                .addTimetable(new TimetableKey(1, "0001004"), List.of())
+                .build(LocalDateTime.of(2020, 6, 14, 10, 0));
+    }
+
+    private void assertServesAllProducts(PricingSnapshot snapshot) {
+        assertEquals(3, snapshot.getOfferCount());
+        assertEquals(3, snapshot.getTimetableCount());
+        assertEquals(new BigDecimal("35.50"), snapshot.getTimetable(2, "0001002").getSegments().get(0).getPrice());
+        assertEquals(new BigDecimal("25.45"), snapshot.getTimetable(1, "0001003").getSegments().get(0).getPrice());
+        assertEquals(new BigDecimal("12.00"), snapshot.getTimetable(1, "0001002").getSegments().get(0).getPrice());
+        assertTrue(snapshot.getTimetable(1, "0001004").getSegments().isEmpty());
+        assertTrue(snapshot.getTimetable(3, "0001002").getSegments().isEmpty());
+        assertEquals(2, snapshot.getOffer(1L).getBrandId());
+        assertNull(snapshot.getOffer(4L));
+    }
+
+    @Test
+    void testGetTimetable_SearchesTheSortedDirectory() {
+        assertServesAllProducts(snapshot);
+    }
+
+    @Test
+    void testAddTimetable_RejectsDuplicates() {
+        PricingSnapshot.Builder builder = PricingSnapshot.builder()
+                .addTimetable(new TimetableKey(1, "0001002"), List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.addTimetable(new TimetableKey(1, "0001002"), List.of()));
+    }
+
+    @Test
+    void testAddSegment_CopiesTheWinningOfferWithTheSegmentDates() {
+        TimetableKey key = new TimetableKey(1, "0001002");
+        long start = CompactOfferStore.toEpochSecond(LocalDateTime.of(2020, 6, 14, 0, 0));
+        PricingSnapshot.Builder builder = PricingSnapshot.builder()
+                .addOffer(offer(1L, 1, "0001002", "35.50"))
+                .addOffer(offer(2L, 1, "0001002", "25.45"));
+
+        PricingSnapshot built = builder
+                .addSegment(key, 1, start, start + 99)
+                .addSegment(key, 0, start + 100, start + 199)
+                .build(LocalDateTime.of(2020, 6, 14, 10, 0));
+
+        List<Offer> segments = built.getTimetable(1, "0001002").getSegments();
+        assertEquals(2, segments.size());
+        assertEquals(2L, segments.get(0).getOfferId());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 0, 1, 39), segments.get(0).getEndDate());
+        assertEquals(new BigDecimal("35.50"), segments.get(1).getPrice());
+        assertEquals("EUR", segments.get(1).getCurr());
+        // The timetable is complete once another one was added
+        builder.addTimetable(new TimetableKey(1, "0001003"), List.of());
+        assertThrows(IllegalArgumentException.class, () -> builder.addSegment(key, 0, start, start));
+    }
+
+    @Test
+    void testWriteTo_ReadsBackTheSameSnapshot() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.writeTo(Channels.newChannel(out));
+
+        PricingSnapshot read = PricingSnapshot.read(ByteBuffer.wrap(out.toByteArray()));
+
+        assertServesAllProducts(read);
+        assertEquals(snapshot.getLoadedAt(), read.getLoadedAt());
+    }
+
+    @Test
+    void testRead_RejectsOtherFilesAndVersions() {
+        ByteBuffer other = ByteBuffer.allocate(64);
+        ByteBuffer newer = ByteBuffer.allocate(64).order(CompactOfferStore.BYTE_ORDER)
+                .putInt(PricingSnapshot.MAGIC)
+                .putInt(PricingSnapshot.VERSION + 1)
+                .flip();
+
+        assertThrows(IllegalArgumentException.class, () -> PricingSnapshot.read(other));
+        assertThrows(IllegalArgumentException.class, () -> PricingSnapshot.read(newer));
+    }
+}
@@ -0,0 +1,82 @@
+package com.hiberus.hiring.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimetableTest {
+
+    private Timetable timetable;
+
+    private static Offer segment(LocalDateTime from, LocalDateTime until, String price) {
+        return Offer.builder()
+                .startDate(from)
+                .endDate(until)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        timetable = Timetable.of(List.of(
+                segment(LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 6, 14, 14, 59, 59), "35.50"),
+                segment(LocalDateTime.of(2020, 6, 14, 15, 0), LocalDateTime.of(2020, 6, 14, 18, 30), "25.45"),
+                segment(LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0), "30.50")));
+    }
+
+    @Test
+    void testSegmentAt_insideSegment() {
+        Offer found = timetable.segmentAt(LocalDateTime.of(2020, 6, 14, 16, 0));
+        assertEquals(new BigDecimal("25.45"), found.getPrice());
+    }
+
+    @Test
+    void testSegmentAt_boundariesAreInclusive() {
+        assertEquals(new BigDecimal("35.50"), timetable.segmentAt(LocalDateTime.of(2020, 6, 14, 0, 0)).getPrice());
+        assertEquals(new BigDecimal("35.50"), timetable.segmentAt(LocalDateTime.of(2020, 6, 14, 14, 59, 59)).getPrice());
+        assertEquals(new BigDecimal("25.45"), timetable.segmentAt(LocalDateTime.of(2020, 6, 14, 15, 0)).getPrice());
+    }
+
+    @Test
+    void testSegmentAt_gapBetweenSegments() {
+        assertNull(timetable.segmentAt(LocalDateTime.of(2020, 6, 14, 20, 0)));
+    }
+
+    @Test
+    void testSegmentAt_outsideTimetable() {
+        assertNull(timetable.segmentAt(LocalDateTime.of(2020, 6, 13, 23, 59, 59)));
+        assertNull(timetable.segmentAt(LocalDateTime.of(2020, 6, 15, 11, 0, 1)));
+    }
+
+    @Test
+    void testOf_nullOrEmpty() {
+        assertTrue(Timetable.of(null).getSegments().isEmpty());
+        assertNull(Timetable.of(List.of()).segmentAt(LocalDateTime.of(2020, 6, 14, 0, 0)));
+    }
+
+    @Test
+    void testNextChangeAfter_insideSegmentIsItsEnd() {
+        assertEquals(LocalDateTime.of(2020, 6, 14, 15, 0), timetable.nextChangeAfter(LocalDateTime.of(2020, 6, 14, 10, 0)));
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 30, 1), timetable.nextChangeAfter(LocalDateTime.of(2020, 6, 14, 15, 0)));
+    }
+
+    @Test
+    void testNextChangeAfter_gapIsNextStart() {
+        assertEquals(LocalDateTime.of(2020, 6, 14, 0, 0), timetable.nextChangeAfter(LocalDateTime.of(2020, 6, 1, 0, 0)));
+        assertEquals(LocalDateTime.of(2020, 6, 15, 0, 0), timetable.nextChangeAfter(LocalDateTime.of(2020, 6, 14, 20, 0)));
+    }
+
+    @Test
+    void testNextChangeAfter_lastSegment() {
+        assertEquals(LocalDateTime.of(2020, 6, 15, 11, 0, 1), timetable.nextChangeAfter(LocalDateTime.of(2020, 6, 15, 11, 0)));
+        assertNull(timetable.nextChangeAfter(LocalDateTime.of(2020, 6, 15, 11, 0, 1)));
+        assertNull(Timetable.of(List.of()).nextChangeAfter(LocalDateTime.of(2020, 6, 14, 0, 0)));
+    }
+}
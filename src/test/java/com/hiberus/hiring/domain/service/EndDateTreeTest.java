@@ -0,0 +1,46 @@
+package com.hiberus.hiring.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class EndDateTreeTest {
+
+    @Test
+    void testCollectRunning_SameOffersAsAScanInIndexOrder() {
+        Random random = new Random(42);
+        for (int count : new int[] {1, 2, 7, 64, 1000}) {
+            long[] ends = random.longs(count, 0, 10_000).toArray();
+            EndDateTree tree = new EndDateTree(ends, count);
+            for (int check = 0; check < 50; check++) {
+                int to = random.nextInt(count + 1);
+                long instant = random.nextInt(10_000);
+                int[] into = new int[count + 1];
+                into[0] = -1;
+
+                int size = tree.collectRunning(to, instant, into, 1);
+
+                int[] expected = IntStream.range(0, to).filter(i -> ends[i] >= instant).toArray();
+                assertEquals(expected.length + 1, size);
+                assertArrayEquals(expected, Arrays.copyOfRange(into, 1, size));
+                assertEquals(-1, into[0]);
+            }
+        }
+    }
+
+    @Test
+    void testCollectRunning_IgnoresTheColumnsBeyondTheCount() {
+        long[] ends = {5, 50, 500};
+
+        int[] into = new int[3];
+        int size = new EndDateTree(ends, 2).collectRunning(3, 10, into, 0);
+
+        assertEquals(1, size);
+        assertEquals(1, into[0]);
+    }
+}
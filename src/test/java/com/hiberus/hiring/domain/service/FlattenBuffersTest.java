@@ -0,0 +1,207 @@
+package com.hiberus.hiring.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+class FlattenBuffersTest {
+
+    private FlattenBuffers buffers;
+
+    @BeforeEach
+    void setUp() {
+        buffers = new FlattenBuffers();
+    }
+
+    @Test
+    void testFlatten_NestedHigherPriority_KeepsTailOfOuterOffer() {
+        long[] starts = {0, 100};
+        long[] ends = {999, 199};
+        int[] priorities = {0, 1};
+        long[] prices = {3550, 2545};
+
+        int segments = buffers.flatten(starts, ends, priorities, prices, 2);
+
+        assertEquals(3, segments);
+        assertSegment(0, 0, 99, 3550, 0);
+        assertSegment(1, 100, 199, 2545, 1);
+        assertSegment(2, 200, 999, 3550, 0);
+    }
+
+    @Test
+    void testFlatten_UnsortedInput_SamePriorityEarlierOfferWins() {
+        long[] starts = {50, 0, 300};
+        long[] ends = {150, 100, 200};
+        int[] priorities = {1, 1, 5};
+
+        int segments = buffers.flatten(starts, ends, priorities, null, 3);
+
+        assertEquals(2, segments, "The inverted offer is ignored");
+        assertSegment(0, 0, 100, 0, 1);
+        assertSegment(1, 101, 150, 0, 0);
+    }
+
+    @Test
+    void testFlatten_RandomOffers_SameSegmentsAsObjectSweep() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            int count = 1 + random.nextInt(300);
+            long[] starts = new long[count];
+            long[] ends = new long[count];
+            int[] priorities = new int[count];
+            List<Offer> offers = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                starts[i] = random.nextInt(1_000);
+                ends[i] = starts[i] + random.nextInt(200);
+                priorities[i] = random.nextInt(4);
+                offers.add(Offer.builder()
+                        .offerId((long) i)
+                        .startDate(toDateTime(starts[i]))
+                        .endDate(toDateTime(ends[i]))
+                        .priority(priorities[i])
+                        .price(BigDecimal.valueOf(i))
+                        .build());
+            }
+            List<Offer> expected = sweep(offers.stream().sorted(SweepLineTimetableEngine.BY_START_DATE).toList());
+
+            int segments = buffers.flatten(starts, ends, priorities, null, count);
+
+            assertEquals(expected.size(), segments, "Round " + round);
+            for (int i = 0; i < segments; i++) {
+                assertEquals(expected.get(i).getOfferId(), (long) buffers.segmentOfferAt(i));
+                assertEquals(expected.get(i).getStartDate(), toDateTime(buffers.segmentStartAt(i)));
+                assertEquals(expected.get(i).getEndDate(), toDateTime(buffers.segmentEndAt(i)));
+            }
+        }
+    }
+
+    @Test
+    void testFlatten_SteadyState_AllocatesNothingPerOffer() {
+        int count = 2_000;
+        Random random = new Random(3);
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        int[] priorities = new int[count];
+        long[] prices = new long[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = random.nextInt(100_000);
+            ends[i] = starts[i] + random.nextInt(5_000);
+            priorities[i] = random.nextInt(16);
+            prices[i] = i;
+        }
+        buffers.flatten(starts, ends, priorities, prices, count);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100; i++) {
+            buffers.flatten(starts, ends, priorities, prices, count);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // 200k offers flattened: a single allocation per offer would take megabytes
+        assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void testFlattenRange_EarlierOffersTakePartFromTheRangeStartOnly() {
+        // Sorted by start date: the range starts with offer 2 and ends before offer 3
+        long[] starts = {0, 10, 100, 300};
+        long[] ends = {999, 50, 199, 399};
+        int[] priorities = {0, 9, 1, 5};
+
+        int segments = buffers.flattenRange(starts, ends, priorities, 4, 2, 3, new EndDateTree(ends, 4));
+
+        assertEquals(2, segments, "Offer 1 ended before the range");
+        assertSegment(0, 100, 199, 0, 2);
+        assertSegment(1, 200, 299, 0, 0);
+    }
+
+    @Test
+    void testFlatten_ShortColumn_IsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> buffers.flatten(new long[2], new long[1], new int[2], null, 2));
+    }
+
+    @Test
+    void testSegmentAccessors_CheckBounds() {
+        buffers.flatten(new long[] {0}, new long[] {10}, new int[] {0}, null, 1);
+
+        assertEquals(1, buffers.getSegmentCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffers.segmentStartAt(1));
+    }
+
+    private void assertSegment(int segment, long start, long end, long price, int offer) {
+        assertEquals(start, buffers.segmentStartAt(segment));
+        assertEquals(end, buffers.segmentEndAt(segment));
+        assertEquals(price, buffers.segmentPriceCentsAt(segment));
+        assertEquals(offer, buffers.segmentOfferAt(segment));
+    }
+
+    @Test
+    void testFlatten_ManyOffersExpiringUnderTheWinner_CompactsAndMatchesObjectSweep() {
+        // A long top-priority offer keeps every shorter offer below it from reaching the top of
+        // the heap, so expired entries pile up until the heap compacts them
+        Random random = new Random(11);
+        int count = 2_000;
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        int[] priorities = new int[count];
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            starts[i] = i == 0 ? 0 : random.nextInt(100_000);
+            ends[i] = i == 0 ? 100_000 : starts[i] + random.nextInt(500);
+            priorities[i] = i == 0 ? 100 : random.nextInt(16);
+            offers.add(Offer.builder()
+                    .offerId((long) i)
+                    .startDate(toDateTime(starts[i]))
+                    .endDate(toDateTime(ends[i]))
+                    .priority(priorities[i])
+                    .price(BigDecimal.valueOf(i))
+                    .build());
+        }
+        // Offers ending past the top-priority one are left as the tail
+        List<Offer> expected = sweep(offers.stream().sorted(SweepLineTimetableEngine.BY_START_DATE).toList());
+
+        int segments = buffers.flatten(starts, ends, priorities, null, count);
+
+        assertEquals(expected.size(), segments);
+        for (int i = 0; i < segments; i++) {
+            int winner = buffers.segmentOfferAt(i);
+            assertEquals(expected.get(i).getOfferId(), (long) winner);
+            assertEquals(expected.get(i).getStartDate(), toDateTime(buffers.segmentStartAt(i)));
+            assertEquals(expected.get(i).getEndDate(), toDateTime(buffers.segmentEndAt(i)));
+            long at = buffers.segmentStartAt(i);
+            for (int j = 0; j < count; j++) {
+                assertTrue(starts[j] > at || ends[j] < at || priorities[j] <= priorities[winner],
+                        "Offer " + j + " outranks segment " + i);
+            }
+        }
+    }
+
+    private static List<Offer> sweep(List<Offer> sorted) {
+        List<Offer> segments = new ArrayList<>();
+        Consumer<Offer> sink = segments::add;
+        TimetableSweep sweep = new TimetableSweep();
+        sorted.forEach(offer -> sweep.accept(offer, sink));
+        sweep.finish(sink);
+        return segments;
+    }
+
+    private static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,115 @@
+package com.hiberus.hiring.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.hiberus.hiring.domain.service.TimetableFixtures.at;
+import static com.hiberus.hiring.domain.service.TimetableFixtures.offer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+
+class IncrementalTimetableTest {
+
+    private static List<Offer> flatten(List<Offer> offers) {
+        List<Offer> sorted = new ArrayList<>(offers);
+        sorted.sort(Comparator.comparing(Offer::getStartDate).thenComparing(Offer::getOfferId));
+        return new SweepLineTimetableEngine().flatten(sorted);
+    }
+
+    @Test
+    void testInsertAndRemove_SpliceTheAffectedSegments() {
+        Offer outer = offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50");
+        Offer inner = offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45");
+        IncrementalTimetable timetable = IncrementalTimetable.of(List.of(outer));
+
+        timetable.insert(inner);
+        List<Offer> withInner = timetable.getTimetable().getSegments();
+        boolean removed = timetable.remove(2L);
+
+        assertEquals(3, withInner.size());
+        assertEquals(new BigDecimal("25.45"), withInner.get(1).getPrice());
+        assertEquals(at(14, 14, 59, 59), withInner.get(0).getEndDate());
+        assertTrue(removed);
+        // The outer offer wins its whole interval again, as a single segment
+        assertEquals(List.of(outer), timetable.getTimetable().getSegments());
+        assertFalse(timetable.remove(2L));
+    }
+
+    @Test
+    void testStackEntries_CountTheOffersOfEveryCell() {
+        Offer outer = offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50");
+        Offer inner = offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45");
+        IncrementalTimetable timetable = IncrementalTimetable.of(List.of(outer, inner));
+
+        // The outer offer covers the three cells cut by the inner one
+        assertEquals(4, timetable.getStackEntries());
+        timetable.remove(2L);
+        assertEquals(1, timetable.getStackEntries());
+        timetable.remove(1L);
+        assertEquals(0, timetable.getStackEntries());
+    }
+
+    @Test
+    void testInsert_ReplacesOfferWithSameIdAndIgnoresInvalidIntervals() {
+        IncrementalTimetable timetable = IncrementalTimetable.of(List.of(
+                offer(1L, at(14, 0, 0, 0), at(14, 23, 59, 59), 0, "35.50")));
+
+        timetable.insert(offer(1L, at(15, 0, 0, 0), at(15, 23, 59, 59), 0, "30.00"));
+        timetable.insert(offer(2L, at(16, 0, 0, 0), at(15, 0, 0, 0), 0, "10.00"));
+
+        assertEquals(1, timetable.size());
+        assertEquals(List.of(offer(1L, at(15, 0, 0, 0), at(15, 23, 59, 59), 0, "30.00")),
+                timetable.getTimetable().getSegments());
+        assertThrows(IllegalArgumentException.class,
+                () -> timetable.insert(offer(1L, at(14, 0, 0, 0), at(14, 1, 0, 0), 0, "1.00").toBuilder().offerId(null).build()));
+    }
+
+    @Test
+    void testGetTimetable_IsReusedUntilTheNextChange() {
+        IncrementalTimetable timetable = IncrementalTimetable.of(List.of(
+                offer(1L, at(14, 0, 0, 0), at(14, 23, 59, 59), 0, "35.50")));
+
+        Timetable first = timetable.getTimetable();
+
+        assertSame(first, timetable.getTimetable());
+        timetable.remove(1L);
+        assertTrue(timetable.getTimetable().getSegments().isEmpty());
+    }
+
+    @Test
+    void testRandomChanges_MatchTheSweepLineOverAllOffers() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<Offer> current = new ArrayList<>();
+            IncrementalTimetable timetable = IncrementalTimetable.of(List.of());
+            long nextId = 1;
+            for (int change = 0; change < 200; change++) {
+                if (!current.isEmpty() && random.nextInt(3) == 0) {
+                    Offer removed = current.remove(random.nextInt(current.size()));
+                    assertTrue(timetable.remove(removed.getOfferId()));
+                } else {
+                    // Coarse hours and few priorities, so boundaries and ranks often collide
+                    LocalDateTime start = at(1, 0, 0, 0).plusHours(random.nextInt(48));
+                    LocalDateTime end = start.plusHours(random.nextInt(12)).plusSeconds(random.nextInt(2) * 3599L);
+                    Offer added = offer(nextId++, start, end, random.nextInt(3), (random.nextInt(9000) + 100) + ".00");
+                    current.add(added);
+                    timetable.insert(added);
+                }
+                assertEquals(flatten(current), timetable.getTimetable().getSegments(),
+                        "round " + round + ", change " + change);
+            }
+        }
+    }
+}
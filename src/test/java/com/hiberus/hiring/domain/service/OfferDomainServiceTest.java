@@ -1,10 +1,14 @@
 package com.hiberus.hiring.domain.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -13,6 +17,10 @@ import org.junit.jupiter.api.Test;
 
 import com.hiberus.hiring.domain.model.Offer;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 class OfferDomainServiceTest {
 	
 	private OfferDomainService service;
@@ -180,4 +188,148 @@ class OfferDomainServiceTest {
         assertEquals(offer3, result.get(2));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testIsValid() {
+        Offer valid = Offer.builder()
+                .brandId(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 23, 59, 59))
+                .priceList(1)
+                .partnumber("0001002")
+                .priority(0)
+                .price(new BigDecimal("35.50"))
+                .curr("EUR")
+                .build();
+
+        assertTrue(service.isValid(valid));
+        assertTrue(service.isValid(valid.toBuilder().price(new BigDecimal("35.500")).build()));
+        assertFalse(service.isValid(null));
+        assertFalse(service.isValid(valid.toBuilder().brandId(null).build()));
+        assertFalse(service.isValid(valid.toBuilder().partnumber(" ").build()));
+        assertFalse(service.isValid(valid.toBuilder().endDate(valid.getStartDate().minusSeconds(1)).build()));
+        assertFalse(service.isValid(valid.toBuilder().price(new BigDecimal("-1")).build()));
+        assertFalse(service.isValid(valid.toBuilder().price(new BigDecimal("1.005")).build()));
+        assertFalse(service.isValid(valid.toBuilder().price(new BigDecimal("123456789")).build()));
+    }
+
+    @Test
+    void testFlattenIntervals_SweepLineAlgorithm_KeepsTailOfNestedOffer() {
+        service.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+        Offer outer = Offer.builder()
+                .offerId(1L)
+                .startDate(LocalDateTime.of(2020, 6, 14, 9, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 0))
+                .priority(0)
+                .build();
+        Offer inner = Offer.builder()
+                .offerId(2L)
+                .startDate(LocalDateTime.of(2020, 6, 14, 10, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 11, 0))
+                .priority(1)
+                .build();
+
+        List<Offer> result = service.flattenIntervalsByPriority(List.of(outer, inner));
+
+        assertEquals(3, result.size(), "The outer offer should resume after the nested one");
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 0), result.get(2).getEndDate());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 18, 0), outer.getEndDate(), "Input must not be mutated");
+    }
+
+    @Test
+    void testFlattenIntervals_SweepLineAlgorithm_ParallelAboveThreshold() {
+        service.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            offers.add(Offer.builder()
+                    .offerId((long) i)
+                    .startDate(LocalDateTime.of(2020, 6, 14, 0, 0).plusHours((i * 7L) % 200))
+                    .endDate(LocalDateTime.of(2020, 6, 14, 0, 0).plusHours((i * 7L) % 200 + 1 + i % 30))
+                    .priority(i % 3)
+                    .price(BigDecimal.valueOf(i))
+                    .build());
+        }
+        List<Offer> sequential = service.flattenIntervalsByPriority(offers);
+
+        service.setParallelThreshold(20);
+        List<Offer> parallel = service.flattenIntervalsByPriority(offers);
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void testFlattenIntervals_PrimitiveColumns_MatchSweepLine() {
+        FlattenBuffers buffers = new FlattenBuffers();
+        long start = LocalDateTime.of(2020, 6, 14, 0, 0).toEpochSecond(ZoneOffset.UTC);
+
+        int segments = service.flattenIntervalsByPriority(new long[] {start, start + 54_000},
+                new long[] {start + 1_468_799, start + 66_600}, new int[] {0, 1}, new long[] {3550, 2545}, 2, buffers);
+
+        assertEquals(3, segments);
+        assertEquals(2545, buffers.segmentPriceCentsAt(1));
+        assertEquals(start + 66_601, buffers.segmentStartAt(2));
+        assertEquals(0, buffers.segmentOfferAt(2));
+    }
+
+    @Test
+    void testFlattenIntervals_ShadowAlgorithm_ServesLegacyResult() {
+        service.setAlgorithm(TimetableAlgorithm.SHADOW);
+        Offer outer = Offer.builder()
+                .offerId(1L)
+                .startDate(LocalDateTime.of(2020, 6, 14, 9, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 0))
+                .priority(0)
+                .build();
+        Offer inner = Offer.builder()
+                .offerId(2L)
+                .startDate(LocalDateTime.of(2020, 6, 14, 10, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 11, 0))
+                .priority(1)
+                .build();
+
+        List<Offer> result = service.flattenIntervalsByPriority(List.of(outer, inner));
+
+        assertEquals(2, result.size(), "Shadow mode should serve the legacy timetable");
+        assertEquals(inner, result.get(1));
+    }
+
+    @Test
+    void testFlattenIntervals_RecordsSizesPerAlgorithm() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            service.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+            Offer outer = Offer.builder().startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                    .endDate(LocalDateTime.of(2020, 6, 30, 23, 59, 59)).priority(0).price(new BigDecimal("35.50")).build();
+            Offer inner = Offer.builder().startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                    .endDate(LocalDateTime.of(2020, 6, 14, 18, 30)).priority(1).price(new BigDecimal("25.45")).build();
+
+            service.flattenIntervalsByPriority(List.of(outer, inner));
+
+            DistributionSummary input = registry.get("offer.flatten.input.offers").tag("algorithm", "SWEEP_LINE").summary();
+            DistributionSummary output = registry.get("offer.flatten.output.segments").tag("algorithm", "SWEEP_LINE").summary();
+            assertEquals(1, input.count());
+            assertEquals(2.0, input.totalAmount());
+            assertEquals(3.0, output.totalAmount());
+            assertEquals(1, registry.get("offer.flatten").tag("algorithm", "SWEEP_LINE").timer().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void testOpenIncrementalTimetable_MatchesSweepLine() {
+        Offer outer = Offer.builder().offerId(1L).startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 30, 23, 59, 59)).priority(0).price(new BigDecimal("35.50")).build();
+        Offer inner = Offer.builder().offerId(2L).startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30)).priority(1).price(new BigDecimal("25.45")).build();
+
+        service.setAlgorithm(TimetableAlgorithm.SWEEP_LINE);
+        List<Offer> flattened = service.flattenIntervalsByPriority(List.of(outer, inner));
+        IncrementalTimetable timetable = service.openIncrementalTimetable(List.of(outer, inner));
+
+        assertTrue(service.isIncremental());
+        assertEquals(flattened, timetable.getTimetable().getSegments());
+        service.setAlgorithm(TimetableAlgorithm.LEGACY);
+        assertFalse(service.isIncremental());
+    }
+}
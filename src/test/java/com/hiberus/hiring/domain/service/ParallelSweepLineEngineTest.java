@@ -0,0 +1,121 @@
+package com.hiberus.hiring.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+class ParallelSweepLineEngineTest {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2020, 6, 14, 0, 0, 0);
+
+    private final SweepLineTimetableEngine sequential = new SweepLineTimetableEngine();
+
+    private static Offer offer(long id, long startHour, long hours, int priority) {
+        return Offer.builder()
+                .offerId(id)
+                .startDate(ORIGIN.plusHours(startHour))
+                .endDate(ORIGIN.plusHours(startHour + hours).minusSeconds(1))
+                .priority(priority)
+                .price(BigDecimal.valueOf(id, 2))
+                .build();
+    }
+
+    private static List<Offer> randomOffers(int count, int maxHours, int priorities, long seed) {
+        Random random = new Random(seed);
+        List<Offer> offers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            offers.add(offer(i, random.nextInt(count / 2), 1 + random.nextInt(maxHours), random.nextInt(priorities)));
+        }
+        return offers;
+    }
+
+    @Test
+    void testFlatten_RandomTimetables_SameSegmentsAsSequentialEngine() {
+        ParallelSweepLineEngine engine = new ParallelSweepLineEngine(50, 7);
+        for (long seed = 0; seed < 20; seed++) {
+            List<Offer> offers = randomOffers(1_000, 1 + (int) seed * 10, 1 + (int) seed % 4, seed);
+
+            assertEquals(sequential.flatten(offers), engine.flatten(offers), "Seed " + seed);
+        }
+    }
+
+    @Test
+    void testFlatten_OfferSpanningEveryRange_IsStitchedIntoOneSegment() {
+        List<Offer> offers = new ArrayList<>();
+        offers.add(offer(0, 0, 1_000, 1));
+        for (int i = 1; i <= 100; i++) {
+            offers.add(offer(i, i * 5L, 2, 0));
+        }
+
+        List<Offer> result = new ParallelSweepLineEngine(10, 4).flatten(offers);
+
+        assertEquals(1, result.size());
+        assertEquals(ORIGIN, result.get(0).getStartDate());
+        assertEquals(ORIGIN.plusHours(1_000).minusSeconds(1), result.get(0).getEndDate());
+    }
+
+    @Test
+    void testFlatten_EqualOffersWithoutIds_AreNotJoinedAcrossRanges() {
+        // Two distinct offers with equal fields win contiguous segments: the sequential engine keeps both
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            offers.add(Offer.builder()
+                    .startDate(ORIGIN.plusHours(i))
+                    .endDate(ORIGIN.plusHours(i + 1).minusSeconds(1))
+                    .priority(0)
+                    .price(BigDecimal.TEN)
+                    .build());
+        }
+
+        List<Offer> result = new ParallelSweepLineEngine(5, 4).flatten(offers);
+
+        assertEquals(sequential.flatten(offers), result);
+        assertEquals(40, result.size());
+    }
+
+    @Test
+    void testFlatten_DoesNotMutateInput() {
+        List<Offer> offers = randomOffers(500, 20, 3, 42L);
+        List<Offer> copies = offers.stream().map(offer -> offer.toBuilder().build()).toList();
+
+        new ParallelSweepLineEngine(50, 4).flatten(offers);
+
+        assertEquals(copies, offers);
+    }
+
+    @Test
+    void testRangeCount_AdaptsToSizeAndParallelism() {
+        ParallelSweepLineEngine engine = new ParallelSweepLineEngine(1_000, 8);
+
+        assertEquals(1, engine.rangeCount(1_999), "Too small for two ranges");
+        assertEquals(3, engine.rangeCount(3_500));
+        assertEquals(8, engine.rangeCount(1_000_000), "One range per worker");
+        assertEquals(1, new ParallelSweepLineEngine(1_000, 1).rangeCount(1_000_000), "Single worker");
+    }
+
+    @Test
+    void testRangeBounds_NeverSplitOffersStartingTogether() {
+        long[] startDates = {0, 0, 0, 0, 3_600, 7_200, 7_200, 10_800};
+
+        assertArrayEquals(new int[] {0, 4, 5, 7, 8}, ParallelSweepLineEngine.rangeBounds(startDates, 4));
+        assertArrayEquals(new int[] {0, 2}, ParallelSweepLineEngine.rangeBounds(new long[] {0, 0}, 2),
+                "A single start date is a single range");
+    }
+
+    @Test
+    void testFlatten_FractionsOfSeconds_SameSegmentsAsSequentialEngine() {
+        List<Offer> offers = new ArrayList<>(randomOffers(400, 10, 3, 7L));
+        offers.add(offer(400, 3, 5, 9).toBuilder().endDate(ORIGIN.plusHours(8).minusNanos(1)).build());
+
+        assertEquals(sequential.flatten(offers), new ParallelSweepLineEngine(50, 4).flatten(offers));
+    }
+}
@@ -0,0 +1,192 @@
+package com.hiberus.hiring.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.hiberus.hiring.domain.service.TimetableFixtures.at;
+import static com.hiberus.hiring.domain.service.TimetableFixtures.offer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+class SweepLineTimetableEngineTest {
+
+    private SweepLineTimetableEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SweepLineTimetableEngine();
+    }
+
+    private static void assertSegment(Offer segment, LocalDateTime from, LocalDateTime until, String price) {
+        assertEquals(from, segment.getStartDate());
+        assertEquals(until, segment.getEndDate());
+        assertEquals(new BigDecimal(price), segment.getPrice());
+    }
+
+    @Test
+    void testFlatten_NullInput_ReturnsEmptyList() {
+        List<Offer> result = engine.flatten(null);
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void testFlatten_NestedHigherPriority_KeepsTailOfOuterOffer() {
+        Offer outer = offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50");
+        Offer inner = offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45");
+
+        List<Offer> result = engine.flatten(List.of(outer, inner));
+
+        assertEquals(3, result.size(), "The outer offer must resume after the nested one");
+        assertSegment(result.get(0), at(14, 0, 0, 0), at(14, 14, 59, 59), "35.50");
+        assertSegment(result.get(1), at(14, 15, 0, 0), at(14, 18, 30, 0), "25.45");
+        assertSegment(result.get(2), at(14, 18, 30, 1), at(30, 23, 59, 59), "35.50");
+    }
+
+    @Test
+    void testFlatten_SampleDataSet() {
+        List<Offer> offers = List.of(
+                offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50"),
+                offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45"),
+                offer(3L, at(15, 0, 0, 0), at(15, 11, 0, 0), 1, "30.50"),
+                offer(4L, at(15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 1, "38.95"));
+
+        List<Offer> result = engine.flatten(offers);
+
+        assertEquals(6, result.size());
+        assertSegment(result.get(0), at(14, 0, 0, 0), at(14, 14, 59, 59), "35.50");
+        assertSegment(result.get(1), at(14, 15, 0, 0), at(14, 18, 30, 0), "25.45");
+        assertSegment(result.get(2), at(14, 18, 30, 1), at(14, 23, 59, 59), "35.50");
+        assertSegment(result.get(3), at(15, 0, 0, 0), at(15, 11, 0, 0), "30.50");
+        assertSegment(result.get(4), at(15, 11, 0, 1), at(15, 15, 59, 59), "35.50");
+        assertSegment(result.get(5), at(15, 16, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), "38.95");
+    }
+
+    @Test
+    void testFlatten_LowerPriorityStartingInsideIsHidden() {
+        Offer high = offer(1L, at(14, 10, 0, 0), at(14, 12, 0, 0), 1, "10.00");
+        Offer low = offer(2L, at(14, 11, 0, 0), at(14, 13, 0, 0), 0, "20.00");
+
+        List<Offer> result = engine.flatten(List.of(low, high));
+
+        assertEquals(2, result.size());
+        assertSegment(result.get(0), at(14, 10, 0, 0), at(14, 12, 0, 0), "10.00");
+        assertSegment(result.get(1), at(14, 12, 0, 1), at(14, 13, 0, 0), "20.00");
+    }
+
+    @Test
+    void testFlatten_SamePriority_EarlierOfferWins() {
+        Offer first = offer(1L, at(14, 10, 0, 0), at(14, 12, 0, 0), 1, "10.00");
+        Offer second = offer(2L, at(14, 11, 0, 0), at(14, 13, 0, 0), 1, "20.00");
+
+        List<Offer> result = engine.flatten(List.of(second, first));
+
+        assertEquals(2, result.size());
+        assertSegment(result.get(0), at(14, 10, 0, 0), at(14, 12, 0, 0), "10.00");
+        assertSegment(result.get(1), at(14, 12, 0, 1), at(14, 13, 0, 0), "20.00");
+    }
+
+    @Test
+    void testFlatten_GapBetweenOffersIsPreserved() {
+        Offer first = offer(1L, at(14, 10, 0, 0), at(14, 11, 0, 0), 0, "10.00");
+        Offer second = offer(2L, at(14, 12, 0, 0), at(14, 13, 0, 0), 0, "20.00");
+
+        List<Offer> result = engine.flatten(List.of(first, second));
+
+        assertEquals(2, result.size());
+        assertSegment(result.get(0), at(14, 10, 0, 0), at(14, 11, 0, 0), "10.00");
+        assertSegment(result.get(1), at(14, 12, 0, 0), at(14, 13, 0, 0), "20.00");
+    }
+
+    @Test
+    void testFlatten_FractionalSeconds_SameRulesAsWholeSeconds() {
+        Offer outer = offer(1L, at(14, 0, 0, 0).plusNanos(500_000_000), at(30, 23, 59, 59), 0, "35.50");
+        Offer inner = offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45");
+
+        List<Offer> result = engine.flatten(List.of(inner, outer));
+
+        assertEquals(3, result.size());
+        assertSegment(result.get(0), at(14, 0, 0, 0).plusNanos(500_000_000), at(14, 14, 59, 59), "35.50");
+        assertSegment(result.get(1), at(14, 15, 0, 0), at(14, 18, 30, 0), "25.45");
+        assertSegment(result.get(2), at(14, 18, 30, 1), at(30, 23, 59, 59), "35.50");
+    }
+
+    @Test
+    void testFlatten_DoesNotMutateInput() {
+        Offer outer = offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50");
+        Offer inner = offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45");
+        Offer outerCopy = outer.toBuilder().build();
+        Offer innerCopy = inner.toBuilder().build();
+
+        engine.flatten(new ArrayList<>(List.of(outer, inner)));
+
+        assertEquals(outerCopy, outer);
+        assertEquals(innerCopy, inner);
+    }
+
+    @Test
+    void testFlatten_SortedAndShuffledInputGiveSameTimetable() {
+        List<Offer> sorted = List.of(
+                offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50"),
+                offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45"),
+                offer(3L, at(15, 0, 0, 0), at(15, 11, 0, 0), 1, "30.50"));
+        List<Offer> shuffled = List.of(sorted.get(2), sorted.get(0), sorted.get(1));
+
+        assertTrue(SweepLineTimetableEngine.isSortedByStartDate(sorted));
+        assertFalse(SweepLineTimetableEngine.isSortedByStartDate(shuffled));
+        assertEquals(engine.flatten(sorted), engine.flatten(shuffled));
+    }
+
+    @Test
+    void testFlatten_ReusedWorkspace_KeepsEveryTimetableIndependent() {
+        List<Offer> large = new ArrayList<>();
+        for (int day = 1; day <= 28; day++) {
+            large.add(offer(day, at(day, 0, 0, 0), at(day, 23, 59, 59), day % 3, "1" + day + ".00"));
+        }
+        List<Offer> small = List.of(
+                offer(100L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50"),
+                offer(101L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45"));
+
+        List<Offer> first = engine.flatten(large);
+        List<Offer> second = engine.flatten(small);
+
+        // The small timetable reuses the columns of the large one, without reading past its offers
+        assertEquals(28, first.size());
+        assertEquals(3, second.size());
+        assertSegment(second.get(2), at(14, 18, 30, 1), at(30, 23, 59, 59), "35.50");
+        assertEquals(engine.flatten(large), first);
+    }
+
+    @Test
+    void testFlatten_WorkspacePoolSharedByThreads_KeepsEveryTimetableIndependent() throws Exception {
+        SweepLineTimetableEngine pooled = new SweepLineTimetableEngine(1);
+        List<Offer> offers = List.of(
+                offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50"),
+                offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45"));
+        List<Offer> expected = pooled.flatten(offers);
+
+        List<Future<List<Offer>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> pooled.flatten(offers)));
+            }
+        }
+
+        // More threads than pooled workspaces: the ones that find it taken allocate their own
+        for (Future<List<Offer>> result : results) {
+            assertEquals(expected, result.get());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hiberus.hiring.domain.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+/**
+ * Offers and instants shared by the tests of the timetable engines.
+ */
+final class TimetableFixtures {
+
+    private TimetableFixtures() {
+    }
+
+    static Offer offer(long id, LocalDateTime start, LocalDateTime end, int priority, String price) {
+        return Offer.builder()
+                .offerId(id)
+                .startDate(start)
+                .endDate(end)
+                .priority(priority)
+                .price(new BigDecimal(price))
+                .build();
+    }
+
+    static LocalDateTime at(int day, int hour, int minute, int second) {
+        return LocalDateTime.of(2020, 6, day, hour, minute, second);
+    }
+}
@@ -0,0 +1,76 @@
+package com.hiberus.hiring.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static com.hiberus.hiring.domain.service.TimetableFixtures.at;
+import static com.hiberus.hiring.domain.service.TimetableFixtures.offer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+
+class TimetableSweepTest {
+
+    private TimetableSweep sweep;
+    private List<Offer> emitted;
+
+    @BeforeEach
+    void setUp() {
+        sweep = new TimetableSweep();
+        emitted = new ArrayList<>();
+    }
+
+    @Test
+    void testAccept_EmitsSegmentsOnceALaterOfferProvesThemFinal() {
+        // Arrange
+        Offer first = offer(1L, at(14, 0, 0, 0), at(14, 9, 59, 59), 0, "35.50");
+        Offer second = offer(2L, at(14, 12, 0, 0), at(14, 13, 59, 59), 0, "25.45");
+        Offer third = offer(3L, at(14, 15, 0, 0), at(14, 16, 0, 0), 0, "30.50");
+
+        // Act
+        sweep.accept(first, emitted::add);
+        sweep.accept(second, emitted::add);
+        List<Offer> beforeThird = List.copyOf(emitted);
+        sweep.accept(third, emitted::add);
+        List<Offer> beforeFinish = List.copyOf(emitted);
+        sweep.finish(emitted::add);
+
+        // Assert
+        assertTrue(beforeThird.isEmpty(), "The last segment is held back until the next one is known");
+        assertEquals(1, beforeFinish.size());
+        assertEquals(first.getStartDate(), beforeFinish.get(0).getStartDate());
+        assertEquals(3, emitted.size());
+    }
+
+    @Test
+    void testAccept_MatchesBatchEngine() {
+        // Arrange
+        List<Offer> offers = List.of(
+                offer(1L, at(14, 0, 0, 0), at(30, 23, 59, 59), 0, "35.50"),
+                offer(2L, at(14, 15, 0, 0), at(14, 18, 30, 0), 1, "25.45"),
+                offer(3L, at(14, 15, 0, 0), at(14, 16, 0, 0), 1, "99.99"),
+                offer(4L, at(15, 0, 0, 0), at(15, 11, 0, 0), 1, "30.50"),
+                offer(5L, at(15, 16, 0, 0), at(30, 23, 59, 59), 1, "38.95"));
+
+        // Act
+        offers.forEach(offer -> sweep.accept(offer, emitted::add));
+        sweep.finish(emitted::add);
+
+        // Assert
+        assertEquals(new SweepLineTimetableEngine().flatten(offers), emitted);
+    }
+
+    @Test
+    void testAccept_RejectsOffersOutOfStartOrder() {
+        sweep.accept(offer(1L, at(15, 0, 0, 0), at(15, 11, 0, 0), 0, "35.50"), emitted::add);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> sweep.accept(offer(2L, at(14, 0, 0, 0), at(14, 11, 0, 0), 0, "25.45"), emitted::add));
+    }
+}
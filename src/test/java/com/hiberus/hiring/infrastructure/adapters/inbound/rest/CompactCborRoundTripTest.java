@@ -0,0 +1,124 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactOfferDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactOfferPageDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactSegmentDto;
+
+/**
+ * Round trips of the compact DTOs through CBOR, checking their layout against swagger/pricing.cddl.
+ */
+class CompactCborRoundTripTest {
+
+    private final CBORMapper mapper = new CBORMapper();
+
+    private Offer sampleOffer;
+
+    @BeforeEach
+    void setUp() {
+        sampleOffer = Offer.builder()
+                .offerId(1L)
+                .brandId(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .priceList(1)
+                .partnumber("0001002")
+                .priority(0)
+                .price(new BigDecimal("35.50"))
+                .curr("EUR")
+                .build();
+    }
+
+    @Test
+    void testSegment_isAnArrayOfIntegers() throws Exception {
+        // Act
+        byte[] encoded = mapper.writeValueAsBytes(new CompactSegmentDto(sampleOffer));
+        JsonNode tree = mapper.readTree(encoded);
+        Offer decoded = mapper.readValue(encoded, CompactSegmentDto.class).toDomain();
+
+        // Assert
+        assertTrue(tree.isArray());
+        assertEquals(3, tree.size());
+        tree.forEach(field -> assertTrue(field.isIntegralNumber(), field.toString()));
+        assertEquals(1592092800L, tree.get(0).longValue());
+        assertEquals(3550L, tree.get(2).longValue());
+        assertEquals(sampleOffer.getStartDate(), decoded.getStartDate());
+        assertEquals(sampleOffer.getEndDate(), decoded.getEndDate());
+        assertEquals(sampleOffer.getPrice(), decoded.getPrice());
+    }
+
+    @Test
+    void testOffer_roundTripsEveryField() throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(new CompactOfferDto(sampleOffer));
+
+        JsonNode tree = mapper.readTree(encoded);
+        assertEquals(9, tree.size());
+        assertEquals("0001002", tree.get(5).textValue());
+        assertEquals(3550L, tree.get(7).longValue());
+        assertEquals(sampleOffer, mapper.readValue(encoded, CompactOfferDto.class).toDomain());
+    }
+
+    @Test
+    void testOffer_wholePricesKeepTwoDecimals() throws Exception {
+        Offer whole = sampleOffer.toBuilder().price(new BigDecimal("30")).build();
+
+        byte[] encoded = mapper.writeValueAsBytes(new CompactOfferDto(whole));
+
+        assertEquals(3000L, mapper.readTree(encoded).get(7).longValue());
+        assertEquals(new BigDecimal("30.00"), mapper.readValue(encoded, CompactOfferDto.class).toDomain().getPrice());
+    }
+
+    @Test
+    void testOffer_rejectsPricesBeyondTwoDecimals() {
+        Offer precise = sampleOffer.toBuilder().price(new BigDecimal("35.505")).build();
+        assertThrows(ArithmeticException.class, () -> new CompactOfferDto(precise));
+    }
+
+    @Test
+    void testOfferPage_roundTripsTheCursor() throws Exception {
+        // Arrange
+        Offer next = sampleOffer.toBuilder().offerId(2L).priority(1).price(new BigDecimal("25.45")).build();
+        CompactOfferPageDto page = new CompactOfferPageDto(new OfferPage(List.of(sampleOffer, next), 2L));
+        CompactOfferPageDto last = new CompactOfferPageDto(new OfferPage(List.of(), null));
+
+        // Act
+        CompactOfferPageDto decoded = mapper.readValue(mapper.writeValueAsBytes(page), CompactOfferPageDto.class);
+        JsonNode lastTree = mapper.readTree(mapper.writeValueAsBytes(last));
+
+        // Assert
+        assertEquals(page, decoded);
+        assertEquals(List.of(sampleOffer, next), decoded.getOffers().stream().map(CompactOfferDto::toDomain).toList());
+        assertEquals(2, lastTree.size());
+        assertTrue(lastTree.get(1).isNull());
+    }
+
+    @Test
+    void testPrices_areKeyedByPartnumber() throws Exception {
+        Map<String, CompactSegmentDto> prices = new LinkedHashMap<>();
+        prices.put("0001002", new CompactSegmentDto(sampleOffer));
+        prices.put("0001003", new CompactSegmentDto(1592092800L, 1592179199L, 1L));
+
+        byte[] encoded = mapper.writeValueAsBytes(prices);
+
+        assertTrue(mapper.readTree(encoded).isObject());
+        assertEquals(prices, mapper.readValue(encoded, new TypeReference<Map<String, CompactSegmentDto>>() {
+        }));
+    }
+}
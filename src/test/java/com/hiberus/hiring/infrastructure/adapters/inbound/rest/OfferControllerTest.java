@@ -1,28 +1,70 @@
 package com.hiberus.hiring.infrastructure.adapters.inbound.rest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hiberus.hiring.application.port.in.OfferCompactionUseCase;
 import com.hiberus.hiring.application.port.in.OfferUseCase;
+import com.hiberus.hiring.application.port.in.PricingSnapshotUseCase;
+import com.hiberus.hiring.application.port.in.TimetableChangeFeedUseCase;
+import com.hiberus.hiring.domain.exception.BulkIngestionException;
+import com.hiberus.hiring.domain.model.BulkIngestionResult;
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+import com.hiberus.hiring.domain.model.VersionedTimetable;
 import com.hiberus.hiring.infrastructure.adapters.inbound.controller.OfferController;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.BulkIngestionResultDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactOfferDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactOfferPageDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.CompactSegmentDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferByPartNumberDto;
 import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.OfferPageDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.PriceBatchRequestDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.PricingSnapshotDto;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.dto.TimetableChangeDto;
 
 @ExtendWith(MockitoExtension.class)	
 class OfferControllerTest {
@@ -30,6 +72,18 @@ class OfferControllerTest {
 	@Mock
     private OfferUseCase offerUseCase;
 
+    @Mock
+    private PricingSnapshotUseCase pricingSnapshotUseCase;
+
+    @Mock
+    private TimetableChangeFeedUseCase timetableChangeFeedUseCase;
+
+    @Mock
+    private OfferCompactionUseCase offerCompactionUseCase;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private OfferController controller;
 
@@ -57,12 +111,100 @@ class OfferControllerTest {
         verify(offerUseCase, times(1)).createOffer(any(Offer.class));
     }
 
+    private static final String OFFER_JSON = "{\"brandId\":1,\"startDate\":\"2020-06-14T00:00:00\","
+            + "\"endDate\":\"2020-06-14T14:59:59\",\"priceList\":1,\"partnumber\":\"0001002\","
+            + "\"priority\":0,\"price\":35.50,\"curr\":\"EUR\"}";
+
+    private List<Offer> stubIngestion() {
+        List<Offer> received = new ArrayList<>();
+        when(offerUseCase.ingestOffers(any())).thenAnswer(invocation -> {
+            Iterator<Offer> offers = invocation.getArgument(0);
+            offers.forEachRemaining(received::add);
+            return new BulkIngestionResult(received.size(), 0);
+        });
+        return received;
+    }
+
+    @Test
+    void testCreateOffersInBulk_jsonArray() {
+        List<Offer> received = stubIngestion();
+        String body = "[" + OFFER_JSON + "," + OFFER_JSON + "]";
+
+        BulkIngestionResultDto result = controller.createOffersInBulk(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))).getBody();
+
+        assertEquals(2, result.getAccepted());
+        assertEquals("0001002", received.get(0).getPartnumber());
+        assertEquals(LocalDateTime.of(2020, 6, 14, 14, 59, 59), received.get(1).getEndDate());
+    }
+
+    @Test
+    void testCreateOffersInBulk_ndjson() {
+        List<Offer> received = stubIngestion();
+        String body = OFFER_JSON + "\n" + OFFER_JSON + "\n" + OFFER_JSON + "\n";
+
+        BulkIngestionResultDto result = controller.createOffersInBulk(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))).getBody();
+
+        assertEquals(3, result.getAccepted());
+        assertEquals(3, received.size());
+    }
+
+    @Test
+    void testCreateOffersInBulk_malformed() {
+        when(offerUseCase.ingestOffers(any())).thenAnswer(invocation -> {
+            Iterator<Offer> offers = invocation.getArgument(0);
+            RuntimeException error = assertThrows(ResponseStatusException.class, () -> offers.forEachRemaining(offer -> { }));
+            throw new BulkIngestionException(new BulkIngestionResult(1, 0), error);
+        });
+        String body = OFFER_JSON + "\n{\"brandId\": oops}\n";
+
+        ResponseEntity<BulkIngestionResultDto> response = controller.createOffersInBulk(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // The offers read before the malformed one are counted
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(1, response.getBody().getAccepted());
+        assertEquals("Malformed offer in stream", response.getBody().getError());
+    }
+
     @Test
     void testDeleteAllOffers() {
         controller.deleteAllOffers();
         verify(offerUseCase, times(1)).deleteAllOffers();
     }
 
+    @Test
+    void testDeleteOffersByBrand() {
+        when(offerUseCase.deleteOffersByBrand(1)).thenReturn(3L);
+
+        assertEquals(3L, controller.deleteOffersByBrand(1).getDeleted());
+    }
+
+    @Test
+    void testDeleteOffersByPartNumber() {
+        when(offerUseCase.deleteOffersByBrandAndPartNumber(1, "0001002")).thenReturn(2L);
+
+        assertEquals(2L, controller.deleteOffersByPartNumber(1, "0001002").getDeleted());
+    }
+
+    @Test
+    void testPurgeExpiredOffers() {
+        LocalDateTime before = LocalDateTime.of(2020, 6, 14, 0, 0);
+        when(offerUseCase.purgeOffersEndingBefore(before)).thenReturn(7L);
+
+        assertEquals(7L, controller.purgeExpiredOffers(before).getDeleted());
+    }
+
+    @Test
+    void testPurgeExpiredOffers_defaultsToNow() {
+        LocalDateTime start = LocalDateTime.now();
+
+        controller.purgeExpiredOffers(null);
+
+        verify(offerUseCase).purgeOffersEndingBefore(argThat(before -> !before.isBefore(start)));
+    }
+
     @Test
     void testDeleteOfferById() {
         controller.deleteOfferById(10L);
@@ -77,18 +219,319 @@ class OfferControllerTest {
         assertEquals(sampleOffer.getOfferId(), result.get(0).getOfferId());
     }
 
+    @Test
+    void testGetAllOffersCompact() {
+        when(offerUseCase.getAllOffers()).thenReturn(List.of(sampleOffer));
+        List<CompactOfferDto> result = controller.getAllOffersCompact();
+        assertEquals(List.of(new CompactOfferDto(sampleOffer)), result);
+        assertEquals(3550L, result.get(0).getPriceMinorUnits());
+    }
+
+    @Test
+    void testStreamAllOffers_writesOneOfferPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Offer> consumer = invocation.getArgument(0);
+            consumer.accept(sampleOffer);
+            consumer.accept(sampleOffer);
+            return null;
+        }).when(offerUseCase).streamAllOffers(any());
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamAllOffers();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(sampleOffer.getOfferId(), objectMapper.readValue(lines[1], OfferDto.class).getOfferId());
+    }
+
     @Test
     void testGetOfferById_found() {
-        when(offerUseCase.getOfferById(1L)).thenReturn(sampleOffer);
-        ResponseEntity<OfferDto> response = controller.getOfferById(1L);
+        when(offerUseCase.getVersionedOffer(1L)).thenReturn(new VersionedOffer(42L, sampleOffer));
+        ResponseEntity<OfferDto> response = controller.getOfferById(1L, new HttpHeaders());
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(1L, response.getBody().getOfferId());
+        assertEquals("\"42.1\"", response.getHeaders().getETag());
+        // Ended long ago: cached for the configured maximum
+        assertEquals("max-age=60", response.getHeaders().getCacheControl());
     }
 
     @Test
     void testGetOfferById_notFound() {
-        when(offerUseCase.getOfferById(999L)).thenReturn(null);
-        ResponseEntity<OfferDto> response = controller.getOfferById(999L);
+        when(offerUseCase.getVersionedOffer(999L)).thenReturn(null);
+        ResponseEntity<OfferDto> response = controller.getOfferById(999L, new HttpHeaders());
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetOfferById_notModifiedWhileTheCurrentTagMatches() {
+        // Arrange: a first read tags the offer, then its product does not change
+        when(offerUseCase.getVersionedOffer(1L)).thenReturn(new VersionedOffer(42L, sampleOffer));
+        String etag = controller.getOfferById(1L, new HttpHeaders()).getHeaders().getETag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("W/" + etag);
+
+        // Act
+        ResponseEntity<OfferDto> response = controller.getOfferById(1L, headers);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals("max-age=60", response.getHeaders().getCacheControl());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void testGetOfferById_modifiedOnceItsProductChanged() {
+        when(offerUseCase.getVersionedOffer(1L)).thenReturn(new VersionedOffer(42L, sampleOffer),
+                new VersionedOffer(43L, sampleOffer));
+        String etag = controller.getOfferById(1L, new HttpHeaders()).getHeaders().getETag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+
+        ResponseEntity<OfferDto> response = controller.getOfferById(1L, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"43.1\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetOfferById_modifiedWhenTheTagIsAheadOfTheCurrentVersion() {
+        // A tag is only honoured for the exact version it holds, whichever instance issued it
+        when(offerUseCase.getVersionedOffer(1L)).thenReturn(new VersionedOffer(50L, sampleOffer),
+                new VersionedOffer(42L, sampleOffer));
+        String etag = controller.getOfferById(1L, new HttpHeaders()).getHeaders().getETag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+
+        ResponseEntity<OfferDto> response = controller.getOfferById(1L, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"42.1\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetOfferById_modifiedWhenTheTagNamesAnotherProduct() {
+        // A tag in the former format, naming the offer under another product at the current version
+        when(offerUseCase.getVersionedOffer(1L)).thenReturn(new VersionedOffer(42L, sampleOffer));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"42.1.2.1592128800.1592157600.MDAwMTAwMg\"");
+
+        ResponseEntity<OfferDto> response = controller.getOfferById(1L, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(offerUseCase, never()).getTimetableVersion(any(), any());
+    }
+
+    @Test
+    void testGetOfferByPartNumber_cachedUntilNextSegmentBoundary() {
+        LocalDateTime nextChange = LocalDateTime.now().plusSeconds(30);
+        when(offerUseCase.getTimetableVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, null));
+        when(offerUseCase.getVersionedTimetable(eq(1), eq("0001002"), any(LocalDateTime.class)))
+                .thenReturn(new VersionedTimetable(new TimetableVersion(7L, nextChange), List.of(sampleOffer)));
+
+        ResponseEntity<List<OfferByPartNumberDto>> response = controller.getOfferByPartNumber(1, "0001002", new HttpHeaders());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        long maxAge = Long.parseLong(response.getHeaders().getCacheControl().substring("max-age=".length()));
+        assertTrue(maxAge >= 28 && maxAge <= 30, "max-age " + maxAge);
+    }
+
+    @Test
+    void testGetOfferByPartNumber_notModifiedWithoutReadingTheTimetable() {
+        when(offerUseCase.getTimetableVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, LocalDateTime.MAX));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"7\"");
+
+        ResponseEntity<List<OfferByPartNumberDto>> response = controller.getOfferByPartNumber(1, "0001002", headers);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"7\"", response.getHeaders().getETag());
+        assertEquals("max-age=60", response.getHeaders().getCacheControl());
+        verify(offerUseCase, never()).getVersionedTimetable(any(), any(), any());
+    }
+
+    @Test
+    void testGetOfferByPartNumber_readsTheTimetableWhenStale() {
+        // Arrange: the client holds an older version, then a version without a known next boundary
+        when(offerUseCase.getTimetableVersion(1, "0001002"))
+                .thenReturn(new TimetableVersion(8L, LocalDateTime.MAX), new TimetableVersion(7L, null));
+        when(offerUseCase.getVersionedTimetable(eq(1), eq("0001002"), any(LocalDateTime.class)))
+                .thenReturn(new VersionedTimetable(new TimetableVersion(8L, LocalDateTime.MAX), List.of(sampleOffer)));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"7\"");
+
+        // Act
+        ResponseEntity<List<OfferByPartNumberDto>> modified = controller.getOfferByPartNumber(1, "0001002", headers);
+        ResponseEntity<List<OfferByPartNumberDto>> unknown = controller.getOfferByPartNumber(1, "0001002", headers);
+
+        // Assert
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertEquals("\"8\"", modified.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, unknown.getStatusCode());
+        verify(offerUseCase, times(2)).getVersionedTimetable(eq(1), eq("0001002"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testGetOfferByPartNumberCompact_hasItsOwnTag() {
+        // Arrange
+        when(offerUseCase.getTimetableVersion(1, "0001002")).thenReturn(new TimetableVersion(7L, LocalDateTime.MAX));
+        when(offerUseCase.getVersionedTimetable(eq(1), eq("0001002"), any(LocalDateTime.class)))
+                .thenReturn(new VersionedTimetable(new TimetableVersion(7L, LocalDateTime.MAX), List.of(sampleOffer)));
+        HttpHeaders jsonTag = new HttpHeaders();
+        jsonTag.setIfNoneMatch("\"7\"");
+        HttpHeaders compactTag = new HttpHeaders();
+        compactTag.setIfNoneMatch("\"7-cbor\"");
+
+        // Act
+        ResponseEntity<List<CompactSegmentDto>> modified = controller.getOfferByPartNumberCompact(1, "0001002", jsonTag);
+        ResponseEntity<List<CompactSegmentDto>> notModified = controller.getOfferByPartNumberCompact(1, "0001002", compactTag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, modified.getStatusCode());
+        assertEquals("\"7-cbor\"", modified.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), modified.getHeaders().getVary());
+        assertEquals(List.of(new CompactSegmentDto(1592092800L, 1592146799L, 3550L)), modified.getBody());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT), notModified.getHeaders().getVary());
+        verify(offerUseCase, times(1)).getVersionedTimetable(eq(1), eq("0001002"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testGetPriceAt_found() {
+        LocalDateTime at = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(offerUseCase.getPriceAt(1, "0001002", at)).thenReturn(sampleOffer);
+        ResponseEntity<OfferByPartNumberDto> response = controller.getPriceAt(1, "0001002", at);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(sampleOffer.getPrice(), response.getBody().getPrice());
+    }
+
+    @Test
+    void testGetPricesAt() {
+        LocalDateTime at = LocalDateTime.of(2020, 6, 14, 10, 0);
+        List<String> partnumbers = List.of("0001002", "0009999");
+        when(offerUseCase.getPricesAt(1, partnumbers, at)).thenReturn(Map.of("0001002", sampleOffer));
+        Map<String, OfferByPartNumberDto> result = controller.getPricesAt(1, new PriceBatchRequestDto(at, partnumbers));
+        assertEquals(1, result.size());
+        assertEquals(sampleOffer.getPrice(), result.get("0001002").getPrice());
+    }
+
+    @Test
+    void testGetPricesAtCompact() {
+        LocalDateTime at = LocalDateTime.of(2020, 6, 14, 10, 0);
+        List<String> partnumbers = List.of("0001002", "0009999");
+        when(offerUseCase.getPricesAt(1, partnumbers, at)).thenReturn(Map.of("0001002", sampleOffer));
+        Map<String, CompactSegmentDto> result = controller.getPricesAtCompact(1, new PriceBatchRequestDto(at, partnumbers));
+        assertEquals(Map.of("0001002", new CompactSegmentDto(sampleOffer)), result);
+    }
+
+    @Test
+    void testGetPriceAt_notFound() {
+        ResponseEntity<OfferByPartNumberDto> response = controller.getPriceAt(1, "0001002", null);
+        verify(offerUseCase, times(1)).getPriceAt(eq(1), eq("0001002"), any(LocalDateTime.class));
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testGetOffersPage() {
+        LocalDateTime at = LocalDateTime.of(2020, 6, 14, 10, 0);
+        OfferFilter filter = OfferFilter.builder().brandId(1).activeFrom(at).activeUntil(at).build();
+        when(offerUseCase.getOffersPage(filter, 10L, 50)).thenReturn(new OfferPage(List.of(sampleOffer), 1L));
+        OfferPageDto page = controller.getOffersPage(10L, 50, 1, null, at, at);
+        assertEquals(1, page.getOffers().size());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    void testGetOffersPageCompact() {
+        OfferFilter filter = OfferFilter.builder().partnumber("0001002").build();
+        when(offerUseCase.getOffersPage(filter, null, 100)).thenReturn(new OfferPage(List.of(sampleOffer), null));
+        CompactOfferPageDto page = controller.getOffersPageCompact(null, 100, null, "0001002", null, null);
+        assertEquals(List.of(new CompactOfferDto(sampleOffer)), page.getOffers());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testRefreshSnapshot() {
+        LocalDateTime loadedAt = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(pricingSnapshotUseCase.isEnabled()).thenReturn(true);
+        when(pricingSnapshotUseCase.refreshSnapshot())
+                .thenReturn(PricingSnapshot.builder().addOffer(sampleOffer).build(loadedAt));
+        PricingSnapshotDto snapshot = controller.refreshSnapshot();
+        assertEquals(1, snapshot.getOffers());
+        assertEquals(loadedAt, snapshot.getLoadedAt());
+    }
+
+    @Test
+    void testRefreshSnapshot_disabled() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> controller.refreshSnapshot());
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+    }
+
+    @Test
+    void testGetOfferHistory() {
+        when(offerCompactionUseCase.getOfferHistory(1, "0001002", null, 100))
+                .thenReturn(new OfferPage(List.of(sampleOffer), null));
+
+        OfferPageDto page = controller.getOfferHistory(1, "0001002", null, 100);
+
+        assertEquals(1, page.getOffers().size());
+        assertEquals(1L, page.getOffers().get(0).getOfferId());
+    }
+
+    @Test
+    void testCompactExpiredOffers() {
+        when(offerCompactionUseCase.isEnabled()).thenReturn(true);
+        when(offerCompactionUseCase.compactExpiredOffers()).thenReturn(4L);
+
+        assertEquals(4L, controller.compactExpiredOffers().getArchived());
+    }
+
+    @Test
+    void testCompactExpiredOffers_conflictWhenDisabled() {
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, controller::compactExpiredOffers);
+
+        assertEquals(HttpStatus.CONFLICT, error.getStatusCode());
+    }
+
+    @Test
+    void testGetTimetableChanges() {
+        LocalDateTime changedAt = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(timetableChangeFeedUseCase.getChangesAfter(5L, 10))
+                .thenReturn(List.of(new TimetableChange(6L, 1, "0001002", changedAt)));
+
+        List<TimetableChangeDto> changes = controller.getTimetableChanges(5L, 10);
+
+        assertEquals(List.of(new TimetableChangeDto(6L, 1, "0001002", changedAt)), changes);
+    }
+
+    @Test
+    void testStreamTimetableChanges_resumesFromLastEventId() {
+        when(timetableChangeFeedUseCase.subscribe(eq(7L), any())).thenReturn(() -> { });
+
+        SseEmitter emitter = controller.streamTimetableChanges(0L, 7L);
+
+        verify(timetableChangeFeedUseCase, never()).subscribe(eq(0L), any());
+        assertEquals(Long.valueOf(30 * 60 * 1000L), emitter.getTimeout());
+    }
+
+    @Test
+    void testStreamTimetableChanges_failsToSendOnceCompleted() {
+        List<Consumer<TimetableChange>> subscribers = new ArrayList<>();
+        when(timetableChangeFeedUseCase.subscribe(eq(5L), any())).thenAnswer(invocation -> {
+            subscribers.add(invocation.getArgument(1));
+            return (Runnable) () -> { };
+        });
+
+        SseEmitter emitter = controller.streamTimetableChanges(5L, null);
+        emitter.complete();
+
+        // Which unsubscribes it from the feed
+        TimetableChange change = new TimetableChange(6L, 1, "0001002", LocalDateTime.of(2020, 6, 14, 10, 0));
+        assertThrows(IllegalStateException.class, () -> subscribers.get(0).accept(change));
     }
 }
@@ -0,0 +1,86 @@
+package com.hiberus.hiring.infrastructure.adapters.inbound.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.hiberus.hiring.application.port.in.ReactiveOfferUseCase;
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.infrastructure.adapters.inbound.controller.ReactiveOfferController;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOfferControllerTest {
+
+	@Mock
+    private ReactiveOfferUseCase reactiveOfferUseCase;
+
+    private WebTestClient client;
+
+    private Offer sampleOffer;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToController(new ReactiveOfferController(reactiveOfferUseCase)).build();
+        sampleOffer = Offer.builder()
+                .offerId(1L)
+                .brandId(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .priceList(1)
+                .partnumber("0001002")
+                .priority(0)
+                .price(new BigDecimal("35.50"))
+                .curr("EUR")
+                .build();
+    }
+
+    @Test
+    void testGetOfferByPartNumber_StreamsNdjson() {
+        when(reactiveOfferUseCase.getTimetableForBrandAndPartNumber(1, "0001002"))
+                .thenReturn(Flux.just(sampleOffer, sampleOffer));
+
+        client.get().uri("/product-pricing/api/v1/brand/1/partnumber/0001002/offer")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertEquals(2, body.lines().count()));
+    }
+
+    @Test
+    void testGetPriceAt_NoCoveringOffer_Returns404() {
+        when(reactiveOfferUseCase.getPriceAt(eq(1), eq("0001002"), any())).thenReturn(Mono.empty());
+
+        client.get().uri("/product-pricing/api/v1/brand/1/partnumber/0001002/price?at=2020-06-14T10:00:00")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testGetOfferById_Found() {
+        when(reactiveOfferUseCase.getOfferById(1L)).thenReturn(Mono.just(sampleOffer));
+
+        client.get().uri("/product-pricing/api/v1/offer/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.offerId").isEqualTo(1)
+                .jsonPath("$.partnumber").isEqualTo("0001002");
+    }
+}
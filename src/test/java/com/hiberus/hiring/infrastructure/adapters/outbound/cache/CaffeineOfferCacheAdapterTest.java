@@ -0,0 +1,38 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.VersionedOffer;
+
+class CaffeineOfferCacheAdapterTest {
+
+    private final CaffeineOfferCacheAdapter cache = new CaffeineOfferCacheAdapter(100);
+
+    private final Offer sampleOffer = Offer.builder()
+            .offerId(1L)
+            .brandId(1)
+            .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+            .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+            .partnumber("0001002")
+            .priority(0)
+            .price(new BigDecimal("35.50"))
+            .build();
+
+    @Test
+    void testPutOffer_replacesTheOfferCachedUnderItsId() {
+        assertNull(cache.getOffer(1L));
+
+        cache.putOffer(new VersionedOffer(7L, sampleOffer));
+        cache.putOffer(new VersionedOffer(8L, sampleOffer));
+
+        assertEquals(new VersionedOffer(8L, sampleOffer), cache.getOffer(1L));
+        assertNull(cache.getOffer(2L));
+    }
+}
@@ -0,0 +1,234 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.Timetable;
+import com.hiberus.hiring.domain.service.IncrementalTimetable;
+
+class CaffeineTimetableCacheAdapterTest {
+
+    private CaffeineTimetableCacheAdapter cache;
+    private AtomicInteger loads;
+    private Offer sampleOffer;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineTimetableCacheAdapter(100, Duration.ofMinutes(5), 100_000);
+        loads = new AtomicInteger();
+        sampleOffer = Offer.builder()
+                .offerId(1L)
+                .brandId(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .partnumber("0001002")
+                .priority(0)
+                .price(new BigDecimal("35.50"))
+                .build();
+    }
+
+    private Timetable load() {
+        loads.incrementAndGet();
+        return Timetable.of(List.of(sampleOffer));
+    }
+
+    @Test
+    void testGetTimetable_loadsOncePerKey() {
+        Timetable first = cache.getTimetable(1, "0001002", this::load);
+        Timetable cached = cache.getTimetable(1, "0001002", this::load);
+
+        assertEquals(1, loads.get());
+        assertSame(first, cached);
+        assertEquals(List.of(sampleOffer), cached.getSegments());
+    }
+
+    @Test
+    void testGetTimetable_versionedReadsReloadOtherVersions() {
+        // Loaded without a version, by a price lookup
+        cache.getTimetable(1, "0001002", this::load);
+
+        Timetable first = cache.getTimetable(1, "0001002", 7L, this::load);
+        Timetable same = cache.getTimetable(1, "0001002", 7L, this::load);
+        // Another instance wrote to the product: the version changed, not the cache
+        Timetable next = cache.getTimetable(1, "0001002", 8L, this::load);
+
+        assertEquals(3, loads.get());
+        assertSame(first, same);
+        assertNotSame(first, next);
+        assertSame(next, cache.getTimetable(1, "0001002", this::load));
+    }
+
+    @Test
+    void testGetMaintainedTimetable_updatesMoveTheVersionLoadedToTheVersionWritten() {
+        cache.getMaintainedTimetable(1, "0001002", 7L, this::loadMaintained);
+
+        cache.update(1, "0001002", 8L, timetable -> timetable.remove(1L));
+
+        assertTrue(cache.getMaintainedTimetable(1, "0001002", 8L, this::loadMaintained).getSegments().isEmpty());
+        assertEquals(1, loads.get(), "The updated timetable is served at the version written");
+    }
+
+    @Test
+    void testGetMaintainedTimetable_updatesKeepAVersionMissingOtherWrites() {
+        cache.getMaintainedTimetable(1, "0001002", 7L, this::loadMaintained);
+
+        // Version 8 was written by another instance, this cache only sees the write of version 9
+        cache.update(1, "0001002", 9L, timetable -> timetable.remove(1L));
+
+        assertTrue(cache.getMaintainedTimetable(1, "0001002", 7L, this::loadMaintained).getSegments().isEmpty());
+        assertEquals(List.of(sampleOffer), cache.getMaintainedTimetable(1, "0001002", 9L, this::loadMaintained).getSegments());
+        assertEquals(2, loads.get());
+    }
+
+    private Map<String, Timetable> loadAll(Set<String> partNumbers) {
+        loads.addAndGet(partNumbers.size());
+        return partNumbers.stream().collect(Collectors.toMap(p -> p, p -> Timetable.of(List.of(sampleOffer))));
+    }
+
+    @Test
+    void testGetTimetables_onlyLoadsMisses() {
+        cache.getTimetable(1, "0001002", this::load);
+
+        Map<String, Timetable> result = cache.getTimetables(1, List.of("0001002", "0001003"), missing -> {
+            assertEquals(Set.of("0001003"), missing);
+            return loadAll(missing);
+        });
+        cache.getTimetables(1, List.of("0001002", "0001003"), this::loadAll);
+
+        assertEquals(2, result.size());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGetTimetables_discardsEntriesLoadedDuringAnInvalidation() {
+        cache.getTimetables(1, List.of("0001002"), missing -> {
+            // A write invalidates the product while its stale offers are being loaded
+            cache.evict(1, "0001002");
+            return loadAll(missing);
+        });
+        cache.getTimetable(1, "0001002", this::load);
+
+        assertEquals(2, loads.get(), "The stale bulk-loaded entry must not be served");
+    }
+
+    @Test
+    void testEvict_onlyAffectsGivenKey() {
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getTimetable(1, "0001003", this::load);
+
+        cache.evict(1, "0001002");
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getTimetable(1, "0001003", this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testEvictBrand_onlyAffectsGivenBrand() {
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getTimetable(1, "0001003", this::load);
+        cache.getTimetable(2, "0001002", this::load);
+
+        cache.evictBrand(1);
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getTimetable(1, "0001003", this::load);
+        cache.getTimetable(2, "0001002", this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testEvictAll() {
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getTimetable(2, "0001002", this::load);
+
+        cache.evictAll();
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getTimetable(2, "0001002", this::load);
+
+        assertEquals(4, loads.get());
+    }
+
+    private IncrementalTimetable loadMaintained() {
+        loads.incrementAndGet();
+        return IncrementalTimetable.of(List.of(sampleOffer));
+    }
+
+    @Test
+    void testUpdate_appliesChangeToMaintainedTimetable() {
+        Timetable before = cache.getMaintainedTimetable(1, "0001002", this::loadMaintained);
+
+        cache.update(1, "0001002", 1L, timetable -> timetable.remove(1L));
+        Timetable after = cache.getMaintainedTimetable(1, "0001002", this::loadMaintained);
+
+        assertEquals(1, loads.get(), "The change is applied without reloading");
+        assertNotSame(before, after);
+        assertEquals(List.of(sampleOffer), before.getSegments());
+        assertTrue(after.getSegments().isEmpty());
+    }
+
+    @Test
+    void testUpdate_evictsWhenNotMaintainedOrRejected() {
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getMaintainedTimetable(1, "0001003", this::loadMaintained);
+
+        cache.update(1, "0001002", 1L, timetable -> true);
+        cache.update(1, "0001003", 1L, timetable -> false);
+        cache.update(1, "0001004", 1L, timetable -> true);
+        cache.getTimetable(1, "0001002", this::load);
+        cache.getMaintainedTimetable(1, "0001003", this::loadMaintained);
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testUpdate_dropsTheIncrementalTimetableOverTheStackBound() {
+        // sampleOffer covers a single cell: one stack entry, then two once split by a second offer
+        cache = new CaffeineTimetableCacheAdapter(100, Duration.ofMinutes(5), 1);
+        Offer inner = sampleOffer.toBuilder().offerId(2L).priority(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 10, 0)).endDate(LocalDateTime.of(2020, 6, 14, 11, 0)).build();
+        cache.getMaintainedTimetable(1, "0001002", this::loadMaintained);
+
+        cache.update(1, "0001002", 1L, timetable -> {
+            timetable.insert(inner);
+            return true;
+        });
+        Timetable updated = cache.getMaintainedTimetable(1, "0001002", this::loadMaintained);
+        cache.update(1, "0001002", 2L, timetable -> timetable.remove(2L));
+        cache.getMaintainedTimetable(1, "0001002", this::loadMaintained);
+
+        assertEquals(3, updated.getSegments().size(), "Served once updated");
+        assertEquals(2, loads.get(), "Discarded by the next write");
+    }
+
+    @Test
+    void testGetMaintainedTimetables_onlyLoadsMisses() {
+        cache.getMaintainedTimetable(1, "0001002", this::loadMaintained);
+
+        Map<String, Timetable> result = cache.getMaintainedTimetables(1, List.of("0001002", "0001003"), missing -> {
+            assertEquals(Set.of("0001003"), missing);
+            loads.addAndGet(missing.size());
+            return missing.stream().collect(Collectors.toMap(p -> p, p -> IncrementalTimetable.of(List.of(sampleOffer))));
+        });
+        cache.update(1, "0001003", 1L, timetable -> timetable.remove(1L));
+
+        assertEquals(2, loads.get());
+        assertEquals(List.of(sampleOffer), result.get("0001003").getSegments());
+        assertTrue(cache.getMaintainedTimetable(1, "0001003", this::loadMaintained).getSegments().isEmpty());
+    }
+}
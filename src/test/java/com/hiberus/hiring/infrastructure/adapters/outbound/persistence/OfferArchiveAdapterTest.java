@@ -0,0 +1,85 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfferArchiveAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private OfferArchiveAdapter adapter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testArchiveOffersEndingBefore_movesOneChunkWithASingleStatement() throws Exception {
+        // Arrange
+        LocalDateTime before = LocalDateTime.of(2020, 6, 14, 0, 0);
+        LocalDateTime archivedAt = LocalDateTime.of(2020, 7, 1, 0, 0);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), eq(before), eq(500), eq(archivedAt)))
+                .thenAnswer(invocation -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getInt("brand_id")).thenReturn(1);
+                    when(rs.getString("partnumber")).thenReturn("0001002");
+                    return List.of(invocation.<RowMapper<TimetableKey>>getArgument(1).mapRow(rs, 0));
+                });
+
+        // Act
+        List<TimetableKey> archived = adapter.archiveOffersEndingBefore(before, 500, archivedAt);
+
+        // Assert
+        assertEquals(List.of(new TimetableKey(1, "0001002")), archived);
+        assertTrue(sql.getValue().startsWith("WITH moved AS (DELETE FROM offer"));
+        assertTrue(sql.getValue().contains("INSERT INTO offer_archive"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindArchivedOffers_returnsCursorWhenMoreRowsFollow() {
+        List<Offer> rows = LongStream.rangeClosed(6, 8)
+                .mapToObj(id -> Offer.builder().offerId(id).build())
+                .toList();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1), eq("0001002"), eq(5L), eq(3)))
+                .thenReturn(rows);
+
+        OfferPage page = adapter.findArchivedOffers(1, "0001002", 5L, 2);
+
+        assertEquals(2, page.getOffers().size());
+        assertEquals(7L, page.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindArchivedOffers_firstAndLastPage() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1), eq("0001002"), eq(0L), eq(101)))
+                .thenReturn(List.of(Offer.builder().offerId(1L).build()));
+
+        OfferPage page = adapter.findArchivedOffers(1, "0001002", null, 100);
+
+        assertEquals(1, page.getOffers().size());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -0,0 +1,136 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import com.hiberus.hiring.domain.model.TimetableChange;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfferChangeOutboxAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private OfferChangeOutboxAdapter adapter;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAppend_bindsNullKeysAsNull() throws Exception {
+        List<TimetableKey> keys = List.of(new TimetableKey(1, "0001002"), new TimetableKey(null, null));
+
+        adapter.append(keys);
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<TimetableKey>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO offer_change_outbox"), eq(keys), eq(2), setter.capture());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, keys.get(1));
+        verify(ps).setObject(1, null, Types.INTEGER);
+        verify(ps).setString(2, null);
+    }
+
+    @Test
+    void testAppend_nothingToAppend() {
+        adapter.append(List.of());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTakePending_deletesOldestSkippingLockedRecords() throws Exception {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(100))).thenAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject("brand_id", Integer.class)).thenReturn(1);
+            when(rs.getString("partnumber")).thenReturn("0001002");
+            return List.of(invocation.<RowMapper<TimetableKey>>getArgument(1).mapRow(rs, 0));
+        });
+
+        List<TimetableKey> keys = adapter.takePending(100);
+
+        assertEquals(List.of(new TimetableKey(1, "0001002")), keys);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(RowMapper.class), eq(100));
+        assertTrue(sql.getValue().contains("DELETE FROM offer_change_outbox"));
+        assertTrue(sql.getValue().contains("FOR UPDATE SKIP LOCKED"));
+        assertTrue(sql.getValue().endsWith("ORDER BY event_id"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPublishChanges_locksFeedBeforeInserting() {
+        List<TimetableKey> keys = List.of(new TimetableKey(1, "0001002"));
+        LocalDateTime changedAt = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+        adapter.publishChanges(keys, changedAt);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("LOCK TABLE timetable_change_feed IN EXCLUSIVE MODE");
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("INSERT INTO timetable_change_feed"), eq(keys), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void testPublishChanges_nothingToPublish() {
+        adapter.publishChanges(List.of(), LocalDateTime.now());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindChangesAfter() throws Exception {
+        LocalDateTime changedAt = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(jdbcTemplate.query(contains("change_offset > ?"), any(RowMapper.class), eq(5L), eq(10)))
+                .thenAnswer(invocation -> {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("change_offset")).thenReturn(6L);
+                    when(rs.getObject("brand_id", Integer.class)).thenReturn(null);
+                    when(rs.getString("partnumber")).thenReturn(null);
+                    when(rs.getObject("changed_at", LocalDateTime.class)).thenReturn(changedAt);
+                    return List.of(invocation.<RowMapper<TimetableChange>>getArgument(1).mapRow(rs, 0));
+                });
+
+        List<TimetableChange> changes = adapter.findChangesAfter(5L, 10);
+
+        assertEquals(List.of(new TimetableChange(6L, null, null, changedAt)), changes);
+    }
+
+    @Test
+    void testFindLastOffset() {
+        when(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(change_offset), 0) FROM timetable_change_feed", Long.class))
+                .thenReturn(9L);
+
+        assertEquals(9L, adapter.findLastOffset());
+    }
+
+    @Test
+    void testDeleteChangesBefore() {
+        LocalDateTime before = LocalDateTime.of(2020, 6, 14, 10, 0);
+        when(jdbcTemplate.update("DELETE FROM timetable_change_feed WHERE changed_at < ?", before)).thenReturn(3);
+
+        assertEquals(3, adapter.deleteChangesBefore(before));
+    }
+}
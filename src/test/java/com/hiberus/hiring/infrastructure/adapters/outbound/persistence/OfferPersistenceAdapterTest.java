@@ -1,14 +1,26 @@
 package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
 
 import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.OfferFilter;
+import com.hiberus.hiring.domain.model.OfferPage;
+import com.hiberus.hiring.domain.model.TimetableKey;
 import com.hiberus.hiring.domain.repository.OfferRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +34,9 @@ class OfferPersistenceAdapterTest {
 	@Mock
     private OfferRepository offerRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private OfferPersistenceAdapter adapter;
 
@@ -69,13 +84,75 @@ class OfferPersistenceAdapterTest {
         assertEquals(sampleOffer.getPrice(), result.getPrice());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSaveOffers_usesSingleJdbcBatch() {
+        // Arrange
+        List<Offer> offers = List.of(sampleOffer, sampleOffer);
+
+        // Act
+        int written = adapter.saveOffers(offers);
+
+        // Assert
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("INSERT INTO offer"), eq(offers), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        verifyNoInteractions(offerRepository);
+        assertEquals(2, written);
+    }
+
+    @Test
+    void testSaveOffers_emptyChunk() {
+        assertEquals(0, adapter.saveOffers(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
     @Test
     void testDeleteAllOffers() {
+        // Arrange
+        when(jdbcTemplate.update("DELETE FROM offer")).thenReturn(5);
+
         // Act
-        adapter.deleteAllOffers();
+        int deleted = adapter.deleteAllOffers();
 
         // Assert
-        verify(offerRepository, times(1)).deleteAll();
+        assertEquals(5, deleted);
+        verify(offerRepository, never()).deleteAll();
+    }
+
+    @Test
+    void testDeleteOffersByBrand() {
+        when(jdbcTemplate.update("DELETE FROM offer WHERE brand_id = ?", 1)).thenReturn(3);
+
+        assertEquals(3, adapter.deleteOffersByBrand(1));
+    }
+
+    @Test
+    void testDeleteOffersByBrandAndPartNumber() {
+        when(jdbcTemplate.update("DELETE FROM offer WHERE brand_id = ? AND partnumber = ?", 1, "0001002")).thenReturn(2);
+
+        assertEquals(2, adapter.deleteOffersByBrandAndPartNumber(1, "0001002"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteOffersEndingBefore_deletesOneChunk() throws Exception {
+        // Arrange
+        LocalDateTime before = LocalDateTime.of(2020, 6, 14, 0, 0);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), eq(before), eq(500))).thenAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("brand_id")).thenReturn(1);
+            when(rs.getString("partnumber")).thenReturn("0001002");
+            return List.of(invocation.<RowMapper<TimetableKey>>getArgument(1).mapRow(rs, 0));
+        });
+
+        // Act
+        List<TimetableKey> deleted = adapter.deleteOffersEndingBefore(before, 500);
+
+        // Assert
+        assertEquals(List.of(new TimetableKey(1, "0001002")), deleted);
+        assertTrue(sql.getValue().startsWith("DELETE FROM offer"));
+        assertTrue(sql.getValue().contains("end_date < ? ORDER BY end_date LIMIT ?"));
     }
 
     @Test
@@ -85,6 +162,7 @@ class OfferPersistenceAdapterTest {
 
         // Assert
         verify(offerRepository, times(1)).deleteById(10L);
+        verify(offerRepository).flush();
     }
 
     @Test
@@ -101,6 +179,37 @@ class OfferPersistenceAdapterTest {
         assertEquals(1L, offers.get(0).getOfferId());
     }
 
+    @Test
+    void testStreamAllOffers_usesCursorWithFetchSize() throws Exception {
+        // Arrange
+        adapter.setExportFetchSize(500);
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet row = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        when(row.getLong("offer_id")).thenReturn(1L);
+        when(row.getString("partnumber")).thenReturn("0001002");
+        doAnswer(invocation -> {
+            PreparedStatementCreator creator = invocation.getArgument(0);
+            creator.createPreparedStatement(connection);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        List<Offer> received = new ArrayList<>();
+
+        // Act
+        adapter.streamAllOffers(received::add);
+
+        // Assert
+        verify(statement, times(1)).setFetchSize(500);
+        verifyNoInteractions(offerRepository);
+        assertEquals(1, received.size());
+        assertEquals(1L, received.get(0).getOfferId());
+        assertEquals("0001002", received.get(0).getPartnumber());
+    }
+
     @Test
     void testFindOfferById_exists() {
         // Arrange
@@ -129,17 +238,80 @@ class OfferPersistenceAdapterTest {
     }
 
     @Test
-    void testFindOffersByBrandAndPartNumber() {
+    void testFindTimetableOffers_selectsProjectionOnly() throws Exception {
         // Arrange
-        when(offerRepository.findByBrandIdAndPartnumber(1, "0001002"))
-                .thenReturn(List.of(sampleEntity));
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("offer_id")).thenReturn(7L);
+        when(row.getObject("start_date", LocalDateTime.class)).thenReturn(sampleOffer.getStartDate());
+        when(row.getObject("end_date", LocalDateTime.class)).thenReturn(sampleOffer.getEndDate());
+        when(row.getInt("priority")).thenReturn(0);
+        when(row.getObject("price", BigDecimal.class)).thenReturn(sampleOffer.getPrice());
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<Offer>>any(), eq(1), eq("0001002")))
+                .thenAnswer(invocation -> List.of(invocation.<RowMapper<Offer>>getArgument(1).mapRow(row, 0)));
 
         // Act
-        List<Offer> result = adapter.findOffersByBrandAndPartNumber(1, "0001002");
+        List<Offer> result = adapter.findTimetableOffers(1, "0001002");
 
         // Assert
-        verify(offerRepository, times(1)).findByBrandIdAndPartnumber(1, "0001002");
+        verifyNoInteractions(offerRepository);
+        verify(row, never()).getString("curr");
         assertEquals(1, result.size());
-        assertEquals("0001002", result.get(0).getPartnumber());
+        Offer projected = result.get(0);
+        assertEquals(7L, projected.getOfferId());
+        assertEquals("0001002", projected.getPartnumber());
+        assertEquals(sampleOffer.getStartDate(), projected.getStartDate());
+        assertEquals(sampleOffer.getPrice(), projected.getPrice());
+        assertNull(projected.getCurr(), "Columns outside the projection are not loaded");
+    }
+
+    @Test
+    void testFindTimetableOffers_manyPartNumbersInOneQuery() {
+        // Arrange
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.query(sql.capture(), ArgumentMatchers.<RowMapper<Offer>>any(),
+                eq(1), eq("0001002"), eq("0001003"))).thenReturn(List.of(sampleOffer));
+
+        // Act
+        List<Offer> result = adapter.findTimetableOffers(1, List.of("0001002", "0001003"));
+
+        // Assert
+        assertTrue(sql.getValue().contains("partnumber IN (?, ?)"));
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testFindTimetableOffers_noPartNumbers() {
+        assertTrue(adapter.findTimetableOffers(1, List.of()).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testFindOffersPage_lastPageHasNoCursor() {
+        // Arrange
+        OfferFilter filter = OfferFilter.builder().brandId(1).build();
+        when(offerRepository.findPage(filter, null, 3)).thenReturn(List.of(sampleEntity));
+
+        // Act
+        OfferPage page = adapter.findOffersPage(filter, null, 2);
+
+        // Assert
+        assertEquals(1, page.getOffers().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindOffersPage_fullPageReturnsLastIdAsCursor() {
+        // Arrange
+        OfferFilter filter = OfferFilter.builder().build();
+        OfferEntity second = OfferEntity.builder().offerId(7L).build();
+        OfferEntity third = OfferEntity.builder().offerId(9L).build();
+        when(offerRepository.findPage(filter, 0L, 3)).thenReturn(List.of(sampleEntity, second, third));
+
+        // Act
+        OfferPage page = adapter.findOffersPage(filter, 0L, 2);
+
+        // Assert
+        assertEquals(2, page.getOffers().size(), "The extra row is only used to detect a next page");
+        assertEquals(7L, page.getNextCursor());
     }
 }
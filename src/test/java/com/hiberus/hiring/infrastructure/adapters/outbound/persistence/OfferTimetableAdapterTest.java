@@ -0,0 +1,123 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.TimetableKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfferTimetableAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private OfferTimetableAdapter adapter;
+
+    private static Offer segment(long offerId, int day) {
+        return Offer.builder()
+                .offerId(offerId)
+                .startDate(LocalDateTime.of(2020, 6, day, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, day, 23, 59, 59))
+                .priority(0)
+                .price(new BigDecimal("35.50"))
+                .build();
+    }
+
+    @Test
+    void testLockTimetables_locksEveryProductOnceInKeyOrder() {
+        adapter.lockTimetables(List.of(new TimetableKey(2, "0001002"), new TimetableKey(1, "0001003"),
+                new TimetableKey(1, "0001002"), new TimetableKey(2, "0001002")));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).query(contains("pg_advisory_xact_lock"), any(ResultSetExtractor.class), eq(1), eq("0001002"));
+        inOrder.verify(jdbcTemplate).query(contains("pg_advisory_xact_lock"), any(ResultSetExtractor.class), eq(1), eq("0001003"));
+        inOrder.verify(jdbcTemplate).query(contains("pg_advisory_xact_lock"), any(ResultSetExtractor.class), eq(2), eq("0001002"));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplaceTimetable_deletesThenInsertsNumberedSegments() throws Exception {
+        // Arrange
+        TimetableKey key = new TimetableKey(1, "0001002");
+        List<Offer> segments = List.of(segment(1L, 14), segment(2L, 15));
+        ArgumentCaptor<List<Object>> rows = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+
+        // Act
+        adapter.replaceTimetable(key, segments);
+
+        // Assert
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(contains("DELETE FROM offer_timetable WHERE brand_id = ? AND partnumber = ?"),
+                eq(1), eq("0001002"));
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("INSERT INTO offer_timetable"), rows.capture(), eq(1000),
+                setter.capture());
+        assertEquals(2, rows.getValue().size());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, rows.getValue().get(1));
+        verify(ps).setInt(1, 1);
+        verify(ps).setString(2, "0001002");
+        verify(ps).setInt(3, 1);
+        verify(ps).setObject(5, LocalDateTime.of(2020, 6, 15, 0, 0));
+    }
+
+    @Test
+    void testReplaceTimetable_emptyTimetableOnlyDeletes() {
+        adapter.replaceTimetable(new TimetableKey(1, "0001002"), List.of());
+
+        verify(jdbcTemplate).update(anyString(), eq(1), eq("0001002"));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    void testReplaceAllTimetables_deletesEverythingFirst() {
+        adapter.replaceAllTimetables(Map.of(new TimetableKey(1, "0001002"), List.of(segment(1L, 14))));
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update("DELETE FROM offer_timetable");
+        inOrder.verify(jdbcTemplate).batchUpdate(contains("INSERT INTO offer_timetable"), anyList(), eq(1000), any());
+        inOrder.verify(jdbcTemplate).update("UPDATE offer_timetable_state SET stale = FALSE WHERE id = 1");
+    }
+
+    @Test
+    void testLockAllTimetables_locksTheOffersFirst() {
+        adapter.lockAllTimetables();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("LOCK TABLE offer IN SHARE MODE");
+        inOrder.verify(jdbcTemplate).execute("LOCK TABLE offer_timetable IN EXCLUSIVE MODE");
+    }
+
+    @Test
+    void testMarkStale_onlyWritesACurrentState() {
+        adapter.markStale();
+
+        verify(jdbcTemplate).update(contains("SET stale = TRUE WHERE id = 1 AND NOT stale"));
+    }
+}
@@ -0,0 +1,213 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import com.hiberus.hiring.domain.model.TimetableKey;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the PostgreSQL-specific statements of the adapters against the database of application.yml
+ * (DB_URL, DB_USER and DB_PASSWORD), migrated by Flyway, as ApplicationTest does: deletes by row
+ * address, the DELETE ... RETURNING feeding an INSERT, FOR UPDATE SKIP LOCKED, LOCK TABLE and the
+ * upsert of unnested arrays incrementing timetable versions.
+ *
+ * Every test works on rows of its own brand, dated before any real offer, and rolls back; rows
+ * another transaction must see are committed and deleted afterwards. A second transaction is
+ * opened with REQUIRES_NEW while the first one keeps its connection and locks, with a short
+ * lock_timeout so that a statement that would wait fails instead.
+ */
+class PostgreSqlStatementsTest {
+
+    private static final int BRAND = 900_001;
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1901, 1, 1, 0, 0);
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static TransactionTemplate newTransactionTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getenv().getOrDefault("DB_URL", "jdbc:postgresql://localhost:5432/chaosdb"),
+                System.getenv().getOrDefault("DB_USER", "chaostest"),
+                System.getenv().getOrDefault("DB_PASSWORD", "chaostest"));
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        newTransactionTemplate = new TransactionTemplate(transactionManager);
+        newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM offer_change_outbox WHERE brand_id = ?", BRAND);
+    }
+
+    private static void inRolledBackTransaction(TransactionTemplate template, Runnable work) {
+        template.executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    /**
+     * Runs the work in a second transaction that fails instead of waiting for a lock.
+     */
+    private static void inConcurrentTransaction(Runnable work) {
+        inRolledBackTransaction(newTransactionTemplate, () -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '500ms'");
+            work.run();
+        });
+    }
+
+    private static void assertLockTimeout(Runnable write) {
+        DataAccessException exception = assertThrows(DataAccessException.class, write::run);
+        assertEquals(LOCK_NOT_AVAILABLE, ((SQLException) exception.getMostSpecificCause()).getSQLState());
+    }
+
+    private static void insertOffer(String partNumber, int endDay) {
+        jdbcTemplate.update("INSERT INTO offer (brand_id, start_date, end_date, price_list, partnumber, priority, price, curr) "
+                + "VALUES (?, ?, ?, 1, ?, 0, 35.50, 'EUR')", BRAND, ORIGIN, ORIGIN.plusDays(endDay), partNumber);
+    }
+
+    private static int countOffers(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE brand_id = ?", Integer.class, BRAND);
+    }
+
+    @Test
+    void testDeleteOffersEndingBefore_deletesTheOldestChunkByRowAddress() {
+        OfferPersistenceAdapter adapter = new OfferPersistenceAdapter(null, jdbcTemplate);
+
+        inRolledBackTransaction(transactionTemplate, () -> {
+            insertOffer("0001002", 2);
+            insertOffer("0001003", 1);
+            insertOffer("0001004", 100);
+
+            List<TimetableKey> deleted = adapter.deleteOffersEndingBefore(ORIGIN.plusDays(10), 1);
+
+            assertEquals(List.of(new TimetableKey(BRAND, "0001003")), deleted);
+            assertEquals(2, countOffers("offer"));
+        });
+    }
+
+    @Test
+    void testArchiveOffersEndingBefore_movesTheChunkIntoTheArchive() {
+        OfferArchiveAdapter adapter = new OfferArchiveAdapter(jdbcTemplate);
+        LocalDateTime archivedAt = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+        inRolledBackTransaction(transactionTemplate, () -> {
+            insertOffer("0001002", 1);
+            insertOffer("0001002", 2);
+            insertOffer("0001003", 100);
+
+            List<TimetableKey> archived = adapter.archiveOffersEndingBefore(ORIGIN.plusDays(10), 1000, archivedAt);
+
+            assertEquals(List.of(new TimetableKey(BRAND, "0001002"), new TimetableKey(BRAND, "0001002")), archived);
+            assertEquals(1, countOffers("offer"));
+            assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM offer_archive WHERE brand_id = ? "
+                    + "AND archived_at = ?", Integer.class, BRAND, archivedAt));
+        });
+    }
+
+    @Test
+    void testTakePending_skipsRecordsLockedByAnotherTransaction() {
+        OfferChangeOutboxAdapter adapter = new OfferChangeOutboxAdapter(jdbcTemplate);
+        adapter.append(List.of(new TimetableKey(BRAND, "0001002"), new TimetableKey(BRAND, "0001003")));
+
+        inRolledBackTransaction(transactionTemplate, () -> {
+            jdbcTemplate.queryForList("SELECT event_id FROM offer_change_outbox WHERE brand_id = ? AND partnumber = ? "
+                    + "FOR UPDATE", BRAND, "0001002");
+
+            inConcurrentTransaction(() -> {
+                List<TimetableKey> taken = adapter.takePending(Integer.MAX_VALUE);
+
+                // The locked record is left pending, the other one is taken (here, or by a running dispatcher)
+                assertFalse(taken.contains(new TimetableKey(BRAND, "0001002")));
+                assertEquals(List.of("0001002"), jdbcTemplate.queryForList(
+                        "SELECT partnumber FROM offer_change_outbox WHERE brand_id = ?", String.class, BRAND));
+            });
+        });
+    }
+
+    @Test
+    void testPublishChanges_blocksOtherPublicationsButNotReads() {
+        OfferChangeOutboxAdapter adapter = new OfferChangeOutboxAdapter(jdbcTemplate);
+        LocalDateTime changedAt = LocalDateTime.of(2020, 6, 14, 10, 0);
+
+        inRolledBackTransaction(transactionTemplate, () -> {
+            adapter.publishChanges(List.of(new TimetableKey(BRAND, "0001002")), changedAt);
+
+            inConcurrentTransaction(() -> {
+                assertDoesNotThrow(() -> adapter.findChangesAfter(Long.MAX_VALUE - 1, 1));
+                assertLockTimeout(() -> adapter.publishChanges(List.of(new TimetableKey(BRAND, "0001003")), changedAt));
+            });
+        });
+    }
+
+    @Test
+    void testLockAllTimetables_blocksOfferAndTimetableWritesButNotReads() {
+        OfferTimetableAdapter adapter = new OfferTimetableAdapter(jdbcTemplate);
+        inRolledBackTransaction(transactionTemplate, () -> {
+            adapter.lockAllTimetables();
+
+            inConcurrentTransaction(() -> assertDoesNotThrow(() -> adapter.findTimetable(BRAND, "0001002")));
+            inConcurrentTransaction(() -> assertLockTimeout(() -> insertOffer("0001002", 1)));
+            inConcurrentTransaction(() -> assertLockTimeout(() -> adapter.deleteTimetablesByBrand(BRAND)));
+        });
+    }
+
+    @Test
+    void testIncrement_addsOneToTheVersionReadOfEveryProductWritten() {
+        TimetableVersionAdapter adapter = new TimetableVersionAdapter(jdbcTemplate, 100, Duration.ofMinutes(1));
+        TimetableKey first = new TimetableKey(BRAND, "0001002");
+        TimetableKey second = new TimetableKey(BRAND, "0001003");
+
+        inRolledBackTransaction(transactionTemplate, () -> {
+            adapter.incrementBrand(BRAND);
+            long before = adapter.getVersion(BRAND, "0001002").getVersion();
+
+            Map<TimetableKey, Long> written = adapter.increment(List.of(second, first, second));
+            Map<TimetableKey, Long> again = adapter.increment(List.of(first));
+
+            assertEquals(before + 1, written.get(first));
+            assertEquals(before + 1, written.get(second));
+            assertEquals(Map.of(first, before + 2), again);
+            // Kept in process until the write commits
+            assertEquals(before, adapter.getVersion(BRAND, "0001002").getVersion());
+            adapter.evict(List.of(first));
+            assertEquals(before + 2, adapter.getVersion(BRAND, "0001002").getVersion());
+        });
+    }
+
+    @Test
+    void testMarkStale_isClearedByReplacingEveryTimetable() {
+        OfferTimetableAdapter adapter = new OfferTimetableAdapter(jdbcTemplate);
+
+        inRolledBackTransaction(transactionTemplate, () -> {
+            adapter.replaceAllTimetables(Map.of());
+            assertFalse(adapter.isStale());
+
+            adapter.markStale();
+            assertTrue(adapter.isStale());
+            adapter.markStale();
+            assertTrue(adapter.isStale());
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import com.hiberus.hiring.domain.model.Offer;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import reactor.test.StepVerifier;
+
+/**
+ * Runs the R2DBC adapter against an in-memory H2 database through the r2dbc-h2 driver.
+ */
+class R2dbcOfferPersistenceAdapterTest {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS offer ("
+            + "offer_id BIGINT AUTO_INCREMENT PRIMARY KEY, brand_id INT NOT NULL, "
+            + "start_date TIMESTAMP NOT NULL, end_date TIMESTAMP NOT NULL, price_list INT NOT NULL, "
+            + "partnumber VARCHAR(50) NOT NULL, priority INT NOT NULL, price DECIMAL(10, 2) NOT NULL, "
+            + "curr VARCHAR(10) NOT NULL)";
+
+    private static final String INSERT_OFFER_SQL = "INSERT INTO offer "
+            + "(brand_id, start_date, end_date, price_list, partnumber, priority, price, curr) "
+            + "VALUES (:brandId, :startDate, :endDate, 1, :partnumber, :priority, :price, 'EUR')";
+
+    private DatabaseClient databaseClient;
+    private R2dbcOfferPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///r2dbc-offers;DB_CLOSE_DELAY=-1"));
+        adapter = new R2dbcOfferPersistenceAdapter(databaseClient);
+
+        databaseClient.sql(CREATE_TABLE_SQL).then()
+                .then(databaseClient.sql("DELETE FROM offer").then())
+                .block();
+        insert("0001002", LocalDateTime.of(2020, 6, 15, 0, 0), LocalDateTime.of(2020, 6, 15, 11, 0), 1, "30.50");
+        insert("0001002", LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 0, "35.50");
+        insert("0001003", LocalDateTime.of(2020, 6, 14, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59, 59), 0, "12.00");
+    }
+
+    private void insert(String partnumber, LocalDateTime start, LocalDateTime end, int priority, String price) {
+        databaseClient.sql(INSERT_OFFER_SQL)
+                .bind("brandId", 1)
+                .bind("startDate", start)
+                .bind("endDate", end)
+                .bind("partnumber", partnumber)
+                .bind("priority", priority)
+                .bind("price", new BigDecimal(price))
+                .then()
+                .block();
+    }
+
+    @Test
+    void testFindTimetableOffers_ReturnsProjectionOrderedByStartDate() {
+        StepVerifier.create(adapter.findTimetableOffers(1, "0001002"))
+                .expectNextMatches(offer -> offer.getStartDate().equals(LocalDateTime.of(2020, 6, 14, 0, 0))
+                        && offer.getPrice().compareTo(new BigDecimal("35.50")) == 0
+                        && offer.getPartnumber().equals("0001002")
+                        && offer.getOfferId() != null
+                        && offer.getCurr() == null)
+                .expectNextMatches(offer -> offer.getPriority() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindAllOffers_AndFindOfferById() {
+        Offer first = adapter.findAllOffers().blockFirst();
+
+        StepVerifier.create(adapter.findAllOffers())
+                .expectNextCount(3)
+                .verifyComplete();
+        StepVerifier.create(adapter.findOfferById(first.getOfferId()))
+                .expectNext(first)
+                .verifyComplete();
+        StepVerifier.create(adapter.findOfferById(-1L))
+                .verifyComplete();
+    }
+}
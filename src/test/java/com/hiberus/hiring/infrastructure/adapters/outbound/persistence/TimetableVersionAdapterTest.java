@@ -0,0 +1,183 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.persistence;
+
+import com.hiberus.hiring.domain.model.TimetableKey;
+import com.hiberus.hiring.domain.model.TimetableVersion;
+import com.hiberus.hiring.domain.model.TimetableVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableVersionAdapterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TimetableVersionAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new TimetableVersionAdapter(jdbcTemplate, 100, Duration.ofMinutes(1));
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testGetVersion_sumsTheRowsOfTheProductItsBrandAndEveryProduct() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1), eq("0001002"), eq(1))).thenReturn(12L);
+
+        assertEquals(new TimetableVersion(12L, null), adapter.getVersion(1, "0001002"));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).queryForObject(sql.capture(), eq(Long.class), eq(1), eq("0001002"), eq(1));
+        assertTrue(sql.getValue().startsWith("SELECT COALESCE(SUM(version), 0) FROM timetable_version"));
+    }
+
+    @Test
+    void testGetVersion_returnsTheNextChangeRecordedForThatVersionOnly() {
+        LocalDateTime nextChange = LocalDateTime.of(2020, 6, 14, 15, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1), eq("0001002"), eq(1))).thenReturn(12L, 13L);
+        adapter.recordNextChange(1, "0001002", 12L, nextChange);
+        // Recorded late by a reader of an older version
+        adapter.recordNextChange(1, "0001002", 11L, LocalDateTime.MAX);
+
+        assertEquals(new TimetableVersion(12L, nextChange), adapter.getVersion(1, "0001002"));
+        adapter.evict(List.of(new TimetableKey(1, "0001002")));
+        assertEquals(new TimetableVersion(13L, null), adapter.getVersion(1, "0001002"));
+    }
+
+    @Test
+    void testGetVersion_keepsTheVersionReadUntilEvicted() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1), eq("0001002"), eq(1))).thenReturn(12L, 13L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1), eq("0001003"), eq(1))).thenReturn(20L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(2), eq("0001002"), eq(2))).thenReturn(30L, 31L);
+        adapter.getVersion(1, "0001002");
+        adapter.getVersion(1, "0001003");
+        adapter.getVersion(2, "0001002");
+
+        assertEquals(12L, adapter.getVersion(1, "0001002").getVersion());
+        adapter.evict(List.of(new TimetableKey(1, null)));
+        assertEquals(13L, adapter.getVersion(1, "0001002").getVersion());
+        assertEquals(30L, adapter.getVersion(2, "0001002").getVersion());
+        adapter.evict(List.of(new TimetableKey(null, null)));
+        assertEquals(31L, adapter.getVersion(2, "0001002").getVersion());
+    }
+
+    @Test
+    void testGetVersion_readsAgainOnceExpired() throws InterruptedException {
+        adapter = new TimetableVersionAdapter(jdbcTemplate, 100, Duration.ofMillis(1));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1), eq("0001002"), eq(1))).thenReturn(12L, 13L);
+
+        adapter.getVersion(1, "0001002");
+        Thread.sleep(10);
+
+        assertEquals(13L, adapter.getVersion(1, "0001002").getVersion());
+    }
+
+    @Test
+    void testGetVersions_groupsTheRowsByScope() {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("scope")).thenReturn(TimetableVersionAdapter.SCOPE_ALL, TimetableVersionAdapter.SCOPE_BRAND,
+                    TimetableVersionAdapter.SCOPE_PRODUCT);
+            when(rs.getLong("version")).thenReturn(5L, 20L, 3L);
+            when(rs.getInt("brand_id")).thenReturn(1);
+            when(rs.getString("partnumber")).thenReturn("0001002");
+            for (int row = 0; row < 3; row++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        TimetableVersions versions = adapter.getVersions();
+
+        assertEquals(28L, versions.versionOf(1, "0001002"));
+        assertEquals(25L, versions.versionOf(1, "0001003"));
+        assertEquals(5L, versions.versionOf(2, "0001002"));
+    }
+
+    @Test
+    void testIncrement_upsertsEveryProductOnceAndReturnsTheirVersions() {
+        TimetableKey first = new TimetableKey(1, "0001002");
+        TimetableKey second = new TimetableKey(1, "0001003");
+        doAnswer(invocation -> {
+            PreparedStatement ps = mock(PreparedStatement.class);
+            Connection connection = mock(Connection.class);
+            when(ps.getConnection()).thenReturn(connection);
+            invocation.<PreparedStatementSetter>getArgument(1).setValues(ps);
+            verify(connection).createArrayOf(eq("integer"), aryEq(new Object[] {1, 1}));
+            verify(connection).createArrayOf(eq("varchar"), aryEq(new Object[] {"0001003", "0001002"}));
+            RowCallbackHandler handler = invocation.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("brand_id")).thenReturn(1);
+            when(rs.getString("partnumber")).thenReturn("0001002", "0001003");
+            when(rs.getLong("version")).thenReturn(12L, 30L);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(contains("DO UPDATE SET version = timetable_version.version + 1"),
+                any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+        assertEquals(Map.of(first, 12L, second, 30L), adapter.increment(List.of(second, first, second)));
+    }
+
+    @Test
+    void testIncrement_evictsTheVersionsKeptOnceCommitted() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1), eq("0001002"), eq(1))).thenReturn(12L, 13L);
+        adapter.getVersion(1, "0001002");
+
+        adapter.increment(List.of(new TimetableKey(1, "0001002")));
+        assertEquals(12L, adapter.getVersion(1, "0001002").getVersion());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(13L, adapter.getVersion(1, "0001002").getVersion());
+    }
+
+    @Test
+    void testIncrement_nothingToIncrement() {
+        assertEquals(Map.of(), adapter.increment(List.of()));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testIncrementBrandAndAll_upsertTheirSingleRow() {
+        adapter.incrementBrand(1);
+        adapter.incrementAll();
+
+        assertEquals(2, TransactionSynchronizationManager.getSynchronizations().size());
+
+        verify(jdbcTemplate).update(contains("nextval('timetable_version_seq')"), eq(TimetableVersionAdapter.SCOPE_BRAND), eq(1), eq(""));
+        verify(jdbcTemplate).update(contains("nextval('timetable_version_seq')"), eq(TimetableVersionAdapter.SCOPE_ALL), eq(0), eq(""));
+    }
+}
@@ -0,0 +1,81 @@
+package com.hiberus.hiring.infrastructure.adapters.outbound.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.hiberus.hiring.domain.model.Offer;
+import com.hiberus.hiring.domain.model.PricingSnapshot;
+import com.hiberus.hiring.domain.model.TimetableKey;
+
+class MappedPricingSnapshotFileAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    private static PricingSnapshot snapshot(String price) {
+        Offer offer = Offer.builder()
+                .offerId(1L)
+                .brandId(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 14, 59, 59))
+                .partnumber("0001002")
+                .priority(0)
+                .price(new BigDecimal(price))
+                .build();
+        return PricingSnapshot.builder()
+                .addOffer(offer)
+                .addTimetable(new TimetableKey(1, "0001002"), List.of(offer))
+                .build(LocalDateTime.of(2020, 6, 14, 10, 0));
+    }
+
+    @Test
+    void testSave_ThenLoadMapsTheFile() {
+        MappedPricingSnapshotFileAdapter adapter =
+                new MappedPricingSnapshotFileAdapter(directory.resolve("data/pricing.snapshot").toString());
+        adapter.save(snapshot("35.50"));
+        PricingSnapshot first = adapter.load();
+
+        // Replacing the file leaves the mapped snapshot intact
+        adapter.save(snapshot("25.45"));
+        PricingSnapshot second = adapter.load();
+
+        assertEquals(new BigDecimal("35.50"), first.getOffer(1L).getPrice());
+        assertEquals(new BigDecimal("25.45"), second.getOffer(1L).getPrice());
+        assertEquals(new BigDecimal("25.45"), second.getTimetable(1, "0001002").getSegments().get(0).getPrice());
+        assertFalse(Files.exists(directory.resolve("data/pricing.snapshot.tmp")));
+    }
+
+    @Test
+    void testLoad_IgnoresMissingAndCorruptFiles() throws IOException {
+        Path corrupt = Files.write(directory.resolve("corrupt.snapshot"), new byte[] {1, 2, 3});
+        Path truncated = directory.resolve("truncated.snapshot");
+        new MappedPricingSnapshotFileAdapter(truncated.toString()).save(snapshot("35.50"));
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertNull(new MappedPricingSnapshotFileAdapter(directory.resolve("missing.snapshot").toString()).load());
+        assertNull(new MappedPricingSnapshotFileAdapter(corrupt.toString()).load());
+        assertNull(new MappedPricingSnapshotFileAdapter(truncated.toString()).load());
+    }
+
+    @Test
+    void testDisabledWithoutPath() {
+        MappedPricingSnapshotFileAdapter adapter = new MappedPricingSnapshotFileAdapter("");
+
+        adapter.save(snapshot("35.50"));
+
+        assertNull(adapter.load());
+    }
+}